@@ -0,0 +1,157 @@
+// In file: bench/ecocycle/bench/BidHydrationBenchmark.java
+package ecocycle.bench;
+
+import ecocycle.model.Product;
+import ecocycle.service.DataService;
+import ecocycle.util.ConnectionPool;
+import ecocycle.util.DBConnector;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the old per-row bid query (1 + N round trips) with DataService's loader
+ * for the recycling market listing (one product query, bids from the in-memory order book).
+ * DataService is started (schema migrated, stores loaded) before anything is seeded or timed,
+ * and the order book is rebuilt from the seeded bids before the timed run.
+ *
+ * Needs the ecocycle_db MySQL database configured in DBConnector.
+ * Usage: java ecocycle.bench.BidHydrationBenchmark [sizes...]   (default: 1000 10000 100000)
+ *
+ * Seeded rows use the "bench_" prefix and are deleted again at the end.
+ */
+public class BidHydrationBenchmark {
+
+    private static final String SELLER_ID = "bench_s";
+    private static final String RECYCLER_ID = "bench_r";
+
+    public static void main(String[] args) throws SQLException {
+        int[] sizes = { 1_000, 10_000, 100_000 };
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        // Migrates the schema and loads the stores now, so neither happens inside a timed run
+        DataService.start(null).join();
+
+        ConnectionPool pool = DBConnector.getPool();
+        System.out.printf("%-10s %-8s %12s %12s%n", "products", "loader", "statements", "millis");
+
+        for (int size : sizes) {
+            try {
+                seed(size);
+                // The seeded bids bypassed DataService; load them into the order book it reads bids from
+                DataService.getBidOrderBook().rebuild();
+
+                long stmts = pool.getStatementCount();
+                long start = System.nanoTime();
+                int[] loaded = loadPerRow();
+                report(size, "N+1", pool.getStatementCount() - stmts, start, loaded[0], loaded[1]);
+
+                stmts = pool.getStatementCount();
+                start = System.nanoTime();
+                List<Product> products = DataService.getEligibleProductsForBidding();
+                long statements = pool.getStatementCount() - stmts;
+                int bids = 0;
+                for (Product product : products) {
+                    bids += product.getBids().size();
+                }
+                report(size, "batched", statements, start, products.size(), bids);
+            } finally {
+                cleanUp();
+                DataService.getBidOrderBook().rebuild();
+            }
+        }
+        System.out.println(pool);
+    }
+
+    private static void report(int size, String loader, long statements, long startNanos, int loaded, int bids) {
+        double millis = (System.nanoTime() - startNanos) / 1_000_000.0;
+        System.out.printf("%-10d %-8s %12d %12.1f   (%d products, %d bids loaded)%n",
+                          size, loader, statements, millis, loaded, bids);
+    }
+
+    /**
+     * The loader as it was before: one product query, then one bid query per row.
+     * @return { products, bids } loaded.
+     */
+    private static int[] loadPerRow() throws SQLException {
+        List<String> ids = new ArrayList<>();
+        try (Connection con = DBConnector.getConnection();
+             PreparedStatement pstmt = con.prepareStatement("SELECT * FROM products WHERE status = 'PENDING_RECYCLING'");
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                ids.add(rs.getString("product_id"));
+            }
+        }
+        int bids = 0;
+        for (String id : ids) {
+            try (Connection con = DBConnector.getConnection();
+                 PreparedStatement bidStmt = con.prepareStatement("SELECT * FROM recycling_bids WHERE product_id = ?")) {
+                bidStmt.setString(1, id);
+                try (ResultSet bidRs = bidStmt.executeQuery()) {
+                    while (bidRs.next()) {
+                        bidRs.getDouble("bid_price");
+                        bids++;
+                    }
+                }
+            }
+        }
+        return new int[] { ids.size(), bids };
+    }
+
+    private static void seed(int size) throws SQLException {
+        cleanUp();
+        try (Connection con = DBConnector.getConnection()) {
+            con.setAutoCommit(false);
+            try (Statement stmt = con.createStatement()) {
+                stmt.executeUpdate("INSERT INTO users (user_id, username, password, role) VALUES ('" + SELLER_ID + "', 'bench_seller', 'pass', 'SELLER')");
+                stmt.executeUpdate("INSERT INTO users (user_id, username, password, role) VALUES ('" + RECYCLER_ID + "', 'bench_recycler', 'pass', 'RECYCLER')");
+            }
+            String productSql = "INSERT INTO products (product_id, name, type, category, description, price, seller_id, status, upload_timestamp) " +
+                                "VALUES (?, ?, 'plastic', 'plastic', 'benchmark row', ?, ?, 'PENDING_RECYCLING', NOW())";
+            String bidSql = "INSERT INTO recycling_bids (product_id, recycler_id, bid_price) VALUES (?, ?, ?)";
+            try (PreparedStatement productStmt = con.prepareStatement(productSql);
+                 PreparedStatement bidStmt = con.prepareStatement(bidSql)) {
+                for (int i = 0; i < size; i++) {
+                    String id = "bench_" + i;
+                    productStmt.setString(1, id);
+                    productStmt.setString(2, "Bench item " + i);
+                    productStmt.setDouble(3, 100 + i % 500);
+                    productStmt.setString(4, SELLER_ID);
+                    productStmt.addBatch();
+
+                    bidStmt.setString(1, id);
+                    bidStmt.setString(2, RECYCLER_ID);
+                    bidStmt.setDouble(3, 60 + i % 500);
+                    bidStmt.addBatch();
+
+                    if (i % 1_000 == 999) {
+                        productStmt.executeBatch();
+                        bidStmt.executeBatch();
+                    }
+                }
+                productStmt.executeBatch();
+                bidStmt.executeBatch();
+            }
+            con.commit();
+        }
+    }
+
+    private static void cleanUp() throws SQLException {
+        try (Connection con = DBConnector.getConnection();
+             Statement stmt = con.createStatement()) {
+            stmt.executeUpdate("DELETE FROM recycling_bids WHERE product_id LIKE 'bench\\_%'");
+            stmt.executeUpdate("DELETE FROM products WHERE product_id LIKE 'bench\\_%'");
+            stmt.executeUpdate("DELETE FROM users WHERE user_id IN ('" + SELLER_ID + "', '" + RECYCLER_ID + "')");
+        }
+    }
+}
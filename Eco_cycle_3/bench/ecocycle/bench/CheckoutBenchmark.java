@@ -0,0 +1,165 @@
+// In file: bench/ecocycle/bench/CheckoutBenchmark.java
+package ecocycle.bench;
+
+import ecocycle.model.Product;
+import ecocycle.model.TransactionStatus;
+import ecocycle.service.DataService;
+import ecocycle.util.ConnectionPool;
+import ecocycle.util.DBConnector;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Checkout latency versus cart size: the old per-item loop (3 updates + 1 delete
+ * per item, all in one transaction) against DataService.purchaseCart(), which
+ * batches the updates, sums total_sales per seller and uses multi-row INSERTs.
+ *
+ * Needs the ecocycle_db MySQL database configured in DBConnector.
+ * Usage: java ecocycle.bench.CheckoutBenchmark [sizes...]   (default: 1 10 50 200 1000)
+ *
+ * Seeded rows use the "bench_" prefix and are deleted again at the end.
+ */
+public class CheckoutBenchmark {
+
+    private static final String BUYER_ID = "bench_b";
+    private static final String BUYER_NAME = "bench_buyer";
+    private static final int SELLERS = 5;
+    private static final int RUNS = 5;
+
+    public static void main(String[] args) throws SQLException {
+        int[] sizes = { 1, 10, 50, 200, 1_000 };
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        ConnectionPool pool = DBConnector.getPool();
+        System.out.printf("%-10s %-9s %12s%n", "cart size", "checkout", "avg millis");
+
+        try {
+            for (int size : sizes) {
+                long perItemNanos = 0, batchedNanos = 0;
+
+                for (int run = 0; run < RUNS; run++) {
+                    seed(size);
+                    List<Product> cart = loginAndLoadCart();
+                    long start = System.nanoTime();
+                    purchasePerItem(cart);
+                    perItemNanos += System.nanoTime() - start;
+
+                    seed(size);
+                    loginAndLoadCart();
+                    start = System.nanoTime();
+                    if (!DataService.purchaseCart()) {
+                        throw new IllegalStateException("purchaseCart failed");
+                    }
+                    batchedNanos += System.nanoTime() - start;
+                }
+                report(size, "per-item", perItemNanos);
+                // Includes the cart read that purchaseCart does first.
+                report(size, "batched", batchedNanos);
+            }
+        } finally {
+            DataService.logout();
+            cleanUp();
+        }
+        System.out.println(pool);
+    }
+
+    private static void report(int size, String checkout, long nanos) {
+        System.out.printf("%-10d %-9s %12.2f%n", size, checkout, nanos / 1_000_000.0 / RUNS);
+    }
+
+    private static List<Product> loginAndLoadCart() {
+        if (DataService.login(BUYER_NAME, "pass") == null) {
+            throw new IllegalStateException("benchmark buyer is missing");
+        }
+        return DataService.getCart(false);
+    }
+
+    /**
+     * The checkout as it was before: every item costs 4 round trips inside the transaction.
+     */
+    private static void purchasePerItem(List<Product> items) throws SQLException {
+        try (Connection con = DBConnector.getConnection()) {
+            con.setAutoCommit(false);
+            try (PreparedStatement updateProdStmt = con.prepareStatement("UPDATE products SET status = 'SOLD' WHERE product_id = ?");
+                 PreparedStatement updateSellerStmt = con.prepareStatement("UPDATE users SET total_sales = total_sales + ? WHERE user_id = ?");
+                 PreparedStatement insertTransStmt = con.prepareStatement("INSERT INTO transactions (transaction_id, buyer_id, product_id, price, timestamp, status) VALUES (?, ?, ?, ?, ?, ?)");
+                 PreparedStatement deleteItemStmt = con.prepareStatement("DELETE FROM cart WHERE buyer_id = ? AND product_id = ?")) {
+                for (Product p : items) {
+                    updateProdStmt.setString(1, p.getProductId());
+                    updateProdStmt.executeUpdate();
+
+                    updateSellerStmt.setDouble(1, p.getPrice());
+                    updateSellerStmt.setString(2, p.getSellerId());
+                    updateSellerStmt.executeUpdate();
+
+                    insertTransStmt.setString(1, "t_" + UUID.randomUUID().toString().substring(0, 8));
+                    insertTransStmt.setString(2, BUYER_ID);
+                    insertTransStmt.setString(3, p.getProductId());
+                    insertTransStmt.setDouble(4, p.getPrice());
+                    insertTransStmt.setTimestamp(5, new java.sql.Timestamp(System.currentTimeMillis()));
+                    insertTransStmt.setString(6, TransactionStatus.COMPLETED.name());
+                    insertTransStmt.executeUpdate();
+
+                    deleteItemStmt.setString(1, BUYER_ID);
+                    deleteItemStmt.setString(2, p.getProductId());
+                    deleteItemStmt.executeUpdate();
+                }
+            }
+            con.commit();
+        }
+    }
+
+    private static void seed(int size) throws SQLException {
+        cleanUp();
+        try (Connection con = DBConnector.getConnection()) {
+            con.setAutoCommit(false);
+            try (Statement stmt = con.createStatement()) {
+                stmt.executeUpdate("INSERT INTO users (user_id, username, password, role) VALUES ('" + BUYER_ID + "', '" + BUYER_NAME + "', 'pass', 'BUYER')");
+                for (int s = 0; s < SELLERS; s++) {
+                    stmt.executeUpdate("INSERT INTO users (user_id, username, password, role) VALUES ('bench_s" + s + "', 'bench_seller" + s + "', 'pass', 'SELLER')");
+                }
+            }
+            String productSql = "INSERT INTO products (product_id, name, type, category, description, price, seller_id, status, upload_timestamp) " +
+                                "VALUES (?, ?, 'plastic', 'plastic', 'benchmark row', ?, ?, 'AVAILABLE', NOW())";
+            String cartSql = "INSERT INTO cart (buyer_id, product_id) VALUES (?, ?)";
+            try (PreparedStatement productStmt = con.prepareStatement(productSql);
+                 PreparedStatement cartStmt = con.prepareStatement(cartSql)) {
+                for (int i = 0; i < size; i++) {
+                    String id = "bench_" + i;
+                    productStmt.setString(1, id);
+                    productStmt.setString(2, "Bench item " + i);
+                    productStmt.setDouble(3, 100 + i % 500);
+                    productStmt.setString(4, "bench_s" + (i % SELLERS));
+                    productStmt.addBatch();
+
+                    cartStmt.setString(1, BUYER_ID);
+                    cartStmt.setString(2, id);
+                    cartStmt.addBatch();
+                }
+                productStmt.executeBatch();
+                cartStmt.executeBatch();
+            }
+            con.commit();
+        }
+    }
+
+    private static void cleanUp() throws SQLException {
+        try (Connection con = DBConnector.getConnection();
+             Statement stmt = con.createStatement()) {
+            stmt.executeUpdate("DELETE FROM cart WHERE buyer_id = '" + BUYER_ID + "'");
+            stmt.executeUpdate("DELETE FROM transactions WHERE buyer_id = '" + BUYER_ID + "'");
+            stmt.executeUpdate("DELETE FROM products WHERE product_id LIKE 'bench\\_%'");
+            stmt.executeUpdate("DELETE FROM users WHERE user_id LIKE 'bench\\_%'");
+        }
+    }
+}
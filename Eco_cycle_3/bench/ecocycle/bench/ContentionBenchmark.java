@@ -0,0 +1,216 @@
+// In file: bench/ecocycle/bench/ContentionBenchmark.java
+package ecocycle.bench;
+
+import ecocycle.model.Product;
+import ecocycle.repository.StorageBackend;
+import ecocycle.repository.TransactionRepository;
+import ecocycle.repository.jdbc.JdbcStorageBackend;
+import ecocycle.service.DataService;
+import ecocycle.util.DBConnector;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Checkout throughput and abort rate with 1..64 buyers competing for the same few items.
+ *
+ * Each round puts HOT_ITEMS products (from a handful of sellers, so carts also share
+ * seller rows) up for sale, then every buyer thread tries ATTEMPTS checkouts of 1-3
+ * random hot items at once. A checkout that finds one of its items already sold is
+ * aborted as a whole. After each round the benchmark counts items sold more than once,
+ * which must always be 0.
+ *
+ * Buyers call TransactionRepository.recordPurchases directly: DataService keeps a
+ * single logged-in user, so it cannot act as 64 buyers at the same time.
+ * More buyers than pooled connections (-Decocycle.pool.maxSize) simply queue for one.
+ *
+ * Needs the ecocycle_db MySQL database configured in DBConnector.
+ * Usage: java ecocycle.bench.ContentionBenchmark [buyer counts...]   (default: 1 2 4 8 16 32 64)
+ *
+ * Seeded rows use the "bench_" prefix and are deleted again at the end.
+ */
+public class ContentionBenchmark {
+
+    private static final int HOT_ITEMS = 16;
+    private static final int SELLERS = 4;
+    private static final int MAX_CART = 3;
+    private static final int ATTEMPTS = 5;
+    private static final int ROUNDS = 10;
+
+    public static void main(String[] args) throws Exception {
+        int[] buyerCounts = { 1, 2, 4, 8, 16, 32, 64 };
+        if (args.length > 0) {
+            buyerCounts = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                buyerCounts[i] = Integer.parseInt(args[i]);
+            }
+        }
+        int maxBuyers = 0;
+        for (int buyers : buyerCounts) {
+            maxBuyers = Math.max(maxBuyers, buyers);
+        }
+
+        StorageBackend store = DataService.getStorageBackend();
+        TransactionRepository transactions = store.transactions();
+        System.out.printf("%-7s %9s %8s %8s %11s %11s %8s %9s %12s%n", "buyers", "attempts", "commits", "aborts",
+                          "commits/s", "attempts/s", "abort %", "retries", "double-sold");
+
+        try {
+            cleanUp();
+            seed(maxBuyers);
+            for (int buyers : buyerCounts) {
+                long retriesBefore = retryCount(store);
+                AtomicInteger attempts = new AtomicInteger();
+                AtomicInteger commits = new AtomicInteger();
+                long nanos = 0;
+                int doubleSold = 0;
+
+                for (int round = 0; round < ROUNDS; round++) {
+                    List<Product> hot = resetHotItems();
+                    nanos += runRound(transactions, hot, buyers, attempts, commits);
+                    doubleSold += countDoubleSold();
+                }
+
+                double seconds = nanos / 1e9;
+                int aborts = attempts.get() - commits.get();
+                System.out.printf("%-7d %9d %8d %8d %11.1f %11.1f %8.1f %9d %12d%n", buyers, attempts.get(), commits.get(), aborts,
+                                  commits.get() / seconds, attempts.get() / seconds, 100.0 * aborts / attempts.get(),
+                                  retryCount(store) - retriesBefore, doubleSold);
+            }
+        } finally {
+            cleanUp();
+        }
+        System.out.println(DBConnector.getPool());
+    }
+
+    /**
+     * Starts all buyers at once and waits for them to finish.
+     * @return The round's wall-clock time in nanoseconds.
+     */
+    private static long runRound(TransactionRepository transactions, List<Product> hot, int buyers,
+                                 AtomicInteger attempts, AtomicInteger commits) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(buyers);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(buyers);
+        for (int b = 0; b < buyers; b++) {
+            String buyerId = "bench_b" + b;
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < ATTEMPTS; i++) {
+                        attempts.incrementAndGet();
+                        if (transactions.recordPurchases(buyerId, randomCart(hot), false)) {
+                            commits.incrementAndGet();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - begin;
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.MINUTES);
+        return elapsed;
+    }
+
+    // 1..MAX_CART distinct hot items in random order (the repository sorts them).
+    private static List<Product> randomCart(List<Product> hot) {
+        List<Product> shuffled = new ArrayList<>(hot);
+        Collections.shuffle(shuffled, ThreadLocalRandom.current());
+        return shuffled.subList(0, 1 + ThreadLocalRandom.current().nextInt(MAX_CART));
+    }
+
+    private static long retryCount(StorageBackend store) {
+        return store instanceof JdbcStorageBackend jdbc ? jdbc.getDeadlockRetryCount() : 0;
+    }
+
+    // --- Seeding ---
+
+    private static void seed(int buyers) throws SQLException {
+        try (Connection con = DBConnector.getConnection();
+             PreparedStatement userStmt = con.prepareStatement("INSERT INTO users (user_id, username, password, role) VALUES (?, ?, 'pass', ?)");
+             PreparedStatement productStmt = con.prepareStatement(
+                 "INSERT INTO products (product_id, name, type, category, description, price, seller_id, status, upload_timestamp) " +
+                 "VALUES (?, ?, 'plastic', 'plastic', 'benchmark row', ?, ?, 'AVAILABLE', NOW())")) {
+            con.setAutoCommit(false);
+            for (int s = 0; s < SELLERS; s++) {
+                addUser(userStmt, "bench_s" + s, "bench_seller" + s, "SELLER");
+            }
+            for (int b = 0; b < buyers; b++) {
+                addUser(userStmt, "bench_b" + b, "bench_buyer" + b, "BUYER");
+            }
+            userStmt.executeBatch();
+            for (int i = 0; i < HOT_ITEMS; i++) {
+                productStmt.setString(1, "bench_hot" + i);
+                productStmt.setString(2, "Hot item " + i);
+                productStmt.setDouble(3, 100 + i);
+                productStmt.setString(4, "bench_s" + (i % SELLERS));
+                productStmt.addBatch();
+            }
+            productStmt.executeBatch();
+            con.commit();
+            con.setAutoCommit(true);
+        }
+    }
+
+    private static void addUser(PreparedStatement pstmt, String userId, String username, String role) throws SQLException {
+        pstmt.setString(1, userId);
+        pstmt.setString(2, username);
+        pstmt.setString(3, role);
+        pstmt.addBatch();
+    }
+
+    /**
+     * Puts every hot item back up for sale and forgets the previous round's sales.
+     */
+    private static List<Product> resetHotItems() throws SQLException {
+        try (Connection con = DBConnector.getConnection();
+             Statement stmt = con.createStatement()) {
+            stmt.executeUpdate("DELETE FROM transactions WHERE buyer_id LIKE 'bench\\_%'");
+            stmt.executeUpdate("UPDATE products SET status = 'AVAILABLE' WHERE product_id LIKE 'bench\\_hot%'");
+        }
+        List<Product> hot = new ArrayList<>();
+        for (int i = 0; i < HOT_ITEMS; i++) {
+            hot.add(new Product("bench_hot" + i, "Hot item " + i, "plastic", "plastic", 100 + i, "benchmark row", "bench_s" + (i % SELLERS)));
+        }
+        return hot;
+    }
+
+    private static int countDoubleSold() throws SQLException {
+        String sql = "SELECT COUNT(*) FROM (SELECT product_id FROM transactions WHERE buyer_id LIKE 'bench\\_%' " +
+                     "GROUP BY product_id HAVING COUNT(*) > 1) d";
+        try (Connection con = DBConnector.getConnection();
+             Statement stmt = con.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private static void cleanUp() throws SQLException {
+        try (Connection con = DBConnector.getConnection();
+             Statement stmt = con.createStatement()) {
+            stmt.executeUpdate("DELETE FROM transactions WHERE buyer_id LIKE 'bench\\_%'");
+            stmt.executeUpdate("DELETE FROM cart WHERE buyer_id LIKE 'bench\\_%'");
+            stmt.executeUpdate("DELETE FROM products WHERE product_id LIKE 'bench\\_%'");
+            stmt.executeUpdate("DELETE FROM users WHERE user_id LIKE 'bench\\_%'");
+        }
+    }
+}
@@ -0,0 +1,276 @@
+// In file: bench/ecocycle/bench/DataServiceBenchmark.java
+package ecocycle.bench;
+
+import ecocycle.model.Product;
+import ecocycle.model.ProductStatus;
+import ecocycle.model.Role;
+import ecocycle.model.User;
+import ecocycle.repository.StorageBackend;
+import ecocycle.repository.memory.InMemoryStorageBackend;
+import ecocycle.service.DataService;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Supplier;
+
+/**
+ * Throughput, average time and allocation per call of the DataService hot paths, so a
+ * change to DataService can be measured against a baseline run.
+ * - Each benchmark runs WARM_UP_ITERATIONS then ITERATIONS timed iterations of
+ *   ITERATION_MS each (JMH style); ops/s is reported as mean +- 99.9% error over them.
+ * - Allocation is read from the thread's allocation counter (the same number JMH's gc
+ *   profiler reports as gc.alloc.rate.norm), so it needs no GC logs.
+ * - Writes (purchase, bid, accept, proof) get fresh rows prepared before every call,
+ *   outside the timed part.
+ *
+ * Runs on a fresh InMemoryStorageBackend per size by default. With -Decocycle.bench.store=jdbc
+ * it uses the database configured in DBConnector instead; point -Decocycle.db.url at an
+ * embedded one (e.g. jdbc:h2:mem:bench;MODE=MySQL;DATABASE_TO_LOWER=FALSE;DB_CLOSE_DELAY=-1)
+ * that starts empty, since every size adds its rows to it.
+ * -Decocycle.bench.filter=purchase runs only the benchmarks whose name contains the text.
+ *
+ * Usage: java ecocycle.bench.DataServiceBenchmark [sizes...]   (default: 1000 10000 100000 products)
+ */
+public class DataServiceBenchmark {
+
+    private static final int WARM_UP_ITERATIONS = Integer.getInteger("ecocycle.bench.warmUpIterations", 3);
+    private static final int ITERATIONS = Integer.getInteger("ecocycle.bench.iterations", 5);
+    private static final long ITERATION_MS = Long.getLong("ecocycle.bench.iterationMs", 1_000);
+    private static final String FILTER = System.getProperty("ecocycle.bench.filter", "");
+    private static final boolean USE_JDBC = "jdbc".equalsIgnoreCase(System.getProperty("ecocycle.bench.store"));
+
+    private static final int SELLERS = 100;
+    private static final int BUYERS = 100;
+    private static final int RECYCLERS = 20;
+    private static final int CART_SIZE = 10;
+    private static final int[] PURCHASE_CART_SIZES = { 1, 5, 20 };
+    private static final String[] CATEGORIES = { "plastic", "clothing", "electronics", "furniture" };
+    private static final String[] TYPES = { "Plastic", "Clothing", "Electronics", "Furniture" };
+
+    // Student's t (two-sided 99.9%) for 1..10 degrees of freedom, as JMH uses for its error column.
+    private static final double[] T_999 = { 636.62, 31.60, 12.92, 8.61, 6.87, 5.96, 5.41, 5.04, 4.78, 4.59 };
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    /**
+     * One benchmark. prepare() runs untimed before every call of run() (for writes that
+     * use up their rows); benchmarks without it are timed as one loop.
+     */
+    private record Bench(String name, Runnable prepare, Supplier<?> run) {
+        Bench(String name, Supplier<?> run) {
+            this(name, null, run);
+        }
+    }
+
+    private static volatile Object sink; // keeps results alive, like a JMH Blackhole
+    private static int nextId;
+
+    public static void main(String[] args) {
+        int[] sizes = { 1_000, 10_000, 100_000 };
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+        if (!USE_JDBC && System.getProperty("ecocycle.store") == null) {
+            System.setProperty("ecocycle.store", "memory"); // never touch the configured database by accident
+        }
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+        DataService.start(null).join(); // runs the schema migration (jdbc) before the table starts
+
+        System.out.printf("%-8s %-52s %20s %12s %12s %10s%n", "products", "benchmark", "ops/s", "us/op", "B/op", "MB/s");
+        for (int size : sizes) {
+            StorageBackend store = USE_JDBC ? DataService.getStorageBackend() : new InMemoryStorageBackend();
+            String prefix = "bench" + size + "_";
+            seed(store, prefix, size);
+            DataService.useStorageBackend(store); // loads the directories, leaderboards, indexes and scheduler
+
+            for (Bench bench : benchmarks(store, prefix, size)) {
+                if (bench.name().contains(FILTER)) {
+                    measure(size, bench);
+                }
+            }
+        }
+    }
+
+    // --- Benchmarks ---
+
+    private static List<Bench> benchmarks(StorageBackend store, String prefix, int size) {
+        SplittableRandom random = new SplittableRandom(size);
+        User seller = DataService.findUserById(prefix + "s0");
+        User buyer = DataService.findUserById(prefix + "b0");
+        User recycler = DataService.findUserById(prefix + "r0");
+        List<Bench> benches = new ArrayList<>();
+
+        // Reading one product: straight from the store (the JDBC row mapping) and through the cache.
+        benches.add(new Bench("store.findById (inflate row)",
+                              () -> store.products().findById(prefix + "p" + random.nextInt(size), false)));
+        benches.add(new Bench("findProductById (cached, with bids)",
+                              () -> DataService.findProductById(prefix + "p" + random.nextInt(size), true)));
+
+        // The browse list with each filter / sort combination.
+        for (String category : new String[] { "All", "electronics" }) {
+            for (boolean priceRange : new boolean[] { false, true }) {
+                for (boolean byPrice : new boolean[] { false, true }) {
+                    double min = priceRange ? 500 : 0;
+                    double max = priceRange ? 5_000 : Double.MAX_VALUE;
+                    String name = "getAvailableProducts " + category + (priceRange ? " 500-5000" : "")
+                                  + (byPrice ? " by price" : " newest");
+                    benches.add(new Bench(name, () -> DataService.getAvailableProducts(category, min, max, byPrice, false)));
+                }
+            }
+        }
+
+        // A buyer with a full cart (the rows are never bought, so every call sees the same cart).
+        User cartOwner = DataService.findUserById(prefix + "b1");
+        DataService.callAs(cartOwner, () -> {
+            for (int i = 0; i < CART_SIZE; i++) {
+                DataService.addToCart(prefix + "p" + i);
+            }
+            return null;
+        });
+        benches.add(new Bench("getCart (" + CART_SIZE + " items)",
+                              () -> DataService.callAs(cartOwner, () -> DataService.getCart(false))));
+
+        for (int cartSize : PURCHASE_CART_SIZES) {
+            benches.add(new Bench("purchaseCart (" + cartSize + " items)",
+                                  () -> fillCart(store, prefix, seller, buyer, cartSize),
+                                  () -> DataService.callAs(buyer, DataService::purchaseCart)));
+        }
+
+        // Bidding: each call gets a fresh product up for recycling (and, for accept/proof, the steps before).
+        String[] current = new String[1];
+        benches.add(new Bench("placeBid",
+                              () -> current[0] = insertProduct(store, prefix, seller, ProductStatus.PENDING_RECYCLING),
+                              () -> DataService.callAs(recycler, () -> DataService.placeBid(current[0], 1_000_000))));
+        benches.add(new Bench("acceptBid",
+                              () -> {
+                                  current[0] = insertProduct(store, prefix, seller, ProductStatus.PENDING_RECYCLING);
+                                  DataService.callAs(recycler, () -> DataService.placeBid(current[0], 1_000_000));
+                              },
+                              () -> DataService.callAs(seller, () -> DataService.acceptBid(current[0]))));
+        benches.add(new Bench("submitRecyclingProof",
+                              () -> current[0] = insertProduct(store, prefix, seller, ProductStatus.RECYCLING_PURCHASED),
+                              () -> DataService.callAs(recycler, () -> DataService.submitRecyclingProof(current[0]))));
+
+        benches.add(new Bench("getSellerLeaderboard", DataService::getSellerLeaderboard));
+        benches.add(new Bench("getRecyclerLeaderboard", DataService::getRecyclerLeaderboard));
+        return benches;
+    }
+
+    private static void fillCart(StorageBackend store, String prefix, User seller, User buyer, int cartSize) {
+        List<String> productIds = new ArrayList<>(cartSize);
+        for (int i = 0; i < cartSize; i++) {
+            productIds.add(insertProduct(store, prefix, seller, ProductStatus.AVAILABLE));
+        }
+        DataService.callAs(buyer, () -> {
+            for (String productId : productIds) {
+                DataService.addToCart(productId);
+            }
+            return null;
+        });
+    }
+
+    // Straight into the store: DataService only sees the row when the benchmarked call reads it.
+    private static String insertProduct(StorageBackend store, String prefix, User seller, ProductStatus status) {
+        String productId = prefix + "x" + nextId++;
+        Product p = new Product(productId, "Bench item " + nextId, "Electronics", "electronics", 1_000,
+                                "prepared", seller.getUserId());
+        p.setStatus(status);
+        store.products().insert(p);
+        return productId;
+    }
+
+    // --- Seeding ---
+
+    private static void seed(StorageBackend store, String prefix, int size) {
+        for (int i = 0; i < SELLERS; i++) {
+            store.users().insert(new User(prefix + "s" + i, prefix + "s" + i, "pass", Role.SELLER));
+        }
+        for (int i = 0; i < BUYERS; i++) {
+            store.users().insert(new User(prefix + "b" + i, prefix + "b" + i, "pass", Role.BUYER));
+        }
+        for (int i = 0; i < RECYCLERS; i++) {
+            store.users().insert(new User(prefix + "r" + i, prefix + "r" + i, "pass", Role.RECYCLER));
+        }
+        SplittableRandom random = new SplittableRandom(size);
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < size; i++) {
+            int kind = random.nextInt(CATEGORIES.length);
+            Product p = new Product(prefix + "p" + i, "Item " + i, TYPES[kind], CATEGORIES[kind],
+                                    50 + random.nextInt(20_000), "seeded", prefix + "s" + (i % SELLERS));
+            p.setUploadTimestamp(now - random.nextInt(1_000_000_000));
+            store.products().insert(p);
+        }
+    }
+
+    // --- Measuring ---
+
+    private static void measure(int size, Bench bench) {
+        for (int i = 0; i < WARM_UP_ITERATIONS; i++) {
+            iteration(bench);
+        }
+        double[] opsPerSecond = new double[ITERATIONS];
+        long ops = 0;
+        long nanos = 0;
+        long bytes = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long[] result = iteration(bench);
+            opsPerSecond[i] = result[0] * 1e9 / result[1];
+            ops += result[0];
+            nanos += result[1];
+            bytes += result[2];
+        }
+
+        double mean = 0;
+        for (double v : opsPerSecond) {
+            mean += v;
+        }
+        mean /= ITERATIONS;
+        double variance = 0;
+        for (double v : opsPerSecond) {
+            variance += (v - mean) * (v - mean);
+        }
+        double error = ITERATIONS < 2 ? Double.NaN
+                : T_999[Math.min(ITERATIONS - 1, T_999.length) - 1] * Math.sqrt(variance / (ITERATIONS - 1) / ITERATIONS);
+
+        System.out.printf("%-8d %-52s %20s %12.3f %12.0f %10.1f%n", size, bench.name(),
+                          String.format("%.0f +- %.0f", mean, error), nanos / 1e3 / ops, (double) bytes / ops,
+                          bytes / 1e6 / (nanos / 1e9));
+    }
+
+    /**
+     * @return { calls, timed nanos, bytes allocated by the timed part }.
+     */
+    private static long[] iteration(Bench bench) {
+        long calls = 0;
+        long timedNanos = 0;
+        long bytes = 0;
+        long deadline = System.nanoTime() + ITERATION_MS * 1_000_000;
+        if (bench.prepare() == null) {
+            long bytesBefore = THREADS.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            do {
+                sink = bench.run().get();
+                calls++;
+            } while (System.nanoTime() < deadline);
+            timedNanos = System.nanoTime() - start;
+            bytes = THREADS.getCurrentThreadAllocatedBytes() - bytesBefore;
+        } else {
+            while (System.nanoTime() < deadline) {
+                bench.prepare().run();
+                long bytesBefore = THREADS.getCurrentThreadAllocatedBytes();
+                long start = System.nanoTime();
+                sink = bench.run().get();
+                timedNanos += System.nanoTime() - start;
+                bytes += THREADS.getCurrentThreadAllocatedBytes() - bytesBefore;
+                calls++;
+            }
+        }
+        return new long[] { calls, timedNanos, bytes };
+    }
+}
@@ -0,0 +1,274 @@
+// In file: bench/ecocycle/bench/QueryBenchmark.java
+package ecocycle.bench;
+
+import ecocycle.model.Product;
+import ecocycle.model.ProductStatus;
+import ecocycle.repository.jdbc.SchemaManager;
+import ecocycle.service.DataService;
+import ecocycle.util.DBConnector;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Latency of the browse, bid and purchase-history queries as the tables grow,
+ * with the SchemaManager indexes and with them dropped.
+ *
+ * At each size there are that many products and transactions, plus 3 bids on every
+ * product waiting for recycling (15% of the products). Rows are added between sizes,
+ * so the largest size decides how long seeding takes.
+ *
+ * Needs the ecocycle_db MySQL database configured in DBConnector.
+ * Usage: java ecocycle.bench.QueryBenchmark [sizes...]   (default: 10000 100000 1000000)
+ *
+ * -Decocycle.bench.indexedOnly=true skips the runs without indexes, which can take
+ * minutes per query at the larger sizes.
+ *
+ * Seeded rows use the "bench_" prefix and are deleted again at the end.
+ * The dropped indexes are always created again, even if a query fails.
+ */
+public class QueryBenchmark {
+
+    private static final int SELLERS = 200;
+    private static final int BUYERS = 1_000;
+    private static final int RECYCLERS = 50;
+    // Seller i owns products i, i + 200, ...; all of seller 17's are waiting for recycling.
+    private static final String SELLER_WITH_BIDS = "bench_seller17";
+    private static final int PAGE_SIZE = 50;
+    private static final int WARM_UP_RUNS = 3;
+    private static final int RUNS = 10;
+    private static final int BATCH_SIZE = 5_000;
+    private static final String[] CATEGORIES = { "plastic", "clothing", "electronics", "furniture" };
+    private static final long BASE_TIME = System.currentTimeMillis();
+    private static final boolean INDEXED_ONLY = Boolean.getBoolean("ecocycle.bench.indexedOnly");
+
+    private record Query(String name, Supplier<List<?>> run) {}
+
+    public static void main(String[] args) throws SQLException {
+        int[] sizes = { 10_000, 100_000, 1_000_000 };
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        DataService.start(null).join(); // runs the schema migration
+        System.out.printf("%-10s %-28s %8s %12s %12s%n", "rows", "query", "result", "indexed ms", "no index ms");
+
+        int seeded = 0;
+        try {
+            cleanUp();
+            seedUsers();
+            for (int size : sizes) {
+                seed(seeded, size);
+                seeded = Math.max(seeded, size);
+                // The seeded bids bypassed DataService; load them into the order book it reads bids from
+                DataService.getBidOrderBook().rebuild();
+
+                List<Query> queries = queries(size);
+                double[] indexed = timeAll(queries);
+                printFindings("indexed", SchemaManager.verify());
+
+                double[] plain = new double[queries.size()];
+                if (!INDEXED_ONLY) {
+                    dropIndexes();
+                    try {
+                        plain = timeAll(queries);
+                        printFindings("no index", SchemaManager.verify());
+                    } finally {
+                        SchemaManager.ensureIndexes();
+                    }
+                }
+
+                for (int q = 0; q < queries.size(); q++) {
+                    Query query = queries.get(q);
+                    System.out.printf("%-10d %-28s %8d %12.2f %12s%n", size, query.name(), query.run().get().size(),
+                                      indexed[q], INDEXED_ONLY ? "-" : String.format("%.2f", plain[q]));
+                }
+            }
+        } finally {
+            DataService.logout();
+            cleanUp();
+        }
+        System.out.println(DBConnector.getPool());
+    }
+
+    private static List<Query> queries(int size) {
+        // Cursor for a page in the middle of the newest-first list.
+        int middle = size / 2;
+        Product cursor = new Product("bench_p" + middle, "Bench item", "plastic", "plastic", priceOf(middle), "", sellerOf(middle));
+        cursor.setUploadTimestamp(timeOf(middle));
+
+        return List.of(
+            new Query("browse first page", () -> DataService.getAvailableProductsPage(
+                    "All", 0, Double.MAX_VALUE, false, null, false, PAGE_SIZE)),
+            new Query("browse category by price", () -> DataService.getAvailableProductsPage(
+                    "plastic", 100, 2_000, true, null, false, PAGE_SIZE)),
+            new Query("browse middle page", () -> DataService.getAvailableProductsPage(
+                    "All", 0, Double.MAX_VALUE, false, cursor, false, PAGE_SIZE)),
+            new Query("seller's bidded products", () -> {
+                DataService.login(SELLER_WITH_BIDS, "pass");
+                return DataService.getBiddableProductsForSeller();
+            }),
+            new Query("purchase history", () -> {
+                DataService.login("bench_buyer0", "pass");
+                return DataService.getTransactionsForBuyer();
+            })
+        );
+    }
+
+    private static double[] timeAll(List<Query> queries) {
+        double[] avgMillis = new double[queries.size()];
+        for (int q = 0; q < queries.size(); q++) {
+            Supplier<List<?>> run = queries.get(q).run();
+            for (int i = 0; i < WARM_UP_RUNS; i++) {
+                run.get();
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < RUNS; i++) {
+                run.get();
+            }
+            avgMillis[q] = (System.nanoTime() - start) / 1_000_000.0 / RUNS;
+        }
+        return avgMillis;
+    }
+
+    private static void printFindings(String mode, List<String> findings) {
+        System.out.println("  EXPLAIN (" + mode + "): " + (findings.isEmpty() ? "no full table scans" : findings.size() + " full scans"));
+        for (String finding : findings) {
+            System.out.println("    " + finding);
+        }
+    }
+
+    private static void dropIndexes() throws SQLException {
+        try (Connection con = DBConnector.getConnection();
+             Statement stmt = con.createStatement()) {
+            for (SchemaManager.Index index : SchemaManager.getIndexes()) {
+                stmt.executeUpdate("DROP INDEX " + index.name() + " ON " + index.table());
+            }
+        }
+    }
+
+    // --- Seeding ---
+
+    private static double priceOf(int i) {
+        return 10 + (i * 37L) % 5_000;
+    }
+
+    private static String sellerOf(int i) {
+        return "bench_s" + (i % SELLERS);
+    }
+
+    private static long timeOf(int i) {
+        return BASE_TIME - i * 1_000L;
+    }
+
+    // 12 in 20 available, 2 available without recycling, 3 sold, 3 waiting for recycling.
+    private static ProductStatus statusOf(int i) {
+        int slot = i % 20;
+        if (slot < 12) return ProductStatus.AVAILABLE;
+        if (slot < 14) return ProductStatus.AVAILABLE_NO_RECYCLE;
+        if (slot < 17) return ProductStatus.SOLD;
+        return ProductStatus.PENDING_RECYCLING;
+    }
+
+    private static void seedUsers() throws SQLException {
+        try (Connection con = DBConnector.getConnection();
+             PreparedStatement pstmt = con.prepareStatement("INSERT INTO users (user_id, username, password, role) VALUES (?, ?, 'pass', ?)")) {
+            con.setAutoCommit(false);
+            addUsers(pstmt, "bench_s", "bench_seller", "SELLER", SELLERS);
+            addUsers(pstmt, "bench_b", "bench_buyer", "BUYER", BUYERS);
+            addUsers(pstmt, "bench_r", "bench_recycler", "RECYCLER", RECYCLERS);
+            pstmt.executeBatch();
+            con.commit();
+            con.setAutoCommit(true);
+        }
+    }
+
+    private static void addUsers(PreparedStatement pstmt, String idPrefix, String namePrefix, String role, int count) throws SQLException {
+        for (int i = 0; i < count; i++) {
+            pstmt.setString(1, idPrefix + i);
+            pstmt.setString(2, namePrefix + i);
+            pstmt.setString(3, role);
+            pstmt.addBatch();
+        }
+    }
+
+    /**
+     * Adds products, bids and transactions number from (inclusive) to to (exclusive).
+     */
+    private static void seed(int from, int to) throws SQLException {
+        if (to <= from) {
+            return;
+        }
+        long start = System.nanoTime();
+        String productSql = "INSERT INTO products (product_id, name, type, category, description, price, seller_id, status, upload_timestamp) " +
+                            "VALUES (?, ?, ?, ?, 'benchmark row', ?, ?, ?, ?)";
+        String bidSql = "INSERT INTO recycling_bids (product_id, recycler_id, bid_price) VALUES (?, ?, ?)";
+        String transactionSql = "INSERT INTO transactions (transaction_id, buyer_id, product_id, price, timestamp, status) " +
+                                "VALUES (?, ?, ?, ?, ?, 'COMPLETED')";
+
+        try (Connection con = DBConnector.getConnection();
+             PreparedStatement productStmt = con.prepareStatement(productSql);
+             PreparedStatement bidStmt = con.prepareStatement(bidSql);
+             PreparedStatement transactionStmt = con.prepareStatement(transactionSql)) {
+            con.setAutoCommit(false);
+            for (int i = from; i < to; i++) {
+                String category = CATEGORIES[i % CATEGORIES.length];
+                productStmt.setString(1, "bench_p" + i);
+                productStmt.setString(2, "Bench item " + i);
+                productStmt.setString(3, category);
+                productStmt.setString(4, category);
+                productStmt.setDouble(5, priceOf(i));
+                productStmt.setString(6, sellerOf(i));
+                productStmt.setString(7, statusOf(i).name());
+                productStmt.setTimestamp(8, new java.sql.Timestamp(timeOf(i)));
+                productStmt.addBatch();
+
+                if (statusOf(i) == ProductStatus.PENDING_RECYCLING) {
+                    for (int b = 0; b < 3; b++) {
+                        bidStmt.setString(1, "bench_p" + i);
+                        bidStmt.setString(2, "bench_r" + ((i + b) % RECYCLERS));
+                        bidStmt.setDouble(3, priceOf(i) * (0.5 + b * 0.1));
+                        bidStmt.addBatch();
+                    }
+                }
+
+                transactionStmt.setString(1, "bench_t" + i);
+                transactionStmt.setString(2, "bench_b" + (i % BUYERS));
+                transactionStmt.setString(3, "bench_p" + i);
+                transactionStmt.setDouble(4, priceOf(i));
+                transactionStmt.setTimestamp(5, new java.sql.Timestamp(timeOf(i)));
+                transactionStmt.addBatch();
+
+                if ((i - from + 1) % BATCH_SIZE == 0) {
+                    productStmt.executeBatch();
+                    bidStmt.executeBatch();
+                    transactionStmt.executeBatch();
+                    con.commit();
+                }
+            }
+            productStmt.executeBatch();
+            bidStmt.executeBatch();
+            transactionStmt.executeBatch();
+            con.commit();
+            con.setAutoCommit(true);
+        }
+        System.out.printf("  seeded rows %d..%d in %.1f s%n", from, to - 1, (System.nanoTime() - start) / 1e9);
+    }
+
+    private static void cleanUp() throws SQLException {
+        try (Connection con = DBConnector.getConnection();
+             Statement stmt = con.createStatement()) {
+            stmt.executeUpdate("DELETE FROM recycling_bids WHERE product_id LIKE 'bench\\_%'");
+            stmt.executeUpdate("DELETE FROM transactions WHERE buyer_id LIKE 'bench\\_%'");
+            stmt.executeUpdate("DELETE FROM products WHERE product_id LIKE 'bench\\_%'");
+            stmt.executeUpdate("DELETE FROM users WHERE user_id LIKE 'bench\\_%'");
+        }
+    }
+}
@@ -0,0 +1,389 @@
+// In file: bench/ecocycle/bench/WorkloadSimulator.java
+package ecocycle.bench;
+
+import ecocycle.model.Product;
+import ecocycle.model.ProductStatus;
+import ecocycle.model.RecyclingBid;
+import ecocycle.model.Role;
+import ecocycle.model.User;
+import ecocycle.repository.StorageBackend;
+import ecocycle.repository.memory.InMemoryStorageBackend;
+import ecocycle.service.DataService;
+import ecocycle.util.LatencyHistogram;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Marketplace traffic against DataService: populations of sellers, buyers and recyclers,
+ * each user on its own virtual thread acting as itself (DataService.callAs).
+ * - Sellers list products, approve or deny the ones eligible for recycling, and accept bids.
+ * - Buyers browse (paging on through the listings now and then), search, fill a cart, check
+ *   out, look at their history, read the review feed and write reviews.
+ * - Recyclers bid on the recycling market and submit proof for what they won.
+ * Users join at -Decocycle.sim.arrivalsPerSecond (0 = all at once) and wait an exponentially
+ * distributed think time (mean -Decocycle.sim.thinkMs) between actions.
+ *
+ * Reports, per operation, how often it ran, how often DataService turned it down (e.g. an
+ * item sold to someone else first), throughput and p50/p99/p99.9 latency.
+ * The warm-up period is run but not reported.
+ *
+ * Runs on a fresh InMemoryStorageBackend by default. With -Decocycle.sim.store=jdbc it uses
+ * the database configured in DBConnector instead; point -Decocycle.db.url at an embedded one
+ * (e.g. jdbc:h2:mem:sim;MODE=MySQL;DATABASE_TO_LOWER=FALSE;DB_CLOSE_DELAY=-1) that starts empty.
+ *
+ * Usage: java ecocycle.bench.WorkloadSimulator [durationSeconds]   (default: 30)
+ * Population: -Decocycle.sim.sellers (8), .buyers (64), .recyclers (8), .productsPerSeller (500)
+ */
+public class WorkloadSimulator {
+
+    private static final int SELLERS = Integer.getInteger("ecocycle.sim.sellers", 8);
+    private static final int BUYERS = Integer.getInteger("ecocycle.sim.buyers", 64);
+    private static final int RECYCLERS = Integer.getInteger("ecocycle.sim.recyclers", 8);
+    private static final int PRODUCTS_PER_SELLER = Integer.getInteger("ecocycle.sim.productsPerSeller", 500);
+    private static final long THINK_MS = Long.getLong("ecocycle.sim.thinkMs", 20);
+    private static final double ARRIVALS_PER_SECOND = Double.parseDouble(System.getProperty("ecocycle.sim.arrivalsPerSecond", "0"));
+    private static final int WARM_UP_SECONDS = Integer.getInteger("ecocycle.sim.warmUpSeconds", 5);
+    private static final long SEED = Long.getLong("ecocycle.sim.seed", 42);
+    private static final boolean USE_JDBC = "jdbc".equalsIgnoreCase(System.getProperty("ecocycle.sim.store"));
+
+    private static final String[] CATEGORIES = { "plastic", "clothing", "electronics", "furniture" };
+    private static final String[] TYPES = { "Plastic", "Clothing", "Electronics", "Furniture" };
+    private static final String[] WORDS = { "chair", "table", "lamp", "bottle", "jacket", "jeans", "laptop",
+                                            "phone", "shelf", "bag", "desk", "crate", "speaker", "sofa" };
+    private static final int PAGE_SIZE = 20;
+
+    /**
+     * Latency and outcome counts of one operation.
+     */
+    private static final class OpStats {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder rejected = new LongAdder();
+
+        void reset() {
+            latency.reset();
+            rejected.reset();
+        }
+    }
+
+    private static final Map<String, OpStats> stats = new ConcurrentHashMap<>();
+    private static volatile boolean running = true;
+
+    public static void main(String[] args) throws InterruptedException {
+        int durationSeconds = args.length > 0 ? Integer.parseInt(args[0]) : 30;
+        if (!USE_JDBC && System.getProperty("ecocycle.store") == null) {
+            System.setProperty("ecocycle.store", "memory"); // never touch the configured database by accident
+        }
+
+        StorageBackend store = USE_JDBC ? DataService.getStorageBackend() : new InMemoryStorageBackend();
+        List<User> sellers = seedUsers(store, "sim_seller", Role.SELLER, SELLERS);
+        List<User> buyers = seedUsers(store, "sim_buyer", Role.BUYER, BUYERS);
+        List<User> recyclers = seedUsers(store, "sim_recycler", Role.RECYCLER, RECYCLERS);
+        seedProducts(store, sellers);
+        DataService.useStorageBackend(store); // loads the directories, leaderboards, indexes and scheduler
+
+        System.out.printf("Simulating %d sellers, %d buyers, %d recyclers on %s for %ds (+%ds warm-up), think %dms%n",
+                          SELLERS, BUYERS, RECYCLERS, store.getClass().getSimpleName(), durationSeconds,
+                          WARM_UP_SECONDS, THINK_MS);
+
+        List<Runnable> agents = new ArrayList<>();
+        SplittableRandom seeds = new SplittableRandom(SEED);
+        for (User u : sellers) {
+            agents.add(new Seller(u, seeds.split()));
+        }
+        for (User u : buyers) {
+            agents.add(new Buyer(u, seeds.split()));
+        }
+        for (User u : recyclers) {
+            agents.add(new Recycler(u, seeds.split()));
+        }
+        Collections.shuffle(agents, new Random(SEED)); // mix roles in the arrival order
+
+        long measuredNanos;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            SplittableRandom arrivals = seeds.split();
+            Thread starter = Thread.ofVirtual().start(() -> {
+                for (Runnable agent : agents) {
+                    if (!running) {
+                        return;
+                    }
+                    executor.execute(agent);
+                    if (ARRIVALS_PER_SECOND > 0) {
+                        sleepMillis(exponential(arrivals, 1000.0 / ARRIVALS_PER_SECOND));
+                    }
+                }
+            });
+
+            TimeUnit.SECONDS.sleep(WARM_UP_SECONDS);
+            stats.values().forEach(OpStats::reset);
+            long measureStart = System.nanoTime();
+            TimeUnit.SECONDS.sleep(durationSeconds);
+            measuredNanos = System.nanoTime() - measureStart;
+            running = false;
+            starter.join();
+        } // close() waits for every agent to finish its current action
+
+        report(measuredNanos);
+    }
+
+    // --- Seeding (straight into the store, before DataService loads it) ---
+
+    private static List<User> seedUsers(StorageBackend store, String prefix, Role role, int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = new User(prefix + i, prefix + i, "pass", role);
+            store.users().insert(user);
+            users.add(user);
+        }
+        return users;
+    }
+
+    // Half of each seller's products are listed long enough ago to be eligible for recycling right away.
+    // Products listed during the run only become eligible after their category threshold (1-3 minutes),
+    // so in a short run this backlog is all the recycling traffic there is; buyers shrink it too.
+    private static void seedProducts(StorageBackend store, List<User> sellers) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        long now = System.currentTimeMillis();
+        for (User seller : sellers) {
+            for (int i = 0; i < PRODUCTS_PER_SELLER; i++) {
+                Product p = randomProduct(random, seller.getUserId() + "_p" + i, seller.getUserId());
+                if (i % 2 == 0) {
+                    p.setUploadTimestamp(now - DataService.getRecyclingThresholdMs(p.getCategory()) - 60_000);
+                }
+                store.products().insert(p);
+            }
+        }
+    }
+
+    private static Product randomProduct(SplittableRandom random, String productId, String sellerId) {
+        int kind = random.nextInt(CATEGORIES.length);
+        String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+        double price = 50 + random.nextInt(20_000);
+        return new Product(productId, name, TYPES[kind], CATEGORIES[kind], price, "simulated " + name, sellerId);
+    }
+
+    // --- Agents ---
+
+    private abstract static class Agent implements Runnable {
+        final User user;
+        final SplittableRandom random;
+
+        Agent(User user, SplittableRandom random) {
+            this.user = user;
+            this.random = random;
+        }
+
+        @Override
+        public void run() {
+            DataService.callAs(user, () -> {
+                while (running) {
+                    try {
+                        act();
+                    } catch (RuntimeException e) {
+                        e.printStackTrace();
+                        time("error", () -> false);
+                    }
+                    sleepMillis(exponential(random, THINK_MS));
+                }
+                return null;
+            });
+        }
+
+        abstract void act();
+
+        <T> T pick(List<T> items) {
+            return items.get(random.nextInt(items.size()));
+        }
+    }
+
+    private static final class Seller extends Agent {
+        private int listed;
+
+        Seller(User user, SplittableRandom random) {
+            super(user, random);
+        }
+
+        @Override
+        void act() {
+            int roll = random.nextInt(100);
+            if (roll < 30) {
+                Product p = randomProduct(random, "", user.getUserId());
+                time("seller.addProduct", () -> {
+                    DataService.addProduct(p.getName() + " " + listed++, p.getType(), p.getCategory(), p.getPrice(),
+                                           p.getDescription());
+                    return true;
+                });
+            } else if (roll < 65) {
+                List<Product> eligible = time("seller.listEligible", DataService::getEligibleProductsForApproval);
+                if (!eligible.isEmpty()) {
+                    Product p = pick(eligible);
+                    ProductStatus decision = random.nextInt(10) < 8 ? ProductStatus.PENDING_RECYCLING
+                                                                    : ProductStatus.AVAILABLE_NO_RECYCLE;
+                    time("seller.decideRecycling", () -> {
+                        DataService.updateProductRecyclingStatus(p.getProductId(), decision);
+                        return true;
+                    });
+                }
+            } else {
+                List<Product> biddable = time("seller.listBiddable", DataService::getBiddableProductsForSeller);
+                if (!biddable.isEmpty()) {
+                    String productId = pick(biddable).getProductId();
+                    time("seller.acceptBid", () -> DataService.acceptBid(productId) != null);
+                }
+            }
+        }
+    }
+
+    private static final class Buyer extends Agent {
+        private final List<String> purchased = new ArrayList<>();
+        private final Set<String> cart = new HashSet<>(); // a real buyer doesn't add the same item twice
+        // The filters and last product of the previous browse page, to page on from.
+        private String browseCategory;
+        private boolean browseByPrice;
+        private Product browseCursor;
+
+        Buyer(User user, SplittableRandom random) {
+            super(user, random);
+        }
+
+        @Override
+        void act() {
+            int roll = random.nextInt(100);
+            if (roll < 35) {
+                browseAndAdd();
+            } else if (roll < 50) {
+                String query = WORDS[random.nextInt(WORDS.length)];
+                time("buyer.search", () -> DataService.searchAvailableProducts(query, "All", 0, Double.MAX_VALUE, PAGE_SIZE));
+            } else if (roll < 72) {
+                // Items someone else bought first are skipped by the checkout.
+                List<String> forSale = new ArrayList<>();
+                for (Product p : time("buyer.viewCart", () -> DataService.getCart(false))) {
+                    if (p.getStatus().isForSale()) {
+                        forSale.add(p.getProductId());
+                    }
+                }
+                if (!forSale.isEmpty() && time("buyer.checkout", DataService::purchaseCart)) {
+                    purchased.addAll(forSale);
+                    cart.clear();
+                }
+            } else if (roll < 85) {
+                time("buyer.transactions", DataService::getTransactionsForBuyer);
+            } else if (roll < 93 || purchased.isEmpty()) {
+                time("buyer.reviewFeed", () -> DataService.getReviewFeedPage(null, false, PAGE_SIZE));
+            } else {
+                String productId = pick(purchased);
+                time("buyer.review", () -> DataService.submitReview(productId, "simulated review of " + productId));
+            }
+        }
+
+        private void browseAndAdd() {
+            List<Product> page;
+            if (browseCursor != null && random.nextInt(5) < 2) {
+                // Page on from where the last browse stopped (keyset paging)
+                String category = browseCategory;
+                boolean byPrice = browseByPrice;
+                Product cursor = browseCursor;
+                page = time("buyer.browseNextPage", () -> DataService.getAvailableProductsPage(
+                        category, 0, Double.MAX_VALUE, byPrice, cursor, false, PAGE_SIZE));
+            } else {
+                browseCategory = random.nextInt(3) == 0 ? "All" : CATEGORIES[random.nextInt(CATEGORIES.length)];
+                browseByPrice = random.nextBoolean();
+                String category = browseCategory;
+                boolean byPrice = browseByPrice;
+                page = time("buyer.browse", () -> DataService.getAvailableProductsPage(
+                        category, 0, Double.MAX_VALUE, byPrice, null, false, PAGE_SIZE));
+            }
+            browseCursor = page.size() == PAGE_SIZE ? page.get(page.size() - 1) : null;
+            int adds = Math.min(page.size(), 1 + random.nextInt(3));
+            for (int i = 0; i < adds; i++) {
+                String productId = pick(page).getProductId();
+                if (cart.add(productId)) {
+                    time("buyer.addToCart", () -> DataService.addToCart(productId));
+                }
+            }
+        }
+    }
+
+    private static final class Recycler extends Agent {
+        Recycler(User user, SplittableRandom random) {
+            super(user, random);
+        }
+
+        @Override
+        void act() {
+            if (random.nextInt(100) < 70) {
+                List<Product> market = time("recycler.market", DataService::getEligibleProductsForBidding);
+                if (!market.isEmpty()) {
+                    Product p = pick(market);
+                    RecyclingBid best = p.getBids().peek();
+                    double floor = Math.max(p.getBaseCost(), best == null ? 0 : best.bidPrice());
+                    double price = Math.ceil(floor * (1.01 + random.nextDouble() * 0.2));
+                    time("recycler.bid", () -> DataService.placeBid(p.getProductId(), price));
+                }
+            } else {
+                List<Product> acquired = time("recycler.acquired", DataService::getAcquiredProducts);
+                if (!acquired.isEmpty()) {
+                    String productId = pick(acquired).getProductId();
+                    time("recycler.proof", () -> DataService.submitRecyclingProof(productId));
+                }
+            }
+        }
+    }
+
+    // --- Measuring ---
+
+    private static <T> T time(String op, Supplier<T> work) {
+        long start = System.nanoTime();
+        T result = work.get();
+        OpStats s = stats.computeIfAbsent(op, k -> new OpStats());
+        s.latency.record(System.nanoTime() - start);
+        if (Boolean.FALSE.equals(result)) {
+            s.rejected.increment();
+        }
+        return result;
+    }
+
+    private static void report(long measuredNanos) {
+        double seconds = measuredNanos / 1e9;
+        System.out.printf("%-26s %9s %9s %10s %10s %10s %10s %10s%n", "operation", "count", "rejected", "ops/s",
+                          "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        long total = 0;
+        for (Map.Entry<String, OpStats> entry : new TreeMap<>(stats).entrySet()) {
+            LatencyHistogram h = entry.getValue().latency;
+            total += h.getCount();
+            System.out.printf("%-26s %9d %9d %10.1f %10.3f %10.3f %10.3f %10.3f%n", entry.getKey(), h.getCount(),
+                              entry.getValue().rejected.sum(), h.getCount() / seconds, h.getPercentileMillis(50),
+                              h.getPercentileMillis(99), h.getPercentileMillis(99.9), h.getMaxNanos() / 1e6);
+        }
+        System.out.printf("%-26s %9d %9s %10.1f%n", "all", total, "", total / seconds);
+    }
+
+    private static long exponential(SplittableRandom random, double meanMillis) {
+        return meanMillis <= 0 ? 0 : (long) (-Math.log(1 - random.nextDouble()) * meanMillis);
+    }
+
+    private static void sleepMillis(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
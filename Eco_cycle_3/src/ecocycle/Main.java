@@ -1,6 +1,9 @@
 // In file: src/ecocycle/Main.java
 package ecocycle;
 
+import ecocycle.controller.LoginController;
+import ecocycle.service.DataService;
+import ecocycle.util.SceneNavigator;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
@@ -8,12 +11,13 @@ import javafx.scene.Scene;
 import javafx.stage.Stage;
 
 import java.io.IOException;
-import java.net.URL; // 1. YOU MUST IMPORT java.net.URL
 
 /**
 * Main application class.
 * This is the entry point for the JavaFX application.
 * It loads the initial login screen and sets up the primary stage.
+* The services (database, caches) start in the background while the login screen
+* is showing; the first frame is drawn before any of that work is done.
 */
 public class Main extends Application {
 
@@ -31,21 +35,21 @@ public class Main extends Application {
             // Set up the scene (the content inside the window)
             Scene scene = new Scene(root, 400, 450); // 400px wide, 450px tall
             
-            // --- THIS IS THE FIX ---
-            // We must apply the stylesheet to the VERY FIRST scene
-            URL cssUrl = getClass().getResource("/ecocycle/view/style.css");
-            if (cssUrl != null) {
-                scene.getStylesheets().add(cssUrl.toExternalForm());
-            } else {
-                System.err.println("Error: Could not find style.css file.");
-            }
-            // --- END OF FIX ---
+            // We must apply the stylesheet to the VERY FIRST scene too
+            SceneNavigator.applyStylesheet(scene);
 
             // Configure the primary stage (the window)
             primaryStage.setTitle("EcoCycle - Login");
             primaryStage.setScene(scene);
             primaryStage.setResizable(false); // Don't let the user resize the login window
             primaryStage.show(); // Show the window
+            SceneNavigator.recordFirstFrame(scene);
+
+            // Start the services and parse the other screens in the background while the user logs in.
+            // Even loading DataService takes a while (it registers its JMX beans), so not on this thread.
+            LoginController login = loader.getController();
+            Thread.ofPlatform().daemon().name("ecocycle-startup").start(() -> DataService.start(login::showStartupProgress));
+            SceneNavigator.preload();
 
         } catch (IOException e) {
             System.err.println("Failed to load the Login.fxml file.");
@@ -1,7 +1,9 @@
 // In file: src/ecocycle/controller/AddProductController.java
 package ecocycle.controller;
 
+import ecocycle.service.AsyncDataService;
 import ecocycle.service.DataService;
+import ecocycle.util.FxAsync;
 import ecocycle.util.SceneNavigator;
 import javafx.collections.FXCollections;
 import javafx.event.ActionEvent;
@@ -79,10 +81,11 @@ public class AddProductController {
 
         // Use the DataService to add the product
         // We pass 'category' as the main category and 'type' as the sub-category
-        DataService.addProduct(name, type, category, price, description);
-
-        // On success, go back to the product list
-        SceneNavigator.navigateTo(event, "/ecocycle/view/ProductList.fxml");
+        errorLabel.setText("Saving...");
+        FxAsync.onFxThread(AsyncDataService.addProduct(name, type, category, price, description), done -> {
+            // On success, go back to the product list
+            SceneNavigator.navigateTo(event, "/ecocycle/view/ProductList.fxml");
+        }, error -> errorLabel.setText("Could not save the product. Please try again."));
     }
 
     /**
@@ -2,7 +2,9 @@
 package ecocycle.controller;
 
 import ecocycle.model.Product;
+import ecocycle.service.AsyncDataService;
 import ecocycle.service.DataService;
+import ecocycle.util.FxAsync;
 import ecocycle.util.SceneNavigator;
 import javafx.collections.FXCollections;
 import javafx.event.ActionEvent;
@@ -17,7 +19,7 @@ import javafx.scene.paint.Color;
 
 import java.util.List;
 
-public class CartController {
+public class CartController implements SceneNavigator.Refreshable {
 
     @FXML
     private TableView<Product> cartTable;
@@ -59,12 +61,32 @@ public class CartController {
             removeButton.setDisable(!itemSelected);
         });
         // --- END OF UPDATED LOGIC ---
+    }
 
+    @Override
+    public void onShow() {
+        infoLabel.setText("");
         loadCart();
     }
 
     private void loadCart() {
-        List<Product> cartItems = DataService.getCart();
+        // Show a loading state while the cart is fetched off the FX thread
+        cartTable.setItems(FXCollections.observableArrayList());
+        cartTable.setPlaceholder(new Label("Loading your cart..."));
+        totalLabel.setText("Total Cart Value: ...");
+        purchaseButton.setDisable(true);
+        removeButton.setDisable(true);
+        undoRemoveButton.setDisable(true);
+
+        FxAsync.onFxThread(AsyncDataService.getCart(false), this::showCart, error -> {
+            cartTable.setPlaceholder(new Label("Could not load your cart."));
+            infoLabel.setText("Could not load your cart. Please try again.");
+            infoLabel.setTextFill(Color.RED);
+        });
+    }
+
+    private void showCart(List<Product> cartItems) {
+        cartTable.setPlaceholder(new Label("Your cart is empty."));
         cartTable.setItems(FXCollections.observableArrayList(cartItems));
 
         // Calculate total
@@ -105,23 +127,30 @@ public class CartController {
             return;
         }
 
-        // 2. Call the new DataService method for a single item
-        boolean success = DataService.purchaseSingleItem(selectedItem.getProductId());
-        
-        if (success) {
-            // 3. Show a professional pop-up dialog
-            Alert alert = new Alert(Alert.AlertType.INFORMATION);
-            alert.setTitle("Purchase Successful");
-            alert.setHeaderText("Your order for '" + selectedItem.getName() + "' has been placed!");
-            alert.setContentText(String.format("Your total was ₹%.2f. Thank you!", selectedItem.getPrice()));
-            alert.showAndWait();
-            
-            // 4. Reload the cart (the item will be gone)
-            loadCart(); 
-        } else {
-            infoLabel.setText("Purchase failed. Item may be out of stock.");
-            infoLabel.setTextFill(Color.RED);
-        }
+        // 2. Call the new DataService method for a single item (off the FX thread)
+        purchaseButton.setDisable(true);
+        removeButton.setDisable(true);
+        infoLabel.setText("Placing your order...");
+        infoLabel.setTextFill(Color.BLACK);
+
+        FxAsync.onFxThread(AsyncDataService.purchaseSingleItem(selectedItem.getProductId()), success -> {
+            if (success) {
+                // 3. Show a professional pop-up dialog
+                Alert alert = new Alert(Alert.AlertType.INFORMATION);
+                alert.setTitle("Purchase Successful");
+                alert.setHeaderText("Your order for '" + selectedItem.getName() + "' has been placed!");
+                alert.setContentText(String.format("Your total was ₹%.2f. Thank you!", selectedItem.getPrice()));
+                alert.showAndWait();
+
+                // 4. Reload the cart (the item will be gone)
+                loadCart();
+            } else {
+                infoLabel.setText("Purchase failed. Item may be out of stock.");
+                infoLabel.setTextFill(Color.RED);
+                purchaseButton.setDisable(false);
+                removeButton.setDisable(false);
+            }
+        });
     }
 
     /**
@@ -137,16 +166,16 @@ public class CartController {
             return;
         }
 
-        boolean success = DataService.removeItemFromCart(selectedItem.getProductId());
-        
-        if (success) {
-            infoLabel.setText("'" + selectedItem.getName() + "' removed from cart.");
-            infoLabel.setTextFill(Color.GREEN);
-            loadCart(); // Refresh the cart
-        } else {
-            infoLabel.setText("Error: Could not remove item.");
-            infoLabel.setTextFill(Color.RED);
-        }
+        FxAsync.onFxThread(AsyncDataService.removeItemFromCart(selectedItem.getProductId()), success -> {
+            if (success) {
+                loadCart(); // Refresh the cart
+                infoLabel.setText("'" + selectedItem.getName() + "' removed from cart.");
+                infoLabel.setTextFill(Color.GREEN);
+            } else {
+                infoLabel.setText("Error: Could not remove item.");
+                infoLabel.setTextFill(Color.RED);
+            }
+        });
     }
 
     /**
@@ -154,17 +183,17 @@ public class CartController {
      */
     @FXML
     void handleUndoRemove(ActionEvent event) {
-        Product restoredItem = DataService.restoreLastRemovedItem();
-        
-        if (restoredItem != null) {
-            infoLabel.setText("'" + restoredItem.getName() + "' was added back to your cart.");
-            infoLabel.setTextFill(Color.GREEN);
-            loadCart(); // Refresh the cart
-        } else {
-            infoLabel.setText("Nothing to undo.");
-            infoLabel.setTextFill(Color.RED);
-            undoRemoveButton.setDisable(true);
-        }
+        undoRemoveButton.setDisable(true);
+        FxAsync.onFxThread(AsyncDataService.restoreLastRemovedItem(), restoredItem -> {
+            if (restoredItem != null) {
+                loadCart(); // Refresh the cart
+                infoLabel.setText("'" + restoredItem.getName() + "' was added back to your cart.");
+                infoLabel.setTextFill(Color.GREEN);
+            } else {
+                infoLabel.setText("Nothing to undo.");
+                infoLabel.setTextFill(Color.RED);
+            }
+        });
     }
 
     @FXML
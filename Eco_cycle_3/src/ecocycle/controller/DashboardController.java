@@ -12,7 +12,7 @@ import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.layout.VBox;
 
-public class DashboardController {
+public class DashboardController implements SceneNavigator.Refreshable {
 
     @FXML
     private Label welcomeLabel;
@@ -21,8 +21,11 @@ public class DashboardController {
     @FXML
     private VBox buttonContainer;
 
-    @FXML
-    public void initialize() {
+    /**
+     * Rebuilt on every visit: the screen is kept, but who is logged in (and their credits) changes.
+     */
+    @Override
+    public void onShow() {
         User user = DataService.getCurrentUser();
         if (user != null) {
             welcomeLabel.setText("Welcome, " + user.getUsername() + "!");
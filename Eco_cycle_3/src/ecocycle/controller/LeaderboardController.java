@@ -1,17 +1,21 @@
 // In file: src/ecocycle/controller/LeaderboardController.java
 package ecocycle.controller;
 
+import ecocycle.model.Role;
 import ecocycle.model.User;
+import ecocycle.service.AsyncDataService;
 import ecocycle.service.DataService;
+import ecocycle.util.FxAsync;
 import ecocycle.util.SceneNavigator;
 import javafx.collections.FXCollections;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
+import javafx.scene.control.Label;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.cell.PropertyValueFactory;
 
-public class LeaderboardController {
+public class LeaderboardController implements SceneNavigator.Refreshable {
 
     @FXML
     private TableView<User> sellerTable;
@@ -25,22 +29,46 @@ public class LeaderboardController {
     private TableColumn<User, String> recyclerNameCol;
     @FXML
     private TableColumn<User, Double> recyclerCreditsCol;
+    @FXML
+    private Label rankLabel;
 
     @FXML
     public void initialize() {
         // Setup Seller Table
         sellerNameCol.setCellValueFactory(new PropertyValueFactory<>("username"));
         sellerSalesCol.setCellValueFactory(new PropertyValueFactory<>("totalSales"));
-        sellerTable.setItems(FXCollections.observableArrayList(
-            DataService.getSellerLeaderboard()
-        ));
 
         // Setup Recycler Table
         recyclerNameCol.setCellValueFactory(new PropertyValueFactory<>("username"));
         recyclerCreditsCol.setCellValueFactory(new PropertyValueFactory<>("carbonCredits"));
-        recyclerTable.setItems(FXCollections.observableArrayList(
-            DataService.getRecyclerLeaderboard()
-        ));
+    }
+
+    @Override
+    public void onShow() {
+        sellerTable.setItems(FXCollections.observableArrayList());
+        sellerTable.setPlaceholder(new Label("Loading..."));
+        FxAsync.onFxThread(AsyncDataService.getSellerLeaderboard(), sellers -> {
+            sellerTable.setPlaceholder(new Label("No sales yet."));
+            sellerTable.setItems(FXCollections.observableArrayList(sellers));
+        });
+
+        recyclerTable.setItems(FXCollections.observableArrayList());
+        recyclerTable.setPlaceholder(new Label("Loading..."));
+        FxAsync.onFxThread(AsyncDataService.getRecyclerLeaderboard(), recyclers -> {
+            recyclerTable.setPlaceholder(new Label("No recyclers yet."));
+            recyclerTable.setItems(FXCollections.observableArrayList(recyclers));
+        });
+
+        // Own rank (sellers and recyclers only)
+        rankLabel.setText("");
+        User user = DataService.getCurrentUser();
+        if (user != null && user.getRole() != Role.BUYER) {
+            String ranked = user.getRole() == Role.SELLER ? "sellers" : "recyclers";
+            FxAsync.onFxThread(AsyncDataService.getCurrentUserRank().thenCombine(
+                    AsyncDataService.getLeaderboardSize(user.getRole()),
+                    (rank, size) -> rank > 0 ? "Your rank: #" + rank + " of " + size + " " + ranked : ""),
+                rankLabel::setText);
+        }
     }
 
     @FXML
@@ -1,8 +1,9 @@
 package ecocycle.controller;
 
-import ecocycle.model.User;
-import ecocycle.service.DataService;
+import ecocycle.service.AsyncDataService;
+import ecocycle.util.FxAsync;
 import ecocycle.util.SceneNavigator;
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
@@ -20,6 +21,18 @@ public class LoginController {
     @FXML
     private Label errorLabel;
 
+    @FXML
+    private Label startupLabel;
+
+    /**
+     * Shows which startup step finished last, until all have (DataService.StartupListener).
+     * Called from the startup threads.
+     */
+    public void showStartupProgress(String step, int finished, int total) {
+        Platform.runLater(() -> startupLabel.setText(finished < total
+                ? "Starting up (" + finished + "/" + total + "): " + step + " done" : ""));
+    }
+
     /**
      * Handles the login button action.
      * It validates user credentials using the DataService.
@@ -34,16 +47,17 @@ public class LoginController {
             return;
         }
 
-        // Use the DataService to authenticate
-        User user = DataService.login(username, password);
-
-        if (user != null) {
-            // Successful login, navigate to the main dashboard
-            SceneNavigator.navigateTo(event, "/ecocycle/view/Dashboard.fxml");
-        } else {
-            // Failed login
-            errorLabel.setText("Invalid username or password.");
-        }
+        // Use the DataService to authenticate (off the FX thread)
+        errorLabel.setText("Signing in...");
+        FxAsync.onFxThread(AsyncDataService.login(username, password), user -> {
+            if (user != null) {
+                // Successful login, navigate to the main dashboard
+                SceneNavigator.navigateTo(event, "/ecocycle/view/Dashboard.fxml");
+            } else {
+                // Failed login
+                errorLabel.setText("Invalid username or password.");
+            }
+        }, error -> errorLabel.setText("Could not reach the server. Please try again."));
     }
 
     /**
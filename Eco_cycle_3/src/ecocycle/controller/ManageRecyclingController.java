@@ -3,7 +3,8 @@ package ecocycle.controller;
 
 import ecocycle.model.Product;
 import ecocycle.model.ProductStatus;
-import ecocycle.service.DataService;
+import ecocycle.service.AsyncDataService;
+import ecocycle.util.FxAsync;
 import ecocycle.util.SceneNavigator;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -15,7 +16,7 @@ import javafx.scene.control.TableView;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.paint.Color;
 
-public class ManageRecyclingController {
+public class ManageRecyclingController implements SceneNavigator.Refreshable {
 
     @FXML
     private TableView<Product> eligibleTable;
@@ -35,20 +36,27 @@ public class ManageRecyclingController {
         nameCol.setCellValueFactory(new PropertyValueFactory<>("name"));
         categoryCol.setCellValueFactory(new PropertyValueFactory<>("category"));
         priceCol.setCellValueFactory(new PropertyValueFactory<>("price"));
+    }
 
+    @Override
+    public void onShow() {
+        infoLabel.setText("");
+        eligibleTable.setItems(FXCollections.observableArrayList());
         loadEligibleProducts();
     }
 
     private void loadEligibleProducts() {
-        eligibleProducts = FXCollections.observableArrayList(
-                DataService.getEligibleProductsForApproval()
-        );
-        eligibleTable.setItems(eligibleProducts);
-        
-        if (eligibleProducts.isEmpty()) {
-            infoLabel.setText("No products are currently eligible for recycling.");
-            infoLabel.setTextFill(Color.BLACK);
-        }
+        eligibleTable.setPlaceholder(new Label("Loading..."));
+        FxAsync.onFxThread(AsyncDataService.getEligibleProductsForApproval(), products -> {
+            eligibleProducts = FXCollections.observableArrayList(products);
+            eligibleTable.setPlaceholder(new Label("No eligible products."));
+            eligibleTable.setItems(eligibleProducts);
+
+            if (eligibleProducts.isEmpty()) {
+                infoLabel.setText("No products are currently eligible for recycling.");
+                infoLabel.setTextFill(Color.BLACK);
+            }
+        });
     }
 
     private Product getSelectedProduct() {
@@ -64,10 +72,11 @@ public class ManageRecyclingController {
     void handleApprove(ActionEvent event) {
         Product selected = getSelectedProduct();
         if (selected != null) {
-            DataService.updateProductRecyclingStatus(selected.getProductId(), ProductStatus.PENDING_RECYCLING);
-            infoLabel.setText("'" + selected.getName() + "' approved for recycling.");
-            infoLabel.setTextFill(Color.GREEN);
-            loadEligibleProducts(); // Refresh the table
+            FxAsync.onFxThread(AsyncDataService.updateProductRecyclingStatus(selected.getProductId(), ProductStatus.PENDING_RECYCLING), done -> {
+                infoLabel.setText("'" + selected.getName() + "' approved for recycling.");
+                infoLabel.setTextFill(Color.GREEN);
+                loadEligibleProducts(); // Refresh the table
+            });
         }
     }
 
@@ -75,10 +84,11 @@ public class ManageRecyclingController {
     void handleDeny(ActionEvent event) {
         Product selected = getSelectedProduct();
         if (selected != null) {
-            DataService.updateProductRecyclingStatus(selected.getProductId(), ProductStatus.AVAILABLE_NO_RECYCLE);
-            infoLabel.setText("'" + selected.getName() + "' will remain for sale only.");
-            infoLabel.setTextFill(Color.ORANGE);
-            loadEligibleProducts(); // Refresh the table
+            FxAsync.onFxThread(AsyncDataService.updateProductRecyclingStatus(selected.getProductId(), ProductStatus.AVAILABLE_NO_RECYCLE), done -> {
+                infoLabel.setText("'" + selected.getName() + "' will remain for sale only.");
+                infoLabel.setTextFill(Color.ORANGE);
+                loadEligibleProducts(); // Refresh the table
+            });
         }
     }
 
@@ -4,9 +4,12 @@ package ecocycle.controller;
 import ecocycle.model.Product;
 import ecocycle.model.Role;
 import ecocycle.model.User;
+import ecocycle.service.AsyncDataService;
+import ecocycle.service.BrowseFacets;
 import ecocycle.service.DataService;
+import ecocycle.util.FxAsync;
+import ecocycle.util.PagedTableLoader;
 import ecocycle.util.SceneNavigator;
-import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
@@ -21,11 +24,16 @@ import javafx.scene.control.TextField;
 import javafx.scene.control.TextInputDialog;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.paint.Color;
+import javafx.util.StringConverter;
 
+import java.text.NumberFormat;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
 
-public class ProductBrowseController {
+public class ProductBrowseController implements SceneNavigator.Refreshable {
 
     @FXML
     private TableView<Product> productTable;
@@ -47,9 +55,20 @@ public class ProductBrowseController {
     private TextField maxPriceField;
     @FXML
     private CheckBox sortCheckBox;
+    @FXML
+    private TextField searchField;
+    @FXML
+    private Label priceDistributionLabel;
 
     // --- "addReviewButton" FXML field is now REMOVED ---
 
+    // Rows are fetched PAGE_SIZE at a time while scrolling; at most WINDOW_SIZE are kept.
+    private static final int PAGE_SIZE = 50;
+    private static final int WINDOW_SIZE = 250;
+
+    private PagedTableLoader<Product> pager;
+    private BrowseFacets.Snapshot facets; // null until the first snapshot arrives
+
     @FXML
     public void initialize() {
         // 1. Setup Table Columns
@@ -58,22 +77,113 @@ public class ProductBrowseController {
         descCol.setCellValueFactory(new PropertyValueFactory<>("description"));
         priceCol.setCellValueFactory(new PropertyValueFactory<>("price"));
 
-        // 2. Populate Category Filter Box
+        // 2. Populate Category Filter Box (counts are added once the facet snapshot arrives)
         categoryFilterBox.getItems().add("All");
         categoryFilterBox.getItems().addAll(DataService.getRecyclingCategories());
         categoryFilterBox.setValue("All"); 
+        categoryFilterBox.setConverter(new StringConverter<>() {
+            @Override
+            public String toString(String category) {
+                if (category == null || facets == null) {
+                    return category;
+                }
+                int count = category.equals("All") ? facets.total() : facets.count(category);
+                return category + " (" + NumberFormat.getIntegerInstance().format(count) + ")";
+            }
 
-        // 3. Load initial product list
-        loadAvailableProducts();
+            @Override
+            public String fromString(String text) {
+                int counts = text.lastIndexOf(" (");
+                return counts < 0 ? text : text.substring(0, counts);
+            }
+        });
+        categoryFilterBox.valueProperty().addListener((obs, oldCategory, newCategory) -> showPriceDistribution());
+
+        // 3. The product list is loaded page by page (see onShow)
+        pager = new PagedTableLoader<>(productTable, PAGE_SIZE, WINDOW_SIZE);
+        pager.setEmptyText("No products found.");
 
         // 4. All Table listener logic for the review button is REMOVED.
     }
-    
+
+    /**
+     * Every visit starts from the unfiltered listing, as if the screen were new.
+     */
+    @Override
+    public void onShow() {
+        handleClearFilters(null);
+    }
+
+    /**
+     * Fetches the category / price counts (kept in memory by the service, so no query runs).
+     */
+    private void refreshFacets() {
+        FxAsync.onFxThread(AsyncDataService.getBrowseFacetSnapshot(), snapshot -> {
+            facets = snapshot;
+            String selected = categoryFilterBox.getValue();
+            Set<String> categories = new TreeSet<>(DataService.getRecyclingCategories());
+            categories.addAll(snapshot.categoryCounts().keySet());
+            categoryFilterBox.getItems().setAll("All");
+            categoryFilterBox.getItems().addAll(categories); // re-adding the items redraws them with the new counts
+            categoryFilterBox.setValue(selected);
+            showPriceDistribution();
+        });
+    }
+
+    /**
+     * One line with the number of products per price bucket for the selected category.
+     */
+    private void showPriceDistribution() {
+        if (facets == null) {
+            return;
+        }
+        String category = categoryFilterBox.getValue();
+        int[] buckets = facets.histogram(category == null || category.equals("All") ? null : category);
+        StringBuilder text = new StringBuilder("Prices: ");
+        boolean any = false;
+        for (int i = 0; i < buckets.length; i++) {
+            if (buckets[i] > 0) {
+                text.append(any ? "  ·  " : "").append(BrowseFacets.getBucketLabel(i)).append(": ").append(buckets[i]);
+                any = true;
+            }
+        }
+        priceDistributionLabel.setText(any ? text.toString() : "Prices: no products for sale in this category.");
+    }
+
+    /**
+     * Shows the best keyword matches (one page, best first) instead of the paged listing.
+     */
+    private void showSearchResults(String query, String category, double minPrice, double maxPrice) {
+        infoLabel.setText("Searching...");
+        infoLabel.setTextFill(Color.BLACK);
+        pager.reset((cursor, backwards, limit) -> cursor == null
+                ? AsyncDataService.searchAvailableProducts(query, category, minPrice, maxPrice, limit)
+                : CompletableFuture.completedFuture(List.of()), // ranked results have no keyset pages
+            firstPage -> infoLabel.setText(firstPage.isEmpty() ? "No products match '" + query + "'."
+                                                               : firstPage.size() + " best matches for '" + query + "'."));
+    }
+
     private void loadAvailableProducts() {
-        productTable.setItems(FXCollections.observableArrayList(
-            DataService.getAvailableProducts()
-        ));
-        infoLabel.setText("");
+        showPage("All", 0, Double.MAX_VALUE, false);
+    }
+
+    /**
+     * Starts a new paged listing for these filters (keyset pages, fetched off the FX thread).
+     */
+    private void showPage(String category, double minPrice, double maxPrice, boolean sortByPrice) {
+        infoLabel.setText("Loading...");
+        infoLabel.setTextFill(Color.BLACK);
+        pager.reset((cursor, backwards, limit) -> AsyncDataService.getAvailableProductsPage(
+                category, minPrice, maxPrice, sortByPrice, cursor, backwards, limit),
+            firstPage -> {
+                if (firstPage.isEmpty()) {
+                    infoLabel.setText("No products found.");
+                } else if (firstPage.size() < PAGE_SIZE) {
+                    infoLabel.setText(firstPage.size() + " products found.");
+                } else {
+                    infoLabel.setText("Scroll down to see more products.");
+                }
+            });
     }
 
     @FXML
@@ -101,18 +211,23 @@ public class ProductBrowseController {
             return;
         }
 
-        List<Product> filteredProducts = DataService.getAvailableProducts(category, minPrice, maxPrice, sortByPrice);
-        productTable.setItems(FXCollections.observableArrayList(filteredProducts));
-        infoLabel.setText(filteredProducts.size() + " products found.");
-        infoLabel.setTextFill(Color.BLACK);
+        refreshFacets();
+        String query = searchField.getText().trim();
+        if (!query.isEmpty()) {
+            showSearchResults(query, category, minPrice, maxPrice);
+        } else {
+            showPage(category, minPrice, maxPrice, sortByPrice);
+        }
     }
     
     @FXML
     void handleClearFilters(ActionEvent event) {
         categoryFilterBox.setValue("All");
+        searchField.clear();
         minPriceField.clear();
         maxPriceField.clear();
         sortCheckBox.setSelected(false);
+        refreshFacets();
         loadAvailableProducts();
     }
 
@@ -125,14 +240,17 @@ public class ProductBrowseController {
             return;
         }
 
-        boolean success = DataService.addToCart(selected.getProductId());
-        if (success) {
-            infoLabel.setText("'" + selected.getName() + "' added to your cart!");
-            infoLabel.setTextFill(Color.GREEN);
-        } else {
-            infoLabel.setText("Could not add item to cart.");
-            infoLabel.setTextFill(Color.RED);
-        }
+        infoLabel.setText("Adding '" + selected.getName() + "' to your cart...");
+        infoLabel.setTextFill(Color.BLACK);
+        FxAsync.onFxThread(AsyncDataService.addToCart(selected.getProductId()), success -> {
+            if (success) {
+                infoLabel.setText("'" + selected.getName() + "' added to your cart!");
+                infoLabel.setTextFill(Color.GREEN);
+            } else {
+                infoLabel.setText("Could not add item to cart.");
+                infoLabel.setTextFill(Color.RED);
+            }
+        });
     }
     
     // --- "handleAddReview" method is now REMOVED ---
@@ -3,7 +3,9 @@ package ecocycle.controller;
 
 import ecocycle.model.Product;
 import ecocycle.model.ProductStatus;
+import ecocycle.service.AsyncDataService;
 import ecocycle.service.DataService;
+import ecocycle.util.FxAsync;
 import ecocycle.util.SceneNavigator;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -16,7 +18,7 @@ import javafx.scene.control.TableView;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.paint.Color; // NEW
 
-public class ProductListController {
+public class ProductListController implements SceneNavigator.Refreshable {
 
     @FXML
     private TableView<Product> productTable;
@@ -50,7 +52,12 @@ public class ProductListController {
         priceCol.setCellValueFactory(new PropertyValueFactory<>("price"));
         statusCol.setCellValueFactory(new PropertyValueFactory<>("status"));
         descCol.setCellValueFactory(new PropertyValueFactory<>("description"));
+    }
 
+    @Override
+    public void onShow() {
+        infoLabel.setText("");
+        productTable.setItems(FXCollections.observableArrayList()); // not the last visitor's products
         loadUserProducts();
         updateButtonStates(); // Check stack on load
     }
@@ -59,10 +66,12 @@ public class ProductListController {
      * Helper to reload products from the DataService
      */
     private void loadUserProducts() {
-        ObservableList<Product> products = FXCollections.observableArrayList(
-                DataService.getProductsForCurrentUser()
-        );
-        productTable.setItems(products);
+        productTable.setPlaceholder(new Label("Loading your products..."));
+        FxAsync.onFxThread(AsyncDataService.getProductsForCurrentUser(false), list -> {
+            ObservableList<Product> products = FXCollections.observableArrayList(list);
+            productTable.setPlaceholder(new Label("You have not listed any products yet."));
+            productTable.setItems(products);
+        });
     }
     
     /**
@@ -83,32 +92,33 @@ public class ProductListController {
         }
 
         // Use the new archive method
-        boolean success = DataService.archiveProductForUndo(selected.getProductId());
-        
-        if (success) {
-            infoLabel.setText("'" + selected.getName() + "' deleted. You can undo this.");
-            infoLabel.setTextFill(Color.GREEN);
-            loadUserProducts(); // Refresh table
-            updateButtonStates(); // Enable the undo button
-        } else {
-            infoLabel.setText("Could not delete product (it may be sold/in recycling).");
-            infoLabel.setTextFill(Color.RED);
-        }
+        FxAsync.onFxThread(AsyncDataService.archiveProductForUndo(selected.getProductId()), success -> {
+            if (success) {
+                infoLabel.setText("'" + selected.getName() + "' deleted. You can undo this.");
+                infoLabel.setTextFill(Color.GREEN);
+                loadUserProducts(); // Refresh table
+                updateButtonStates(); // Enable the undo button
+            } else {
+                infoLabel.setText("Could not delete product (it may be sold/in recycling).");
+                infoLabel.setTextFill(Color.RED);
+            }
+        });
     }
 
     @FXML
     void handleUndoDelete(ActionEvent event) {
-        Product restored = DataService.restoreLastDeletedProduct();
-        
-        if (restored != null) {
-            infoLabel.setText("'" + restored.getName() + "' has been restored.");
-            infoLabel.setTextFill(Color.GREEN);
-            loadUserProducts(); // Refresh table
+        undoButton.setDisable(true);
+        FxAsync.onFxThread(AsyncDataService.restoreLastDeletedProduct(), restored -> {
+            if (restored != null) {
+                infoLabel.setText("'" + restored.getName() + "' has been restored.");
+                infoLabel.setTextFill(Color.GREEN);
+                loadUserProducts(); // Refresh table
+            } else {
+                infoLabel.setText("Nothing to undo.");
+                infoLabel.setTextFill(Color.RED);
+            }
             updateButtonStates(); // Disable undo if stack is now empty
-        } else {
-            infoLabel.setText("Nothing to undo.");
-            infoLabel.setTextFill(Color.RED);
-        }
+        });
     }
     // --- END OF NEW METHODS ---
 
@@ -3,7 +3,8 @@ package ecocycle.controller;
 
 import ecocycle.model.Product;
 import ecocycle.model.RecyclingBid;
-import ecocycle.service.DataService;
+import ecocycle.service.AsyncDataService;
+import ecocycle.util.FxAsync;
 import ecocycle.util.SceneNavigator;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -17,7 +18,7 @@ import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Text;
 
-public class RecyclingMarketController {
+public class RecyclingMarketController implements SceneNavigator.Refreshable {
 
     @FXML
     private TableView<Product> productTable;
@@ -52,8 +53,6 @@ public class RecyclingMarketController {
             return new javafx.beans.property.SimpleDoubleProperty(highestBid).asObject();
         });
 
-        loadMarketProducts();
-
         // Add listener to show selected product
         productTable.getSelectionModel().selectedItemProperty().addListener((obs, old, n) -> {
             if (n != null) {
@@ -66,10 +65,25 @@ public class RecyclingMarketController {
         });
     }
 
+    @Override
+    public void onShow() {
+        infoLabel.setText("");
+        bidField.clear();
+        productTable.setItems(FXCollections.observableArrayList());
+        loadMarketProducts();
+    }
+
     private void loadMarketProducts() {
-        productTable.setItems(FXCollections.observableArrayList(
-            DataService.getEligibleProductsForBidding()
-        ));
+        // Keep the current rows visible on refresh; only an empty table shows the loading text
+        productTable.setPlaceholder(new Label("Loading recycling market..."));
+        FxAsync.onFxThread(AsyncDataService.getEligibleProductsForBidding(), products -> {
+            productTable.setPlaceholder(new Label("No products are up for recycling right now."));
+            productTable.setItems(FXCollections.observableArrayList(products));
+        }, error -> {
+            productTable.setPlaceholder(new Label("Could not load the recycling market."));
+            infoLabel.setText("Could not load the recycling market. Please try again.");
+            infoLabel.setTextFill(Color.RED);
+        });
     }
 
     @FXML
@@ -90,16 +104,29 @@ public class RecyclingMarketController {
             return;
         }
 
-        boolean success = DataService.placeBid(selected.getProductId(), bidPrice);
-        if (success) {
-            infoLabel.setText("Bid placed successfully on '" + selected.getName() + "'!");
-            infoLabel.setTextFill(Color.GREEN);
-            loadMarketProducts(); // Refresh table to show new highest bid
-            bidField.clear();
-        } else {
-            infoLabel.setText("Bid failed. Must be at or above base cost.");
-            infoLabel.setTextFill(Color.RED);
-        }
+        infoLabel.setText("Placing bid...");
+        infoLabel.setTextFill(Color.BLACK);
+        FxAsync.onFxThread(AsyncDataService.placeBid(selected.getProductId(), bidPrice), success -> {
+            if (success) {
+                infoLabel.setText("Bid placed successfully on '" + selected.getName() + "'!");
+                infoLabel.setTextFill(Color.GREEN);
+                refreshHighestBid(selected); // Only this row's highest bid can have changed
+                bidField.clear();
+            } else {
+                infoLabel.setText("Bid failed. Must be at or above base cost.");
+                infoLabel.setTextFill(Color.RED);
+            }
+        });
+    }
+
+    private void refreshHighestBid(Product product) {
+        FxAsync.onFxThread(AsyncDataService.getHighestBid(product.getProductId()), highest -> {
+            product.getBids().clear();
+            if (highest != null) {
+                product.getBids().add(highest);
+            }
+            productTable.refresh();
+        });
     }
 
     @FXML
@@ -1,7 +1,8 @@
 package ecocycle.controller;
 
 import ecocycle.model.Role;
-import ecocycle.service.DataService;
+import ecocycle.service.AsyncDataService;
+import ecocycle.util.FxAsync;
 import ecocycle.util.SceneNavigator;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
@@ -61,15 +62,16 @@ public class RegisterController {
         }
 
         // Attempt to register using the DataService
-        boolean success = DataService.register(username, password, role);
-
-        if (success) {
-            // Success, go to login screen
-            SceneNavigator.navigateTo(event, "/ecocycle/view/Login.fxml");
-        } else {
-            // Failure (username taken)
-            errorLabel.setText("Username is already taken.");
-        }
+        errorLabel.setText("Creating account...");
+        FxAsync.onFxThread(AsyncDataService.register(username, password, role), success -> {
+            if (success) {
+                // Success, go to login screen
+                SceneNavigator.navigateTo(event, "/ecocycle/view/Login.fxml");
+            } else {
+                // Failure (username taken)
+                errorLabel.setText("Username is already taken.");
+            }
+        }, error -> errorLabel.setText("Could not reach the server. Please try again."));
     }
 
     /**
@@ -1,82 +1,54 @@
 // In file: src/ecocycle/controller/ReviewFeedController.java
 package ecocycle.controller;
 
-import ecocycle.model.Product;
-import ecocycle.model.Review;
-import ecocycle.model.User;
-import ecocycle.service.DataService;
+import ecocycle.model.ReviewDetail;
+import ecocycle.service.AsyncDataService;
+import ecocycle.util.PagedTableLoader;
 import ecocycle.util.SceneNavigator;
-import javafx.beans.property.SimpleStringProperty;
-import javafx.collections.FXCollections;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.cell.PropertyValueFactory;
 
-public class ReviewFeedController {
+public class ReviewFeedController implements SceneNavigator.Refreshable {
 
     @FXML
-    private TableView<Review> reviewTable;
+    private TableView<ReviewDetail> reviewTable;
     @FXML
-    private TableColumn<Review, String> productNameCol;
+    private TableColumn<ReviewDetail, String> productNameCol;
     @FXML
-    private TableColumn<Review, String> reviewCol;
+    private TableColumn<ReviewDetail, String> reviewCol;
     @FXML
-    private TableColumn<Review, String> buyerNameCol;
+    private TableColumn<ReviewDetail, String> buyerNameCol;
     @FXML
-    private TableColumn<Review, String> sellerNameCol; 
+    private TableColumn<ReviewDetail, String> sellerNameCol; 
     
     // --- 'ratingCol' @FXML field has been REMOVED ---
 
+    private static final int PAGE_SIZE = 50;
+    private static final int WINDOW_SIZE = 250;
+
+    private PagedTableLoader<ReviewDetail> pager;
+
     @FXML
     public void initialize() {
         
-        // Simple property from Review.java
+        // Every name comes with the row (one JOIN query per page), so the
+        // cells no longer look up products and users while rendering.
         reviewCol.setCellValueFactory(new PropertyValueFactory<>("text"));
-
-        // 1. Look up the Product Name from the productId
-        productNameCol.setCellValueFactory(cellData -> {
-            Review currentReview = cellData.getValue();
-            Product product = DataService.findProductById(currentReview.getProductId());
-            
-            if (product != null) {
-                return new SimpleStringProperty(product.getName());
-            } else {
-                return new SimpleStringProperty("Unknown Product");
-            }
-        });
-        
-        // 2. Look up the Buyer Name from the buyerId
-        buyerNameCol.setCellValueFactory(cellData -> {
-            Review currentReview = cellData.getValue();
-            User buyer = DataService.findUserById(currentReview.getBuyerId());
-            
-            if (buyer != null) {
-                return new SimpleStringProperty(buyer.getUsername());
-            } else {
-                return new SimpleStringProperty("Unknown Buyer");
-            }
-        });
+        productNameCol.setCellValueFactory(new PropertyValueFactory<>("productName"));
+        buyerNameCol.setCellValueFactory(new PropertyValueFactory<>("buyerName"));
+        sellerNameCol.setCellValueFactory(new PropertyValueFactory<>("sellerName"));
         
-        // 3. Look up the Seller Name (a 2-step lookup)
-        sellerNameCol.setCellValueFactory(cellData -> {
-            Review currentReview = cellData.getValue();
-            Product product = DataService.findProductById(currentReview.getProductId());
-            
-            if (product != null) {
-                User seller = DataService.findUserById(product.getSellerId());
-                if (seller != null) {
-                    return new SimpleStringProperty(seller.getUsername());
-                }
-            }
-            return new SimpleStringProperty("Unknown Seller");
-        });
-        
-        // Load the feed from the DataService's LinkedList
-        reviewTable.setItems(FXCollections.observableArrayList(
-            DataService.getGlobalReviewFeed()
-        ));
+        pager = new PagedTableLoader<>(reviewTable, PAGE_SIZE, WINDOW_SIZE);
+        pager.setEmptyText("No reviews yet.");
+    }
+
+    @Override
+    public void onShow() {
+        // Load the feed page by page, newest first
+        pager.reset(AsyncDataService::getReviewFeedPage, null);
     }
 
     @FXML
@@ -3,7 +3,8 @@ package ecocycle.controller;
 
 import ecocycle.model.Product;
 import ecocycle.model.ProductStatus;
-import ecocycle.service.DataService;
+import ecocycle.service.AsyncDataService;
+import ecocycle.util.FxAsync;
 import ecocycle.util.SceneNavigator;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -18,7 +19,7 @@ import javafx.scene.paint.Color;
 import javafx.stage.FileChooser; // NEW
 import java.io.File; // NEW
 
-public class SubmitProofController {
+public class SubmitProofController implements SceneNavigator.Refreshable {
 
     // --- Fields from Version 1 ---
     @FXML
@@ -49,15 +50,24 @@ public class SubmitProofController {
         nameCol.setCellValueFactory(new PropertyValueFactory<>("name"));
         categoryCol.setCellValueFactory(new PropertyValueFactory<>("category"));
         statusCol.setCellValueFactory(new PropertyValueFactory<>("status"));
+    }
 
+    @Override
+    public void onShow() {
+        infoLabel.setText("");
+        selectedFile = null;
+        proofStatus.setText("");
+        acquiredTable.setItems(FXCollections.observableArrayList());
         loadAcquiredProducts();
     }
 
     private void loadAcquiredProducts() {
-        // This method shows ALL purchased products
-        acquiredTable.setItems(FXCollections.observableArrayList(
-            DataService.getAcquiredProducts()
-        ));
+        // Only the products whose accepted bid was this recycler's
+        acquiredTable.setPlaceholder(new Label("Loading..."));
+        FxAsync.onFxThread(AsyncDataService.getAcquiredProducts(), products -> {
+            acquiredTable.setPlaceholder(new Label("You have not acquired any products yet."));
+            acquiredTable.setItems(FXCollections.observableArrayList(products));
+        });
     }
 
     // --- Method from Version 2 ---
@@ -113,21 +123,21 @@ public class SubmitProofController {
         // 4. If all checks pass, award credits (from V1 logic)
         // We can pass the file path to the DataService if needed,
         // but for now, we just call the working method.
-        boolean success = DataService.submitRecyclingProof(selected.getProductId());
-        
-        if (success) {
-            infoLabel.setText("Proof submitted for '" + selected.getName() + "'. Credits awarded!");
-            infoLabel.setTextFill(Color.GREEN);
-            
-            // Reset the UI
-            loadAcquiredProducts(); // Refresh table
-            selectedFile = null;
-            proofStatus.setText("");
-            
-        } else {
-            infoLabel.setText("Error submitting proof.");
-            infoLabel.setTextFill(Color.RED);
-        }
+        FxAsync.onFxThread(AsyncDataService.submitRecyclingProof(selected.getProductId()), success -> {
+            if (success) {
+                infoLabel.setText("Proof submitted for '" + selected.getName() + "'. Credits awarded!");
+                infoLabel.setTextFill(Color.GREEN);
+
+                // Reset the UI
+                loadAcquiredProducts(); // Refresh table
+                selectedFile = null;
+                proofStatus.setText("");
+
+            } else {
+                infoLabel.setText("Error submitting proof.");
+                infoLabel.setTextFill(Color.RED);
+            }
+        });
     }
 
     @FXML
@@ -1,10 +1,10 @@
 // In file: src/ecocycle/controller/TransactionListController.java
 package ecocycle.controller;
 
-import ecocycle.model.Product;
 import ecocycle.model.Transaction;
 import ecocycle.model.TransactionStatus;
-import ecocycle.service.DataService;
+import ecocycle.service.AsyncDataService;
+import ecocycle.util.FxAsync;
 import ecocycle.util.SceneNavigator;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
@@ -21,10 +21,9 @@ import javafx.scene.paint.Color;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.List;
 import java.util.Optional;
 
-public class TransactionListController {
+public class TransactionListController implements SceneNavigator.Refreshable {
 
     @FXML
     private TableView<Transaction> transactionTable;
@@ -50,11 +49,11 @@ public class TransactionListController {
         statusCol.setCellValueFactory(new PropertyValueFactory<>("status"));
         timestampCol.setCellValueFactory(new PropertyValueFactory<>("timestamp"));
 
+        // The name comes with the transaction, so rendering a row needs no lookup
         productCol.setCellValueFactory(cellData -> {
-            String productId = cellData.getValue().getProductId();
-            Product p = DataService.findProductById(productId);
-            if (p != null) {
-                return new SimpleStringProperty(p.getName());
+            String productName = cellData.getValue().getProductName();
+            if (productName != null) {
+                return new SimpleStringProperty(productName);
             } else {
                 return new SimpleStringProperty("[Product Deleted]");
             }
@@ -76,13 +75,21 @@ public class TransactionListController {
                 }
             };
         });
+    }
 
+    @Override
+    public void onShow() {
+        infoLabel.setText("");
+        transactionTable.setItems(FXCollections.observableArrayList());
         loadTransactions();
     }
 
     private void loadTransactions() {
-        List<Transaction> transactions = DataService.getTransactionsForBuyer();
-        transactionTable.setItems(FXCollections.observableArrayList(transactions));
+        transactionTable.setPlaceholder(new Label("Loading your purchases..."));
+        FxAsync.onFxThread(AsyncDataService.getTransactionsForBuyer(), transactions -> {
+            transactionTable.setPlaceholder(new Label("You have not bought anything yet."));
+            transactionTable.setItems(FXCollections.observableArrayList(transactions));
+        });
     }
     
     @FXML
@@ -94,8 +101,7 @@ public class TransactionListController {
             return;
         }
 
-        Product p = DataService.findProductById(selected.getProductId());
-        String productName = (p != null) ? p.getName() : selected.getProductId();
+        String productName = (selected.getProductName() != null) ? selected.getProductName() : selected.getProductId();
 
         TextInputDialog reviewDialog = new TextInputDialog("It was great!");
         reviewDialog.setTitle("Add Review");
@@ -109,15 +115,15 @@ public class TransactionListController {
             
             // --- THIS IS THE FIX ---
             // We now call the correct submitReview(productId, text)
-            boolean success = DataService.submitReview(selected.getProductId(), reviewText);
-            
-            if (success) {
-                infoLabel.setText("Review for '" + productName + "' submitted!");
-                infoLabel.setTextFill(Color.GREEN);
-            } else {
-                infoLabel.setText("Failed to submit review.");
-                infoLabel.setTextFill(Color.RED);
-            }
+            FxAsync.onFxThread(AsyncDataService.submitReview(selected.getProductId(), reviewText), success -> {
+                if (success) {
+                    infoLabel.setText("Review for '" + productName + "' submitted!");
+                    infoLabel.setTextFill(Color.GREEN);
+                } else {
+                    infoLabel.setText("Failed to submit review.");
+                    infoLabel.setTextFill(Color.RED);
+                }
+            });
         }
     }
 
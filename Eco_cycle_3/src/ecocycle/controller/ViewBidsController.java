@@ -5,7 +5,9 @@ import ecocycle.model.Product;
 import ecocycle.model.RecyclingBid;
 import ecocycle.model.User;
 import ecocycle.model.Role;
+import ecocycle.service.AsyncDataService;
 import ecocycle.service.DataService;
+import ecocycle.util.FxAsync;
 import ecocycle.util.SceneNavigator;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -19,9 +21,12 @@ import javafx.scene.control.ListView;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Text;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
-public class ViewBidsController {
+
+public class ViewBidsController implements SceneNavigator.Refreshable {
 
     @FXML
     private ListView<Product> productList;
@@ -33,11 +38,13 @@ public class ViewBidsController {
     private Label infoLabel;
 
     private ObservableList<Product> biddableProducts;
+    // Highest bidder's user id -> username, looked up with the products
+    private Map<String, String> bidderNames = Map.of();
+
+    private record BiddableProducts(List<Product> products, Map<String, String> bidderNames) {}
 
     @FXML
     public void initialize() {
-        loadBiddableProducts();
-
         productList.setCellFactory(lv -> new ListCell<>() {
             @Override
             protected void updateItem(Product product, boolean empty) {
@@ -58,24 +65,50 @@ public class ViewBidsController {
                 clearBidDetails();
             }
         });
-        
-        if (biddableProducts.isEmpty()) {
-            infoLabel.setText("No products currently have bids.");
-        }
+    }
+
+    @Override
+    public void onShow() {
+        infoLabel.setText("");
+        productList.setItems(FXCollections.observableArrayList());
+        clearBidDetails();
+        loadBiddableProducts();
     }
 
     private void loadBiddableProducts() {
-        List<Product> products = DataService.getBiddableProductsForSeller();
-        biddableProducts = FXCollections.observableArrayList(products);
-        productList.setItems(biddableProducts);
+        productList.setPlaceholder(new Label("Loading bids..."));
+        FxAsync.onFxThread(AsyncDataService.supply(() -> {
+            List<Product> products = DataService.getBiddableProductsForSeller();
+            // Resolve the bidders' names here, so selecting a product needs no lookup on the FX thread
+            Map<String, String> names = new HashMap<>();
+            for (Product product : products) {
+                RecyclingBid highestBid = product.getBids().peek();
+                if (highestBid != null) {
+                    names.computeIfAbsent(highestBid.recyclerId(), id -> {
+                        User bidder = DataService.findUserById(id);
+                        return (bidder != null) ? bidder.getUsername() : "Unknown";
+                    });
+                }
+            }
+            return new BiddableProducts(products, names);
+        }), loaded -> {
+            bidderNames = loaded.bidderNames();
+            biddableProducts = FXCollections.observableArrayList(loaded.products());
+            productList.setPlaceholder(new Label("No products currently have bids."));
+            productList.setItems(biddableProducts);
+
+            if (biddableProducts.isEmpty()) {
+                infoLabel.setText("No products currently have bids.");
+                infoLabel.setTextFill(Color.BLACK);
+            }
+        });
     }
 
     private void displayBidDetails(Product product) {
         RecyclingBid highestBid = product.getBids().peek();
         if (highestBid != null) {
             
-            User bidder = DataService.findUserById(highestBid.recyclerId());
-            String bidderName = (bidder != null) ? bidder.getUsername() : "Unknown";
+            String bidderName = bidderNames.getOrDefault(highestBid.recyclerId(), "Unknown");
             
             bidDetailsText.setText(
                 "Product: " + product.getName() + "\n" +
@@ -99,32 +132,39 @@ public class ViewBidsController {
         Product selected = productList.getSelectionModel().getSelectedItem();
         if (selected != null) {
             
-            RecyclingBid winningBid = DataService.acceptBid(selected.getProductId());
-            
-            if (winningBid != null) {
+            // Accept the bid and look up the winner's name off the FX thread
+            acceptBidButton.setDisable(true);
+            FxAsync.onFxThread(AsyncDataService.supply(() -> {
+                RecyclingBid winningBid = DataService.acceptBid(selected.getProductId());
+                if (winningBid == null) {
+                    return null;
+                }
                 User bidder = DataService.findUserById(winningBid.recyclerId());
                 String bidderName = (bidder != null) ? bidder.getUsername() : "Unknown";
-                
-                String successText = String.format("Sold '%s' to %s for ₹%.2f!",
+
+                return String.format("Sold '%s' to %s for ₹%.2f!",
                     selected.getName(), bidderName, winningBid.bidPrice());
-                
-                infoLabel.setText(successText);
-                infoLabel.setTextFill(Color.GREEN);
-                
-                // --- THIS IS THE FIX FOR REQ 3 (Seller-side) ---
-                Alert alert = new Alert(Alert.AlertType.INFORMATION);
-                alert.setTitle("Bid Accepted!");
-                alert.setHeaderText("Sale to Recycler Successful!");
-                alert.setContentText(successText);
-                alert.showAndWait();
-                // --- END OF FIX ---
-                
-                loadBiddableProducts();
-                clearBidDetails();
-            } else {
-                infoLabel.setText("Error: Could not accept bid.");
-                infoLabel.setTextFill(Color.RED);
-            }
+            }), successText -> {
+                if (successText != null) {
+                    infoLabel.setText(successText);
+                    infoLabel.setTextFill(Color.GREEN);
+
+                    // --- THIS IS THE FIX FOR REQ 3 (Seller-side) ---
+                    Alert alert = new Alert(Alert.AlertType.INFORMATION);
+                    alert.setTitle("Bid Accepted!");
+                    alert.setHeaderText("Sale to Recycler Successful!");
+                    alert.setContentText(successText);
+                    alert.showAndWait();
+                    // --- END OF FIX ---
+
+                    loadBiddableProducts();
+                    clearBidDetails();
+                } else {
+                    infoLabel.setText("Error: Could not accept bid.");
+                    infoLabel.setTextFill(Color.RED);
+                    acceptBidButton.setDisable(false);
+                }
+            });
         }
     }
 
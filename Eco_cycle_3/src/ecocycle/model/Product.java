@@ -18,6 +18,7 @@ public class Product {
     private String sellerId;
     private ProductStatus status;
     private long uploadTimestamp;
+    private String recyclerId; // the recycler whose bid was accepted; null until then
     
     // We keep the PriorityQueue here as it's part of the object's state
     private PriorityQueue<RecyclingBid> bids;
@@ -46,6 +47,7 @@ public class Product {
     public String getSellerId() { return sellerId; }
     public ProductStatus getStatus() { return status; }
     public long getUploadTimestamp() { return uploadTimestamp; }
+    public String getRecyclerId() { return recyclerId; }
     public PriorityQueue<RecyclingBid> getBids() { return bids; }
     
     // --- Setters ---
@@ -53,6 +55,22 @@ public class Product {
     public void setUploadTimestamp(long timestamp) { this.uploadTimestamp = timestamp; }
     public void setPrice(double price) { this.price = price; }
     public void setDescription(String description) { this.description = description; }
+    public void setRecyclerId(String recyclerId) { this.recyclerId = recyclerId; }
+
+    /**
+     * An independent copy (caches hand these out so callers cannot change the cached object).
+     * @param withBids false to leave the copy's bid queue empty.
+     */
+    public Product copy(boolean withBids) {
+        Product copy = new Product(productId, name, type, category, price, description, sellerId);
+        copy.status = status;
+        copy.uploadTimestamp = uploadTimestamp;
+        copy.recyclerId = recyclerId;
+        if (withBids) {
+            copy.bids.addAll(bids);
+        }
+        return copy;
+    }
 
     // --- Helper methods from console app ---
     public int getCarbonValue() {
@@ -23,6 +23,13 @@ public enum ProductStatus {
         return displayName;
     }
 
+    /**
+     * @return true for the statuses a buyer can still purchase.
+     */
+    public boolean isForSale() {
+        return this == AVAILABLE || this == AVAILABLE_NO_RECYCLE;
+    }
+
     // 5. (Optional but Recommended) Override toString()
     // This makes it automatically display the friendly name in JavaFX controls
     @Override
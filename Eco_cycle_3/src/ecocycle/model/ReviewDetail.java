@@ -4,26 +4,42 @@ package ecocycle.model;
 /**
  * A "View Model" class. It doesn't represent a database table,
  * but it holds the combined data we need to display on the review feed.
+ * One row of the reviews JOIN products JOIN users query, so the feed needs no extra lookups.
  */
 public class ReviewDetail {
 
+    private String reviewId;
+    private long timestamp;
     private String productName;
     private String buyerName;
     private String sellerName;
-    private int rating;
+    // --- 'rating' field has been REMOVED (reviews no longer have one) ---
     private String text;
 
-    public ReviewDetail(String productName, String buyerName, String sellerName, int rating, String text) {
+    public ReviewDetail(String reviewId, long timestamp, String productName, String buyerName,
+                        String sellerName, String text) {
+        this.reviewId = reviewId;
+        this.timestamp = timestamp;
         this.productName = productName;
         this.buyerName = buyerName;
         this.sellerName = sellerName;
-        this.rating = rating;
         this.text = text;
     }
 
     // --- Getters ---
     // These are required by the TableView's PropertyValueFactory
 
+    /**
+     * Together with the timestamp, the keyset cursor for the next page.
+     */
+    public String getReviewId() {
+        return reviewId;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
     public String getProductName() {
         return productName;
     }
@@ -36,11 +52,7 @@ public class ReviewDetail {
         return sellerName;
     }
 
-    public int getRating() {
-        return rating;
-    }
-
     public String getText() {
         return text;
     }
-}
\ No newline at end of file
+}
@@ -10,15 +10,23 @@ public class Transaction {
     private final double price;
     private final long timestamp;
     private final TransactionStatus status;
+    // Read with the transaction (a JOIN), so the purchase list needs no lookup per row; null if unknown
+    private final String productName;
 
     public Transaction(String transactionId, String buyerId, String productId, double price,
                        long timestamp, TransactionStatus status) {
+        this(transactionId, buyerId, productId, price, timestamp, status, null);
+    }
+
+    public Transaction(String transactionId, String buyerId, String productId, double price,
+                       long timestamp, TransactionStatus status, String productName) {
         this.transactionId = transactionId;
         this.buyerId = buyerId;
         this.productId = productId;
         this.price = price;
         this.timestamp = timestamp;
         this.status = status;
+        this.productName = productName;
     }
 
     // --- Public Getters ---
@@ -48,4 +56,11 @@ public class Transaction {
     public TransactionStatus getStatus() {
         return status;
     }
+
+    /**
+     * @return The product's name, or null if the product has been deleted.
+     */
+    public String getProductName() {
+        return productName;
+    }
 }
\ No newline at end of file
@@ -33,4 +33,14 @@ public class User {
     // --- Setters (for DataService to update) ---
     public void setCarbonCredits(double carbonCredits) { this.carbonCredits = carbonCredits; }
     public void setTotalSales(double totalSales) { this.totalSales = totalSales; }
+
+    /**
+     * An independent copy (the user directory hands these out).
+     */
+    public User copy() {
+        User copy = new User(userId, username, password, role);
+        copy.carbonCredits = carbonCredits;
+        copy.totalSales = totalSales;
+        return copy;
+    }
 }
\ No newline at end of file
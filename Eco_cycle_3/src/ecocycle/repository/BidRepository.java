@@ -0,0 +1,30 @@
+// In file: src/ecocycle/repository/BidRepository.java
+package ecocycle.repository;
+
+import ecocycle.model.Product;
+import ecocycle.model.RecyclingBid;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Storage for the recycling_bids table.
+ */
+public interface BidRepository {
+
+    boolean insert(String productId, RecyclingBid bid);
+
+    /**
+     * Atomically accepts a bid on a product: credits the seller, marks the product
+     * RECYCLING_PURCHASED by the bid's recycler and clears its bids.
+     * @param winningBid The bid to accept (the caller has already picked the highest).
+     * @return false if nothing was changed.
+     */
+    boolean accept(Product product, RecyclingBid winningBid);
+
+    /**
+     * @return The bids on every PENDING_RECYCLING product, by product id
+     *         (used to rebuild the in-memory order book on startup).
+     */
+    Map<String, List<RecyclingBid>> findOpenBids();
+}
@@ -0,0 +1,18 @@
+// In file: src/ecocycle/repository/CartRepository.java
+package ecocycle.repository;
+
+import ecocycle.model.Product;
+
+import java.util.List;
+
+/**
+ * Storage for the cart table (buyer_id, product_id).
+ */
+public interface CartRepository {
+
+    List<Product> findProducts(String buyerId, boolean withBids);
+
+    boolean add(String buyerId, String productId);
+
+    boolean remove(String buyerId, String productId);
+}
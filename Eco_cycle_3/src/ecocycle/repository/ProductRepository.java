@@ -0,0 +1,61 @@
+// In file: src/ecocycle/repository/ProductRepository.java
+package ecocycle.repository;
+
+import ecocycle.model.Product;
+import ecocycle.model.ProductStatus;
+
+import java.util.List;
+
+/**
+ * Storage for the products table.
+ * Every finder takes a withBids flag: when false, the product's bid queue is left empty.
+ */
+public interface ProductRepository {
+
+    Product findById(String productId, boolean withBids);
+
+    List<Product> findBySeller(String sellerId, boolean withBids);
+
+    List<Product> findBySellerAndStatus(String sellerId, ProductStatus status, boolean withBids);
+
+    List<Product> findByStatus(ProductStatus status, boolean withBids);
+
+    /**
+     * Products a buyer can purchase (AVAILABLE or AVAILABLE_NO_RECYCLE).
+     * @param category A lower-case category, or null for all categories.
+     * @param minPrice Lower price bound, ignored when <= 0.
+     * @param maxPrice Upper price bound, ignored when <= 0 or Double.MAX_VALUE.
+     * @param sortByPriceAsc true for cheapest first, false for newest first.
+     */
+    List<Product> findAvailable(String category, double minPrice, double maxPrice,
+                                boolean sortByPriceAsc, boolean withBids);
+
+    /**
+     * One page of findAvailable, using keyset ("seek") pagination instead of OFFSET.
+     * Price order is (price, product_id) ascending; newest-first order is
+     * (upload_timestamp, product_id) descending.
+     * @param cursor The product to continue from (first or last row already shown), or null for the first page.
+     * @param backwards false for the rows after the cursor, true for the rows before it.
+     * @param limit The page size.
+     * @return At most limit products, always in display order.
+     */
+    List<Product> findAvailablePage(String category, double minPrice, double maxPrice, boolean sortByPriceAsc,
+                                    Product cursor, boolean backwards, int limit, boolean withBids);
+
+    /**
+     * Stores a product with its current status and upload timestamp.
+     */
+    boolean insert(Product product);
+
+    boolean updateStatus(String productId, ProductStatus status);
+
+    boolean delete(String productId);
+
+    /**
+     * Atomically marks a RECYCLING_PURCHASED product as RECYCLED and awards the carbon credits.
+     * @param recyclerId Must be the recycler whose bid was accepted (any recycler for a product
+     *                   accepted before the winner was recorded).
+     * @return false if nothing was changed.
+     */
+    boolean completeRecycling(Product product, String recyclerId, double recyclerShare, double sellerShare);
+}
@@ -0,0 +1,25 @@
+// In file: src/ecocycle/repository/ReviewRepository.java
+package ecocycle.repository;
+
+import ecocycle.model.Review;
+import ecocycle.model.ReviewDetail;
+
+import java.util.List;
+
+/**
+ * Storage for the reviews table.
+ */
+public interface ReviewRepository {
+
+    boolean insert(Review review);
+
+    /**
+     * One page of the review feed with product, buyer and seller names already resolved
+     * (reviews JOIN products JOIN users), newest first by (timestamp, review_id).
+     * Names that cannot be resolved (e.g. a deleted product) come back as "Unknown ...".
+     * @param cursor The first/last row already shown, or null for the first page.
+     * @param backwards false for older reviews than the cursor, true for newer ones.
+     * @return At most limit rows, newest first.
+     */
+    List<ReviewDetail> findDetailsPage(ReviewDetail cursor, boolean backwards, int limit);
+}
@@ -0,0 +1,41 @@
+// In file: src/ecocycle/repository/StorageBackend.java
+package ecocycle.repository;
+
+/**
+ * A complete persistence engine for the marketplace.
+ * DataService only talks to these repositories, so the same business logic
+ * can run on MySQL (JdbcStorageBackend) or fully in memory (InMemoryStorageBackend).
+ */
+public interface StorageBackend {
+
+    UserRepository users();
+
+    ProductRepository products();
+
+    BidRepository bids();
+
+    CartRepository cart();
+
+    TransactionRepository transactions();
+
+    ReviewRepository reviews();
+
+    /**
+     * Prepares the store for use (e.g. creates or upgrades the tables).
+     * Called once by DataService's startup, before anything else reads or writes.
+     */
+    default void open() {
+    }
+
+    /**
+     * Opens what the first requests would otherwise wait for (e.g. pooled connections).
+     * Called by DataService's startup after open(), in parallel with the first loads.
+     */
+    default void warmUp() {
+    }
+
+    /**
+     * @return A short name for logs, e.g. "mysql" or "memory".
+     */
+    String getName();
+}
@@ -0,0 +1,29 @@
+// In file: src/ecocycle/repository/TransactionRepository.java
+package ecocycle.repository;
+
+import ecocycle.model.Product;
+import ecocycle.model.Transaction;
+
+import java.util.List;
+
+/**
+ * Storage for the transactions table, plus the checkout that writes to it.
+ */
+public interface TransactionRepository {
+
+    /**
+     * @return The buyer's transactions, newest first.
+     */
+    List<Transaction> findByBuyer(String buyerId);
+
+    boolean hasCompletedPurchase(String buyerId, String productId);
+
+    /**
+     * Atomically sells the given products to the buyer: marks them SOLD, adds each price
+     * to its seller's total sales, records a COMPLETED transaction per item and removes
+     * the items from the buyer's cart.
+     * @param clearWholeCart true to empty the buyer's entire cart, false to remove only these items.
+     * @return true if everything was committed, false if nothing was.
+     */
+    boolean recordPurchases(String buyerId, List<Product> items, boolean clearWholeCart);
+}
@@ -0,0 +1,32 @@
+// In file: src/ecocycle/repository/UserRepository.java
+package ecocycle.repository;
+
+import ecocycle.model.Role;
+import ecocycle.model.User;
+
+import java.util.List;
+
+/**
+ * Storage for the users table.
+ */
+public interface UserRepository {
+
+    User findById(String userId);
+
+    User findByUsername(String username);
+
+    /**
+     * @return true if the user was stored (false if the id or username is taken).
+     */
+    boolean insert(User user);
+
+    /**
+     * @return true if at least one user exists (used to decide whether to seed demo data).
+     */
+    boolean hasAnyUser();
+
+    /**
+     * @return Every user with this role, in no particular order (loads the leaderboards).
+     */
+    List<User> findByRole(Role role);
+}
@@ -0,0 +1,96 @@
+// In file: src/ecocycle/repository/jdbc/JdbcBidRepository.java
+package ecocycle.repository.jdbc;
+
+import ecocycle.model.Product;
+import ecocycle.model.RecyclingBid;
+import ecocycle.repository.BidRepository;
+import ecocycle.util.DBConnector;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class JdbcBidRepository implements BidRepository {
+
+    private static final String FIND_OPEN_SQL = "SELECT rb.product_id, rb.recycler_id, rb.bid_price FROM products p " +
+                                                "JOIN recycling_bids rb ON rb.product_id = p.product_id " +
+                                                "WHERE p.status = 'PENDING_RECYCLING'";
+
+    static List<SchemaManager.QueryShape> queryShapes() {
+        return List.of(new SchemaManager.QueryShape("open bids", FIND_OPEN_SQL, List.of()));
+    }
+
+    @Override
+    public boolean insert(String productId, RecyclingBid bid) {
+        String sql = "INSERT INTO recycling_bids (product_id, recycler_id, bid_price) VALUES (?, ?, ?)";
+        try (Connection con = DBConnector.getConnection();
+             PreparedStatement pstmt = con.prepareStatement(sql)) {
+
+            pstmt.setString(1, productId);
+            pstmt.setString(2, bid.recyclerId());
+            pstmt.setDouble(3, bid.bidPrice());
+            return pstmt.executeUpdate() > 0;
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * The product row is updated (and locked) before the seller row, the same order
+     * checkout uses, and only while it is still PENDING_RECYCLING.
+     */
+    @Override
+    public boolean accept(Product product, RecyclingBid winningBid) {
+        return JdbcRows.inTransaction(con -> {
+            String updateProductSql = "UPDATE products SET status = 'RECYCLING_PURCHASED', recycler_id = ? " +
+                                      "WHERE product_id = ? AND status = 'PENDING_RECYCLING'";
+            try (PreparedStatement updateProductStmt = con.prepareStatement(updateProductSql)) {
+                updateProductStmt.setString(1, winningBid.recyclerId());
+                updateProductStmt.setString(2, product.getProductId());
+                if (updateProductStmt.executeUpdate() != 1) {
+                    throw new JdbcRows.ConflictException("Product " + product.getProductId() + " is no longer up for recycling");
+                }
+            }
+
+            String updateSellerSql = "UPDATE users SET total_sales = total_sales + ? WHERE user_id = ?";
+            try (PreparedStatement updateSellerStmt = con.prepareStatement(updateSellerSql)) {
+                updateSellerStmt.setDouble(1, winningBid.bidPrice());
+                updateSellerStmt.setString(2, product.getSellerId());
+                updateSellerStmt.executeUpdate();
+            }
+
+            String deleteBidsSql = "DELETE FROM recycling_bids WHERE product_id = ?";
+            try (PreparedStatement deleteBidsStmt = con.prepareStatement(deleteBidsSql)) {
+                deleteBidsStmt.setString(1, product.getProductId());
+                deleteBidsStmt.executeUpdate();
+            }
+            return true;
+        }, false);
+    }
+
+    @Override
+    public Map<String, List<RecyclingBid>> findOpenBids() {
+        Map<String, List<RecyclingBid>> bids = new HashMap<>();
+        try (Connection con = DBConnector.getConnection();
+             PreparedStatement pstmt = con.prepareStatement(FIND_OPEN_SQL);
+             ResultSet rs = pstmt.executeQuery()) {
+
+            while (rs.next()) {
+                bids.computeIfAbsent(rs.getString("product_id"), k -> new ArrayList<>()).add(new RecyclingBid(
+                    rs.getString("recycler_id"),
+                    rs.getDouble("bid_price")
+                ));
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return bids;
+    }
+}
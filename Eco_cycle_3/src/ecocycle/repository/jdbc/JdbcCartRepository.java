@@ -0,0 +1,63 @@
+// In file: src/ecocycle/repository/jdbc/JdbcCartRepository.java
+package ecocycle.repository.jdbc;
+
+import ecocycle.model.Product;
+import ecocycle.repository.CartRepository;
+import ecocycle.util.DBConnector;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+class JdbcCartRepository implements CartRepository {
+
+    private static final String CART_FROM_WHERE = "FROM products p JOIN cart c ON p.product_id = c.product_id WHERE c.buyer_id = ?";
+
+    static List<SchemaManager.QueryShape> queryShapes() {
+        return List.of(new SchemaManager.QueryShape("cart", JdbcRows.productSql(CART_FROM_WHERE, ""), List.of("u_b1")));
+    }
+
+    @Override
+    public List<Product> findProducts(String buyerId, boolean withBids) {
+        try (Connection con = DBConnector.getConnection()) {
+            return JdbcRows.loadProducts(con, CART_FROM_WHERE, "", List.of(buyerId), withBids);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
+
+    @Override
+    public boolean add(String buyerId, String productId) {
+        String sql = "INSERT INTO cart (buyer_id, product_id) VALUES (?, ?)";
+        try (Connection con = DBConnector.getConnection();
+             PreparedStatement pstmt = con.prepareStatement(sql)) {
+            
+            pstmt.setString(1, buyerId);
+            pstmt.setString(2, productId);
+            return pstmt.executeUpdate() > 0;
+            
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    @Override
+    public boolean remove(String buyerId, String productId) {
+        String sql = "DELETE FROM cart WHERE buyer_id = ? AND product_id = ?";
+        try (Connection con = DBConnector.getConnection();
+             PreparedStatement pstmt = con.prepareStatement(sql)) {
+            
+            pstmt.setString(1, buyerId);
+            pstmt.setString(2, productId);
+            return pstmt.executeUpdate() > 0;
+
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,348 @@
+// In file: src/ecocycle/repository/jdbc/JdbcProductRepository.java
+package ecocycle.repository.jdbc;
+
+import ecocycle.model.Product;
+import ecocycle.model.ProductStatus;
+import ecocycle.repository.ProductRepository;
+import ecocycle.util.DBConnector;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+class JdbcProductRepository implements ProductRepository {
+
+    static final String FIND_BY_ID_FROM_WHERE = "FROM products p WHERE p.product_id = ?";
+    private static final String BY_SELLER_FROM_WHERE = "FROM products p WHERE p.seller_id = ?";
+    private static final String BY_SELLER_AND_STATUS_FROM_WHERE = "FROM products p WHERE p.seller_id = ? AND p.status = ?";
+    private static final String BY_STATUS_FROM_WHERE = "FROM products p WHERE p.status = ?";
+
+    // --- findAvailable filter shapes ---
+    // Bit 0 = category, bit 1 = min price, bit 2 = max price.
+    // All 8 shapes x 2 sort orders are built once, so the same filter always produces
+    // the exact same SQL text and hits the pool's statement cache.
+    private static final int FILTER_CATEGORY = 1;
+    private static final int FILTER_MIN_PRICE = 2;
+    private static final int FILTER_MAX_PRICE = 4;
+    private static final String[] FILTERS = new String[8];
+    private static final String[] AVAILABLE_FROM_WHERE = new String[8];
+    private static final String ORDER_BY_PRICE = "ORDER BY p.price ASC";
+    private static final String ORDER_BY_NEWEST = "ORDER BY p.upload_timestamp DESC";
+    // The statuses a buyer can purchase (ProductStatus.isForSale())
+    private static final String[] FOR_SALE_STATUSES = { "AVAILABLE", "AVAILABLE_NO_RECYCLE" };
+
+    static {
+        for (int shape = 0; shape < AVAILABLE_FROM_WHERE.length; shape++) {
+            StringBuilder filters = new StringBuilder();
+            if ((shape & FILTER_CATEGORY) != 0) {
+                filters.append("AND p.category = ? ");
+            }
+            if ((shape & FILTER_MIN_PRICE) != 0) {
+                filters.append("AND p.price >= ? ");
+            }
+            if ((shape & FILTER_MAX_PRICE) != 0) {
+                filters.append("AND p.price <= ? ");
+            }
+            FILTERS[shape] = filters.toString();
+            AVAILABLE_FROM_WHERE[shape] = "FROM products p WHERE (p.status = 'AVAILABLE' OR p.status = 'AVAILABLE_NO_RECYCLE') " + filters;
+        }
+    }
+
+    // --- findAvailablePage seek clauses, indexed by [sortByPriceAsc ? 1 : 0][backwards ? 1 : 0] ---
+    // Written as "a < ? OR (a = ? AND id < ?)" rather than a row comparison, which MySQL
+    // does not always turn into an index range. The leading "a <= ?" is redundant, but gives
+    // H2 an index range to start from.
+    private static final String[][] SEEK_CLAUSES = {
+        { "AND p.upload_timestamp <= ? AND (p.upload_timestamp < ? OR (p.upload_timestamp = ? AND p.product_id < ?)) ",
+          "AND p.upload_timestamp >= ? AND (p.upload_timestamp > ? OR (p.upload_timestamp = ? AND p.product_id > ?)) " },
+        { "AND p.price >= ? AND (p.price > ? OR (p.price = ? AND p.product_id > ?)) ",
+          "AND p.price <= ? AND (p.price < ? OR (p.price = ? AND p.product_id < ?)) " }
+    };
+    private static final String[][] PAGE_ORDER = {
+        { "p.upload_timestamp DESC, p.product_id DESC", "p.upload_timestamp ASC, p.product_id ASC" },
+        { "p.price ASC, p.product_id ASC", "p.price DESC, p.product_id DESC" }
+    };
+    // The same order over the UNION of the branches (its columns have no table alias)
+    private static final String[][] UNION_ORDER_BY = {
+        { "ORDER BY upload_timestamp DESC, product_id DESC LIMIT ?", "ORDER BY upload_timestamp ASC, product_id ASC LIMIT ?" },
+        { "ORDER BY price ASC, product_id ASC LIMIT ?", "ORDER BY price DESC, product_id DESC LIMIT ?" }
+    };
+
+    /**
+     * SQL of a browse page. "status = A OR status = B" is a range over two index prefixes, so
+     * the database would sort every product for sale to return the first few. Instead each
+     * for-sale status is a branch with an equality on status (and category): it reads its rows
+     * in index order and stops at the LIMIT, and the UNION only merges the two short branches.
+     * The branch ORDER BY repeats the equality columns so H2 also sees that the index matches.
+     * Parameters: the filter and seek values and the limit once per status, then the limit.
+     */
+    private static String forSalePageSql(int shape, int sort, int direction, boolean seek) {
+        String equalityColumns = (shape & FILTER_CATEGORY) != 0 ? "p.category, p.status, " : "p.status, ";
+        StringBuilder sql = new StringBuilder();
+        for (String status : FOR_SALE_STATUSES) {
+            if (sql.length() > 0) {
+                sql.append(" UNION ALL ");
+            }
+            sql.append("(SELECT p.* FROM products p WHERE p.status = '").append(status).append("' ")
+               .append(FILTERS[shape])
+               .append(seek ? SEEK_CLAUSES[sort][direction] : "")
+               .append("ORDER BY ").append(equalityColumns).append(PAGE_ORDER[sort][direction]).append(" LIMIT ?)");
+        }
+        return sql.append(' ').append(UNION_ORDER_BY[sort][direction]).toString();
+    }
+
+    /**
+     * The hottest product queries, for the pool to prepare on every new connection:
+     * the 16 findAvailable variants (as the browse screen runs them, without bids), the first
+     * browse page in both sort orders and findById.
+     */
+    static List<String> warmUpStatements() {
+        List<String> sqls = new ArrayList<>();
+        for (String fromWhere : AVAILABLE_FROM_WHERE) {
+            sqls.add(JdbcRows.productSql(fromWhere, ORDER_BY_NEWEST));
+            sqls.add(JdbcRows.productSql(fromWhere, ORDER_BY_PRICE));
+        }
+        sqls.add(forSalePageSql(0, 0, 0, false));
+        sqls.add(forSalePageSql(0, 1, 0, false));
+        sqls.add(JdbcRows.productSql(FIND_BY_ID_FROM_WHERE, ""));
+        return sqls;
+    }
+
+    /**
+     * The product queries for SchemaManager.verify(), with sample parameters.
+     */
+    static List<SchemaManager.QueryShape> queryShapes() {
+        java.sql.Timestamp now = new java.sql.Timestamp(System.currentTimeMillis());
+        int categoryAndRange = FILTER_CATEGORY | FILTER_MIN_PRICE | FILTER_MAX_PRICE;
+        return List.of(
+            shape("browse newest", productSql(0, ORDER_BY_NEWEST), List.of()),
+            shape("browse by price", productSql(0, ORDER_BY_PRICE), List.of()),
+            shape("browse category + price range", productSql(categoryAndRange, ORDER_BY_PRICE),
+                  List.of("plastic", 100.0, 1000.0)),
+            shape("browse first page newest", forSalePageSql(0, 0, 0, false), List.of(50, 50, 50)),
+            shape("browse page newest", forSalePageSql(0, 0, 0, true),
+                  List.of(now, now, now, "p_01", 50, now, now, now, "p_01", 50, 50)),
+            shape("browse page by price", forSalePageSql(0, 1, 0, true),
+                  List.of(100.0, 100.0, 100.0, "p_01", 50, 100.0, 100.0, 100.0, "p_01", 50, 50)),
+            shape("browse page category newest", forSalePageSql(FILTER_CATEGORY, 0, 0, true),
+                  List.of("plastic", now, now, now, "p_01", 50, "plastic", now, now, now, "p_01", 50, 50)),
+            shape("browse page category by price", forSalePageSql(FILTER_CATEGORY, 1, 0, true),
+                  List.of("plastic", 100.0, 100.0, 100.0, "p_01", 50, "plastic", 100.0, 100.0, 100.0, "p_01", 50, 50)),
+            shape("product by id", JdbcRows.productSql(FIND_BY_ID_FROM_WHERE, ""), List.of("p_01")),
+            shape("seller products", JdbcRows.productSql(BY_SELLER_FROM_WHERE, ""), List.of("u_s1")),
+            shape("seller products by status", JdbcRows.productSql(BY_SELLER_AND_STATUS_FROM_WHERE, ""),
+                  List.of("u_s1", ProductStatus.PENDING_RECYCLING.name())),
+            shape("products by status", JdbcRows.productSql(BY_STATUS_FROM_WHERE, ""),
+                  List.of(ProductStatus.PENDING_RECYCLING.name()))
+        );
+    }
+
+    private static String productSql(int shape, String orderBy) {
+        return JdbcRows.productSql(AVAILABLE_FROM_WHERE[shape], orderBy);
+    }
+
+    private static SchemaManager.QueryShape shape(String name, String sql, List<?> params) {
+        return new SchemaManager.QueryShape(name, sql, params);
+    }
+
+    @Override
+    public Product findById(String productId, boolean withBids) {
+        List<Product> found = load(FIND_BY_ID_FROM_WHERE, "", List.of(productId), withBids);
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    @Override
+    public List<Product> findBySeller(String sellerId, boolean withBids) {
+        return load(BY_SELLER_FROM_WHERE, "", List.of(sellerId), withBids);
+    }
+
+    @Override
+    public List<Product> findBySellerAndStatus(String sellerId, ProductStatus status, boolean withBids) {
+        return load(BY_SELLER_AND_STATUS_FROM_WHERE, "", List.of(sellerId, status.name()), withBids);
+    }
+
+    @Override
+    public List<Product> findByStatus(ProductStatus status, boolean withBids) {
+        return load(BY_STATUS_FROM_WHERE, "", List.of(status.name()), withBids);
+    }
+
+    @Override
+    public List<Product> findAvailable(String category, double minPrice, double maxPrice,
+                                       boolean sortByPriceAsc, boolean withBids) {
+        int shape = 0;
+        List<Object> params = new ArrayList<>();
+
+        if (category != null) {
+            shape |= FILTER_CATEGORY;
+            params.add(category);
+        }
+        if (minPrice > 0) {
+            shape |= FILTER_MIN_PRICE;
+            params.add(minPrice);
+        }
+        if (maxPrice > 0 && maxPrice != Double.MAX_VALUE) {
+            shape |= FILTER_MAX_PRICE;
+            params.add(maxPrice);
+        }
+        String orderBy = sortByPriceAsc ? ORDER_BY_PRICE : ORDER_BY_NEWEST;
+        return load(AVAILABLE_FROM_WHERE[shape], orderBy, params, withBids);
+    }
+
+    @Override
+    public List<Product> findAvailablePage(String category, double minPrice, double maxPrice, boolean sortByPriceAsc,
+                                           Product cursor, boolean backwards, int limit, boolean withBids) {
+        int shape = 0;
+        List<Object> branchParams = new ArrayList<>();
+
+        if (category != null) {
+            shape |= FILTER_CATEGORY;
+            branchParams.add(category);
+        }
+        if (minPrice > 0) {
+            shape |= FILTER_MIN_PRICE;
+            branchParams.add(minPrice);
+        }
+        if (maxPrice > 0 && maxPrice != Double.MAX_VALUE) {
+            shape |= FILTER_MAX_PRICE;
+            branchParams.add(maxPrice);
+        }
+
+        int sort = sortByPriceAsc ? 1 : 0;
+        int direction = (cursor != null && backwards) ? 1 : 0;
+        if (cursor != null) {
+            Object key = sortByPriceAsc ? (Object) cursor.getPrice()
+                                        : new java.sql.Timestamp(cursor.getUploadTimestamp());
+            branchParams.add(key);
+            branchParams.add(key);
+            branchParams.add(key);
+            branchParams.add(cursor.getProductId());
+        }
+        branchParams.add(limit);
+
+        String sql = forSalePageSql(shape, sort, direction, cursor != null);
+        List<Object> params = new ArrayList<>();
+        for (int i = 0; i < FOR_SALE_STATUSES.length; i++) {
+            params.addAll(branchParams);
+        }
+        params.add(limit);
+
+        try (Connection con = DBConnector.getConnection()) {
+            // The bid semi-join in loadProducts cannot carry the LIMIT, so bids are fetched by id instead.
+            List<Product> page = JdbcRows.queryProducts(con, sql, params);
+            if (withBids) {
+                JdbcRows.loadBidsFor(con, page, limit);
+            }
+            if (direction == 1) {
+                Collections.reverse(page); // fetched nearest-first, shown in display order
+            }
+            return page;
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
+
+    private List<Product> load(String fromWhere, String orderBy, List<?> params, boolean withBids) {
+        try (Connection con = DBConnector.getConnection()) {
+            return JdbcRows.loadProducts(con, fromWhere, orderBy, params, withBids);
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
+
+    @Override
+    public boolean insert(Product product) {
+        String sql = "INSERT INTO products (product_id, name, type, category, price, description, seller_id, status, upload_timestamp) " +
+                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        
+        try (Connection con = DBConnector.getConnection();
+             PreparedStatement pstmt = con.prepareStatement(sql)) {
+            
+            pstmt.setString(1, product.getProductId());
+            pstmt.setString(2, product.getName());
+            pstmt.setString(3, product.getType());
+            pstmt.setString(4, product.getCategory());
+            pstmt.setDouble(5, product.getPrice());
+            pstmt.setString(6, product.getDescription());
+            pstmt.setString(7, product.getSellerId());
+            pstmt.setString(8, product.getStatus().name());
+            pstmt.setTimestamp(9, new java.sql.Timestamp(product.getUploadTimestamp()));
+            return pstmt.executeUpdate() > 0;
+            
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    @Override
+    public boolean updateStatus(String productId, ProductStatus status) {
+        String sql = "UPDATE products SET status = ? WHERE product_id = ?";
+        try (Connection con = DBConnector.getConnection();
+             PreparedStatement pstmt = con.prepareStatement(sql)) {
+            
+            pstmt.setString(1, status.name());
+            pstmt.setString(2, productId);
+            return pstmt.executeUpdate() > 0;
+            
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    @Override
+    public boolean delete(String productId) {
+        // Only while it is still for sale, so a product sold meanwhile is never deleted.
+        String sql = "DELETE FROM products WHERE product_id = ? AND status IN ('AVAILABLE', 'AVAILABLE_NO_RECYCLE')";
+        try (Connection con = DBConnector.getConnection();
+             PreparedStatement pstmt = con.prepareStatement(sql)) {
+            
+            pstmt.setString(1, productId);
+            return pstmt.executeUpdate() > 0;
+            
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Guarded on RECYCLING_PURCHASED (so proof is accepted once); the two credit rows are
+     * updated in user id order, like every other multi-user write.
+     */
+    @Override
+    public boolean completeRecycling(Product product, String recyclerId, double recyclerShare, double sellerShare) {
+        Map<String, Double> credits = new TreeMap<>();
+        credits.merge(recyclerId, recyclerShare, Double::sum);
+        credits.merge(product.getSellerId(), sellerShare, Double::sum);
+
+        return JdbcRows.inTransaction(con -> {
+            String updateProdSql = "UPDATE products SET status = 'RECYCLED' WHERE product_id = ? AND status = 'RECYCLING_PURCHASED' " +
+                                   "AND (recycler_id IS NULL OR recycler_id = ?)";
+            try (PreparedStatement pstmt = con.prepareStatement(updateProdSql)) {
+                pstmt.setString(1, product.getProductId());
+                pstmt.setString(2, recyclerId);
+                if (pstmt.executeUpdate() != 1) {
+                    throw new JdbcRows.ConflictException("Product " + product.getProductId() + " is not waiting for recycling proof from " + recyclerId);
+                }
+            }
+
+            String updateCreditsSql = "UPDATE users SET carbon_credits = carbon_credits + ? WHERE user_id = ?";
+            try (PreparedStatement pstmt = con.prepareStatement(updateCreditsSql)) {
+                for (Map.Entry<String, Double> user : credits.entrySet()) {
+                    pstmt.setDouble(1, user.getValue());
+                    pstmt.setString(2, user.getKey());
+                    pstmt.executeUpdate();
+                }
+            }
+            return true;
+        }, false);
+    }
+}
@@ -0,0 +1,106 @@
+// In file: src/ecocycle/repository/jdbc/JdbcReviewRepository.java
+package ecocycle.repository.jdbc;
+
+import ecocycle.model.Review;
+import ecocycle.model.ReviewDetail;
+import ecocycle.repository.ReviewRepository;
+import ecocycle.util.DBConnector;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+class JdbcReviewRepository implements ReviewRepository {
+
+    private static final String DETAILS_SELECT =
+        "SELECT r.review_id, r.timestamp, r.text, p.name AS product_name, " +
+        "b.username AS buyer_name, s.username AS seller_name " +
+        "FROM reviews r " +
+        "LEFT JOIN products p ON p.product_id = r.product_id " +
+        "LEFT JOIN users b ON b.user_id = r.buyer_id " +
+        "LEFT JOIN users s ON s.user_id = p.seller_id ";
+    private static final String DETAILS_FIRST_PAGE_SQL = DETAILS_SELECT +
+        "ORDER BY r.timestamp DESC, r.review_id DESC LIMIT ?";
+    // The leading "timestamp <= ?" bound is redundant, but lets the optimizer turn the
+    // keyset condition into an index range on idx_reviews_time.
+    private static final String DETAILS_OLDER_SQL = DETAILS_SELECT +
+        "WHERE r.timestamp <= ? AND (r.timestamp < ? OR (r.timestamp = ? AND r.review_id < ?)) " +
+        "ORDER BY r.timestamp DESC, r.review_id DESC LIMIT ?";
+    private static final String DETAILS_NEWER_SQL = DETAILS_SELECT +
+        "WHERE r.timestamp >= ? AND (r.timestamp > ? OR (r.timestamp = ? AND r.review_id > ?)) " +
+        "ORDER BY r.timestamp ASC, r.review_id ASC LIMIT ?";
+
+    static List<SchemaManager.QueryShape> queryShapes() {
+        java.sql.Timestamp now = new java.sql.Timestamp(System.currentTimeMillis());
+        return List.of(
+            new SchemaManager.QueryShape("review feed", DETAILS_FIRST_PAGE_SQL, List.of(50)),
+            new SchemaManager.QueryShape("review feed page", DETAILS_OLDER_SQL, List.of(now, now, now, "r_0", 50))
+        );
+    }
+
+    @Override
+    public List<ReviewDetail> findDetailsPage(ReviewDetail cursor, boolean backwards, int limit) {
+        List<ReviewDetail> page = new ArrayList<>();
+        String sql = cursor == null ? DETAILS_FIRST_PAGE_SQL : (backwards ? DETAILS_NEWER_SQL : DETAILS_OLDER_SQL);
+
+        try (Connection con = DBConnector.getConnection();
+             PreparedStatement pstmt = con.prepareStatement(sql)) {
+
+            int param = 1;
+            if (cursor != null) {
+                java.sql.Timestamp at = new java.sql.Timestamp(cursor.getTimestamp());
+                pstmt.setTimestamp(param++, at);
+                pstmt.setTimestamp(param++, at);
+                pstmt.setTimestamp(param++, at);
+                pstmt.setString(param++, cursor.getReviewId());
+            }
+            pstmt.setInt(param, limit);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    page.add(new ReviewDetail(
+                        rs.getString("review_id"),
+                        rs.getTimestamp("timestamp").getTime(),
+                        orUnknown(rs.getString("product_name"), "Unknown Product"),
+                        orUnknown(rs.getString("buyer_name"), "Unknown Buyer"),
+                        orUnknown(rs.getString("seller_name"), "Unknown Seller"),
+                        rs.getString("text")
+                    ));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        if (cursor != null && backwards) {
+            Collections.reverse(page); // fetched oldest-first, shown newest-first
+        }
+        return page;
+    }
+
+    private static String orUnknown(String name, String unknown) {
+        return name != null ? name : unknown;
+    }
+
+    @Override
+    public boolean insert(Review review) {
+        String sql = "INSERT INTO reviews (review_id, product_id, buyer_id, text, timestamp) VALUES (?, ?, ?, ?, ?)";
+        try (Connection con = DBConnector.getConnection();
+             PreparedStatement pstmt = con.prepareStatement(sql)) {
+            
+            pstmt.setString(1, review.getReviewId());
+            pstmt.setString(2, review.getProductId());
+            pstmt.setString(3, review.getBuyerId());
+            pstmt.setString(4, review.getText());
+            pstmt.setTimestamp(5, new java.sql.Timestamp(review.getTimestamp()));
+            return pstmt.executeUpdate() > 0;
+            
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,291 @@
+// In file: src/ecocycle/repository/jdbc/JdbcRows.java
+package ecocycle.repository.jdbc;
+
+import ecocycle.model.Product;
+import ecocycle.model.ProductStatus;
+import ecocycle.model.RecyclingBid;
+import ecocycle.model.Role;
+import ecocycle.model.User;
+import ecocycle.util.DBConnector;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Row mapping helpers shared by the JDBC repositories.
+ */
+final class JdbcRows {
+
+    private JdbcRows() {}
+
+    static User inflateUser(ResultSet rs) throws SQLException {
+        User user = new User(
+            rs.getString("user_id"),
+            rs.getString("username"),
+            rs.getString("password"),
+            Role.valueOf(rs.getString("role"))
+        );
+        user.setCarbonCredits(rs.getDouble("carbon_credits"));
+        user.setTotalSales(rs.getDouble("total_sales"));
+        return user;
+    }
+
+    static Product inflateProduct(ResultSet rs) throws SQLException {
+        Product product = new Product(
+            rs.getString("product_id"),
+            rs.getString("name"),
+            rs.getString("type"),
+            rs.getString("category"),
+            rs.getDouble("price"),
+            rs.getString("description"),
+            rs.getString("seller_id")
+        );
+        product.setStatus(ProductStatus.valueOf(rs.getString("status")));
+        java.sql.Timestamp ts = rs.getTimestamp("upload_timestamp");
+        if (ts != null) {
+            product.setUploadTimestamp(ts.getTime());
+        } else {
+            product.setUploadTimestamp(System.currentTimeMillis());
+        }
+        product.setRecyclerId(rs.getString("recycler_id"));
+        return product;
+    }
+
+    /**
+     * Loads a list of products with ONE query and, if asked, all of their bids with ONE more.
+     * The bid query re-uses the same FROM/WHERE clause as a semi-join on the same connection,
+     * so a list of N products costs 2 round trips instead of 1 + N.
+     * @param fromWhere The "FROM products p ... WHERE ..." part (products must be aliased as p).
+     * @param orderBy An "ORDER BY ..." clause, or "" for none.
+     * @param withBids false for screens that never show bids (the bid query is skipped).
+     */
+    static List<Product> loadProducts(Connection con, String fromWhere, String orderBy,
+                                      List<?> params, boolean withBids) throws SQLException {
+        List<Product> products = queryProducts(con, productSql(fromWhere, orderBy), params);
+        if (!withBids || products.isEmpty()) {
+            return products;
+        }
+        Map<String, Product> byId = new HashMap<>();
+        for (Product product : products) {
+            byId.put(product.getProductId(), product);
+        }
+
+        try (PreparedStatement bidStmt = con.prepareStatement(bidSql(fromWhere))) {
+            bindParams(bidStmt, params);
+            try (ResultSet bidRs = bidStmt.executeQuery()) {
+                while (bidRs.next()) {
+                    // Rows inserted between the two queries may have no product here; skip them.
+                    Product product = byId.get(bidRs.getString("product_id"));
+                    if (product != null) {
+                        product.getBids().add(new RecyclingBid(
+                            bidRs.getString("recycler_id"),
+                            bidRs.getDouble("bid_price")
+                        ));
+                    }
+                }
+            }
+        }
+        return products;
+    }
+
+    /**
+     * Runs a query that selects whole product rows (no bids).
+     */
+    static List<Product> queryProducts(Connection con, String sql, List<?> params) throws SQLException {
+        List<Product> products = new ArrayList<>();
+        try (PreparedStatement pstmt = con.prepareStatement(sql)) {
+            bindParams(pstmt, params);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    products.add(inflateProduct(rs));
+                }
+            }
+        }
+        return products;
+    }
+
+    /**
+     * Adds the bids of a page of products with ONE "product_id IN (...)" query.
+     * The IN list is padded to padTo entries (repeating the last id) so every page
+     * uses the same SQL text.
+     */
+    static void loadBidsFor(Connection con, List<Product> products, int padTo) throws SQLException {
+        if (products.isEmpty()) {
+            return;
+        }
+        Map<String, Product> byId = new HashMap<>();
+        List<String> ids = new ArrayList<>();
+        for (Product product : products) {
+            byId.put(product.getProductId(), product);
+            ids.add(product.getProductId());
+        }
+        String lastId = ids.get(ids.size() - 1);
+        while (ids.size() < padTo) {
+            ids.add(lastId);
+        }
+
+        String sql = "SELECT rb.product_id, rb.recycler_id, rb.bid_price FROM recycling_bids rb " +
+                     "WHERE rb.product_id IN (" + placeholders(ids.size()) + ")";
+
+        try (PreparedStatement bidStmt = con.prepareStatement(sql)) {
+            bindParams(bidStmt, ids);
+            try (ResultSet bidRs = bidStmt.executeQuery()) {
+                while (bidRs.next()) {
+                    Product product = byId.get(bidRs.getString("product_id"));
+                    if (product != null) {
+                        product.getBids().add(new RecyclingBid(
+                            bidRs.getString("recycler_id"),
+                            bidRs.getDouble("bid_price")
+                        ));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The exact product query text loadProducts runs (the statement cache is keyed by it).
+     */
+    static String productSql(String fromWhere, String orderBy) {
+        return "SELECT p.* " + fromWhere + " " + orderBy;
+    }
+
+    /**
+     * The bids of every product fromWhere matches. Joined rather than "rb.product_id IN (...)",
+     * which MySQL 5.x and H2 run as a dependent subquery per bid row. Each fromWhere matches a
+     * product at most once, so the join does not repeat bids.
+     */
+    static String bidSql(String fromWhere) {
+        String products = "FROM products p ";
+        if (fromWhere.startsWith(products)) {
+            return "SELECT rb.product_id, rb.recycler_id, rb.bid_price FROM products p " +
+                   "JOIN recycling_bids rb ON rb.product_id = p.product_id " + fromWhere.substring(products.length());
+        }
+        return "SELECT rb.product_id, rb.recycler_id, rb.bid_price FROM recycling_bids rb " +
+               "WHERE rb.product_id IN (SELECT p.product_id " + fromWhere + ")";
+    }
+
+    static void bindParams(PreparedStatement pstmt, List<?> params) throws SQLException {
+        for (int i = 0; i < params.size(); i++) {
+            pstmt.setObject(i + 1, params.get(i));
+        }
+    }
+
+    // --- Transactions ---
+
+    /**
+     * The statements of one transaction, run by {@link #inTransaction}.
+     */
+    @FunctionalInterface
+    interface TransactionWork<T> {
+        T run(Connection con) throws SQLException;
+    }
+
+    /**
+     * Thrown from TransactionWork when a guarded write ("... WHERE status IN (...)")
+     * changed fewer rows than expected: another transaction got there first.
+     * The transaction is rolled back and not retried.
+     */
+    static final class ConflictException extends SQLException {
+        private static final long serialVersionUID = 1L;
+
+        ConflictException(String message) {
+            super(message);
+        }
+    }
+
+    // -Decocycle.tx.maxAttempts: how often a transaction is tried when the database
+    // picks it as a deadlock victim (or its lock wait times out).
+    private static final int MAX_ATTEMPTS = Math.max(1, Integer.getInteger("ecocycle.tx.maxAttempts", 3));
+    static final AtomicLong deadlockRetries = new AtomicLong();
+    static final AtomicLong conflicts = new AtomicLong();
+
+    /**
+     * Runs work in one transaction on a pooled connection and commits it.
+     * - A ConflictException rolls back and returns onFailure.
+     * - A deadlock or lock wait timeout rolls back and runs the work again on a fresh
+     *   connection, up to MAX_ATTEMPTS times, after a short random back-off.
+     * - Any other SQLException is printed, rolled back and returns onFailure.
+     */
+    static <T> T inTransaction(TransactionWork<T> work, T onFailure) {
+        for (int attempt = 1; ; attempt++) {
+            Connection con = null;
+            try {
+                con = DBConnector.getConnection();
+                con.setAutoCommit(false);
+                T result = work.run(con);
+                con.commit();
+                return result;
+            } catch (ConflictException e) {
+                conflicts.incrementAndGet();
+                rollbackQuietly(con);
+                return onFailure;
+            } catch (SQLException e) {
+                rollbackQuietly(con);
+                if (attempt < MAX_ATTEMPTS && isDeadlock(e) && backOff(attempt)) {
+                    deadlockRetries.incrementAndGet();
+                    continue;
+                }
+                e.printStackTrace();
+                return onFailure;
+            } finally {
+                closeQuietly(con);
+            }
+        }
+    }
+
+    /**
+     * SQLState class 40 is "transaction rollback" (MySQL deadlock 1213 and lock wait
+     * timeout 1205 both report 40001 through Connector/J, as does H2).
+     */
+    static boolean isDeadlock(SQLException e) {
+        String state = e.getSQLState();
+        return (state != null && state.startsWith("40")) || e.getErrorCode() == 1213 || e.getErrorCode() == 1205;
+    }
+
+    // Random wait of up to 10, 20, 40 ... ms, so the two victims of a deadlock do not collide again.
+    private static boolean backOff(int attempt) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(1, 10L << Math.min(attempt - 1, 6)));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * @return "?, ?, ?" with count placeholders.
+     */
+    static String placeholders(int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append(i == 0 ? "?" : ", ?");
+        }
+        return sb.toString();
+    }
+
+    static void rollbackQuietly(Connection con) {
+        if (con != null) {
+            try { con.rollback(); } catch (SQLException ex) { ex.printStackTrace(); }
+        }
+    }
+
+    /**
+     * Restores auto-commit and hands the connection back to the pool.
+     */
+    static void closeQuietly(Connection con) {
+        if (con != null) {
+            try { con.setAutoCommit(true); } catch (SQLException ex) { ex.printStackTrace(); }
+            try { con.close(); } catch (SQLException ex) { ex.printStackTrace(); }
+        }
+    }
+}
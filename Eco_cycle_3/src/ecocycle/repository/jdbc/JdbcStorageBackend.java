@@ -0,0 +1,88 @@
+// In file: src/ecocycle/repository/jdbc/JdbcStorageBackend.java
+package ecocycle.repository.jdbc;
+
+import ecocycle.repository.BidRepository;
+import ecocycle.repository.CartRepository;
+import ecocycle.repository.ProductRepository;
+import ecocycle.repository.ReviewRepository;
+import ecocycle.repository.StorageBackend;
+import ecocycle.repository.TransactionRepository;
+import ecocycle.repository.UserRepository;
+import ecocycle.util.DBConnector;
+
+import java.util.List;
+
+/**
+ * The MySQL backend. Every repository borrows pooled connections from DBConnector.
+ */
+public class JdbcStorageBackend implements StorageBackend {
+
+    private final UserRepository users = new JdbcUserRepository();
+    private final ProductRepository products = new JdbcProductRepository();
+    private final BidRepository bids = new JdbcBidRepository();
+    private final CartRepository cart = new JdbcCartRepository();
+    private final TransactionRepository transactions = new JdbcTransactionRepository();
+    private final ReviewRepository reviews = new JdbcReviewRepository();
+
+    public JdbcStorageBackend() {
+        // Hot lookups are prepared once per pooled connection instead of on first use.
+        DBConnector.getPool().addWarmUpStatements(JdbcProductRepository.warmUpStatements());
+        DBConnector.getPool().addWarmUpStatements(List.of(JdbcUserRepository.FIND_BY_ID_SQL,
+                                                          JdbcUserRepository.FIND_BY_USERNAME_SQL));
+    }
+
+    @Override
+    public void open() {
+        // Create or upgrade the tables before anything prepares a statement against them.
+        // -Decocycle.schema.migrate=false skips this (e.g. for a database managed elsewhere).
+        if (!"false".equalsIgnoreCase(System.getProperty("ecocycle.schema.migrate"))) {
+            int version = SchemaManager.migrate();
+            System.out.println("Schema version: " + version + " (latest " + SchemaManager.getLatestVersion() + ")");
+        }
+        // -Decocycle.schema.verify=true: EXPLAIN every DataService query and report full table scans.
+        if (Boolean.getBoolean("ecocycle.schema.verify")) {
+            List<String> findings = SchemaManager.verify();
+            if (findings.isEmpty()) {
+                System.out.println("Schema check: no full table scans.");
+            }
+            for (String finding : findings) {
+                System.err.println("Schema check: " + finding);
+            }
+        }
+    }
+
+    /**
+     * Opens the pool's minimum of idle connections (each preparing the warm-up statements).
+     */
+    @Override
+    public void warmUp() {
+        DBConnector.getPool().fillToMinimum();
+    }
+
+    @Override public UserRepository users() { return users; }
+    @Override public ProductRepository products() { return products; }
+    @Override public BidRepository bids() { return bids; }
+    @Override public CartRepository cart() { return cart; }
+    @Override public TransactionRepository transactions() { return transactions; }
+    @Override public ReviewRepository reviews() { return reviews; }
+
+    @Override
+    public String getName() {
+        return "mysql";
+    }
+
+    /**
+     * @return How many transactions were run again after losing a deadlock or lock wait.
+     */
+    public long getDeadlockRetryCount() {
+        return JdbcRows.deadlockRetries.get();
+    }
+
+    /**
+     * @return How many transactions were rolled back because a guarded write found
+     *         its rows already changed (e.g. an item sold to another buyer first).
+     */
+    public long getConflictCount() {
+        return JdbcRows.conflicts.get();
+    }
+}
@@ -0,0 +1,198 @@
+// In file: src/ecocycle/repository/jdbc/JdbcTransactionRepository.java
+package ecocycle.repository.jdbc;
+
+import ecocycle.model.Product;
+import ecocycle.model.Transaction;
+import ecocycle.model.TransactionStatus;
+import ecocycle.repository.TransactionRepository;
+import ecocycle.util.DBConnector;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+
+class JdbcTransactionRepository implements TransactionRepository {
+
+    private static final String FIND_BY_BUYER_SQL = "SELECT t.*, p.name AS product_name FROM transactions t " +
+        "LEFT JOIN products p ON p.product_id = t.product_id WHERE t.buyer_id = ? ORDER BY t.timestamp DESC";
+    private static final String HAS_PURCHASED_SQL = "SELECT 1 FROM transactions WHERE buyer_id = ? AND product_id = ? AND status = 'COMPLETED' LIMIT 1";
+
+    static List<SchemaManager.QueryShape> queryShapes() {
+        return List.of(
+            new SchemaManager.QueryShape("purchase history", FIND_BY_BUYER_SQL, List.of("u_b1")),
+            new SchemaManager.QueryShape("has purchased", HAS_PURCHASED_SQL, List.of("u_b1", "p_01"))
+        );
+    }
+
+    @Override
+    public List<Transaction> findByBuyer(String buyerId) {
+        List<Transaction> userTransactions = new ArrayList<>();
+        try (Connection con = DBConnector.getConnection();
+             PreparedStatement pstmt = con.prepareStatement(FIND_BY_BUYER_SQL)) {
+            
+            pstmt.setString(1, buyerId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    userTransactions.add(new Transaction(
+                        rs.getString("transaction_id"),
+                        rs.getString("buyer_id"),
+                        rs.getString("product_id"),
+                        rs.getDouble("price"),
+                        rs.getTimestamp("timestamp").getTime(),
+                        TransactionStatus.valueOf(rs.getString("status")),
+                        rs.getString("product_name")
+                    ));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return userTransactions;
+    }
+
+    @Override
+    public boolean hasCompletedPurchase(String buyerId, String productId) {
+        try (Connection con = DBConnector.getConnection();
+             PreparedStatement pstmt = con.prepareStatement(HAS_PURCHASED_SQL)) {
+            
+            pstmt.setString(1, buyerId);
+            pstmt.setString(2, productId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next();
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    // Largest multi-row INSERT / IN list. Smaller chunks are powers of two, so a checkout only
+    // ever uses a handful of distinct SQL texts (and they stay in the statement cache).
+    private static final int MAX_INSERT_ROWS = 64;
+
+    /**
+     * Checkout in a fixed number of round trips instead of 3-4 per item:
+     * - "UPDATE ... WHERE product_id IN (...) AND status IN (for sale)" marks every product
+     *   SOLD; if it changes fewer rows than there are items, another buyer got one of them
+     *   first and the whole checkout is rolled back,
+     * - one batch adds to total_sales, ONE row per seller (totals are summed first),
+     * - multi-row INSERTs write the transactions,
+     * - one batch (or one DELETE) empties the cart.
+     * Rows are locked in one global order (products by id, then sellers by id), so two
+     * concurrent checkouts cannot deadlock each other; a deadlock with anything else is retried.
+     */
+    @Override
+    public boolean recordPurchases(String buyerId, List<Product> items, boolean clearWholeCart) {
+        // Sort by product id and pre-aggregate the sales per seller
+        List<Product> sorted = new ArrayList<>(items);
+        sorted.sort(Comparator.comparing(Product::getProductId));
+        Map<String, Double> salesBySeller = new TreeMap<>();
+        for (Product p : sorted) {
+            salesBySeller.merge(p.getSellerId(), p.getPrice(), Double::sum);
+        }
+
+        return JdbcRows.inTransaction(con -> {
+            int sold = markSold(con, sorted);
+            if (sold != sorted.size()) {
+                throw new JdbcRows.ConflictException("Only " + sold + " of " + sorted.size() + " products were still for sale");
+            }
+
+            String updateSellerSql = "UPDATE users SET total_sales = total_sales + ? WHERE user_id = ?";
+            try (PreparedStatement updateSellerStmt = con.prepareStatement(updateSellerSql)) {
+                for (Map.Entry<String, Double> seller : salesBySeller.entrySet()) {
+                    updateSellerStmt.setDouble(1, seller.getValue());
+                    updateSellerStmt.setString(2, seller.getKey());
+                    updateSellerStmt.addBatch();
+                }
+                updateSellerStmt.executeBatch();
+            }
+
+            insertTransactions(con, buyerId, sorted);
+
+            if (clearWholeCart) {
+                String deleteCartSql = "DELETE FROM cart WHERE buyer_id = ?";
+                try (PreparedStatement deleteCartStmt = con.prepareStatement(deleteCartSql)) {
+                    deleteCartStmt.setString(1, buyerId);
+                    deleteCartStmt.executeUpdate();
+                }
+            } else {
+                String deleteItemSql = "DELETE FROM cart WHERE buyer_id = ? AND product_id = ?";
+                try (PreparedStatement deleteItemStmt = con.prepareStatement(deleteItemSql)) {
+                    for (Product p : sorted) {
+                        deleteItemStmt.setString(1, buyerId);
+                        deleteItemStmt.setString(2, p.getProductId());
+                        deleteItemStmt.addBatch();
+                    }
+                    deleteItemStmt.executeBatch();
+                }
+            }
+            return true;
+        }, false);
+    }
+
+    /**
+     * Marks the (sorted, distinct) products SOLD if they are still for sale, in
+     * power-of-two chunks like insertTransactions.
+     * @return How many rows were changed.
+     */
+    private int markSold(Connection con, List<Product> items) throws SQLException {
+        int changed = 0;
+        int next = 0;
+        while (next < items.size()) {
+            int rows = Math.min(MAX_INSERT_ROWS, Integer.highestOneBit(items.size() - next));
+            String sql = "UPDATE products SET status = 'SOLD' WHERE product_id IN (" + JdbcRows.placeholders(rows) + ") " +
+                         "AND status IN ('AVAILABLE', 'AVAILABLE_NO_RECYCLE')";
+            try (PreparedStatement updateProdStmt = con.prepareStatement(sql)) {
+                for (int i = 0; i < rows; i++) {
+                    updateProdStmt.setString(i + 1, items.get(next + i).getProductId());
+                }
+                changed += updateProdStmt.executeUpdate();
+            }
+            next += rows;
+        }
+        return changed;
+    }
+
+    /**
+     * Writes one COMPLETED transaction per item with multi-row INSERTs
+     * (MAX_INSERT_ROWS rows at a time, then power-of-two chunks for the rest).
+     */
+    private void insertTransactions(Connection con, String buyerId, List<Product> items) throws SQLException {
+        java.sql.Timestamp now = new java.sql.Timestamp(System.currentTimeMillis());
+        int next = 0;
+        while (next < items.size()) {
+            int rows = Math.min(MAX_INSERT_ROWS, Integer.highestOneBit(items.size() - next));
+            try (PreparedStatement insertTransStmt = con.prepareStatement(insertTransactionsSql(rows))) {
+                int param = 1;
+                for (int i = next; i < next + rows; i++) {
+                    Product p = items.get(i);
+                    String tid = "t_" + UUID.randomUUID().toString().substring(0, 8);
+                    insertTransStmt.setString(param++, tid);
+                    insertTransStmt.setString(param++, buyerId);
+                    insertTransStmt.setString(param++, p.getProductId());
+                    insertTransStmt.setDouble(param++, p.getPrice());
+                    insertTransStmt.setTimestamp(param++, now);
+                    insertTransStmt.setString(param++, TransactionStatus.COMPLETED.name());
+                }
+                insertTransStmt.executeUpdate();
+            }
+            next += rows;
+        }
+    }
+
+    private static String insertTransactionsSql(int rows) {
+        StringBuilder sql = new StringBuilder(
+            "INSERT INTO transactions (transaction_id, buyer_id, product_id, price, timestamp, status) VALUES ");
+        for (int i = 0; i < rows; i++) {
+            sql.append(i == 0 ? "(?, ?, ?, ?, ?, ?)" : ", (?, ?, ?, ?, ?, ?)");
+        }
+        return sql.toString();
+    }
+}
@@ -0,0 +1,102 @@
+// In file: src/ecocycle/repository/jdbc/JdbcUserRepository.java
+package ecocycle.repository.jdbc;
+
+import ecocycle.model.Role;
+import ecocycle.model.User;
+import ecocycle.repository.UserRepository;
+import ecocycle.util.DBConnector;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+class JdbcUserRepository implements UserRepository {
+
+    static final String FIND_BY_ID_SQL = "SELECT * FROM users WHERE user_id = ?";
+    static final String FIND_BY_USERNAME_SQL = "SELECT * FROM users WHERE username = ?";
+    private static final String FIND_BY_ROLE_SQL = "SELECT * FROM users WHERE role = ?";
+
+    static List<SchemaManager.QueryShape> queryShapes() {
+        return List.of(
+            new SchemaManager.QueryShape("user by username", FIND_BY_USERNAME_SQL, List.of("buyer_X")),
+            new SchemaManager.QueryShape("users by role", FIND_BY_ROLE_SQL, List.of("SELLER"))
+        );
+    }
+
+    @Override
+    public User findById(String userId) {
+        return findOne(FIND_BY_ID_SQL, userId);
+    }
+
+    @Override
+    public User findByUsername(String username) {
+        return findOne(FIND_BY_USERNAME_SQL, username);
+    }
+
+    private User findOne(String sql, String key) {
+        try (Connection con = DBConnector.getConnection();
+             PreparedStatement pstmt = con.prepareStatement(sql)) {
+            
+            pstmt.setString(1, key);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return JdbcRows.inflateUser(rs);
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    @Override
+    public boolean insert(User user) {
+        String sql = "INSERT INTO users (user_id, username, password, role) VALUES (?, ?, ?, ?)";
+        try (Connection con = DBConnector.getConnection();
+             PreparedStatement pstmt = con.prepareStatement(sql)) {
+            
+            pstmt.setString(1, user.getUserId());
+            pstmt.setString(2, user.getUsername());
+            pstmt.setString(3, user.getPassword());
+            pstmt.setString(4, user.getRole().name());
+            return pstmt.executeUpdate() > 0;
+            
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    @Override
+    public boolean hasAnyUser() {
+        try (Connection con = DBConnector.getConnection();
+             PreparedStatement pstmt = con.prepareStatement("SELECT 1 FROM users LIMIT 1");
+             ResultSet rs = pstmt.executeQuery()) {
+            return rs.next();
+        } catch (SQLException e) {
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    @Override
+    public List<User> findByRole(Role role) {
+        List<User> users = new ArrayList<>();
+        try (Connection con = DBConnector.getConnection();
+             PreparedStatement pstmt = con.prepareStatement(FIND_BY_ROLE_SQL)) {
+            
+            pstmt.setString(1, role.name());
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    users.add(JdbcRows.inflateUser(rs));
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return users;
+    }
+}
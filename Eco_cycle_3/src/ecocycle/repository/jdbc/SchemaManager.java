@@ -0,0 +1,376 @@
+// In file: src/ecocycle/repository/jdbc/SchemaManager.java
+package ecocycle.repository.jdbc;
+
+import ecocycle.util.DBConnector;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Creates and upgrades the database schema.
+ * - Every change is a numbered migration; the schema_version table records which ones have run.
+ * - migrate() applies the missing migrations in order, so an empty database is built from
+ *   scratch and an existing one (e.g. created by hand) only gets what it is missing.
+ * - verify() runs EXPLAIN on the queries DataService uses and reports every full table scan,
+ *   and every LIMIT query that MySQL has to sort ("Using filesort") instead of reading in index order.
+ *
+ * MySQL commits DDL immediately, so a migration cannot be rolled back. Each step is written
+ * to be safe to run twice instead (IF NOT EXISTS / index lookups), and a migration that
+ * failed half way is simply applied again next time.
+ */
+public class SchemaManager {
+
+    /**
+     * A secondary index.
+     * @param columns The column list, as written inside CREATE INDEX (...).
+     */
+    public record Index(String table, String name, String columns) {}
+
+    /**
+     * A query DataService runs, with sample parameters for EXPLAIN.
+     */
+    record QueryShape(String name, String sql, List<?> params) {}
+
+    private interface Step {
+        void apply(Connection con) throws SQLException;
+    }
+
+    private record Migration(int version, String description, List<Step> steps) {}
+
+    // --- Indexes matched to the WHERE clauses and sort orders in the JDBC repositories ---
+    // product_id / review_id at the end of an index is the keyset tie-breaker used by the paged queries.
+    // The indexes of a database at the latest version. Only a new migration may add or drop one;
+    // this list is then updated to match (for ensureIndexes() and the benchmarks).
+    private static final List<Index> INDEXES = List.of(
+        // Browse pages: one branch per for-sale status (status = ? ORDER BY ...), findByStatus.
+        // Newest first is declared descending, so H2 also reads the first page straight off the index.
+        new Index("products", "idx_products_status_newest_desc", "status, upload_timestamp DESC, product_id DESC"),
+        new Index("products", "idx_products_status_price", "status, price, product_id"),
+        // The same, filtered by category (with or without a price range)
+        new Index("products", "idx_products_category_newest", "category, status, upload_timestamp DESC, product_id DESC"),
+        new Index("products", "idx_products_category_price_id", "category, status, price, product_id"),
+        // Seller screens: seller_id = ? [AND status = ?]
+        new Index("products", "idx_products_seller_status", "seller_id, status"),
+        // Highest bid for a product, bids for a list of products
+        new Index("recycling_bids", "idx_bids_product_price", "product_id, bid_price"),
+        // Purchase history (buyer_id = ? ORDER BY timestamp DESC) and the "may review" check
+        new Index("transactions", "idx_transactions_buyer_time", "buyer_id, timestamp"),
+        new Index("transactions", "idx_transactions_buyer_product", "buyer_id, product_id"),
+        // Review feed pages (ORDER BY timestamp DESC, review_id DESC); declared descending so the
+        // newest-first page is read straight off the index
+        new Index("reviews", "idx_reviews_time", "timestamp DESC, review_id DESC"),
+        // Loading the leaderboards (role = ?); the ranking itself is kept in memory
+        new Index("users", "idx_users_role_sales", "role, total_sales")
+    );
+
+    // Migration 2 as it shipped. Frozen, so a new database goes through the same history as an
+    // upgraded one; later index changes are migrations of their own.
+    private static final List<Index> MIGRATION_2_INDEXES = List.of(
+        new Index("products", "idx_products_status_newest", "status, upload_timestamp, product_id"),
+        new Index("products", "idx_products_status_price", "status, price, product_id"),
+        new Index("products", "idx_products_category_price", "category, status, price"),
+        new Index("products", "idx_products_seller_status", "seller_id, status"),
+        new Index("recycling_bids", "idx_bids_product_price", "product_id, bid_price"),
+        new Index("transactions", "idx_transactions_buyer_time", "buyer_id, timestamp"),
+        new Index("transactions", "idx_transactions_buyer_product", "buyer_id, product_id"),
+        new Index("reviews", "idx_reviews_time", "timestamp DESC, review_id DESC"),
+        new Index("users", "idx_users_role_sales", "role, total_sales"),
+        new Index("users", "idx_users_role_credits", "role, carbon_credits")
+    );
+
+    private static final List<Migration> MIGRATIONS = List.of(
+        new Migration(1, "base tables", List.of(
+            ddl("CREATE TABLE IF NOT EXISTS users (" +
+                "user_id VARCHAR(64) PRIMARY KEY, " +
+                "username VARCHAR(100) NOT NULL UNIQUE, " +
+                "password VARCHAR(100) NOT NULL, " +
+                "role VARCHAR(20) NOT NULL, " +
+                "carbon_credits DOUBLE NOT NULL DEFAULT 0, " +
+                "total_sales DOUBLE NOT NULL DEFAULT 0)"),
+            ddl("CREATE TABLE IF NOT EXISTS products (" +
+                "product_id VARCHAR(64) PRIMARY KEY, " +
+                "name VARCHAR(200) NOT NULL, " +
+                "type VARCHAR(100), " +
+                "category VARCHAR(100), " +
+                "description VARCHAR(1000), " +
+                "price DOUBLE NOT NULL, " +
+                "seller_id VARCHAR(64) NOT NULL, " +
+                "status VARCHAR(40) NOT NULL, " +
+                "upload_timestamp TIMESTAMP(3) NULL)"),
+            ddl("CREATE TABLE IF NOT EXISTS recycling_bids (" +
+                "bid_id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "product_id VARCHAR(64) NOT NULL, " +
+                "recycler_id VARCHAR(64) NOT NULL, " +
+                "bid_price DOUBLE NOT NULL)"),
+            ddl("CREATE TABLE IF NOT EXISTS cart (" +
+                "buyer_id VARCHAR(64) NOT NULL, " +
+                "product_id VARCHAR(64) NOT NULL, " +
+                "PRIMARY KEY (buyer_id, product_id))"),
+            ddl("CREATE TABLE IF NOT EXISTS transactions (" +
+                "transaction_id VARCHAR(64) PRIMARY KEY, " +
+                "buyer_id VARCHAR(64) NOT NULL, " +
+                "product_id VARCHAR(64) NOT NULL, " +
+                "price DOUBLE NOT NULL, " +
+                "timestamp TIMESTAMP(3) NULL, " +
+                "status VARCHAR(20) NOT NULL)"),
+            ddl("CREATE TABLE IF NOT EXISTS reviews (" +
+                "review_id VARCHAR(64) PRIMARY KEY, " +
+                "product_id VARCHAR(64) NOT NULL, " +
+                "buyer_id VARCHAR(64) NOT NULL, " +
+                "text VARCHAR(2000), " +
+                "timestamp TIMESTAMP(3) NULL)")
+        )),
+        new Migration(2, "indexes for the DataService queries", List.of(
+            createIndexes(MIGRATION_2_INDEXES)
+        )),
+        new Migration(3, "drop the carbon credits leaderboard index", List.of(
+            dropIndexIfExists("users", "idx_users_role_credits")
+        )),
+        new Migration(4, "browse page indexes: status / category equality, then the page order", List.of(
+            createIndexes(List.of(
+                new Index("products", "idx_products_status_newest_desc", "status, upload_timestamp DESC, product_id DESC"),
+                new Index("products", "idx_products_category_newest", "category, status, upload_timestamp DESC, product_id DESC"),
+                new Index("products", "idx_products_category_price_id", "category, status, price, product_id"))),
+            dropIndexIfExists("products", "idx_products_status_newest"),
+            dropIndexIfExists("products", "idx_products_category_price")
+        )),
+        // Products accepted before this keep a NULL recycler: the winning bid was deleted with the rest
+        new Migration(5, "record the recycler whose bid was accepted", List.of(
+            addColumnIfMissing("products", "recycler_id", "VARCHAR(64) NULL")
+        ))
+    );
+
+    // H2 (used for local runs) prints its access path as a comment, e.g. /* PUBLIC.PRODUCTS.tableScan */
+    private static final Pattern H2_TABLE_SCAN = Pattern.compile("(\\w+)\\.tableScan");
+
+    private SchemaManager() {}
+
+    /**
+     * @return The newest schema version this build knows about.
+     */
+    public static int getLatestVersion() {
+        return MIGRATIONS.get(MIGRATIONS.size() - 1).version();
+    }
+
+    public static List<Index> getIndexes() {
+        return INDEXES;
+    }
+
+    /**
+     * Brings the database up to the latest version.
+     * @return The schema version afterwards, or -1 if a migration failed.
+     */
+    public static synchronized int migrate() {
+        try (Connection con = DBConnector.getConnection()) {
+            try (Statement stmt = con.createStatement()) {
+                stmt.executeUpdate("CREATE TABLE IF NOT EXISTS schema_version (" +
+                                   "version INT PRIMARY KEY, " +
+                                   "description VARCHAR(200), " +
+                                   "applied_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+            }
+            int current = readVersion(con);
+
+            for (Migration migration : MIGRATIONS) {
+                if (migration.version() <= current) {
+                    continue;
+                }
+                System.out.println("Schema: applying migration " + migration.version() + " (" + migration.description() + ")...");
+                for (Step step : migration.steps()) {
+                    step.apply(con);
+                }
+                try (PreparedStatement pstmt = con.prepareStatement(
+                        "INSERT INTO schema_version (version, description) VALUES (?, ?)")) {
+                    pstmt.setInt(1, migration.version());
+                    pstmt.setString(2, migration.description());
+                    pstmt.executeUpdate();
+                }
+                current = migration.version();
+            }
+            return current;
+        } catch (SQLException e) {
+            System.err.println("Schema migration failed.");
+            e.printStackTrace();
+            return -1;
+        }
+    }
+
+    /**
+     * Creates every index in getIndexes() that does not exist yet (e.g. one dropped by hand).
+     */
+    public static void ensureIndexes() {
+        try (Connection con = DBConnector.getConnection()) {
+            createMissingIndexes(con, INDEXES);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Runs EXPLAIN on every query shape the JDBC repositories use.
+     * On a nearly empty table the optimizer may prefer a scan even when an index exists,
+     * so this is only meaningful on a database with realistic row counts.
+     * @return One line per full table scan ("query name: full scan of table") or sorted LIMIT query
+     *         ("query name: sorts every matching row of table"); empty if none.
+     */
+    public static List<String> verify() {
+        List<String> findings = new ArrayList<>();
+        try (Connection con = DBConnector.getConnection()) {
+            for (QueryShape shape : queryShapes()) {
+                // The 3-argument prepareStatement is not cached, so EXPLAIN texts stay out of the statement cache.
+                try (PreparedStatement pstmt = con.prepareStatement("EXPLAIN " + shape.sql(),
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                    JdbcRows.bindParams(pstmt, shape.params());
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        findings.addAll(explainFindings(shape, rs));
+                    }
+                } catch (SQLException e) {
+                    findings.add(shape.name() + ": EXPLAIN failed (" + e.getMessage() + ")");
+                }
+            }
+        } catch (SQLException e) {
+            e.printStackTrace();
+            findings.add("Could not connect: " + e.getMessage());
+        }
+        return findings;
+    }
+
+    /**
+     * Every query shape checked by verify().
+     */
+    static List<QueryShape> queryShapes() {
+        List<QueryShape> shapes = new ArrayList<>();
+        shapes.addAll(JdbcProductRepository.queryShapes());
+        shapes.addAll(JdbcBidRepository.queryShapes());
+        shapes.addAll(JdbcCartRepository.queryShapes());
+        shapes.addAll(JdbcTransactionRepository.queryShapes());
+        shapes.addAll(JdbcReviewRepository.queryShapes());
+        shapes.addAll(JdbcUserRepository.queryShapes());
+        return shapes;
+    }
+
+    // --- Internals ---
+
+    private static Step ddl(String sql) {
+        return con -> {
+            try (Statement stmt = con.createStatement()) {
+                stmt.executeUpdate(sql);
+            }
+        };
+    }
+
+    private static Step createIndexes(List<Index> indexes) {
+        return con -> createMissingIndexes(con, indexes);
+    }
+
+    private static Step addColumnIfMissing(String table, String column, String definition) {
+        return con -> {
+            DatabaseMetaData meta = con.getMetaData();
+            boolean upper = meta.storesUpperCaseIdentifiers();
+            try (ResultSet rs = meta.getColumns(con.getCatalog(), con.getSchema(),
+                    upper ? table.toUpperCase(Locale.ROOT) : table, upper ? column.toUpperCase(Locale.ROOT) : column)) {
+                if (rs.next()) {
+                    return;
+                }
+            }
+            try (Statement stmt = con.createStatement()) {
+                stmt.executeUpdate("ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition);
+            }
+        };
+    }
+
+    private static Step dropIndexIfExists(String table, String name) {
+        Index index = new Index(table, name, "");
+        return con -> {
+            if (indexExists(con, index)) {
+                // DROP INDEX ... ON is MySQL syntax; H2 accepts it in MySQL mode.
+                try (Statement stmt = con.createStatement()) {
+                    stmt.executeUpdate("DROP INDEX " + name + " ON " + table);
+                }
+            }
+        };
+    }
+
+    private static int readVersion(Connection con) throws SQLException {
+        try (Statement stmt = con.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT MAX(version) FROM schema_version")) {
+            return rs.next() ? rs.getInt(1) : 0; // MAX of no rows is NULL -> 0
+        }
+    }
+
+    private static void createMissingIndexes(Connection con, List<Index> indexes) throws SQLException {
+        for (Index index : indexes) {
+            if (indexExists(con, index)) {
+                continue;
+            }
+            System.out.println("Schema: creating index " + index.name() + " on " + index.table() + " (" + index.columns() + ")");
+            try (Statement stmt = con.createStatement()) {
+                stmt.executeUpdate("CREATE INDEX " + index.name() + " ON " + index.table() + " (" + index.columns() + ")");
+            }
+        }
+    }
+
+    private static boolean indexExists(Connection con, Index index) throws SQLException {
+        DatabaseMetaData meta = con.getMetaData();
+        String table = meta.storesUpperCaseIdentifiers() ? index.table().toUpperCase(Locale.ROOT) : index.table();
+        try (ResultSet rs = meta.getIndexInfo(con.getCatalog(), con.getSchema(), table, false, true)) {
+            while (rs.next()) {
+                if (index.name().equalsIgnoreCase(rs.getString("INDEX_NAME"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return The full table scans in an EXPLAIN result and, for a query with a LIMIT, the
+     *         tables MySQL sorts: it must read every matching row before it returns the first.
+     */
+    private static List<String> explainFindings(QueryShape shape, ResultSet rs) throws SQLException {
+        List<String> findings = new ArrayList<>();
+        boolean mysql = hasColumn(rs.getMetaData(), "type");
+        boolean limited = shape.sql().contains(" LIMIT ");
+        while (rs.next()) {
+            if (mysql) {
+                // type ALL = every row is read. "<subqueryN>" / "<derivedN>" / "<unionN,M>" are temporary
+                // tables; sorting a UNION of LIMITed branches only sorts those few rows.
+                String table = rs.getString("table");
+                if (table == null || table.startsWith("<")) {
+                    continue;
+                }
+                if ("ALL".equalsIgnoreCase(rs.getString("type"))) {
+                    findings.add(shape.name() + ": full scan of " + table);
+                }
+                String extra = rs.getString("Extra");
+                if (limited && extra != null && extra.contains("Using filesort")) {
+                    findings.add(shape.name() + ": sorts every matching row of " + table);
+                }
+            } else {
+                Matcher scan = H2_TABLE_SCAN.matcher(rs.getString(1));
+                while (scan.find()) {
+                    findings.add(shape.name() + ": full scan of " + scan.group(1).toLowerCase(Locale.ROOT));
+                }
+            }
+        }
+        return findings;
+    }
+
+    private static boolean hasColumn(ResultSetMetaData meta, String name) throws SQLException {
+        for (int i = 1; i <= meta.getColumnCount(); i++) {
+            if (name.equalsIgnoreCase(meta.getColumnLabel(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
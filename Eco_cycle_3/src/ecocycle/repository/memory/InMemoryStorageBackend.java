@@ -0,0 +1,39 @@
+// In file: src/ecocycle/repository/memory/InMemoryStorageBackend.java
+package ecocycle.repository.memory;
+
+import ecocycle.repository.BidRepository;
+import ecocycle.repository.CartRepository;
+import ecocycle.repository.ProductRepository;
+import ecocycle.repository.ReviewRepository;
+import ecocycle.repository.StorageBackend;
+import ecocycle.repository.TransactionRepository;
+import ecocycle.repository.UserRepository;
+
+/**
+ * A zero-I/O backend that keeps every table in memory.
+ * Used for profiling the marketplace logic and for running full purchase,
+ * bid and recycle flows without a MySQL server. Nothing survives a restart.
+ */
+public class InMemoryStorageBackend implements StorageBackend {
+
+    private final MemoryTables tables = new MemoryTables();
+
+    private final UserRepository users = new MemoryUserRepository(tables);
+    private final ProductRepository products = new MemoryProductRepository(tables);
+    private final BidRepository bids = new MemoryBidRepository(tables);
+    private final CartRepository cart = new MemoryCartRepository(tables);
+    private final TransactionRepository transactions = new MemoryTransactionRepository(tables);
+    private final ReviewRepository reviews = new MemoryReviewRepository(tables);
+
+    @Override public UserRepository users() { return users; }
+    @Override public ProductRepository products() { return products; }
+    @Override public BidRepository bids() { return bids; }
+    @Override public CartRepository cart() { return cart; }
+    @Override public TransactionRepository transactions() { return transactions; }
+    @Override public ReviewRepository reviews() { return reviews; }
+
+    @Override
+    public String getName() {
+        return "memory";
+    }
+}
@@ -0,0 +1,75 @@
+// In file: src/ecocycle/repository/memory/MemoryBidRepository.java
+package ecocycle.repository.memory;
+
+import ecocycle.model.Product;
+import ecocycle.model.ProductStatus;
+import ecocycle.model.RecyclingBid;
+import ecocycle.model.User;
+import ecocycle.repository.BidRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class MemoryBidRepository implements BidRepository {
+
+    private final MemoryTables tables;
+
+    MemoryBidRepository(MemoryTables tables) {
+        this.tables = tables;
+    }
+
+    @Override
+    public boolean insert(String productId, RecyclingBid bid) {
+        tables.lock.writeLock().lock();
+        try {
+            if (!tables.products.containsKey(productId)) {
+                return false;
+            }
+            tables.bidsByProduct.computeIfAbsent(productId, k -> new ArrayList<>()).add(bid);
+            return true;
+        } finally {
+            tables.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean accept(Product product, RecyclingBid winningBid) {
+        tables.lock.writeLock().lock();
+        try {
+            Product stored = tables.products.get(product.getProductId());
+            if (stored == null || stored.getStatus() != ProductStatus.PENDING_RECYCLING) {
+                return false;
+            }
+
+            User seller = tables.usersById.get(stored.getSellerId());
+            if (seller != null) {
+                seller.setTotalSales(seller.getTotalSales() + winningBid.bidPrice());
+            }
+            tables.setStatus(stored, ProductStatus.RECYCLING_PURCHASED);
+            stored.setRecyclerId(winningBid.recyclerId());
+            tables.bidsByProduct.remove(product.getProductId());
+            return true;
+        } finally {
+            tables.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Map<String, List<RecyclingBid>> findOpenBids() {
+        Map<String, List<RecyclingBid>> bids = new HashMap<>();
+        tables.lock.readLock().lock();
+        try {
+            for (String productId : tables.productsByStatus.get(ProductStatus.PENDING_RECYCLING)) {
+                List<RecyclingBid> productBids = tables.bidsByProduct.get(productId);
+                if (productBids != null && !productBids.isEmpty()) {
+                    bids.put(productId, new ArrayList<>(productBids));
+                }
+            }
+            return bids;
+        } finally {
+            tables.lock.readLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+// In file: src/ecocycle/repository/memory/MemoryCartRepository.java
+package ecocycle.repository.memory;
+
+import ecocycle.model.Product;
+import ecocycle.repository.CartRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+class MemoryCartRepository implements CartRepository {
+
+    private final MemoryTables tables;
+
+    MemoryCartRepository(MemoryTables tables) {
+        this.tables = tables;
+    }
+
+    @Override
+    public List<Product> findProducts(String buyerId, boolean withBids) {
+        tables.lock.readLock().lock();
+        try {
+            Set<String> cart = tables.cartByBuyer.get(buyerId);
+            return cart == null ? new ArrayList<>() : tables.copyAll(cart, withBids);
+        } finally {
+            tables.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean add(String buyerId, String productId) {
+        tables.lock.writeLock().lock();
+        try {
+            // Same as the (buyer_id, product_id) primary key: no duplicates, product must exist.
+            return tables.products.containsKey(productId) && tables.cartOf(buyerId).add(productId);
+        } finally {
+            tables.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(String buyerId, String productId) {
+        tables.lock.writeLock().lock();
+        try {
+            Set<String> cart = tables.cartByBuyer.get(buyerId);
+            return cart != null && cart.remove(productId);
+        } finally {
+            tables.lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,245 @@
+// In file: src/ecocycle/repository/memory/MemoryProductRepository.java
+package ecocycle.repository.memory;
+
+import ecocycle.model.Product;
+import ecocycle.model.ProductStatus;
+import ecocycle.model.User;
+import ecocycle.repository.ProductRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Set;
+
+class MemoryProductRepository implements ProductRepository {
+
+    private final MemoryTables tables;
+
+    MemoryProductRepository(MemoryTables tables) {
+        this.tables = tables;
+    }
+
+    @Override
+    public Product findById(String productId, boolean withBids) {
+        tables.lock.readLock().lock();
+        try {
+            Product stored = tables.products.get(productId);
+            return stored == null ? null : tables.copyOf(stored, withBids);
+        } finally {
+            tables.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Product> findBySeller(String sellerId, boolean withBids) {
+        tables.lock.readLock().lock();
+        try {
+            Set<String> ids = tables.productsBySeller.get(sellerId);
+            return ids == null ? new ArrayList<>() : tables.copyAll(ids, withBids);
+        } finally {
+            tables.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Product> findBySellerAndStatus(String sellerId, ProductStatus status, boolean withBids) {
+        List<Product> matching = new ArrayList<>();
+        tables.lock.readLock().lock();
+        try {
+            Set<String> bySeller = tables.productsBySeller.get(sellerId);
+            Set<String> byStatus = tables.productsByStatus.get(status);
+            if (bySeller == null) return matching;
+            // Walk the smaller index and probe the other one.
+            Set<String> smaller = bySeller.size() <= byStatus.size() ? bySeller : byStatus;
+            Set<String> larger = smaller == bySeller ? byStatus : bySeller;
+            for (String id : smaller) {
+                if (larger.contains(id)) {
+                    matching.add(tables.copyOf(tables.products.get(id), withBids));
+                }
+            }
+            return matching;
+        } finally {
+            tables.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Product> findByStatus(ProductStatus status, boolean withBids) {
+        tables.lock.readLock().lock();
+        try {
+            return tables.copyAll(tables.productsByStatus.get(status), withBids);
+        } finally {
+            tables.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Product> findAvailable(String category, double minPrice, double maxPrice,
+                                       boolean sortByPriceAsc, boolean withBids) {
+        boolean hasMin = minPrice > 0;
+        boolean hasMax = maxPrice > 0 && maxPrice != Double.MAX_VALUE;
+        List<Product> matching = new ArrayList<>();
+
+        tables.lock.readLock().lock();
+        try {
+            if (hasMin || hasMax) {
+                // Range scan on the price index; the result is already in price order.
+                MemoryTables.PriceKey from = new MemoryTables.PriceKey(hasMin ? minPrice : Double.NEGATIVE_INFINITY, "");
+                MemoryTables.PriceKey to = new MemoryTables.PriceKey(hasMax ? maxPrice : Double.POSITIVE_INFINITY, "\uffff");
+                for (MemoryTables.PriceKey key : tables.productsByPrice.subSet(from, true, to, true)) {
+                    addIfAvailable(matching, tables.products.get(key.productId()), category, withBids);
+                }
+            } else {
+                Collection<String> candidates;
+                if (category != null) {
+                    Set<String> inCategory = tables.productsByCategory.get(category);
+                    candidates = inCategory == null ? List.of() : inCategory;
+                } else {
+                    List<String> available = new ArrayList<>(tables.productsByStatus.get(ProductStatus.AVAILABLE));
+                    available.addAll(tables.productsByStatus.get(ProductStatus.AVAILABLE_NO_RECYCLE));
+                    candidates = available;
+                }
+                for (String id : candidates) {
+                    addIfAvailable(matching, tables.products.get(id), category, withBids);
+                }
+            }
+        } finally {
+            tables.lock.readLock().unlock();
+        }
+
+        if (sortByPriceAsc) {
+            matching.sort(Comparator.comparingDouble(Product::getPrice).thenComparing(Product::getProductId));
+        } else {
+            matching.sort(Comparator.comparingLong(Product::getUploadTimestamp).reversed()
+                                    .thenComparing(Product::getProductId));
+        }
+        return matching;
+    }
+
+    @Override
+    public List<Product> findAvailablePage(String category, double minPrice, double maxPrice, boolean sortByPriceAsc,
+                                           Product cursor, boolean backwards, int limit, boolean withBids) {
+        boolean hasMin = minPrice > 0;
+        boolean hasMax = maxPrice > 0 && maxPrice != Double.MAX_VALUE;
+        boolean reverse = cursor != null && backwards;
+        List<Product> page = new ArrayList<>();
+
+        tables.lock.readLock().lock();
+        try {
+            // Seek into the ordered index just past the cursor and walk it in the requested direction.
+            Iterator<? extends MemoryTables.ProductKey> keys;
+            if (sortByPriceAsc) {
+                NavigableSet<MemoryTables.PriceKey> index = tables.productsByPrice;
+                if (cursor != null) {
+                    MemoryTables.PriceKey at = new MemoryTables.PriceKey(cursor.getPrice(), cursor.getProductId());
+                    index = reverse ? index.headSet(at, false).descendingSet() : index.tailSet(at, false);
+                } else if (hasMin) {
+                    index = index.tailSet(new MemoryTables.PriceKey(minPrice, ""), true);
+                }
+                keys = index.iterator();
+            } else {
+                NavigableSet<MemoryTables.NewestKey> index = tables.productsByNewest;
+                if (cursor != null) {
+                    MemoryTables.NewestKey at = new MemoryTables.NewestKey(cursor.getUploadTimestamp(), cursor.getProductId());
+                    index = reverse ? index.headSet(at, false).descendingSet() : index.tailSet(at, false);
+                }
+                keys = index.iterator();
+            }
+
+            while (keys.hasNext() && page.size() < limit) {
+                Product stored = tables.products.get(keys.next().productId());
+                if (stored == null) continue;
+                if (sortByPriceAsc && (reverse ? hasMin && stored.getPrice() < minPrice
+                                               : hasMax && stored.getPrice() > maxPrice)) {
+                    break; // walked out of the price range
+                }
+                if (hasMin && stored.getPrice() < minPrice) continue;
+                if (hasMax && stored.getPrice() > maxPrice) continue;
+                addIfAvailable(page, stored, category, withBids);
+            }
+        } finally {
+            tables.lock.readLock().unlock();
+        }
+
+        if (reverse) {
+            Collections.reverse(page);
+        }
+        return page;
+    }
+
+    private void addIfAvailable(List<Product> matching, Product stored, String category, boolean withBids) {
+        if (stored == null) return;
+        ProductStatus status = stored.getStatus();
+        if (status != ProductStatus.AVAILABLE && status != ProductStatus.AVAILABLE_NO_RECYCLE) return;
+        if (category != null && !category.equals(stored.getCategory())) return;
+        matching.add(tables.copyOf(stored, withBids));
+    }
+
+    @Override
+    public boolean insert(Product product) {
+        tables.lock.writeLock().lock();
+        try {
+            if (tables.products.containsKey(product.getProductId())) {
+                return false;
+            }
+            tables.putProduct(tables.copyOf(product, false));
+            return true;
+        } finally {
+            tables.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean updateStatus(String productId, ProductStatus status) {
+        tables.lock.writeLock().lock();
+        try {
+            Product stored = tables.products.get(productId);
+            if (stored == null) return false;
+            tables.setStatus(stored, status);
+            return true;
+        } finally {
+            tables.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean delete(String productId) {
+        tables.lock.writeLock().lock();
+        try {
+            Product stored = tables.products.get(productId);
+            if (stored == null || !stored.getStatus().isForSale()) {
+                return false;
+            }
+            return tables.removeProduct(productId) != null;
+        } finally {
+            tables.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean completeRecycling(Product product, String recyclerId, double recyclerShare, double sellerShare) {
+        tables.lock.writeLock().lock();
+        try {
+            Product stored = tables.products.get(product.getProductId());
+            if (stored == null || stored.getStatus() != ProductStatus.RECYCLING_PURCHASED) return false;
+            if (stored.getRecyclerId() != null && !stored.getRecyclerId().equals(recyclerId)) return false;
+            tables.setStatus(stored, ProductStatus.RECYCLED);
+            addCredits(recyclerId, recyclerShare);
+            addCredits(product.getSellerId(), sellerShare);
+            return true;
+        } finally {
+            tables.lock.writeLock().unlock();
+        }
+    }
+
+    private void addCredits(String userId, double amount) {
+        User user = tables.usersById.get(userId);
+        if (user != null) {
+            user.setCarbonCredits(user.getCarbonCredits() + amount);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+// In file: src/ecocycle/repository/memory/MemoryReviewRepository.java
+package ecocycle.repository.memory;
+
+import ecocycle.model.Product;
+import ecocycle.model.Review;
+import ecocycle.model.ReviewDetail;
+import ecocycle.model.User;
+import ecocycle.repository.ReviewRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+class MemoryReviewRepository implements ReviewRepository {
+
+    private final MemoryTables tables;
+
+    MemoryReviewRepository(MemoryTables tables) {
+        this.tables = tables;
+    }
+
+    @Override
+    public boolean insert(Review review) {
+        tables.lock.writeLock().lock();
+        try {
+            MemoryTables.ReviewKey key = new MemoryTables.ReviewKey(review.getTimestamp(), review.getReviewId());
+            if (tables.reviewsNewestFirst.containsKey(key)) {
+                return false;
+            }
+            tables.reviewsNewestFirst.put(key, copyOf(review));
+            return true;
+        } finally {
+            tables.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public List<ReviewDetail> findDetailsPage(ReviewDetail cursor, boolean backwards, int limit) {
+        List<ReviewDetail> page = new ArrayList<>();
+        tables.lock.readLock().lock();
+        try {
+            Collection<Review> from;
+            if (cursor == null) {
+                from = tables.reviewsNewestFirst.values();
+            } else {
+                MemoryTables.ReviewKey at = new MemoryTables.ReviewKey(cursor.getTimestamp(), cursor.getReviewId());
+                from = backwards ? tables.reviewsNewestFirst.headMap(at, false).descendingMap().values()
+                                 : tables.reviewsNewestFirst.tailMap(at, false).values();
+            }
+            for (Review review : from) {
+                if (page.size() >= limit) break;
+                page.add(toDetail(review));
+            }
+        } finally {
+            tables.lock.readLock().unlock();
+        }
+        if (cursor != null && backwards) {
+            Collections.reverse(page);
+        }
+        return page;
+    }
+
+    // Read lock held
+    private ReviewDetail toDetail(Review review) {
+        Product product = tables.products.get(review.getProductId());
+        User buyer = tables.usersById.get(review.getBuyerId());
+        User seller = product == null ? null : tables.usersById.get(product.getSellerId());
+        return new ReviewDetail(review.getReviewId(), review.getTimestamp(),
+                product != null ? product.getName() : "Unknown Product",
+                buyer != null ? buyer.getUsername() : "Unknown Buyer",
+                seller != null ? seller.getUsername() : "Unknown Seller",
+                review.getText());
+    }
+
+    private static Review copyOf(Review stored) {
+        Review copy = new Review(stored.getReviewId(), stored.getProductId(), stored.getBuyerId(), stored.getText());
+        copy.setTimestamp(stored.getTimestamp());
+        return copy;
+    }
+}
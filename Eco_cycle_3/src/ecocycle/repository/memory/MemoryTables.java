@@ -0,0 +1,187 @@
+// In file: src/ecocycle/repository/memory/MemoryTables.java
+package ecocycle.repository.memory;
+
+import ecocycle.model.Product;
+import ecocycle.model.ProductStatus;
+import ecocycle.model.RecyclingBid;
+import ecocycle.model.Review;
+import ecocycle.model.Transaction;
+import ecocycle.model.User;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The in-memory "database": one map per table plus secondary indexes on
+ * products (status, seller, category, price and upload time).
+ *
+ * All fields are guarded by {@link #lock}: finders take the read lock, so any number
+ * of them run in parallel, and writers take the write lock, which also makes the
+ * multi-table operations (checkout, accepting a bid) atomic.
+ * Stored objects never leave this class; callers always get copies.
+ */
+final class MemoryTables {
+
+    /**
+     * An entry of an ordered product index.
+     */
+    interface ProductKey {
+        String productId();
+    }
+
+    /**
+     * Price index key. Ties on price are broken by product id so every entry is unique.
+     */
+    record PriceKey(double price, String productId) implements Comparable<PriceKey>, ProductKey {
+        @Override
+        public int compareTo(PriceKey other) {
+            int byPrice = Double.compare(price, other.price);
+            return byPrice != 0 ? byPrice : productId.compareTo(other.productId);
+        }
+    }
+
+    /**
+     * Newest-first index key: upload time descending, then product id descending.
+     */
+    record NewestKey(long uploadTimestamp, String productId) implements Comparable<NewestKey>, ProductKey {
+        @Override
+        public int compareTo(NewestKey other) {
+            int byTime = Long.compare(other.uploadTimestamp, uploadTimestamp);
+            return byTime != 0 ? byTime : other.productId.compareTo(productId);
+        }
+    }
+
+    /**
+     * Review feed key: timestamp descending, then review id descending.
+     */
+    record ReviewKey(long timestamp, String reviewId) implements Comparable<ReviewKey> {
+        @Override
+        public int compareTo(ReviewKey other) {
+            int byTime = Long.compare(other.timestamp, timestamp);
+            return byTime != 0 ? byTime : other.reviewId.compareTo(reviewId);
+        }
+    }
+
+    final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // --- users ---
+    final Map<String, User> usersById = new HashMap<>();
+    final Map<String, String> userIdsByUsername = new HashMap<>();
+
+    // --- products and their indexes ---
+    final Map<String, Product> products = new HashMap<>();
+    final Map<ProductStatus, Set<String>> productsByStatus = new EnumMap<>(ProductStatus.class);
+    final Map<String, Set<String>> productsBySeller = new HashMap<>();
+    final Map<String, Set<String>> productsByCategory = new HashMap<>();
+    final NavigableSet<PriceKey> productsByPrice = new TreeSet<>();
+    final NavigableSet<NewestKey> productsByNewest = new TreeSet<>();
+
+    // --- other tables ---
+    final Map<String, List<RecyclingBid>> bidsByProduct = new HashMap<>();
+    final Map<String, Set<String>> cartByBuyer = new HashMap<>();
+    final Map<String, List<Transaction>> transactionsByBuyer = new HashMap<>();
+    final NavigableMap<ReviewKey, Review> reviewsNewestFirst = new TreeMap<>();
+
+    MemoryTables() {
+        for (ProductStatus status : ProductStatus.values()) {
+            productsByStatus.put(status, new HashSet<>());
+        }
+    }
+
+    // --- product index maintenance (write lock held) ---
+
+    void putProduct(Product product) {
+        products.put(product.getProductId(), product);
+        index(product);
+    }
+
+    Product removeProduct(String productId) {
+        Product removed = products.remove(productId);
+        if (removed != null) {
+            unindex(removed);
+        }
+        return removed;
+    }
+
+    void setStatus(Product product, ProductStatus status) {
+        productsByStatus.get(product.getStatus()).remove(product.getProductId());
+        product.setStatus(status);
+        productsByStatus.get(status).add(product.getProductId());
+    }
+
+    private void index(Product p) {
+        productsByStatus.get(p.getStatus()).add(p.getProductId());
+        productsBySeller.computeIfAbsent(p.getSellerId(), k -> new HashSet<>()).add(p.getProductId());
+        productsByCategory.computeIfAbsent(p.getCategory(), k -> new HashSet<>()).add(p.getProductId());
+        productsByPrice.add(new PriceKey(p.getPrice(), p.getProductId()));
+        productsByNewest.add(new NewestKey(p.getUploadTimestamp(), p.getProductId()));
+    }
+
+    private void unindex(Product p) {
+        productsByStatus.get(p.getStatus()).remove(p.getProductId());
+        removeFromIndex(productsBySeller, p.getSellerId(), p.getProductId());
+        removeFromIndex(productsByCategory, p.getCategory(), p.getProductId());
+        productsByPrice.remove(new PriceKey(p.getPrice(), p.getProductId()));
+        productsByNewest.remove(new NewestKey(p.getUploadTimestamp(), p.getProductId()));
+    }
+
+    private static void removeFromIndex(Map<String, Set<String>> index, String key, String productId) {
+        Set<String> ids = index.get(key);
+        if (ids != null) {
+            ids.remove(productId);
+            if (ids.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    // --- copies handed to callers (read or write lock held) ---
+
+    Product copyOf(Product stored, boolean withBids) {
+        Product copy = new Product(stored.getProductId(), stored.getName(), stored.getType(), stored.getCategory(),
+                                   stored.getPrice(), stored.getDescription(), stored.getSellerId());
+        copy.setStatus(stored.getStatus());
+        copy.setUploadTimestamp(stored.getUploadTimestamp());
+        copy.setRecyclerId(stored.getRecyclerId());
+        if (withBids) {
+            List<RecyclingBid> bids = bidsByProduct.get(stored.getProductId());
+            if (bids != null) {
+                copy.getBids().addAll(bids);
+            }
+        }
+        return copy;
+    }
+
+    List<Product> copyAll(Iterable<String> productIds, boolean withBids) {
+        List<Product> copies = new ArrayList<>();
+        for (String id : productIds) {
+            Product stored = products.get(id);
+            if (stored != null) {
+                copies.add(copyOf(stored, withBids));
+            }
+        }
+        return copies;
+    }
+
+    static User copyOf(User stored) {
+        User copy = new User(stored.getUserId(), stored.getUsername(), stored.getPassword(), stored.getRole());
+        copy.setCarbonCredits(stored.getCarbonCredits());
+        copy.setTotalSales(stored.getTotalSales());
+        return copy;
+    }
+
+    Set<String> cartOf(String buyerId) {
+        return cartByBuyer.computeIfAbsent(buyerId, k -> new LinkedHashSet<>());
+    }
+}
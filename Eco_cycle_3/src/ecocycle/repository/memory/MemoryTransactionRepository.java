@@ -0,0 +1,99 @@
+// In file: src/ecocycle/repository/memory/MemoryTransactionRepository.java
+package ecocycle.repository.memory;
+
+import ecocycle.model.Product;
+import ecocycle.model.ProductStatus;
+import ecocycle.model.Transaction;
+import ecocycle.model.TransactionStatus;
+import ecocycle.model.User;
+import ecocycle.repository.TransactionRepository;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+class MemoryTransactionRepository implements TransactionRepository {
+
+    private final MemoryTables tables;
+
+    MemoryTransactionRepository(MemoryTables tables) {
+        this.tables = tables;
+    }
+
+    @Override
+    public List<Transaction> findByBuyer(String buyerId) {
+        List<Transaction> result = new ArrayList<>();
+        tables.lock.readLock().lock();
+        try {
+            List<Transaction> stored = tables.transactionsByBuyer.get(buyerId);
+            if (stored != null) {
+                // With the product's current name, as the JDBC engine's JOIN returns it
+                for (Transaction t : stored) {
+                    Product p = tables.products.get(t.getProductId());
+                    result.add(new Transaction(t.getTransactionId(), t.getBuyerId(), t.getProductId(), t.getPrice(),
+                                               t.getTimestamp(), t.getStatus(), p != null ? p.getName() : null));
+                }
+            }
+        } finally {
+            tables.lock.readLock().unlock();
+        }
+        result.sort(Comparator.comparingLong(Transaction::getTimestamp).reversed());
+        return result;
+    }
+
+    @Override
+    public boolean hasCompletedPurchase(String buyerId, String productId) {
+        tables.lock.readLock().lock();
+        try {
+            List<Transaction> stored = tables.transactionsByBuyer.get(buyerId);
+            if (stored == null) return false;
+            for (Transaction t : stored) {
+                if (t.getProductId().equals(productId) && t.getStatus() == TransactionStatus.COMPLETED) {
+                    return true;
+                }
+            }
+            return false;
+        } finally {
+            tables.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean recordPurchases(String buyerId, List<Product> items, boolean clearWholeCart) {
+        tables.lock.writeLock().lock();
+        try {
+            // Validate first so a failure leaves nothing half-written.
+            // (Same rule as the JDBC checkout: every item must still be for sale.)
+            for (Product p : items) {
+                Product stored = tables.products.get(p.getProductId());
+                if (stored == null || !stored.getStatus().isForSale()) {
+                    return false;
+                }
+            }
+
+            List<Transaction> history = tables.transactionsByBuyer.computeIfAbsent(buyerId, k -> new ArrayList<>());
+            Set<String> cart = tables.cartOf(buyerId);
+            for (Product p : items) {
+                tables.setStatus(tables.products.get(p.getProductId()), ProductStatus.SOLD);
+
+                User seller = tables.usersById.get(p.getSellerId());
+                if (seller != null) {
+                    seller.setTotalSales(seller.getTotalSales() + p.getPrice());
+                }
+
+                String tid = "t_" + UUID.randomUUID().toString().substring(0, 8);
+                history.add(new Transaction(tid, buyerId, p.getProductId(), p.getPrice(),
+                                            System.currentTimeMillis(), TransactionStatus.COMPLETED));
+                cart.remove(p.getProductId());
+            }
+            if (clearWholeCart) {
+                cart.clear();
+            }
+            return true;
+        } finally {
+            tables.lock.writeLock().unlock();
+        }
+    }
+}
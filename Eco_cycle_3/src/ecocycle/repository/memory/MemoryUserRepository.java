@@ -0,0 +1,82 @@
+// In file: src/ecocycle/repository/memory/MemoryUserRepository.java
+package ecocycle.repository.memory;
+
+import ecocycle.model.Role;
+import ecocycle.model.User;
+import ecocycle.repository.UserRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class MemoryUserRepository implements UserRepository {
+
+    private final MemoryTables tables;
+
+    MemoryUserRepository(MemoryTables tables) {
+        this.tables = tables;
+    }
+
+    @Override
+    public User findById(String userId) {
+        tables.lock.readLock().lock();
+        try {
+            User stored = tables.usersById.get(userId);
+            return stored == null ? null : MemoryTables.copyOf(stored);
+        } finally {
+            tables.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public User findByUsername(String username) {
+        tables.lock.readLock().lock();
+        try {
+            String userId = tables.userIdsByUsername.get(username);
+            return userId == null ? null : MemoryTables.copyOf(tables.usersById.get(userId));
+        } finally {
+            tables.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean insert(User user) {
+        tables.lock.writeLock().lock();
+        try {
+            if (tables.usersById.containsKey(user.getUserId())
+                    || tables.userIdsByUsername.containsKey(user.getUsername())) {
+                return false;
+            }
+            tables.usersById.put(user.getUserId(), MemoryTables.copyOf(user));
+            tables.userIdsByUsername.put(user.getUsername(), user.getUserId());
+            return true;
+        } finally {
+            tables.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean hasAnyUser() {
+        tables.lock.readLock().lock();
+        try {
+            return !tables.usersById.isEmpty();
+        } finally {
+            tables.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<User> findByRole(Role role) {
+        List<User> matching = new ArrayList<>();
+        tables.lock.readLock().lock();
+        try {
+            for (User stored : tables.usersById.values()) {
+                if (stored.getRole() == role) {
+                    matching.add(MemoryTables.copyOf(stored));
+                }
+            }
+        } finally {
+            tables.lock.readLock().unlock();
+        }
+        return matching;
+    }
+}
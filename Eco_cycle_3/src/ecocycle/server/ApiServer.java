@@ -0,0 +1,667 @@
+// In file: src/ecocycle/server/ApiServer.java
+package ecocycle.server;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import ecocycle.model.Product;
+import ecocycle.model.ProductStatus;
+import ecocycle.model.RecyclingBid;
+import ecocycle.model.ReviewDetail;
+import ecocycle.model.Role;
+import ecocycle.model.Transaction;
+import ecocycle.model.User;
+import ecocycle.service.BrowseFacets;
+import ecocycle.service.DataService;
+import ecocycle.util.LatencyHistogram;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Headless entry point: the DataService operations as a JSON API on the JDK's HttpServer,
+ * so one backend can serve many users at once (and be driven by load tools).
+ * - Every request runs on its own virtual thread, as the caller's user (DataService.callAs),
+ *   so concurrent sessions never see each other's current user.
+ * - Sessions are bearer tokens from POST /api/login ("Authorization: Bearer <token>").
+ * - Bodies are flat JSON objects; list endpoints page with "limit" and an "after" cursor.
+ * - Shutdown (Ctrl+C or stop()) refuses new requests, lets in-flight ones finish for up to
+ *   the grace period, and prints the per-route latency percentiles (also at GET /api/metrics).
+ * The undo-delete / undo-remove stacks are left out: they are shared by the whole process,
+ * so one API user could undo another's change.
+ *
+ * Usage: java ecocycle.server.ApiServer [port]   (default -Decocycle.api.port, else 8080)
+ */
+public class ApiServer {
+
+    private static final int DEFAULT_PORT = Integer.getInteger("ecocycle.api.port", 8080);
+    private static final long SESSION_TTL_MS = Long.getLong("ecocycle.api.sessionTtlMinutes", 60) * 60_000;
+    private static final int SHUTDOWN_GRACE_SECONDS = Integer.getInteger("ecocycle.api.shutdownGraceSeconds", 10);
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * Ends a request with an HTTP error status and a {"error": message} body.
+     */
+    static class ApiException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    /**
+     * One parsed request, as seen by a route.
+     */
+    static final class Request {
+        final Map<String, String> query;
+        final Map<String, String> body;
+        final String token;
+        final User user; // null when there is no valid session
+
+        Request(Map<String, String> query, Map<String, String> body, String token, User user) {
+            this.query = query;
+            this.body = body;
+            this.token = token;
+            this.user = user;
+        }
+
+        User requireUser() {
+            if (user == null) {
+                throw new ApiException(401, "Log in first");
+            }
+            return user;
+        }
+
+        User requireRole(Role role) {
+            User u = requireUser();
+            if (u.getRole() != role) {
+                throw new ApiException(403, "Only " + role.name().toLowerCase() + "s can do this");
+            }
+            return u;
+        }
+
+        String param(String name) {
+            String value = body.get(name);
+            return value != null ? value : query.get(name);
+        }
+
+        String requireParam(String name) {
+            String value = param(name);
+            if (value == null || value.isBlank()) {
+                throw new ApiException(400, "Missing " + name);
+            }
+            return value;
+        }
+
+        double doubleParam(String name, double fallback) {
+            String value = param(name);
+            if (value == null || value.isBlank()) {
+                return fallback;
+            }
+            try {
+                return Double.parseDouble(value);
+            } catch (NumberFormatException e) {
+                throw new ApiException(400, "Bad number for " + name + ": " + value);
+            }
+        }
+
+        /**
+         * @return "limit" clamped to 1..MAX_PAGE_SIZE, or DEFAULT_PAGE_SIZE if it is not given.
+         */
+        int pageSize() {
+            double limit = doubleParam("limit", DEFAULT_PAGE_SIZE);
+            if (Double.isNaN(limit) || Double.isInfinite(limit) || limit != Math.rint(limit)) {
+                throw new ApiException(400, "limit must be a whole number: " + param("limit"));
+            }
+            return (int) Math.max(1, Math.min(MAX_PAGE_SIZE, limit));
+        }
+    }
+
+    @FunctionalInterface
+    interface Route {
+        /**
+         * @return The response body (turned into JSON), answered with 200.
+         */
+        Object handle(Request request);
+    }
+
+    private final Map<String, Route> routes = new LinkedHashMap<>(); // "METHOD /path" -> route, fixed after construction
+    private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicBoolean stopping = new AtomicBoolean();
+    private final SessionStore sessions = new SessionStore(SESSION_TTL_MS);
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public ApiServer(int port) throws IOException {
+        registerRoutes();
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/api/", this::dispatch);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        DataService.start(null); // loads in the background while the server binds; early requests wait for it
+        ApiServer api = new ApiServer(port);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> api.stop(SHUTDOWN_GRACE_SECONDS), "api-shutdown"));
+        api.start();
+        System.out.println("EcoCycle API listening on port " + api.getPort()
+                           + " (store: " + DataService.getStorageBackend().getClass().getSimpleName() + ")");
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * @return The port actually bound (useful when constructed with port 0).
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops taking requests, waits up to graceSeconds for the ones in flight, then prints the metrics.
+     * Safe to call more than once.
+     */
+    public void stop(int graceSeconds) {
+        if (!stopping.compareAndSet(false, true)) {
+            return;
+        }
+        server.stop(graceSeconds);
+        executor.close(); // waits for any handler still running
+        System.out.println("EcoCycle API stopped.");
+        System.out.print(metricsReport());
+    }
+
+    /**
+     * @return One line per route: request count and latency percentiles; then status counts.
+     */
+    public String metricsReport() {
+        StringBuilder report = new StringBuilder();
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(latencies).entrySet()) {
+            report.append(String.format("%-28s %s%n", entry.getKey(), entry.getValue()));
+        }
+        report.append("status ").append(new TreeMap<>(statusCounts)).append(System.lineSeparator());
+        return report.toString();
+    }
+
+    // --- Dispatch ---
+
+    private void dispatch(HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        inFlight.incrementAndGet();
+        String routeKey = exchange.getRequestMethod() + " " + exchange.getRequestURI().getPath();
+        int status = 200;
+        Object response;
+        try {
+            if (stopping.get()) {
+                throw new ApiException(503, "Shutting down");
+            }
+            Route route = routes.get(routeKey);
+            if (route == null) {
+                routeKey = "unmatched";
+                throw new ApiException(isKnownPath(exchange.getRequestURI().getPath()) ? 405 : 404, "No such endpoint");
+            }
+            Request request = parse(exchange);
+            response = DataService.callAs(request.user, () -> route.handle(request));
+        } catch (ApiException e) {
+            status = e.status;
+            response = Map.of("error", e.getMessage());
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+            status = 500;
+            response = Map.of("error", "Internal error");
+        }
+        try {
+            send(exchange, status, response);
+        } finally {
+            inFlight.decrementAndGet();
+            latencies.computeIfAbsent(routeKey, k -> new LatencyHistogram()).record(System.nanoTime() - start);
+            statusCounts.computeIfAbsent(status, k -> new LongAdder()).increment();
+        }
+    }
+
+    private boolean isKnownPath(String path) {
+        for (String key : routes.keySet()) {
+            if (key.endsWith(" " + path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Request parse(HttpExchange exchange) throws IOException {
+        Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+        Map<String, String> body = Map.of();
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] bytes = in.readNBytes(MAX_BODY_BYTES + 1);
+            if (bytes.length > MAX_BODY_BYTES) {
+                throw new ApiException(413, "Body too large");
+            }
+            String text = new String(bytes, StandardCharsets.UTF_8);
+            if (!text.isBlank()) {
+                try {
+                    body = Json.parseObject(text);
+                } catch (IllegalArgumentException e) {
+                    throw new ApiException(400, "Bad JSON: " + e.getMessage());
+                }
+            }
+        }
+
+        String token = null;
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            token = authorization.substring("Bearer ".length()).trim();
+        }
+        String userId = sessions.userIdFor(token);
+        User user = userId == null ? null : DataService.findUserById(userId);
+        return new Request(query, body, token, user);
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return query;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            query.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return query;
+    }
+
+    private static void send(HttpExchange exchange, int status, Object response) throws IOException {
+        byte[] bytes = Json.write(response).getBytes(StandardCharsets.UTF_8);
+        Headers headers = exchange.getResponseHeaders();
+        headers.set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    // --- Routes ---
+
+    private void registerRoutes() {
+        // Sessions
+        routes.put("POST /api/login", this::login);
+        routes.put("POST /api/logout", r -> {
+            sessions.remove(r.token);
+            return Map.of("ok", true);
+        });
+        routes.put("POST /api/register", ApiServer::register);
+        routes.put("GET /api/me", r -> userJson(r.requireUser()));
+
+        // Browse (no session needed)
+        routes.put("GET /api/products", ApiServer::browse);
+        routes.put("GET /api/search", r -> Map.of("products", productsJson(DataService.searchAvailableProducts(
+                r.requireParam("q"), r.param("category"), r.doubleParam("minPrice", 0),
+                r.doubleParam("maxPrice", Double.MAX_VALUE), r.pageSize()))));
+        routes.put("GET /api/facets", r -> facetsJson(DataService.getBrowseFacetSnapshot()));
+
+        // Buyer
+        routes.put("GET /api/cart", r -> {
+            r.requireRole(Role.BUYER);
+            return Map.of("products", productsJson(DataService.getCart(false)));
+        });
+        routes.put("POST /api/cart", r -> {
+            r.requireRole(Role.BUYER);
+            return ok(DataService.addToCart(r.requireParam("productId")), "The product is not for sale");
+        });
+        routes.put("POST /api/cart/remove", r -> {
+            r.requireRole(Role.BUYER);
+            return ok(DataService.removeItemFromCart(r.requireParam("productId")), "The product is not in the cart");
+        });
+        routes.put("POST /api/purchase", r -> {
+            r.requireRole(Role.BUYER);
+            String productId = r.param("productId");
+            boolean bought = productId == null ? DataService.purchaseCart() : DataService.purchaseSingleItem(productId);
+            return ok(bought, "The purchase could not be completed");
+        });
+        routes.put("GET /api/transactions", r -> {
+            r.requireRole(Role.BUYER);
+            List<Object> rows = new ArrayList<>();
+            for (Transaction t : DataService.getTransactionsForBuyer()) {
+                rows.add(transactionJson(t));
+            }
+            return Map.of("transactions", rows);
+        });
+
+        // Seller
+        routes.put("POST /api/products", ApiServer::addProduct);
+        routes.put("GET /api/my/products", r -> {
+            r.requireRole(Role.SELLER);
+            return Map.of("products", productsJson(DataService.getProductsForCurrentUser(true)));
+        });
+        routes.put("GET /api/recycling/eligible", r -> {
+            r.requireRole(Role.SELLER);
+            return Map.of("products", productsJson(DataService.getEligibleProductsForApproval()));
+        });
+        routes.put("POST /api/recycling/decide", ApiServer::decideRecycling);
+        routes.put("GET /api/recycling/biddable", r -> {
+            r.requireRole(Role.SELLER);
+            return Map.of("products", productsJson(DataService.getBiddableProductsForSeller()));
+        });
+        routes.put("POST /api/recycling/accept", ApiServer::acceptBid);
+
+        // Recycler
+        routes.put("GET /api/recycling/market", r -> {
+            r.requireRole(Role.RECYCLER);
+            return Map.of("products", productsJson(DataService.getEligibleProductsForBidding()));
+        });
+        routes.put("POST /api/recycling/bids", r -> {
+            r.requireRole(Role.RECYCLER);
+            double price = r.doubleParam("price", Double.NaN);
+            if (Double.isNaN(price)) {
+                throw new ApiException(400, "Missing price");
+            }
+            return ok(DataService.placeBid(r.requireParam("productId"), price),
+                      "The bid was rejected (not open for bids, or below the base cost or the best bid)");
+        });
+        routes.put("GET /api/recycling/acquired", r -> {
+            r.requireRole(Role.RECYCLER);
+            return Map.of("products", productsJson(DataService.getAcquiredProducts()));
+        });
+        routes.put("POST /api/recycling/proof", ApiServer::submitProof);
+
+        // Shared
+        routes.put("GET /api/reviews", ApiServer::reviews);
+        routes.put("POST /api/reviews", ApiServer::submitReview);
+        routes.put("GET /api/leaderboards", r -> {
+            Map<String, Object> boards = new LinkedHashMap<>();
+            boards.put("sellers", usersJson(DataService.getSellerLeaderboard()));
+            boards.put("recyclers", usersJson(DataService.getRecyclerLeaderboard()));
+            boards.put("myRank", r.user == null ? null : DataService.getCurrentUserRank());
+            return boards;
+        });
+        routes.put("GET /api/metrics", r -> {
+            Map<String, Object> metrics = new LinkedHashMap<>();
+            metrics.put("inFlight", inFlight.get());
+            metrics.put("sessions", sessions.size());
+            Map<String, Object> byRoute = new TreeMap<>();
+            latencies.forEach((key, h) -> byRoute.put(key, histogramJson(h)));
+            metrics.put("routes", byRoute);
+            Map<String, Object> byStatus = new TreeMap<>();
+            statusCounts.forEach((code, n) -> byStatus.put(String.valueOf(code), n.sum()));
+            metrics.put("status", byStatus);
+            return metrics;
+        });
+    }
+
+    private Object login(Request r) {
+        User user = DataService.authenticate(r.requireParam("username"), r.requireParam("password"));
+        if (user == null) {
+            throw new ApiException(401, "Invalid username or password");
+        }
+        sessions.expireIdle(); // piggy-back the sweep on logins instead of running a timer
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("token", sessions.create(user.getUserId()));
+        result.put("user", userJson(user));
+        return result;
+    }
+
+    private static Object register(Request r) {
+        Role role;
+        try {
+            role = Role.valueOf(r.requireParam("role").toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ApiException(400, "Unknown role: " + r.param("role"));
+        }
+        return ok(DataService.register(r.requireParam("username"), r.requireParam("password"), role),
+                  "That username is taken");
+    }
+
+    private static Object browse(Request r) {
+        String afterId = r.param("after");
+        Product cursor = null;
+        if (afterId != null) {
+            cursor = DataService.findProductById(afterId, false);
+            if (cursor == null) {
+                throw new ApiException(400, "Unknown cursor product: " + afterId);
+            }
+        }
+        int pageSize = r.pageSize();
+        List<Product> page = DataService.getAvailableProductsPage(r.param("category"), r.doubleParam("minPrice", 0),
+                                                                  r.doubleParam("maxPrice", Double.MAX_VALUE),
+                                                                  "price".equals(r.param("sort")), cursor, false, pageSize);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("products", productsJson(page));
+        result.put("next", page.size() < pageSize ? null : page.get(page.size() - 1).getProductId());
+        return result;
+    }
+
+    private static Object addProduct(Request r) {
+        r.requireRole(Role.SELLER);
+        double price = r.doubleParam("price", Double.NaN);
+        if (Double.isNaN(price) || price <= 0) {
+            throw new ApiException(400, "price must be a positive number");
+        }
+        String description = r.param("description");
+        DataService.addProduct(r.requireParam("name"), r.requireParam("type"), r.requireParam("category"), price,
+                               description == null ? "" : description);
+        return Map.of("ok", true);
+    }
+
+    private static Object decideRecycling(Request r) {
+        User seller = r.requireRole(Role.SELLER);
+        Product p = ownedProduct(seller, r.requireParam("productId"));
+        if (p.getStatus() != ProductStatus.AVAILABLE) {
+            throw new ApiException(409, "The product is not awaiting a recycling decision");
+        }
+        boolean approve = Boolean.parseBoolean(r.requireParam("approve"));
+        DataService.updateProductRecyclingStatus(p.getProductId(),
+                                                 approve ? ProductStatus.PENDING_RECYCLING : ProductStatus.AVAILABLE_NO_RECYCLE);
+        return Map.of("ok", true);
+    }
+
+    private static Object acceptBid(Request r) {
+        User seller = r.requireRole(Role.SELLER);
+        Product p = ownedProduct(seller, r.requireParam("productId"));
+        RecyclingBid winning = DataService.acceptBid(p.getProductId());
+        if (winning == null) {
+            throw new ApiException(409, "There is no bid to accept");
+        }
+        return bidJson(winning);
+    }
+
+    private static Object submitProof(Request r) {
+        User recycler = r.requireRole(Role.RECYCLER);
+        Product p = DataService.findProductById(r.requireParam("productId"), false);
+        if (p == null) {
+            throw new ApiException(404, "No such product");
+        }
+        if (!DataService.isWinningRecycler(p, recycler)) {
+            throw new ApiException(403, "Another recycler's bid was accepted for this product");
+        }
+        return ok(DataService.submitRecyclingProof(p.getProductId()), "The product is not awaiting proof");
+    }
+
+    private static Product ownedProduct(User seller, String productId) {
+        Product p = DataService.findProductById(productId, false);
+        if (p == null) {
+            throw new ApiException(404, "No such product");
+        }
+        if (!p.getSellerId().equals(seller.getUserId())) {
+            throw new ApiException(403, "Not your product");
+        }
+        return p;
+    }
+
+    // Cursor is "<timestamp>:<reviewId>" of the last review already shown.
+    private static Object reviews(Request r) {
+        ReviewDetail cursor = null;
+        String after = r.param("after");
+        if (after != null) {
+            int colon = after.indexOf(':');
+            try {
+                cursor = new ReviewDetail(after.substring(colon + 1), Long.parseLong(after.substring(0, colon)),
+                                          null, null, null, null);
+            } catch (RuntimeException e) {
+                throw new ApiException(400, "Bad cursor: " + after);
+            }
+        }
+        int pageSize = r.pageSize();
+        List<ReviewDetail> page = DataService.getReviewFeedPage(cursor, false, pageSize);
+        List<Object> rows = new ArrayList<>();
+        for (ReviewDetail d : page) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("reviewId", d.getReviewId());
+            row.put("timestamp", d.getTimestamp());
+            row.put("productName", d.getProductName());
+            row.put("buyerName", d.getBuyerName());
+            row.put("sellerName", d.getSellerName());
+            row.put("text", d.getText());
+            rows.add(row);
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("reviews", rows);
+        ReviewDetail last = page.isEmpty() ? null : page.get(page.size() - 1);
+        result.put("next", page.size() < pageSize ? null : last.getTimestamp() + ":" + last.getReviewId());
+        return result;
+    }
+
+    private static Object submitReview(Request r) {
+        User buyer = r.requireRole(Role.BUYER);
+        String productId = r.requireParam("productId");
+        if (!DataService.hasBuyerPurchasedProduct(buyer.getUserId(), productId)) {
+            throw new ApiException(403, "Only buyers of the product can review it");
+        }
+        return ok(DataService.submitReview(productId, r.requireParam("text")), "The review could not be saved");
+    }
+
+    // --- JSON shapes ---
+
+    private static Object ok(boolean done, String conflictMessage) {
+        if (!done) {
+            throw new ApiException(409, conflictMessage);
+        }
+        return Map.of("ok", true);
+    }
+
+    private static List<Object> productsJson(List<Product> products) {
+        List<Object> rows = new ArrayList<>(products.size());
+        for (Product p : products) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("productId", p.getProductId());
+            row.put("name", p.getName());
+            row.put("type", p.getType());
+            row.put("category", p.getCategory());
+            row.put("price", p.getPrice());
+            row.put("description", p.getDescription());
+            row.put("sellerId", p.getSellerId());
+            row.put("status", p.getStatus() == null ? null : p.getStatus().name());
+            row.put("uploadTimestamp", p.getUploadTimestamp());
+            if (p.getRecyclerId() != null) {
+                row.put("recyclerId", p.getRecyclerId());
+            }
+            if (!p.getBids().isEmpty()) {
+                row.put("bestBid", bidJson(p.getBids().peek()));
+                row.put("bidCount", p.getBids().size());
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    private static Map<String, Object> bidJson(RecyclingBid bid) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("recyclerId", bid.recyclerId());
+        row.put("price", bid.bidPrice());
+        return row;
+    }
+
+    private static List<Object> usersJson(List<User> users) {
+        List<Object> rows = new ArrayList<>(users.size());
+        for (User u : users) {
+            rows.add(userJson(u));
+        }
+        return rows;
+    }
+
+    // Never includes the password.
+    private static Map<String, Object> userJson(User u) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("userId", u.getUserId());
+        row.put("username", u.getUsername());
+        row.put("role", u.getRole().name());
+        row.put("carbonCredits", u.getCarbonCredits());
+        row.put("totalSales", u.getTotalSales());
+        return row;
+    }
+
+    private static Map<String, Object> transactionJson(Transaction t) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("transactionId", t.getTransactionId());
+        row.put("productId", t.getProductId());
+        row.put("price", t.getPrice());
+        row.put("timestamp", t.getTimestamp());
+        row.put("status", t.getStatus() == null ? null : t.getStatus().name());
+        return row;
+    }
+
+    private static Map<String, Object> facetsJson(BrowseFacets.Snapshot snapshot) {
+        List<Object> labels = new ArrayList<>();
+        for (int bucket = 0; bucket < BrowseFacets.getBucketCount(); bucket++) {
+            labels.add(BrowseFacets.getBucketLabel(bucket));
+        }
+        Map<String, Object> histograms = new TreeMap<>();
+        for (String category : snapshot.categoryCounts().keySet()) {
+            histograms.put(category, intList(snapshot.histogram(category)));
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("total", snapshot.total());
+        result.put("categories", snapshot.categoryCounts());
+        result.put("priceBuckets", labels);
+        result.put("priceHistogram", intList(snapshot.histogram(null)));
+        result.put("priceHistogramByCategory", histograms);
+        return result;
+    }
+
+    private static List<Object> intList(int[] values) {
+        List<Object> list = new ArrayList<>(values.length);
+        for (int v : values) {
+            list.add(v);
+        }
+        return list;
+    }
+
+    private static Map<String, Object> histogramJson(LatencyHistogram h) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("count", h.getCount());
+        row.put("meanMs", h.getMeanNanos() / 1e6);
+        row.put("p50Ms", h.getPercentileMillis(50));
+        row.put("p99Ms", h.getPercentileMillis(99));
+        row.put("p999Ms", h.getPercentileMillis(99.9));
+        row.put("maxMs", h.getMaxNanos() / 1e6);
+        return row;
+    }
+}
@@ -0,0 +1,93 @@
+// In file: src/ecocycle/server/SessionStore.java
+package ecocycle.server;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bearer tokens for the API: a login creates a random token mapped to the user id.
+ * - Tokens expire after ttlMillis without use; every request that uses one extends it.
+ * - Only the user id is kept, so the user itself is always read fresh (credits, sales).
+ * Sessions live in memory only; a server restart logs everyone out.
+ */
+class SessionStore {
+
+    private static final class Session {
+        final String userId;
+        volatile long lastUsedNanos;
+
+        Session(String userId) {
+            this.userId = userId;
+            this.lastUsedNanos = System.nanoTime();
+        }
+    }
+
+    private final SecureRandom random = new SecureRandom();
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final long ttlNanos;
+
+    SessionStore(long ttlMillis) {
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    }
+
+    /**
+     * @return A new token for the user.
+     */
+    String create(String userId) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        sessions.put(token, new Session(userId));
+        return token;
+    }
+
+    /**
+     * @return The token's user id, or null if the token is unknown or expired.
+     */
+    String userIdFor(String token) {
+        if (token == null) {
+            return null;
+        }
+        Session session = sessions.get(token);
+        if (session == null) {
+            return null;
+        }
+        long now = System.nanoTime();
+        if (now - session.lastUsedNanos > ttlNanos) {
+            sessions.remove(token, session);
+            return null;
+        }
+        session.lastUsedNanos = now;
+        return session.userId;
+    }
+
+    void remove(String token) {
+        if (token != null) {
+            sessions.remove(token);
+        }
+    }
+
+    /**
+     * Drops every expired session.
+     * @return How many were dropped.
+     */
+    int expireIdle() {
+        long now = System.nanoTime();
+        int expired = 0;
+        for (Iterator<Session> it = sessions.values().iterator(); it.hasNext();) {
+            if (now - it.next().lastUsedNanos > ttlNanos) {
+                it.remove();
+                expired++;
+            }
+        }
+        return expired;
+    }
+
+    int size() {
+        return sessions.size();
+    }
+}
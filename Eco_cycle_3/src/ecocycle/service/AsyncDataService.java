@@ -0,0 +1,175 @@
+// In file: src/ecocycle/service/AsyncDataService.java
+package ecocycle.service;
+
+import ecocycle.model.Product;
+import ecocycle.model.ProductStatus;
+import ecocycle.model.RecyclingBid;
+import ecocycle.model.ReviewDetail;
+import ecocycle.model.Role;
+import ecocycle.model.Transaction;
+import ecocycle.model.User;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking facade over DataService.
+ * Every call runs the blocking DataService method on its own virtual thread and
+ * returns a CompletableFuture, so controllers never wait on the database from the
+ * JavaFX Application Thread. Use FxAsync to get the result back onto the FX thread.
+ */
+public class AsyncDataService {
+
+    private static final ExecutorService EXECUTOR = Executors.newVirtualThreadPerTaskExecutor();
+
+    private AsyncDataService() {}
+
+    /**
+     * Runs any DataService call on a virtual thread.
+     */
+    public static <T> CompletableFuture<T> supply(Supplier<T> call) {
+        return CompletableFuture.supplyAsync(call, EXECUTOR);
+    }
+
+    // --- User & Session Management ---
+
+    public static CompletableFuture<User> login(String username, String password) {
+        return supply(() -> DataService.login(username, password));
+    }
+
+    public static CompletableFuture<Boolean> register(String username, String password, Role role) {
+        return supply(() -> DataService.register(username, password, role));
+    }
+
+    // --- Seller Logic ---
+
+    public static CompletableFuture<List<Product>> getProductsForCurrentUser(boolean withBids) {
+        return supply(() -> DataService.getProductsForCurrentUser(withBids));
+    }
+
+    public static CompletableFuture<Void> addProduct(String name, String type, String category, double price, String description) {
+        return CompletableFuture.runAsync(() -> DataService.addProduct(name, type, category, price, description), EXECUTOR);
+    }
+
+    public static CompletableFuture<List<Product>> getEligibleProductsForApproval() {
+        return supply(DataService::getEligibleProductsForApproval);
+    }
+
+    public static CompletableFuture<Void> updateProductRecyclingStatus(String productId, ProductStatus status) {
+        return CompletableFuture.runAsync(() -> DataService.updateProductRecyclingStatus(productId, status), EXECUTOR);
+    }
+
+    public static CompletableFuture<List<Product>> getBiddableProductsForSeller() {
+        return supply(DataService::getBiddableProductsForSeller);
+    }
+
+    public static CompletableFuture<RecyclingBid> acceptBid(String productId) {
+        return supply(() -> DataService.acceptBid(productId));
+    }
+
+    public static CompletableFuture<Boolean> archiveProductForUndo(String productId) {
+        return supply(() -> DataService.archiveProductForUndo(productId));
+    }
+
+    public static CompletableFuture<Product> restoreLastDeletedProduct() {
+        return supply(DataService::restoreLastDeletedProduct);
+    }
+
+    // --- Buyer Logic ---
+
+    public static CompletableFuture<List<Product>> getAvailableProducts(String category, double minPrice, double maxPrice,
+                                                                        boolean sortByPriceAsc, boolean withBids) {
+        return supply(() -> DataService.getAvailableProducts(category, minPrice, maxPrice, sortByPriceAsc, withBids));
+    }
+
+    public static CompletableFuture<List<Product>> getAvailableProductsPage(String category, double minPrice, double maxPrice,
+                                                                            boolean sortByPriceAsc, Product cursor,
+                                                                            boolean backwards, int pageSize) {
+        return supply(() -> DataService.getAvailableProductsPage(category, minPrice, maxPrice, sortByPriceAsc,
+                                                                 cursor, backwards, pageSize));
+    }
+
+    public static CompletableFuture<BrowseFacets.Snapshot> getBrowseFacetSnapshot() {
+        return supply(DataService::getBrowseFacetSnapshot);
+    }
+
+    public static CompletableFuture<List<Product>> searchAvailableProducts(String query, String category, double minPrice,
+                                                                       double maxPrice, int limit) {
+        return supply(() -> DataService.searchAvailableProducts(query, category, minPrice, maxPrice, limit));
+    }
+
+    public static CompletableFuture<Boolean> addToCart(String productId) {
+        return supply(() -> DataService.addToCart(productId));
+    }
+
+    public static CompletableFuture<List<Product>> getCart(boolean withBids) {
+        return supply(() -> DataService.getCart(withBids));
+    }
+
+    public static CompletableFuture<Boolean> purchaseSingleItem(String productId) {
+        return supply(() -> DataService.purchaseSingleItem(productId));
+    }
+
+    public static CompletableFuture<Boolean> removeItemFromCart(String productId) {
+        return supply(() -> DataService.removeItemFromCart(productId));
+    }
+
+    public static CompletableFuture<Product> restoreLastRemovedItem() {
+        return supply(DataService::restoreLastRemovedItem);
+    }
+
+    public static CompletableFuture<List<Transaction>> getTransactionsForBuyer() {
+        return supply(DataService::getTransactionsForBuyer);
+    }
+
+    public static CompletableFuture<Boolean> submitReview(String productId, String text) {
+        return supply(() -> DataService.submitReview(productId, text));
+    }
+
+    public static CompletableFuture<List<ReviewDetail>> getReviewFeedPage(ReviewDetail cursor, boolean backwards, int pageSize) {
+        return supply(() -> DataService.getReviewFeedPage(cursor, backwards, pageSize));
+    }
+
+    // --- Recycler Logic ---
+
+    public static CompletableFuture<List<Product>> getEligibleProductsForBidding() {
+        return supply(DataService::getEligibleProductsForBidding);
+    }
+
+    public static CompletableFuture<Boolean> placeBid(String productId, double bidPrice) {
+        return supply(() -> DataService.placeBid(productId, bidPrice));
+    }
+
+    public static CompletableFuture<RecyclingBid> getHighestBid(String productId) {
+        return supply(() -> DataService.getHighestBid(productId));
+    }
+
+    public static CompletableFuture<List<Product>> getAcquiredProducts() {
+        return supply(DataService::getAcquiredProducts);
+    }
+
+    public static CompletableFuture<Boolean> submitRecyclingProof(String productId) {
+        return supply(() -> DataService.submitRecyclingProof(productId));
+    }
+
+    // --- Shared Logic ---
+
+    public static CompletableFuture<List<User>> getSellerLeaderboard() {
+        return supply(DataService::getSellerLeaderboard);
+    }
+
+    public static CompletableFuture<List<User>> getRecyclerLeaderboard() {
+        return supply(DataService::getRecyclerLeaderboard);
+    }
+
+    public static CompletableFuture<Integer> getCurrentUserRank() {
+        return supply(DataService::getCurrentUserRank);
+    }
+
+    public static CompletableFuture<Integer> getLeaderboardSize(Role role) {
+        return supply(() -> DataService.getLeaderboardSize(role));
+    }
+}
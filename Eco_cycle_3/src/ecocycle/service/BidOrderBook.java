@@ -0,0 +1,208 @@
+// In file: src/ecocycle/service/BidOrderBook.java
+package ecocycle.service;
+
+import ecocycle.model.Product;
+import ecocycle.model.RecyclingBid;
+import ecocycle.repository.BidRepository;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * The live recycling bids, one max-heap per PENDING_RECYCLING product.
+ * - placeBid is O(log n) and bestBid is O(1); neither reads the database.
+ * - Writes go through to recycling_bids while the product's shard is locked, so the
+ *   book and the table always agree on what was committed.
+ * - Products are spread over shards by id; bids on products in different shards
+ *   never wait for each other.
+ * - rebuild() reloads everything from the table (on startup and after a backend switch).
+ *
+ * Like UserDirectory, this assumes DataService in this process is the only writer
+ * to recycling_bids.
+ */
+public class BidOrderBook {
+
+    private static final class Shard {
+        final ReentrantLock lock = new ReentrantLock();
+        final Map<String, PriorityQueue<RecyclingBid>> books = new HashMap<>();
+    }
+
+    private final Supplier<BidRepository> bids;
+    private final Shard[] shards;
+
+    // --- Counters ---
+    private final AtomicLong placed = new AtomicLong();
+    private final AtomicLong accepted = new AtomicLong();
+
+    /**
+     * @param bids Where bids are persisted (a supplier, so a backend switch is picked up).
+     * @param shardCount Rounded up to a power of two.
+     */
+    public BidOrderBook(Supplier<BidRepository> bids, int shardCount) {
+        this.bids = bids;
+        int size = 1;
+        while (size < shardCount) {
+            size <<= 1;
+        }
+        this.shards = new Shard[size];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard();
+        }
+    }
+
+    /**
+     * Replaces the whole book with the open bids in the table.
+     * Every shard stays locked while the table is read, so no bid placed meanwhile is lost.
+     */
+    public void rebuild() {
+        lockAll();
+        try {
+            Map<String, List<RecyclingBid>> open = bids.get().findOpenBids();
+            for (Shard shard : shards) {
+                shard.books.clear();
+            }
+            for (Map.Entry<String, List<RecyclingBid>> entry : open.entrySet()) {
+                shardOf(entry.getKey()).books.put(entry.getKey(), new PriorityQueue<>(entry.getValue()));
+            }
+        } finally {
+            unlockAll();
+        }
+    }
+
+    /**
+     * Persists the bid, then adds it to the product's book.
+     * The caller checks that the product is up for recycling and the price is high enough.
+     * @return false if the insert failed (the book is unchanged).
+     */
+    public boolean placeBid(String productId, RecyclingBid bid) {
+        Shard shard = shardOf(productId);
+        shard.lock.lock();
+        try {
+            if (!bids.get().insert(productId, bid)) {
+                return false;
+            }
+            shard.books.computeIfAbsent(productId, k -> new PriorityQueue<>()).add(bid);
+            placed.incrementAndGet();
+            return true;
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    /**
+     * @return The highest bid on the product, or null if it has none.
+     */
+    public RecyclingBid bestBid(String productId) {
+        Shard shard = shardOf(productId);
+        shard.lock.lock();
+        try {
+            PriorityQueue<RecyclingBid> book = shard.books.get(productId);
+            return book == null ? null : book.peek();
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    public boolean hasBids(String productId) {
+        return bestBid(productId) != null;
+    }
+
+    /**
+     * Accepts the highest bid and clears the product's book, as one step: no bid can
+     * be placed on the product between picking the winner and committing the sale.
+     * @return The winning bid, or null if there was none or the write failed (nothing is changed).
+     */
+    public RecyclingBid acceptBest(Product product) {
+        Shard shard = shardOf(product.getProductId());
+        shard.lock.lock();
+        try {
+            PriorityQueue<RecyclingBid> book = shard.books.get(product.getProductId());
+            if (book == null || book.isEmpty()) {
+                return null;
+            }
+            RecyclingBid winningBid = book.peek();
+            if (!bids.get().accept(product, winningBid)) {
+                return null;
+            }
+            shard.books.remove(product.getProductId());
+            accepted.incrementAndGet();
+            return winningBid;
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    /**
+     * Drops a product's book (it is no longer up for recycling).
+     */
+    public void clear(String productId) {
+        Shard shard = shardOf(productId);
+        shard.lock.lock();
+        try {
+            shard.books.remove(productId);
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    /**
+     * Fills the product's (empty) bid queue from the book.
+     */
+    public void copyBidsInto(Product product) {
+        Shard shard = shardOf(product.getProductId());
+        shard.lock.lock();
+        try {
+            PriorityQueue<RecyclingBid> book = shard.books.get(product.getProductId());
+            if (book != null) {
+                product.getBids().addAll(book);
+            }
+        } finally {
+            shard.lock.unlock();
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Shard shard : shards) {
+            shard.lock.lock();
+            try {
+                size += shard.books.size();
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    public long getPlacedCount() { return placed.get(); }
+    public long getAcceptedCount() { return accepted.get(); }
+
+    @Override
+    public String toString() {
+        return "BidOrderBook[products=" + size() + ", shards=" + shards.length
+             + ", placed=" + getPlacedCount() + ", accepted=" + getAcceptedCount() + "]";
+    }
+
+    private Shard shardOf(String productId) {
+        int h = productId.hashCode();
+        return shards[(h ^ (h >>> 16)) & (shards.length - 1)];
+    }
+
+    // Always in index order, so two rebuilds cannot deadlock.
+    private void lockAll() {
+        for (Shard shard : shards) {
+            shard.lock.lock();
+        }
+    }
+
+    private void unlockAll() {
+        for (int i = shards.length - 1; i >= 0; i--) {
+            shards[i].lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,198 @@
+// In file: src/ecocycle/service/BrowseFacets.java
+package ecocycle.service;
+
+import ecocycle.model.Product;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Counts of the products for sale per category and per price bucket, for the browse filters.
+ * - Kept up to date as a ProductChangeListener: each changed product's old contribution
+ *   is taken back and the product re-read (outside the lock), so adding, selling,
+ *   recycling, deleting and restoring all move the counts without a COUNT query.
+ * - Buckets are fixed (see PRICE_BOUNDS), so a histogram is a small int array per category.
+ * - snapshot() hands out a copy the UI can use for any number of interactions.
+ *
+ * Like UserDirectory, this assumes DataService in this process is the only writer
+ * to the products table.
+ */
+public class BrowseFacets implements ProductChangeListener {
+
+    /**
+     * Upper bounds (exclusive, in rupees) of every bucket but the last, which is open-ended.
+     */
+    private static final double[] PRICE_BOUNDS = { 100, 500, 1_000, 5_000, 10_000, 50_000 };
+
+    /**
+     * The counts at one point in time.
+     * @param categoryCounts Products for sale per category, by category name.
+     * @param histograms Products per price bucket, per category.
+     * @param allHistogram Products per price bucket over every category.
+     */
+    public record Snapshot(Map<String, Integer> categoryCounts, Map<String, int[]> histograms, int[] allHistogram) {
+
+        public int count(String category) {
+            return categoryCounts.getOrDefault(category, 0);
+        }
+
+        public int total() {
+            int total = 0;
+            for (int n : allHistogram) {
+                total += n;
+            }
+            return total;
+        }
+
+        /**
+         * @param category null for every category.
+         */
+        public int[] histogram(String category) {
+            if (category == null) {
+                return allHistogram.clone();
+            }
+            int[] buckets = histograms.get(category);
+            return buckets == null ? new int[PRICE_BOUNDS.length + 1] : buckets.clone();
+        }
+    }
+
+    private record Counted(String category, int bucket) {}
+
+    private final Function<String, Product> findProduct;
+
+    // Guarded by this
+    private final Map<String, Counted> counted = new HashMap<>();
+    private final Map<String, int[]> histograms = new HashMap<>();
+    private final int[] allHistogram = new int[PRICE_BOUNDS.length + 1];
+
+    /**
+     * @param findProduct Re-reads one product after it changed; null if it is gone.
+     */
+    public BrowseFacets(Function<String, Product> findProduct) {
+        this.findProduct = findProduct;
+    }
+
+    /**
+     * Replaces all counts with these products (those not for sale are skipped).
+     */
+    public synchronized void load(Collection<Product> products) {
+        counted.clear();
+        histograms.clear();
+        Arrays.fill(allHistogram, 0);
+        for (Product product : products) {
+            if (product.getStatus() != null && product.getStatus().isForSale()) {
+                count(product);
+            }
+        }
+    }
+
+    /**
+     * Counts a product, replacing its previous contribution. Products not for sale are only taken back.
+     */
+    public synchronized void put(Product product) {
+        uncount(product.getProductId());
+        if (product.getStatus() != null && product.getStatus().isForSale()) {
+            count(product);
+        }
+    }
+
+    @Override
+    public void productsChanged(Collection<String> productIds) {
+        for (String productId : productIds) {
+            Product product = findProduct.apply(productId);
+            if (product != null) {
+                put(product);
+            } else {
+                synchronized (this) {
+                    uncount(productId);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return A copy of the current counts (categories sorted by name).
+     */
+    public synchronized Snapshot snapshot() {
+        Map<String, Integer> categoryCounts = new TreeMap<>();
+        Map<String, int[]> histogramCopies = new TreeMap<>();
+        for (Map.Entry<String, int[]> entry : histograms.entrySet()) {
+            int total = 0;
+            for (int n : entry.getValue()) {
+                total += n;
+            }
+            categoryCounts.put(entry.getKey(), total);
+            histogramCopies.put(entry.getKey(), entry.getValue().clone());
+        }
+        return new Snapshot(categoryCounts, histogramCopies, allHistogram.clone());
+    }
+
+    public synchronized int size() {
+        return counted.size();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "BrowseFacets[products=" + counted.size() + ", categories=" + histograms.size() + "]";
+    }
+
+    /**
+     * @return The number of price buckets (the last one is open-ended).
+     */
+    public static int getBucketCount() {
+        return PRICE_BOUNDS.length + 1;
+    }
+
+    /**
+     * @return A label for a bucket, e.g. "₹100-500" or "₹50000+".
+     */
+    public static String getBucketLabel(int bucket) {
+        if (bucket == 0) {
+            return "<₹" + (long) PRICE_BOUNDS[0];
+        }
+        if (bucket == PRICE_BOUNDS.length) {
+            return "₹" + (long) PRICE_BOUNDS[PRICE_BOUNDS.length - 1] + "+";
+        }
+        return "₹" + (long) PRICE_BOUNDS[bucket - 1] + "-" + (long) PRICE_BOUNDS[bucket];
+    }
+
+    static int bucketOf(double price) {
+        int bucket = Arrays.binarySearch(PRICE_BOUNDS, price);
+        // An exact bound belongs to the bucket it opens; otherwise binarySearch gives -(insertion point) - 1.
+        return bucket >= 0 ? bucket + 1 : -bucket - 1;
+    }
+
+    // --- Internals (lock held) ---
+
+    private void count(Product product) {
+        String category = product.getCategory() == null ? "" : product.getCategory();
+        int bucket = bucketOf(product.getPrice());
+        counted.put(product.getProductId(), new Counted(category, bucket));
+        histograms.computeIfAbsent(category, k -> new int[PRICE_BOUNDS.length + 1])[bucket]++;
+        allHistogram[bucket]++;
+    }
+
+    private void uncount(String productId) {
+        Counted previous = counted.remove(productId);
+        if (previous == null) {
+            return;
+        }
+        int[] buckets = histograms.get(previous.category());
+        buckets[previous.bucket()]--;
+        allHistogram[previous.bucket()]--;
+        boolean empty = true;
+        for (int n : buckets) {
+            if (n != 0) {
+                empty = false;
+                break;
+            }
+        }
+        if (empty) {
+            histograms.remove(previous.category());
+        }
+    }
+}
@@ -2,46 +2,149 @@
 package ecocycle.service;
 
 import ecocycle.model.*;
-import ecocycle.util.DBConnector;
-
-import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
-import java.sql.SQLException;
-import java.sql.Statement;
-import java.sql.Timestamp; // This is needed
+import ecocycle.repository.StorageBackend;
+import ecocycle.repository.jdbc.JdbcStorageBackend;
+import ecocycle.repository.memory.InMemoryStorageBackend;
+import ecocycle.util.LruTtlCache;
+import ecocycle.util.Metrics;
+import ecocycle.util.OperationStats;
+import ecocycle.util.RingBuffer;
+
+import java.time.Clock;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
- * Data Service (JDBC Version - No Streams)
+ * Data Service (No Streams)
  * This is the final, complete service class.
- * - Uses JDBC for all database operations.
+ * - Holds the marketplace rules; all persistence goes through a StorageBackend
+ *   (MySQL by default, or in memory with -Decocycle.store=memory).
  * - Uses traditional for-loops and null checks (no streams).
  * - Implements Stack logic for "Undo Delete".
- * - Implements LinkedList logic for "Global Review Feed".
+ * - Keeps the newest reviews of the "Global Review Feed" in a ring buffer.
+ * - Times every public operation (Metrics / JMX: ecocycle:type=Operation,name=DataService.*).
+ * - Loads nothing while the class initializes: start() runs the startup steps (schema,
+ *   connections, demo data, in-memory indexes) in parallel on background threads, and
+ *   the first operation called before they finish waits for them (starting them if needed).
  */
 public class DataService {
 
     // --- Session Management ---
-    private static User currentUser = null;
+    private static volatile User currentUser = null; // the desktop session; read from AsyncDataService threads
+    // Set by callAs() for the duration of one server request; takes precedence over currentUser.
+    private static final ThreadLocal<User> requestUser = new ThreadLocal<>();
+
+    // --- Metrics (one histogram + counters per operation, published over JMX; see util.Metrics) ---
+    private static final OperationStats OP_GET_BROWSE_FACET_SNAPSHOT = Metrics.operation("DataService.getBrowseFacetSnapshot");
+    private static final OperationStats OP_FIND_USER_BY_ID = Metrics.operation("DataService.findUserById");
+    private static final OperationStats OP_FIND_PRODUCT_BY_ID = Metrics.operation("DataService.findProductById");
+    private static final OperationStats OP_LOGIN = Metrics.operation("DataService.login");
+    private static final OperationStats OP_AUTHENTICATE = Metrics.operation("DataService.authenticate");
+    private static final OperationStats OP_REGISTER = Metrics.operation("DataService.register");
+    private static final OperationStats OP_GET_PRODUCTS_FOR_CURRENT_USER = Metrics.operation("DataService.getProductsForCurrentUser");
+    private static final OperationStats OP_ADD_PRODUCT = Metrics.operation("DataService.addProduct");
+    private static final OperationStats OP_GET_ELIGIBLE_PRODUCTS_FOR_APPROVAL = Metrics.operation("DataService.getEligibleProductsForApproval");
+    private static final OperationStats OP_UPDATE_PRODUCT_RECYCLING_STATUS = Metrics.operation("DataService.updateProductRecyclingStatus");
+    private static final OperationStats OP_GET_BIDDABLE_PRODUCTS_FOR_SELLER = Metrics.operation("DataService.getBiddableProductsForSeller");
+    private static final OperationStats OP_GET_HIGHEST_BID = Metrics.operation("DataService.getHighestBid");
+    private static final OperationStats OP_ACCEPT_BID = Metrics.operation("DataService.acceptBid");
+    private static final OperationStats OP_GET_AVAILABLE_PRODUCTS = Metrics.operation("DataService.getAvailableProducts");
+    private static final OperationStats OP_GET_AVAILABLE_PRODUCTS_PAGE = Metrics.operation("DataService.getAvailableProductsPage");
+    private static final OperationStats OP_SEARCH_AVAILABLE_PRODUCTS = Metrics.operation("DataService.searchAvailableProducts");
+    private static final OperationStats OP_ADD_TO_CART = Metrics.operation("DataService.addToCart");
+    private static final OperationStats OP_GET_CART = Metrics.operation("DataService.getCart");
+    private static final OperationStats OP_PURCHASE_CART = Metrics.operation("DataService.purchaseCart");
+    private static final OperationStats OP_PURCHASE_SINGLE_ITEM = Metrics.operation("DataService.purchaseSingleItem");
+    private static final OperationStats OP_GET_TRANSACTIONS_FOR_BUYER = Metrics.operation("DataService.getTransactionsForBuyer");
+    private static final OperationStats OP_HAS_BUYER_PURCHASED_PRODUCT = Metrics.operation("DataService.hasBuyerPurchasedProduct");
+    private static final OperationStats OP_GET_ELIGIBLE_PRODUCTS_FOR_BIDDING = Metrics.operation("DataService.getEligibleProductsForBidding");
+    private static final OperationStats OP_PLACE_BID = Metrics.operation("DataService.placeBid");
+    private static final OperationStats OP_GET_ACQUIRED_PRODUCTS = Metrics.operation("DataService.getAcquiredProducts");
+    private static final OperationStats OP_SUBMIT_RECYCLING_PROOF = Metrics.operation("DataService.submitRecyclingProof");
+    private static final OperationStats OP_GET_SELLER_LEADERBOARD = Metrics.operation("DataService.getSellerLeaderboard");
+    private static final OperationStats OP_GET_RECYCLER_LEADERBOARD = Metrics.operation("DataService.getRecyclerLeaderboard");
+    private static final OperationStats OP_GET_CURRENT_USER_RANK = Metrics.operation("DataService.getCurrentUserRank");
+    private static final OperationStats OP_GET_LEADERBOARD_SIZE = Metrics.operation("DataService.getLeaderboardSize");
+    private static final OperationStats OP_ARCHIVE_PRODUCT_FOR_UNDO = Metrics.operation("DataService.archiveProductForUndo");
+    private static final OperationStats OP_RESTORE_LAST_DELETED_PRODUCT = Metrics.operation("DataService.restoreLastDeletedProduct");
+    private static final OperationStats OP_SUBMIT_REVIEW = Metrics.operation("DataService.submitReview");
+    private static final OperationStats OP_GET_REVIEW_FEED_PAGE = Metrics.operation("DataService.getReviewFeedPage");
+    private static final OperationStats OP_REMOVE_ITEM_FROM_CART = Metrics.operation("DataService.removeItemFromCart");
+    private static final OperationStats OP_RESTORE_LAST_REMOVED_ITEM = Metrics.operation("DataService.restoreLastRemovedItem");
+    private static final OperationStats OP_STARTUP = Metrics.operation("DataService.startup");
+
+    // --- Storage ---
+    private static StorageBackend store = createDefaultBackend();
 
     // --- Simulation Constants ---
     private static final long MINUTE_MS = 60_000;
     private static final Map<String, Long> RECYCLING_THRESHOLDS_MS = new HashMap<>();
     private static final long DEFAULT_RECYCLING_THRESHOLD_MS = 3 * MINUTE_MS;
-    
+    private static final int LEADERBOARD_SIZE = 10;
+
+    // --- Product cache (read-through, invalidated by every product write below) ---
+    private static final LruTtlCache<String, Product> productCache = new LruTtlCache<>(
+            Integer.getInteger("ecocycle.cache.products.maxSize", 10_000),
+            Long.getLong("ecocycle.cache.products.ttlMs", 60_000), 16);
+    private static final List<ProductChangeListener> productChangeListeners = new CopyOnWriteArrayList<>();
+
+    // --- User directory (by id and username; sales/credit changes applied in place) ---
+    private static final UserDirectory userDirectory = new UserDirectory(() -> store.users());
+
+    // --- Recycling bids (live order book per product, written through to the store) ---
+    private static final BidOrderBook bidBook = new BidOrderBook(() -> store.bids(),
+            Integer.getInteger("ecocycle.bids.shards", 16));
+
+    // --- Recycling eligibility (products queued until their category threshold passes) ---
+    private static final RecyclingScheduler recyclingScheduler =
+            new RecyclingScheduler(Clock.systemUTC(), DataService::getRecyclingThresholdMs);
+
+    // --- Keyword search over the products for sale (inverted index, kept in step as a listener) ---
+    private static final ProductSearchIndex searchIndex = new ProductSearchIndex(productId -> findProductById(productId, false));
+
+    // --- Browse facets (products for sale per category and price bucket) ---
+    private static final BrowseFacets browseFacets = new BrowseFacets(productId -> findProductById(productId, false));
+
+    // --- Leaderboards (every seller / recycler ranked in memory, updated with each sale or credit) ---
+    private static final Leaderboard sellerBoard = new Leaderboard(Role.SELLER, User::getTotalSales);
+    private static final Leaderboard recyclerBoard = new Leaderboard(Role.RECYCLER, User::getCarbonCredits);
+
     // --- DSA Feature: "Undo Delete" Stack ---
     private static Stack<Product> undoStack = new Stack<>();
 
-    // --- DSA Feature: "Global Review Feed" LinkedList ---
-    private static LinkedList<Review> globalReviewFeed = new LinkedList<>();
+    // --- DSA Feature: "Global Review Feed" (the newest reviews in a ring buffer; older pages come from the store) ---
+    private static final RingBuffer<ReviewDetail> reviewFeedHead =
+            new RingBuffer<>(Integer.getInteger("ecocycle.reviews.headSize", 100));
+    private static final Comparator<ReviewDetail> REVIEW_FEED_ORDER =
+            Comparator.comparingLong(ReviewDetail::getTimestamp).thenComparing(ReviewDetail::getReviewId).reversed();
 
     // --- DSA Feature: "Undo Remove from Cart" Stack ---
     private static Stack<Product> removedCartItems = new Stack<>();
 
 
+    // --- Startup (see start(); nothing below touches the store in the static initializer) ---
+    private static volatile boolean started = false;
+    private static CompletableFuture<Void> startup; // guarded by DataService.class
+    private static final ThreadLocal<Boolean> startupThread = new ThreadLocal<>(); // set while running a step
+
     /**
-     * Static block to initialize mock data AND recycling rules
+     * Told about each startup step as it finishes.
+     */
+    public interface StartupListener {
+        /**
+         * Called on the thread that ran the step (not the FX thread).
+         */
+        void stepFinished(String step, int finished, int total);
+    }
+
+    /**
+     * Static block to initialize the recycling rules (the data is loaded by start())
      */
     static {
         // Init time thresholds
@@ -49,916 +152,976 @@ public class DataService {
         RECYCLING_THRESHOLDS_MS.put("electronics", 2 * MINUTE_MS);
         RECYCLING_THRESHOLDS_MS.put("plastic", 1 * MINUTE_MS);
         RECYCLING_THRESHOLDS_MS.put("furniture", 3 * MINUTE_MS);
-        
-        initializeDemoData();
+
+        addProductChangeListener(recyclingScheduler);
+        addProductChangeListener(searchIndex);
+        addProductChangeListener(browseFacets);
     }
 
     /**
-     * Helper method to insert demo data into the database ONCE.
+     * Starts loading everything DataService needs, on background threads:
+     * the schema check first, then the connection warm-up and the demo data in parallel,
+     * then the bid book, leaderboards, search / facet indexes, review feed head and
+     * recycling schedule in parallel. Safe to call more than once.
+     * @param listener Told about each finished step, or null. Only the call that
+     *                 actually starts the steps uses it.
+     * @return Completes when every step has finished (a failed step is logged, not rethrown).
      */
-    private static void initializeDemoData() {
-        String sqlCheck = "SELECT 1 FROM users LIMIT 1";
-        
-        try (Connection con = DBConnector.getConnection();
-             PreparedStatement checkStmt = con.prepareStatement(sqlCheck);
-             ResultSet rs = checkStmt.executeQuery()) {
-
-            if (rs.next()) {
-                System.out.println("Database already contains data. Skipping demo data insertion.");
-                loadReviewFeedCache();
-                return;
-            }
+    public static synchronized CompletableFuture<Void> start(StartupListener listener) {
+        if (startup == null) {
+            startup = runStartup(store, listener);
+        }
+        return startup;
+    }
 
-            System.out.println("Database is empty. Inserting demo data...");
-            
-            try (Statement stmt = con.createStatement()) {
-                // 1. Create Users
-                stmt.executeUpdate("INSERT INTO users (user_id, username, password, role) VALUES ('u_s1', 'seller_A', 'pass', 'SELLER')");
-                stmt.executeUpdate("INSERT INTO users (user_id, username, password, role) VALUES ('u_b1', 'buyer_X', 'pass', 'BUYER')");
-                stmt.executeUpdate("INSERT INTO users (user_id, username, password, role) VALUES ('u_r1', 'recycler_Z', 'pass', 'RECYCLER')");
-                
-                // 2. Create Products
-                long p2Time = System.currentTimeMillis() - (RECYCLING_THRESHOLDS_MS.get("clothing") + 5000);
-                
-                stmt.executeUpdate("INSERT INTO products (product_id, name, type, category, description, price, seller_id, status) VALUES " +
-                    "('p_01', 'Old Laptop', 'Electronics', 'Electronics', 15000.00, '5yr old laptop', 'u_s1', 'AVAILABLE')");
-                
-                String p2Sql = "INSERT INTO products (product_id, name, type, category, description, price, seller_id, status, upload_timestamp) VALUES " +
-                               "('p_02', 'Vintage Jeans', 'Clothing', 'Clothing', 2500.00, '90s denim', 'u_s1', 'AVAILABLE', ?)";
-                try (PreparedStatement p2Stmt = con.prepareStatement(p2Sql)) {
-                    p2Stmt.setTimestamp(1, new java.sql.Timestamp(p2Time));
-                    p2Stmt.executeUpdate();
+    /**
+     * @return true once start() has finished.
+     */
+    public static boolean isStarted() {
+        return started;
+    }
+
+    // Every operation starts here: waits for startup (starting it if nobody has), then starts the timer.
+    private static long begin(OperationStats op) {
+        if (!started) {
+            awaitStartup();
+        }
+        return op.begin();
+    }
+
+    private static void awaitStartup() {
+        if (startupThread.get() != null) {
+            return; // a startup step calling an operation must not wait for itself
+        }
+        start(null).join();
+    }
+
+    private static CompletableFuture<Void> runStartup(StorageBackend backend, StartupListener listener) {
+        StartupRun run = new StartupRun(listener, 8);
+        CompletableFuture<Void> schema = run.step("Checking the database schema", backend::open, null);
+        CompletableFuture<Void> connections = run.step("Opening database connections", backend::warmUp, schema);
+        CompletableFuture<Void> demoData = run.step("Loading demo data", DataService::initializeDemoData, schema);
+        CompletableFuture<Void> bids = run.step("Loading recycling bids", bidBook::rebuild, demoData);
+        CompletableFuture<Void> leaderboards = run.step("Loading leaderboards", DataService::loadLeaderboards, demoData);
+        CompletableFuture<Void> browse = run.step("Indexing products for sale", DataService::loadBrowseIndexes, demoData);
+        CompletableFuture<Void> reviews = run.step("Loading the review feed", DataService::loadReviewFeedHead, demoData);
+        CompletableFuture<Void> recycling = run.step("Scheduling recycling eligibility", () -> {
+            recyclingScheduler.scheduleAll(store.products().findByStatus(ProductStatus.AVAILABLE, false));
+            recyclingScheduler.start();
+        }, demoData);
+
+        return CompletableFuture.allOf(connections, bids, leaderboards, browse, reviews, recycling)
+                .whenComplete((done, error) -> {
+                    long nanos = System.nanoTime() - run.startNanos;
+                    OP_STARTUP.record(nanos);
+                    started = true;
+                    run.workers.shutdown();
+                    System.out.printf("Startup finished in %.0f ms (%s).%n", nanos / 1e6, String.join(", ", run.timings));
+                });
+    }
+
+    /**
+     * The threads and progress of one startup.
+     */
+    private static final class StartupRun {
+        final long startNanos = System.nanoTime();
+        final ExecutorService workers = Executors.newCachedThreadPool(
+                Thread.ofPlatform().daemon().name("ecocycle-startup-", 1).factory());
+        final Queue<String> timings = new ConcurrentLinkedQueue<>(); // "step: n ms", in the order they finished
+        final AtomicInteger finished = new AtomicInteger();
+        final StartupListener listener;
+        final int total;
+
+        StartupRun(StartupListener listener, int total) {
+            this.listener = listener;
+            this.total = total;
+        }
+
+        // Runs work once after (a successful or failed) previous step; failures are printed, not passed on.
+        CompletableFuture<Void> step(String name, Runnable work, CompletableFuture<Void> after) {
+            Runnable run = () -> {
+                long stepStart = System.nanoTime();
+                startupThread.set(Boolean.TRUE);
+                try {
+                    work.run();
+                } catch (RuntimeException e) {
+                    System.err.println("Startup step failed: " + name);
+                    e.printStackTrace();
+                } finally {
+                    startupThread.remove();
                 }
+                timings.add(String.format("%s: %.0f ms", name, (System.nanoTime() - stepStart) / 1e6));
+                if (listener != null) {
+                    listener.stepFinished(name, finished.incrementAndGet(), total);
+                }
+            };
+            return after == null ? CompletableFuture.runAsync(run, workers) : after.thenRunAsync(run, workers);
+        }
+    }
 
-                stmt.executeUpdate("INSERT INTO products (product_id, name, type, category, description, price, seller_id, status) VALUES " +
-                    "('p_03', 'Plastic Toys', 'Plastic', 'Plastic', 500.00, 'Bag of toys', 'u_s1', 'SOLD')");
-                
-                System.out.println("Demo data inserted successfully.");
-            }
-            
-        } catch (SQLException e) {
-            System.err.println("Error during demo data initialization.");
-            e.printStackTrace();
+    // One pass over the products for sale feeds both the search index and the facet counts.
+    private static void loadBrowseIndexes() {
+        List<Product> forSale = store.products().findAvailable(null, 0, Double.MAX_VALUE, false, false);
+        searchIndex.load(forSale);
+        browseFacets.load(forSale);
+    }
+
+    private static void loadLeaderboards() {
+        sellerBoard.load(store.users().findByRole(Role.SELLER));
+        recyclerBoard.load(store.users().findByRole(Role.RECYCLER));
+    }
+
+    private static StorageBackend createDefaultBackend() {
+        if ("memory".equalsIgnoreCase(System.getProperty("ecocycle.store"))) {
+            return new InMemoryStorageBackend();
         }
+        return new JdbcStorageBackend();
     }
-    
+
     /**
-     * Loads existing reviews from the DB into the LinkedList cache on startup.
+     * Switches every DataService call to another storage backend (e.g. a fresh
+     * InMemoryStorageBackend for a benchmark). Logs out, clears the undo stacks
+     * and runs the startup steps again on the new store (re-seeding the demo data
+     * if it is empty). Returns once they have finished.
      */
-    private static void loadReviewFeedCache() {
-        String sql = "SELECT * FROM reviews ORDER BY timestamp DESC";
-        try (Connection con = DBConnector.getConnection();
-             PreparedStatement pstmt = con.prepareStatement(sql);
-             ResultSet rs = pstmt.executeQuery()) {
-            
-            while (rs.next()) {
-                Review review = new Review(
-                    rs.getString("review_id"),
-                    rs.getString("product_id"),
-                    rs.getString("buyer_id"),
-                    rs.getString("text")
-                );
-                
-                // --- FIX #1: Read a Timestamp from the DB, convert to long ---
-                review.setTimestamp(rs.getTimestamp("timestamp").getTime());
-                
-                globalReviewFeed.add(review);
-            }
-            System.out.println("Loaded " + globalReviewFeed.size() + " reviews into cache.");
-        } catch (SQLException e) {
-            e.printStackTrace();
+    public static synchronized void useStorageBackend(StorageBackend backend) {
+        if (startup != null) {
+            startup.join(); // let a startup in progress finish loading the old store first
         }
+        started = false;
+        store = backend;
+        currentUser = null;
+        undoStack.clear();
+        removedCartItems.clear();
+        reviewFeedHead.clear();
+        productCache.invalidateAll();
+        userDirectory.clear();
+        recyclingScheduler.clear();
+        startup = runStartup(backend, null);
+        startup.join();
     }
 
-    // --- NEW HELPER METHODS (for JDBC) ---
-    
-    private static User inflateUser(ResultSet rs) throws SQLException {
-        User user = new User(
-            rs.getString("user_id"),
-            rs.getString("username"),
-            rs.getString("password"),
-            Role.valueOf(rs.getString("role"))
-        );
-        user.setCarbonCredits(rs.getDouble("carbon_credits"));
-        user.setTotalSales(rs.getDouble("total_sales"));
-        return user;
-    }
-
-    private static Product inflateProduct(ResultSet rs) throws SQLException {
-        String productId = rs.getString("product_id");
-        Product product = new Product(
-            productId,
-            rs.getString("name"),
-            rs.getString("type"),
-            rs.getString("category"),
-            rs.getDouble("price"),
-            rs.getString("description"),
-            rs.getString("seller_id")
-        );
-        product.setStatus(ProductStatus.valueOf(rs.getString("status")));
-        java.sql.Timestamp ts = rs.getTimestamp("upload_timestamp");
-        if (ts != null) {
-            product.setUploadTimestamp(ts.getTime());
-        } else {
-            product.setUploadTimestamp(System.currentTimeMillis());
+    /**
+     * @return The store, once startup has prepared it.
+     */
+    public static StorageBackend getStorageBackend() {
+        if (!started) {
+            awaitStartup();
         }
-        
-        String bidSql = "SELECT * FROM recycling_bids WHERE product_id = ?";
-        try (Connection con = DBConnector.getConnection();
-             PreparedStatement bidStmt = con.prepareStatement(bidSql)) {
-            
-            bidStmt.setString(1, productId);
-            try (ResultSet bidRs = bidStmt.executeQuery()) {
-                while (bidRs.next()) {
-                    RecyclingBid bid = new RecyclingBid(
-                        bidRs.getString("recycler_id"),
-                        bidRs.getDouble("bid_price")
-                    );
-                    product.getBids().add(bid);
-                }
+        return store;
+    }
+
+    // --- Product change notifications ---
+
+    /**
+     * Registers a listener that is told about every product write made through DataService.
+     */
+    public static void addProductChangeListener(ProductChangeListener listener) {
+        productChangeListeners.add(listener);
+    }
+
+    /**
+     * @return The product cache, for its counters (hit ratio, load time, evictions).
+     */
+    public static LruTtlCache<String, Product> getProductCache() {
+        return productCache;
+    }
+
+    /**
+     * @return The user directory, for its counters.
+     */
+    public static UserDirectory getUserDirectory() {
+        return userDirectory;
+    }
+
+    /**
+     * @return The recycling bid order book, for its counters.
+     */
+    public static BidOrderBook getBidOrderBook() {
+        return bidBook;
+    }
+
+    /**
+     * @return The recycling eligibility scheduler, for its counters.
+     */
+    public static RecyclingScheduler getRecyclingScheduler() {
+        return recyclingScheduler;
+    }
+
+    /**
+     * @return The product search index, for its counters.
+     */
+    public static ProductSearchIndex getSearchIndex() {
+        return searchIndex;
+    }
+
+    /**
+     * @return The browse facet counts, for their size.
+     */
+    public static BrowseFacets getBrowseFacets() {
+        return browseFacets;
+    }
+
+    /**
+     * Called after a write to these products has been committed.
+     */
+    private static void productsChanged(Collection<String> productIds) {
+        for (String productId : productIds) {
+            productCache.invalidate(productId);
+        }
+        for (ProductChangeListener listener : productChangeListeners) {
+            listener.productsChanged(productIds);
+        }
+    }
+
+    private static void productChanged(String productId) {
+        productsChanged(List.of(productId));
+    }
+
+    /**
+     * Fills in each product's bids from the order book (finders are always called
+     * without bids; only PENDING_RECYCLING products can have any).
+     */
+    private static List<Product> withBids(List<Product> products) {
+        for (Product p : products) {
+            if (p.getStatus() == ProductStatus.PENDING_RECYCLING) {
+                bidBook.copyBidsInto(p);
             }
         }
-        
-        return product;
+        return products;
+    }
+
+    /**
+     * Helper method to insert demo data into the store ONCE.
+     */
+    private static void initializeDemoData() {
+        if (store.users().hasAnyUser()) {
+            System.out.println("Database already contains data. Skipping demo data insertion.");
+            return;
+        }
+
+        System.out.println("Database is empty. Inserting demo data...");
+
+        // 1. Create Users
+        store.users().insert(new User("u_s1", "seller_A", "pass", Role.SELLER));
+        store.users().insert(new User("u_b1", "buyer_X", "pass", Role.BUYER));
+        store.users().insert(new User("u_r1", "recycler_Z", "pass", Role.RECYCLER));
+
+        // 2. Create Products
+        Product laptop = new Product("p_01", "Old Laptop", "Electronics", "Electronics", 15000.00, "5yr old laptop", "u_s1");
+        store.products().insert(laptop);
+
+        // Backdated so it is already eligible for recycling
+        Product jeans = new Product("p_02", "Vintage Jeans", "Clothing", "Clothing", 2500.00, "90s denim", "u_s1");
+        jeans.setUploadTimestamp(System.currentTimeMillis() - (RECYCLING_THRESHOLDS_MS.get("clothing") + 5000));
+        store.products().insert(jeans);
+
+        Product toys = new Product("p_03", "Plastic Toys", "Plastic", "Plastic", 500.00, "Bag of toys", "u_s1");
+        toys.setStatus(ProductStatus.SOLD);
+        store.products().insert(toys);
+
+        System.out.println("Demo data inserted successfully.");
+    }
+
+    /**
+     * Loads only the newest page of the review feed (one buffer's worth) on startup.
+     */
+    private static void loadReviewFeedHead() {
+        List<ReviewDetail> newest = store.reviews().findDetailsPage(null, false, reviewFeedHead.capacity());
+        for (int i = newest.size() - 1; i >= 0; i--) {
+            reviewFeedHead.add(newest.get(i)); // oldest first, so the newest ends up at the head
+        }
+        System.out.println("Loaded " + reviewFeedHead.size() + " reviews into cache.");
     }
 
     // --- Public Getters (for UI ComboBox) ---
     public static Set<String> getRecyclingCategories() {
         return RECYCLING_THRESHOLDS_MS.keySet();
     }
-    
-    // --- Helper Methods (JDBC Version) ---
 
-    private static User findUserByUsername(String username) {
-        String sql = "SELECT * FROM users WHERE username = ?";
-        try (Connection con = DBConnector.getConnection();
-             PreparedStatement pstmt = con.prepareStatement(sql)) {
-            
-            pstmt.setString(1, username);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return inflateUser(rs);
-                }
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
+    /**
+     * @return The products for sale per category and price bucket, counted in memory (no query).
+     */
+    public static BrowseFacets.Snapshot getBrowseFacetSnapshot() {
+        long opStart = begin(OP_GET_BROWSE_FACET_SNAPSHOT);
+        try {
+            return browseFacets.snapshot();
+        } finally {
+            OP_GET_BROWSE_FACET_SNAPSHOT.end(opStart);
         }
-        return null;
     }
-    
+
+    /**
+     * @return How long a product of this category must be listed before it can be recycled.
+     */
+    public static long getRecyclingThresholdMs(String category) {
+        return RECYCLING_THRESHOLDS_MS.getOrDefault(category, DEFAULT_RECYCLING_THRESHOLD_MS);
+    }
+
+    // --- Helper Methods ---
+
+    private static User findUserByUsername(String username) {
+        return userDirectory.findByUsername(username);
+    }
+
     public static User findUserById(String userId) {
-        String sql = "SELECT * FROM users WHERE user_id = ?";
-        try (Connection con = DBConnector.getConnection();
-             PreparedStatement pstmt = con.prepareStatement(sql)) {
-            
-            pstmt.setString(1, userId);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return inflateUser(rs);
-                }
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
+        long opStart = begin(OP_FIND_USER_BY_ID);
+        try {
+            return userDirectory.findById(userId);
+        } finally {
+            OP_FIND_USER_BY_ID.end(opStart);
         }
-        return null;
     }
-    
+
     public static Product findProductById(String productId) {
-        String sql = "SELECT * FROM products WHERE product_id = ?";
-        try (Connection con = DBConnector.getConnection();
-             PreparedStatement pstmt = con.prepareStatement(sql)) {
-            
-            pstmt.setString(1, productId);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                if (rs.next()) {
-                    return inflateProduct(rs);
-                }
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
+        return findProductById(productId, true);
+    }
+
+    /**
+     * Served from the product cache (rows only); bids come from the order book.
+     * @param withBids false when the caller only needs the product row.
+     * @return A copy the caller may change freely, or null if there is no such product.
+     */
+    public static Product findProductById(String productId, boolean withBids) {
+        long opStart = begin(OP_FIND_PRODUCT_BY_ID);
+        try {
+            Product cached = productCache.get(productId, id -> store.products().findById(id, false));
+            if (cached == null) return null;
+            Product copy = cached.copy(false);
+            return withBids ? withBids(List.of(copy)).get(0) : copy;
+        } finally {
+            OP_FIND_PRODUCT_BY_ID.end(opStart);
         }
-        return null;
     }
 
-    // --- User & Session Management (JDBC) ---
-    
+    // --- User & Session Management ---
+
     public static User login(String username, String password) {
-        User user = findUserByUsername(username);
-        
-        if (user != null && user.getPassword().equals(password)) {
-            currentUser = user;
+        long opStart = begin(OP_LOGIN);
+        try {
+            currentUser = authenticate(username, password);
             return currentUser;
+        } finally {
+            OP_LOGIN.end(opStart);
+        }
+    }
+
+    /**
+     * Checks a username and password without starting the desktop session (used by the API server).
+     * @return The user, or null if the credentials are wrong.
+     */
+    public static User authenticate(String username, String password) {
+        long opStart = begin(OP_AUTHENTICATE);
+        try {
+            User user = findUserByUsername(username);
+            return user != null && user.getPassword().equals(password) ? user : null;
+        } finally {
+            OP_AUTHENTICATE.end(opStart);
         }
-        currentUser = null;
-        return null;
     }
 
     public static void logout() {
         currentUser = null;
     }
 
+    /**
+     * @return The user of the current server request (see callAs), otherwise the desktop session user.
+     */
     public static User getCurrentUser() {
-        return currentUser;
+        User user = requestUser.get();
+        return user != null ? user : currentUser;
     }
 
-    public static boolean register(String username, String password, Role role) {
-        if (findUserByUsername(username) != null) {
-            return false;
+    /**
+     * Runs work as the given user on this thread only, so many API sessions can use
+     * DataService at the same time without touching the desktop session.
+     */
+    public static <T> T callAs(User user, Supplier<T> work) {
+        User previous = requestUser.get();
+        requestUser.set(user);
+        try {
+            return work.get();
+        } finally {
+            if (previous == null) {
+                requestUser.remove();
+            } else {
+                requestUser.set(previous);
+            }
         }
-        String userId = "u_" + UUID.randomUUID().toString().substring(0, 8);
-        
-        String sql = "INSERT INTO users (user_id, username, password, role) VALUES (?, ?, ?, ?)";
-        try (Connection con = DBConnector.getConnection();
-             PreparedStatement pstmt = con.prepareStatement(sql)) {
-            
-            pstmt.setString(1, userId);
-            pstmt.setString(2, username);
-            pstmt.setString(3, password);
-            pstmt.setString(4, role.name());
-            
-            int rowsAffected = pstmt.executeUpdate();
-            return rowsAffected > 0;
-            
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
+    }
+
+    public static boolean register(String username, String password, Role role) {
+        long opStart = begin(OP_REGISTER);
+        try {
+            if (findUserByUsername(username) != null) {
+                return false;
+            }
+            String userId = "u_" + UUID.randomUUID().toString().substring(0, 8);
+            User user = new User(userId, username, password, role);
+            if (!store.users().insert(user)) {
+                return false;
+            }
+            userDirectory.add(user);
+            sellerBoard.add(user);
+            recyclerBoard.add(user);
+            return true;
+        } finally {
+            OP_REGISTER.end(opStart);
         }
     }
 
-    // --- Seller Logic (JDBC) ---
+    // --- Seller Logic ---
 
     public static List<Product> getProductsForCurrentUser() {
-        List<Product> userProducts = new ArrayList<>();
-        if (currentUser == null) return userProducts;
-        
-        String sql = "SELECT * FROM products WHERE seller_id = ?";
-        try (Connection con = DBConnector.getConnection();
-             PreparedStatement pstmt = con.prepareStatement(sql)) {
-            
-            pstmt.setString(1, currentUser.getUserId());
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    userProducts.add(inflateProduct(rs));
-                }
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-        }
-        return userProducts;
+        return getProductsForCurrentUser(true);
     }
 
-    public static void addProduct(String name, String type, String category, double price, String description) {
-        if (currentUser == null) return;
-        String productId = "p_" + UUID.randomUUID().toString().substring(0, 8);
-        
-        String sql = "INSERT INTO products (product_id, name, type, category, price, description, seller_id, status, upload_timestamp) " +
-                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?, NOW())";
-        
-        try (Connection con = DBConnector.getConnection();
-             PreparedStatement pstmt = con.prepareStatement(sql)) {
-            
-            pstmt.setString(1, productId);
-            pstmt.setString(2, name);
-            pstmt.setString(3, type);
-            pstmt.setString(4, category);
-            pstmt.setDouble(5, price);
-            pstmt.setString(6, description);
-            pstmt.setString(7, currentUser.getUserId());
-            pstmt.setString(8, ProductStatus.AVAILABLE.name());
-            
-            pstmt.executeUpdate();
-            
-        } catch (SQLException e) {
-            e.printStackTrace();
+    public static List<Product> getProductsForCurrentUser(boolean withBids) {
+        long opStart = begin(OP_GET_PRODUCTS_FOR_CURRENT_USER);
+        try {
+            if (getCurrentUser() == null) return new ArrayList<>();
+            List<Product> products = store.products().findBySeller(getCurrentUser().getUserId(), false);
+            return withBids ? withBids(products) : products;
+        } finally {
+            OP_GET_PRODUCTS_FOR_CURRENT_USER.end(opStart);
         }
     }
 
-    private static boolean isProductEligibleForRecycling(Product p) {
-        if (p == null || p.getStatus() != ProductStatus.AVAILABLE) {
-            return false;
+    public static void addProduct(String name, String type, String category, double price, String description) {
+        long opStart = begin(OP_ADD_PRODUCT);
+        try {
+            if (getCurrentUser() == null) return;
+            String productId = "p_" + UUID.randomUUID().toString().substring(0, 8);
+
+            Product product = new Product(productId, name, type, category, price, description, getCurrentUser().getUserId());
+            if (store.products().insert(product)) {
+                productChanged(productId);
+                recyclingScheduler.schedule(product);
+            }
+        } finally {
+            OP_ADD_PRODUCT.end(opStart);
         }
-        long threshold = RECYCLING_THRESHOLDS_MS.getOrDefault(p.getCategory(), DEFAULT_RECYCLING_THRESHOLD_MS);
-        return (System.currentTimeMillis() - p.getUploadTimestamp()) > threshold;
     }
 
+    /**
+     * The seller's products the recycling scheduler has flagged eligible, oldest first.
+     * Each is served from the product cache; no thresholds are evaluated here.
+     */
     public static List<Product> getEligibleProductsForApproval() {
-        List<Product> eligible = new ArrayList<>();
-        if (currentUser == null) return eligible;
-        
-        String sql = "SELECT * FROM products WHERE seller_id = ? AND status = 'AVAILABLE'";
-        try (Connection con = DBConnector.getConnection();
-             PreparedStatement pstmt = con.prepareStatement(sql)) {
-            
-            pstmt.setString(1, currentUser.getUserId());
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    Product p = inflateProduct(rs);
-                    if (isProductEligibleForRecycling(p)) {
-                        eligible.add(p);
-                    }
+        long opStart = begin(OP_GET_ELIGIBLE_PRODUCTS_FOR_APPROVAL);
+        try {
+            List<Product> eligible = new ArrayList<>();
+            if (getCurrentUser() == null) return eligible;
+
+            recyclingScheduler.runDue(); // don't wait for the worker thread to catch up
+            for (String productId : recyclingScheduler.eligibleFor(getCurrentUser().getUserId())) {
+                Product p = findProductById(productId, false);
+                if (p != null && p.getStatus() == ProductStatus.AVAILABLE) {
+                    eligible.add(p);
                 }
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
+            eligible.sort(Comparator.comparingLong(Product::getUploadTimestamp));
+            return eligible;
+        } finally {
+            OP_GET_ELIGIBLE_PRODUCTS_FOR_APPROVAL.end(opStart);
         }
-        return eligible;
     }
 
     public static void updateProductRecyclingStatus(String productId, ProductStatus status) {
-        String sql = "UPDATE products SET status = ? WHERE product_id = ?";
-        try (Connection con = DBConnector.getConnection();
-             PreparedStatement pstmt = con.prepareStatement(sql)) {
-            
-            pstmt.setString(1, status.name());
-            pstmt.setString(2, productId);
-            pstmt.executeUpdate();
-            
-        } catch (SQLException e) {
-            e.printStackTrace();
+        long opStart = begin(OP_UPDATE_PRODUCT_RECYCLING_STATUS);
+        try {
+            if (store.products().updateStatus(productId, status)) {
+                if (status != ProductStatus.PENDING_RECYCLING) {
+                    bidBook.clear(productId);
+                }
+                productChanged(productId);
+            }
+        } finally {
+            OP_UPDATE_PRODUCT_RECYCLING_STATUS.end(opStart);
         }
     }
-    
+
+    /**
+     * The seller's products up for recycling that have at least one bid
+     * (one indexed query; the bids themselves come from the order book).
+     */
     public static List<Product> getBiddableProductsForSeller() {
-        List<Product> biddable = new ArrayList<>();
-        if (currentUser == null) return biddable;
-        
-        String sql = "SELECT p.* FROM products p " +
-                     "WHERE p.seller_id = ? AND p.status = 'PENDING_RECYCLING' " +
-                     "AND p.product_id IN (SELECT DISTINCT rb.product_id FROM recycling_bids rb)";
-        
-        try (Connection con = DBConnector.getConnection();
-             PreparedStatement pstmt = con.prepareStatement(sql)) {
-            
-            pstmt.setString(1, currentUser.getUserId());
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    biddable.add(inflateProduct(rs));
+        long opStart = begin(OP_GET_BIDDABLE_PRODUCTS_FOR_SELLER);
+        try {
+            List<Product> bidded = new ArrayList<>();
+            if (getCurrentUser() == null) return bidded;
+            for (Product p : store.products().findBySellerAndStatus(getCurrentUser().getUserId(), ProductStatus.PENDING_RECYCLING, false)) {
+                bidBook.copyBidsInto(p);
+                if (!p.getBids().isEmpty()) {
+                    bidded.add(p);
                 }
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
+            return bidded;
+        } finally {
+            OP_GET_BIDDABLE_PRODUCTS_FOR_SELLER.end(opStart);
+        }
+    }
+
+    /**
+     * @return The highest bid on a product, straight from the order book (no query).
+     */
+    public static RecyclingBid getHighestBid(String productId) {
+        long opStart = begin(OP_GET_HIGHEST_BID);
+        try {
+            return bidBook.bestBid(productId);
+        } finally {
+            OP_GET_HIGHEST_BID.end(opStart);
         }
-        return biddable;
     }
 
     public static RecyclingBid acceptBid(String productId) {
-        String findBidSql = "SELECT * FROM recycling_bids WHERE product_id = ? ORDER BY bid_price DESC LIMIT 1";
-        
-        Connection con = null;
+        long opStart = begin(OP_ACCEPT_BID);
         try {
-            con = DBConnector.getConnection();
-            con.setAutoCommit(false); // Start transaction
-
-            RecyclingBid winningBid = null;
-            Product p = findProductById(productId); 
-            if (p == null) throw new SQLException("Product not found.");
-
-            try (PreparedStatement findBidStmt = con.prepareStatement(findBidSql)) {
-                findBidStmt.setString(1, productId);
-                try (ResultSet rs = findBidStmt.executeQuery()) {
-                    if (rs.next()) {
-                        winningBid = new RecyclingBid(
-                            rs.getString("recycler_id"),
-                            rs.getDouble("bid_price")
-                        );
-                    }
+            Product p = findProductById(productId, false);
+            if (p == null) return null;
+            RecyclingBid winningBid;
+            List<String> seller = List.of(p.getSellerId());
+            userDirectory.beginWrite(seller);
+            try {
+                winningBid = bidBook.acceptBest(p);
+                if (winningBid != null) {
+                    applySalesDelta(p.getSellerId(), winningBid.bidPrice());
                 }
+            } finally {
+                userDirectory.endWrite(seller);
             }
-            if (winningBid == null) throw new SQLException("No winning bid found.");
-
-            String updateSellerSql = "UPDATE users SET total_sales = total_sales + ? WHERE user_id = ?";
-            try (PreparedStatement updateSellerStmt = con.prepareStatement(updateSellerSql)) {
-                updateSellerStmt.setDouble(1, winningBid.bidPrice());
-                updateSellerStmt.setString(2, p.getSellerId());
-                updateSellerStmt.executeUpdate();
+            if (winningBid != null) {
+                productChanged(productId);
             }
-
-            String updateProductSql = "UPDATE products SET status = 'RECYCLING_PURCHASED' WHERE product_id = ?";
-            try (PreparedStatement updateProductStmt = con.prepareStatement(updateProductSql)) {
-                updateProductStmt.setString(1, productId);
-                updateProductStmt.executeUpdate();
-            }
-            
-            String deleteBidsSql = "DELETE FROM recycling_bids WHERE product_id = ?";
-            try (PreparedStatement deleteBidsStmt = con.prepareStatement(deleteBidsSql)) {
-                deleteBidsStmt.setString(1, productId);
-                deleteBidsStmt.executeUpdate();
-            }
-
-            con.commit(); 
             return winningBid;
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-            if (con != null) {
-                try { con.rollback(); } catch (SQLException ex) { ex.printStackTrace(); }
-            }
-            return null;
         } finally {
-            if (con != null) {
-                try { con.setAutoCommit(true); } catch (SQLException ex) { ex.printStackTrace(); }
-            }
+            OP_ACCEPT_BID.end(opStart);
         }
     }
 
-    // --- Buyer Logic (JDBC) ---
+    // --- Buyer Logic ---
 
     public static List<Product> getAvailableProducts(String category, double minPrice, double maxPrice, boolean sortByPriceAsc) {
-        List<Product> available = new ArrayList<>();
-        
-        StringBuilder sql = new StringBuilder("SELECT * FROM products WHERE (status = 'AVAILABLE' OR status = 'AVAILABLE_NO_RECYCLE') ");
-        List<Object> params = new ArrayList<>();
-
-        if (category != null && !category.isEmpty() && !category.equals("All")) {
-            sql.append("AND category = ? ");
-            params.add(category);
-        }
-        if (minPrice > 0) {
-            sql.append("AND price >= ? ");
-            params.add(minPrice);
-        }
-        if (maxPrice > 0 && maxPrice != Double.MAX_VALUE) {
-            sql.append("AND price <= ? ");
-            params.add(maxPrice);
+        return getAvailableProducts(category, minPrice, maxPrice, sortByPriceAsc, true);
+    }
+
+    /**
+     * @param withBids false for the buyer browse screen, which never shows bids.
+     */
+    public static List<Product> getAvailableProducts(String category, double minPrice, double maxPrice,
+                                                     boolean sortByPriceAsc, boolean withBids) {
+        long opStart = begin(OP_GET_AVAILABLE_PRODUCTS);
+        try {
+            String categoryFilter = categoryFilter(category);
+            List<Product> products = store.products().findAvailable(categoryFilter, minPrice, maxPrice, sortByPriceAsc, false);
+            return withBids ? withBids(products) : products;
+        } finally {
+            OP_GET_AVAILABLE_PRODUCTS.end(opStart);
         }
-        if (sortByPriceAsc) {
-            sql.append("ORDER BY price ASC");
-        } else {
-            sql.append("ORDER BY upload_timestamp DESC");
+    }
+
+    /**
+     * One page of the browse list (keyset pagination, see ProductRepository.findAvailablePage).
+     * @param cursor The first/last product already on screen, or null for the first page.
+     * @param backwards true to page towards the start of the list.
+     */
+    public static List<Product> getAvailableProductsPage(String category, double minPrice, double maxPrice,
+                                                         boolean sortByPriceAsc, Product cursor,
+                                                         boolean backwards, int pageSize) {
+        long opStart = begin(OP_GET_AVAILABLE_PRODUCTS_PAGE);
+        try {
+            String categoryFilter = categoryFilter(category);
+            return store.products().findAvailablePage(categoryFilter, minPrice, maxPrice, sortByPriceAsc,
+                                                      cursor, backwards, pageSize, false);
+        } finally {
+            OP_GET_AVAILABLE_PRODUCTS_PAGE.end(opStart);
         }
+    }
 
-        try (Connection con = DBConnector.getConnection();
-             PreparedStatement pstmt = con.prepareStatement(sql.toString())) {
+    public static List<Product> getAvailableProducts() {
+        return getAvailableProducts("All", 0, Double.MAX_VALUE, false);
+    }
 
-            for (int i = 0; i < params.size(); i++) {
-                pstmt.setObject(i + 1, params.get(i));
-            }
-            
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    available.add(inflateProduct(rs));
+    // null for "All" (any case) or no category; otherwise lower-cased, as Product stores it.
+    private static String categoryFilter(String category) {
+        if (category == null || category.isEmpty() || category.equalsIgnoreCase("All")) {
+            return null;
+        }
+        return category.toLowerCase();
+    }
+
+    /**
+     * Keyword search over the products for sale, best match first, with the same
+     * category / price filters as the browse list. Answered from the in-memory index;
+     * only the matching products are read (through the product cache).
+     */
+    public static List<Product> searchAvailableProducts(String query, String category, double minPrice,
+                                                        double maxPrice, int limit) {
+        long opStart = begin(OP_SEARCH_AVAILABLE_PRODUCTS);
+        try {
+            String categoryFilter = categoryFilter(category);
+            List<Product> found = new ArrayList<>();
+            for (String productId : searchIndex.search(query, categoryFilter, minPrice, maxPrice, limit)) {
+                Product p = findProductById(productId, false);
+                if (p != null && p.getStatus().isForSale()) {
+                    found.add(p);
                 }
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
+            return found;
+        } finally {
+            OP_SEARCH_AVAILABLE_PRODUCTS.end(opStart);
         }
-        return available;
-    }
-    
-    public static List<Product> getAvailableProducts() {
-        return getAvailableProducts("All", 0, Double.MAX_VALUE, false);
     }
 
     public static boolean addToCart(String productId) {
-        Product p = findProductById(productId);
-        if (p == null || currentUser == null || currentUser.getRole() != Role.BUYER) {
-            return false;
-        }
-        
-        if (p.getStatus() == ProductStatus.AVAILABLE || p.getStatus() == ProductStatus.AVAILABLE_NO_RECYCLE) {
-            String sql = "INSERT INTO cart (buyer_id, product_id) VALUES (?, ?)";
-            try (Connection con = DBConnector.getConnection();
-                 PreparedStatement pstmt = con.prepareStatement(sql)) {
-                
-                pstmt.setString(1, currentUser.getUserId());
-                pstmt.setString(2, productId);
-                pstmt.executeUpdate();
-                return true;
-                
-            } catch (SQLException e) {
-                e.printStackTrace();
+        long opStart = begin(OP_ADD_TO_CART);
+        try {
+            Product p = findProductById(productId, false);
+            if (p == null || getCurrentUser() == null || getCurrentUser().getRole() != Role.BUYER) {
                 return false;
             }
+
+            if (p.getStatus() == ProductStatus.AVAILABLE || p.getStatus() == ProductStatus.AVAILABLE_NO_RECYCLE) {
+                return store.cart().add(getCurrentUser().getUserId(), productId);
+            }
+            return false;
+        } finally {
+            OP_ADD_TO_CART.end(opStart);
         }
-        return false;
     }
-    
+
     public static List<Product> getCart() {
-        List<Product> cartProducts = new ArrayList<>();
-        if (currentUser == null || currentUser.getRole() != Role.BUYER) return cartProducts;
-        
-        String sql = "SELECT p.* FROM products p JOIN cart c ON p.product_id = c.product_id WHERE c.buyer_id = ?";
-        
-        try (Connection con = DBConnector.getConnection();
-             PreparedStatement pstmt = con.prepareStatement(sql)) {
-            
-            pstmt.setString(1, currentUser.getUserId());
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    cartProducts.add(inflateProduct(rs));
-                }
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
+        return getCart(true);
+    }
+
+    /**
+     * @param withBids false for the cart screen and checkout, which never look at bids.
+     */
+    public static List<Product> getCart(boolean withBids) {
+        long opStart = begin(OP_GET_CART);
+        try {
+            if (getCurrentUser() == null || getCurrentUser().getRole() != Role.BUYER) return new ArrayList<>();
+            List<Product> products = store.cart().findProducts(getCurrentUser().getUserId(), false);
+            return withBids ? withBids(products) : products;
+        } finally {
+            OP_GET_CART.end(opStart);
         }
-        return cartProducts;
     }
-    
+
     public static boolean purchaseCart() {
-        if (currentUser == null) return false;
-        
-        List<Product> cartItems = getCart();
-        if (cartItems.isEmpty()) return true;
-        
-        Connection con = null;
+        long opStart = begin(OP_PURCHASE_CART);
         try {
-            con = DBConnector.getConnection();
-            con.setAutoCommit(false); 
-
-            String updateProdSql = "UPDATE products SET status = 'SOLD' WHERE product_id = ?";
-            String updateSellerSql = "UPDATE users SET total_sales = total_sales + ? WHERE user_id = ?";
-            String insertTransSql = "INSERT INTO transactions (transaction_id, buyer_id, product_id, price, timestamp, status) VALUES (?, ?, ?, ?, ?, ?)";
-            
-            try (PreparedStatement updateProdStmt = con.prepareStatement(updateProdSql);
-                 PreparedStatement updateSellerStmt = con.prepareStatement(updateSellerSql);
-                 PreparedStatement insertTransStmt = con.prepareStatement(insertTransSql)) {
-                
-                for (Product p : cartItems) {
-                    if (p.getStatus() == ProductStatus.AVAILABLE || p.getStatus() == ProductStatus.AVAILABLE_NO_RECYCLE) {
-                        
-                        updateProdStmt.setString(1, p.getProductId());
-                        updateProdStmt.executeUpdate();
-
-                        updateSellerStmt.setDouble(1, p.getPrice());
-                        updateSellerStmt.setString(2, p.getSellerId());
-                        updateSellerStmt.executeUpdate();
-
-                        String tid = "t_" + UUID.randomUUID().toString().substring(0, 8);
-                        insertTransStmt.setString(1, tid);
-                        insertTransStmt.setString(2, currentUser.getUserId());
-                        insertTransStmt.setString(3, p.getProductId());
-                        insertTransStmt.setDouble(4, p.getPrice());
-                        insertTransStmt.setTimestamp(5, new java.sql.Timestamp(System.currentTimeMillis()));
-                        insertTransStmt.setString(6, TransactionStatus.COMPLETED.name());
-                        insertTransStmt.executeUpdate();
-                    }
+            if (getCurrentUser() == null) return false;
+
+            List<Product> cartItems = getCart(false);
+            if (cartItems.isEmpty()) return true;
+
+            List<Product> purchasable = new ArrayList<>();
+            for (Product p : cartItems) {
+                if (p.getStatus() == ProductStatus.AVAILABLE || p.getStatus() == ProductStatus.AVAILABLE_NO_RECYCLE) {
+                    purchasable.add(p);
                 }
             }
-            
-            String deleteCartSql = "DELETE FROM cart WHERE buyer_id = ?";
-            try (PreparedStatement deleteCartStmt = con.prepareStatement(deleteCartSql)) {
-                deleteCartStmt.setString(1, currentUser.getUserId());
-                deleteCartStmt.executeUpdate();
+            List<String> sellerIds = new ArrayList<>();
+            for (Product p : purchasable) {
+                sellerIds.add(p.getSellerId());
             }
-
-            con.commit();
-            return true;
-
-        } catch (SQLException e) {
-            e.printStackTrace();
-            if (con != null) {
-                try { con.rollback(); } catch (SQLException ex) { ex.printStackTrace(); }
+            userDirectory.beginWrite(sellerIds);
+            try {
+                if (!store.transactions().recordPurchases(getCurrentUser().getUserId(), purchasable, true)) {
+                    return false;
+                }
+                for (Product p : purchasable) {
+                    applySalesDelta(p.getSellerId(), p.getPrice());
+                }
+            } finally {
+                userDirectory.endWrite(sellerIds);
             }
-            return false;
-        } finally {
-            if (con != null) {
-                try { con.setAutoCommit(true); } catch (SQLException ex) { ex.printStackTrace(); }
+            List<String> soldIds = new ArrayList<>();
+            for (Product p : purchasable) {
+                soldIds.add(p.getProductId());
             }
+            productsChanged(soldIds);
+            return true;
+        } finally {
+            OP_PURCHASE_CART.end(opStart);
         }
     }
 
     public static boolean purchaseSingleItem(String productId) {
-        if (currentUser == null) return false;
-
-        Product p = findProductById(productId);
-        if (p == null) return false;
-        
-        boolean inCart = false;
-        List<Product> cartItems = getCart();
-        for (Product cartItem : cartItems) {
-            if (cartItem.getProductId().equals(productId)) {
-                inCart = true;
-                break;
-            }
-        }
-        if (!inCart) {
-            return false;
-        }
-
-        Connection con = null;
+        long opStart = begin(OP_PURCHASE_SINGLE_ITEM);
         try {
-            con = DBConnector.getConnection();
-            con.setAutoCommit(false); 
-
-            String updateProdSql = "UPDATE products SET status = 'SOLD' WHERE product_id = ?";
-            String updateSellerSql = "UPDATE users SET total_sales = total_sales + ? WHERE user_id = ?";
-            String insertTransSql = "INSERT INTO transactions (transaction_id, buyer_id, product_id, price, timestamp, status) VALUES (?, ?, ?, ?, ?, ?)";
-            String deleteCartSql = "DELETE FROM cart WHERE buyer_id = ? AND product_id = ?";
-
-            try (PreparedStatement updateProdStmt = con.prepareStatement(updateProdSql);
-                 PreparedStatement updateSellerStmt = con.prepareStatement(updateSellerSql);
-                 PreparedStatement insertTransStmt = con.prepareStatement(insertTransSql);
-                 PreparedStatement deleteCartStmt = con.prepareStatement(deleteCartSql)) {
-
-                updateProdStmt.setString(1, p.getProductId());
-                updateProdStmt.executeUpdate();
-
-                updateSellerStmt.setDouble(1, p.getPrice());
-                updateSellerStmt.setString(2, p.getSellerId());
-                updateSellerStmt.executeUpdate();
-
-                String tid = "t_" + UUID.randomUUID().toString().substring(0, 8);
-                insertTransStmt.setString(1, tid);
-                insertTransStmt.setString(2, currentUser.getUserId());
-                insertTransStmt.setString(3, p.getProductId());
-                insertTransStmt.setDouble(4, p.getPrice());
-                insertTransStmt.setTimestamp(5, new java.sql.Timestamp(System.currentTimeMillis()));
-                insertTransStmt.setString(6, TransactionStatus.COMPLETED.name());
-                insertTransStmt.executeUpdate();
-                
-                deleteCartStmt.setString(1, currentUser.getUserId());
-                deleteCartStmt.setString(2, p.getProductId());
-                deleteCartStmt.executeUpdate();
+            if (getCurrentUser() == null) return false;
+
+            Product p = findProductById(productId, false);
+            if (p == null) return false;
+
+            boolean inCart = false;
+            List<Product> cartItems = getCart(false);
+            for (Product cartItem : cartItems) {
+                if (cartItem.getProductId().equals(productId)) {
+                    inCart = true;
+                    break;
+                }
+            }
+            if (!inCart) {
+                return false;
             }
-            
-            con.commit();
-            return true;
 
-        } catch (SQLException e) {
-            e.printStackTrace();
-            if (con != null) {
-                try { con.rollback(); } catch (SQLException ex) { ex.printStackTrace(); }
+            List<String> seller = List.of(p.getSellerId());
+            userDirectory.beginWrite(seller);
+            try {
+                if (!store.transactions().recordPurchases(getCurrentUser().getUserId(), List.of(p), false)) {
+                    return false;
+                }
+                applySalesDelta(p.getSellerId(), p.getPrice());
+            } finally {
+                userDirectory.endWrite(seller);
             }
-            return false;
+            productChanged(productId);
+            return true;
         } finally {
-            if (con != null) {
-                try { con.setAutoCommit(true); } catch (SQLException ex) { ex.printStackTrace(); }
-            }
+            OP_PURCHASE_SINGLE_ITEM.end(opStart);
         }
     }
-    
+
     public static List<Transaction> getTransactionsForBuyer() {
-        List<Transaction> userTransactions = new ArrayList<>();
-        if (currentUser == null || currentUser.getRole() != Role.BUYER) {
-            return userTransactions;
-        }
-        
-        String sql = "SELECT * FROM transactions WHERE buyer_id = ? ORDER BY timestamp DESC";
-        
-        try (Connection con = DBConnector.getConnection();
-             PreparedStatement pstmt = con.prepareStatement(sql)) {
-            
-            pstmt.setString(1, currentUser.getUserId());
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    
-                    long timestamp = rs.getTimestamp("timestamp").getTime();
-                    
-                    userTransactions.add(new Transaction(
-                        rs.getString("transaction_id"),
-                        rs.getString("buyer_id"),
-                        rs.getString("product_id"),
-                        rs.getDouble("price"),
-                        timestamp,
-                        TransactionStatus.valueOf(rs.getString("status"))
-                    ));
-                }
+        long opStart = begin(OP_GET_TRANSACTIONS_FOR_BUYER);
+        try {
+            if (getCurrentUser() == null || getCurrentUser().getRole() != Role.BUYER) {
+                return new ArrayList<>();
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
+            return store.transactions().findByBuyer(getCurrentUser().getUserId());
+        } finally {
+            OP_GET_TRANSACTIONS_FOR_BUYER.end(opStart);
         }
-        return userTransactions;
     }
-    
+
     public static boolean hasBuyerPurchasedProduct(String userId, String productId) {
-        String sql = "SELECT 1 FROM transactions WHERE buyer_id = ? AND product_id = ? AND status = 'COMPLETED' LIMIT 1";
-        
-        try (Connection con = DBConnector.getConnection();
-             PreparedStatement pstmt = con.prepareStatement(sql)) {
-            
-            pstmt.setString(1, userId);
-            pstmt.setString(2, productId);
-            
-            try (ResultSet rs = pstmt.executeQuery()) {
-                return rs.next();
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
-            return false;
+        long opStart = begin(OP_HAS_BUYER_PURCHASED_PRODUCT);
+        try {
+            return store.transactions().hasCompletedPurchase(userId, productId);
+        } finally {
+            OP_HAS_BUYER_PURCHASED_PRODUCT.end(opStart);
         }
     }
 
-    // --- Recycler Logic (JDBC) ---
+    // --- Recycler Logic ---
 
     public static List<Product> getEligibleProductsForBidding() {
-        List<Product> eligible = new ArrayList<>();
-        String sql = "SELECT * FROM products WHERE status = 'PENDING_RECYCLING'";
-        
-        try (Connection con = DBConnector.getConnection();
-             PreparedStatement pstmt = con.prepareStatement(sql);
-             ResultSet rs = pstmt.executeQuery()) {
-            
-            while (rs.next()) {
-                eligible.add(inflateProduct(rs)); 
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
+        long opStart = begin(OP_GET_ELIGIBLE_PRODUCTS_FOR_BIDDING);
+        try {
+            return withBids(store.products().findByStatus(ProductStatus.PENDING_RECYCLING, false));
+        } finally {
+            OP_GET_ELIGIBLE_PRODUCTS_FOR_BIDDING.end(opStart);
         }
-        return eligible;
     }
-    
+
     public static boolean placeBid(String productId, double bidPrice) {
-        if (currentUser == null || currentUser.getRole() != Role.RECYCLER) return false;
-        
-        Product p = findProductById(productId); 
-        if (p == null || p.getStatus() != ProductStatus.PENDING_RECYCLING) return false;
-        
-        if (bidPrice >= p.getBaseCost()) {
-            String sql = "INSERT INTO recycling_bids (product_id, recycler_id, bid_price) VALUES (?, ?, ?)";
-            try (Connection con = DBConnector.getConnection();
-                 PreparedStatement pstmt = con.prepareStatement(sql)) {
-                
-                pstmt.setString(1, productId);
-                pstmt.setString(2, currentUser.getUserId());
-                pstmt.setDouble(3, bidPrice);
-                pstmt.executeUpdate();
+        long opStart = begin(OP_PLACE_BID);
+        try {
+            if (getCurrentUser() == null || getCurrentUser().getRole() != Role.RECYCLER) return false;
+
+            Product p = findProductById(productId, false);
+            if (p == null || p.getStatus() != ProductStatus.PENDING_RECYCLING) return false;
+
+            if (bidPrice >= p.getBaseCost() && bidBook.placeBid(productId, new RecyclingBid(getCurrentUser().getUserId(), bidPrice))) {
+                // The product row is unchanged, so the cached copy stays; only listeners hear about it.
+                for (ProductChangeListener listener : productChangeListeners) {
+                    listener.productsChanged(List.of(productId));
+                }
                 return true;
-                
-            } catch (SQLException e) {
-                e.printStackTrace();
-                return false;
             }
+            return false;
+        } finally {
+            OP_PLACE_BID.end(opStart);
         }
-        return false;
     }
-    
+
     public static List<Product> getAcquiredProducts() {
-        List<Product> acquired = new ArrayList<>();
-        if (currentUser == null) return acquired;
-
-        String sql = "SELECT * FROM products WHERE status = 'RECYCLING_PURCHASED'";
-        
-        try (Connection con = DBConnector.getConnection();
-             PreparedStatement pstmt = con.prepareStatement(sql);
-             ResultSet rs = pstmt.executeQuery()) {
-            
-            while (rs.next()) {
-                acquired.add(inflateProduct(rs));
+        long opStart = begin(OP_GET_ACQUIRED_PRODUCTS);
+        try {
+            if (getCurrentUser() == null) return new ArrayList<>();
+            // Bids are deleted when one is accepted, so there is nothing to hydrate here.
+            List<Product> acquired = new ArrayList<>();
+            for (Product p : store.products().findByStatus(ProductStatus.RECYCLING_PURCHASED, false)) {
+                if (isWinningRecycler(p, getCurrentUser())) {
+                    acquired.add(p);
+                }
             }
-        } catch (SQLException e) {
-            e.printStackTrace();
+            return acquired;
+        } finally {
+            OP_GET_ACQUIRED_PRODUCTS.end(opStart);
         }
-        return acquired;
     }
-    
+
     public static boolean submitRecyclingProof(String productId) {
-        if (currentUser == null) return false;
-        
-        Product p = findProductById(productId);
-        if (p == null || p.getStatus() != ProductStatus.RECYCLING_PURCHASED) {
-            return false;
-        }
-        
-        Connection con = null;
+        long opStart = begin(OP_SUBMIT_RECYCLING_PROOF);
         try {
-            con = DBConnector.getConnection();
-            con.setAutoCommit(false);
-            
-            String updateProdSql = "UPDATE products SET status = 'RECYCLED' WHERE product_id = ?";
-            try (PreparedStatement pstmt = con.prepareStatement(updateProdSql)) {
-                pstmt.setString(1, productId);
-                pstmt.executeUpdate();
+            if (getCurrentUser() == null) return false;
+
+            Product p = findProductById(productId, false);
+            if (p == null || p.getStatus() != ProductStatus.RECYCLING_PURCHASED || !isWinningRecycler(p, getCurrentUser())) {
+                return false;
             }
-            
+
             int totalCredits = p.getCarbonValue();
             double recyclerShare = totalCredits * 0.70;
             double sellerShare = totalCredits * 0.30;
-            
-            String updateRecyclerSql = "UPDATE users SET carbon_credits = carbon_credits + ? WHERE user_id = ?";
-            try (PreparedStatement pstmt = con.prepareStatement(updateRecyclerSql)) {
-                pstmt.setDouble(1, recyclerShare);
-                pstmt.setString(2, currentUser.getUserId());
-                pstmt.executeUpdate();
-            }
 
-            String updateSellerSql = "UPDATE users SET carbon_credits = carbon_credits + ? WHERE user_id = ?";
-            try (PreparedStatement pstmt = con.prepareStatement(updateSellerSql)) {
-                pstmt.setDouble(1, sellerShare);
-                pstmt.setString(2, p.getSellerId());
-                pstmt.executeUpdate();
+            List<String> credited = List.of(getCurrentUser().getUserId(), p.getSellerId());
+            userDirectory.beginWrite(credited);
+            try {
+                if (!store.products().completeRecycling(p, getCurrentUser().getUserId(), recyclerShare, sellerShare)) {
+                    return false;
+                }
+                applyCreditsDelta(getCurrentUser().getUserId(), recyclerShare);
+                applyCreditsDelta(p.getSellerId(), sellerShare);
+            } finally {
+                userDirectory.endWrite(credited);
             }
-            
-            con.commit();
-            
+            productChanged(productId);
+
             // --- FIX FOR PROBLEM 2 ---
-            // Refresh the static currentUser object with the new credit total
-            if (currentUser != null) {
-                currentUser = findUserById(currentUser.getUserId());
+            // Refresh the session user with the new credit total
+            // (served from the user directory, which already has the credits applied)
+            User refreshed = findUserById(getCurrentUser().getUserId());
+            if (requestUser.get() != null) {
+                requestUser.set(refreshed);
+            } else {
+                currentUser = refreshed;
             }
             // --- END OF FIX ---
-            
+
             return true;
-            
-        } catch (SQLException e) {
-            e.printStackTrace();
-            if (con != null) {
-                try { con.rollback(); } catch (SQLException ex) { ex.printStackTrace(); }
-            }
-            return false;
         } finally {
-            if (con != null) {
-                try { con.setAutoCommit(true); } catch (SQLException ex) { ex.printStackTrace(); }
-            }
+            OP_SUBMIT_RECYCLING_PROOF.end(opStart);
+        }
+    }
+
+    /**
+     * @return true if user's bid on p was the one accepted. The winner of a product accepted
+     *         before it was recorded (schema migration 5) is unknown, so any recycler may claim it.
+     */
+    public static boolean isWinningRecycler(Product p, User user) {
+        if (user == null || user.getRole() != Role.RECYCLER) {
+            return false;
         }
+        return p.getRecyclerId() == null || p.getRecyclerId().equals(user.getUserId());
     }
-    
-    // --- Shared Logic (JDBC) ---
+
+    // --- Shared Logic ---
 
     public static List<User> getSellerLeaderboard() {
-        List<User> sellers = new ArrayList<>();
-        String sql = "SELECT * FROM users WHERE role = 'SELLER' ORDER BY total_sales DESC LIMIT 10";
-        
-        try (Connection con = DBConnector.getConnection();
-             PreparedStatement pstmt = con.prepareStatement(sql);
-             ResultSet rs = pstmt.executeQuery()) {
-            
-            while (rs.next()) {
-                sellers.add(inflateUser(rs));
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
+        long opStart = begin(OP_GET_SELLER_LEADERBOARD);
+        try {
+            return sellerBoard.top(LEADERBOARD_SIZE);
+        } finally {
+            OP_GET_SELLER_LEADERBOARD.end(opStart);
         }
-        return sellers;
     }
-    
+
     public static List<User> getRecyclerLeaderboard() {
-        List<User> recyclers = new ArrayList<>();
-        String sql = "SELECT * FROM users WHERE role = 'RECYCLER' ORDER BY carbon_credits DESC LIMIT 10";
-        
-        try (Connection con = DBConnector.getConnection();
-             PreparedStatement pstmt = con.prepareStatement(sql);
-             ResultSet rs = pstmt.executeQuery()) {
-            
-            while (rs.next()) {
-                recyclers.add(inflateUser(rs));
-            }
-        } catch (SQLException e) {
-            e.printStackTrace();
+        long opStart = begin(OP_GET_RECYCLER_LEADERBOARD);
+        try {
+            return recyclerBoard.top(LEADERBOARD_SIZE);
+        } finally {
+            OP_GET_RECYCLER_LEADERBOARD.end(opStart);
+        }
+    }
+
+    /**
+     * @return The current user's rank on their role's leaderboard (1 = top), or -1 if
+     *         nobody is logged in or the role has no leaderboard (buyers).
+     */
+    public static int getCurrentUserRank() {
+        long opStart = begin(OP_GET_CURRENT_USER_RANK);
+        try {
+            User user = getCurrentUser();
+            if (user == null) return -1;
+            Leaderboard board = leaderboardFor(user.getRole());
+            return board == null ? -1 : board.rankOf(user.getUserId());
+        } finally {
+            OP_GET_CURRENT_USER_RANK.end(opStart);
         }
-        return recyclers;
+    }
+
+    /**
+     * @return How many users are ranked on the role's leaderboard (0 for buyers).
+     */
+    public static int getLeaderboardSize(Role role) {
+        long opStart = begin(OP_GET_LEADERBOARD_SIZE);
+        try {
+            Leaderboard board = leaderboardFor(role);
+            return board == null ? 0 : board.size();
+        } finally {
+            OP_GET_LEADERBOARD_SIZE.end(opStart);
+        }
+    }
+
+    private static Leaderboard leaderboardFor(Role role) {
+        return switch (role) {
+            case SELLER -> sellerBoard;
+            case RECYCLER -> recyclerBoard;
+            default -> null;
+        };
+    }
+
+    // Call only after the write has committed, between userDirectory.beginWrite() and endWrite().
+    private static void applySalesDelta(String sellerId, double delta) {
+        userDirectory.applySalesDelta(sellerId, delta);
+        sellerBoard.update(sellerId, u -> u.setTotalSales(u.getTotalSales() + delta));
+    }
+
+    private static void applyCreditsDelta(String userId, double delta) {
+        userDirectory.applyCreditsDelta(userId, delta);
+        recyclerBoard.update(userId, u -> u.setCarbonCredits(u.getCarbonCredits() + delta));
     }
 
     // --- DSA Feature: "Undo Delete" Stack ---
 
     public static boolean archiveProductForUndo(String productId) {
-        Product productToArchive = findProductById(productId);
-        
-        if (productToArchive == null || !productToArchive.getSellerId().equals(currentUser.getUserId())) {
-            return false;
-        }
-        
-        if (productToArchive.getStatus() != ProductStatus.AVAILABLE && productToArchive.getStatus() != ProductStatus.AVAILABLE_NO_RECYCLE) {
-            return false;
-        }
+        long opStart = begin(OP_ARCHIVE_PRODUCT_FOR_UNDO);
+        try {
+            Product productToArchive = findProductById(productId, false);
+
+            if (productToArchive == null || !productToArchive.getSellerId().equals(getCurrentUser().getUserId())) {
+                return false;
+            }
 
-        String sql = "DELETE FROM products WHERE product_id = ?";
-        try (Connection con = DBConnector.getConnection();
-             PreparedStatement pstmt = con.prepareStatement(sql)) {
-            
-            pstmt.setString(1, productId);
-            int rowsAffected = pstmt.executeUpdate();
+            if (productToArchive.getStatus() != ProductStatus.AVAILABLE && productToArchive.getStatus() != ProductStatus.AVAILABLE_NO_RECYCLE) {
+                return false;
+            }
 
-            if (rowsAffected > 0) {
+            if (store.products().delete(productId)) {
                 undoStack.push(productToArchive);
+                productChanged(productId);
                 return true;
             }
-            
-        } catch (SQLException e) {
-            e.printStackTrace();
+            return false;
+        } finally {
+            OP_ARCHIVE_PRODUCT_FOR_UNDO.end(opStart);
         }
-        return false;
     }
 
     public static Product restoreLastDeletedProduct() {
-        if (undoStack.isEmpty()) {
-            return null;
-        }
-        
-        Product productToRestore = undoStack.pop();
-        
-        String sql = "INSERT INTO products (product_id, name, type, category, price, description, seller_id, status, upload_timestamp) " +
-                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
-        
-        try (Connection con = DBConnector.getConnection();
-             PreparedStatement pstmt = con.prepareStatement(sql)) {
-            
-            pstmt.setString(1, productToRestore.getProductId());
-            pstmt.setString(2, productToRestore.getName());
-            pstmt.setString(3, productToRestore.getType());
-            pstmt.setString(4, productToRestore.getCategory());
-            pstmt.setDouble(5, productToRestore.getPrice());
-            pstmt.setString(6, productToRestore.getDescription());
-            pstmt.setString(7, productToRestore.getSellerId());
-            pstmt.setString(8, productToRestore.getStatus().name());
-            pstmt.setTimestamp(9, new java.sql.Timestamp(productToRestore.getUploadTimestamp()));
-            
-            pstmt.executeUpdate();
-            return productToRestore;
-            
-        } catch (SQLException e) {
-            e.printStackTrace();
+        long opStart = begin(OP_RESTORE_LAST_DELETED_PRODUCT);
+        try {
+            if (undoStack.isEmpty()) {
+                return null;
+            }
+
+            Product productToRestore = undoStack.pop();
+
+            if (store.products().insert(productToRestore)) {
+                productChanged(productToRestore.getProductId());
+                recyclingScheduler.schedule(productToRestore);
+                return productToRestore;
+            }
             undoStack.push(productToRestore);
             return null;
+        } finally {
+            OP_RESTORE_LAST_DELETED_PRODUCT.end(opStart);
         }
     }
 
@@ -966,99 +1129,128 @@ public class DataService {
         return !undoStack.isEmpty();
     }
 
-    // --- DSA Feature: "Global Review Feed" LinkedList ---
+    // --- DSA Feature: "Global Review Feed" ---
 
     public static boolean submitReview(String productId, String text) {
-        if (currentUser == null) return false;
-        
-        String reviewId = "r_" + UUID.randomUUID().toString().substring(0, 8);
-        long timestamp = System.currentTimeMillis();
-        
-        // --- FIX: Removed 'rating' from SQL ---
-        String sql = "INSERT INTO reviews (review_id, product_id, buyer_id, text, timestamp) VALUES (?, ?, ?, ?, ?)";
-        try (Connection con = DBConnector.getConnection();
-             PreparedStatement pstmt = con.prepareStatement(sql)) {
-            
-            pstmt.setString(1, reviewId);
-            pstmt.setString(2, productId);
-            pstmt.setString(3, currentUser.getUserId());
-            pstmt.setString(4, text);
-            
-            // --- FIX #4: Use setTimestamp (for reviews table) ---
-            pstmt.setTimestamp(5, new java.sql.Timestamp(timestamp)); 
-            
-            int rowsAffected = pstmt.executeUpdate();
-            if (rowsAffected > 0) {
-                // --- FIX: Use updated constructor (no rating) ---
-                Review newReview = new Review(reviewId, productId, currentUser.getUserId(), text);
-                newReview.setTimestamp(timestamp);
-                globalReviewFeed.addFirst(newReview); // O(1) insertion
+        long opStart = begin(OP_SUBMIT_REVIEW);
+        try {
+            if (getCurrentUser() == null) return false;
+
+            String reviewId = "r_" + UUID.randomUUID().toString().substring(0, 8);
+
+            Review newReview = new Review(reviewId, productId, getCurrentUser().getUserId(), text);
+            if (store.reviews().insert(newReview)) {
+                // Named as the feed query names it (products and users are never renamed)
+                Product product = findProductById(productId, false);
+                User seller = product == null ? null : findUserById(product.getSellerId());
+                reviewFeedHead.add(new ReviewDetail(reviewId, newReview.getTimestamp(),
+                        product != null ? product.getName() : "Unknown Product",
+                        getCurrentUser().getUsername(),
+                        seller != null ? seller.getUsername() : "Unknown Seller",
+                        text)); // O(1), drops the oldest review once the buffer is full
                 return true;
             }
-            
-        } catch (SQLException e) {
-            e.printStackTrace();
+            return false;
+        } finally {
+            OP_SUBMIT_REVIEW.end(opStart);
         }
-        return false;
     }
-    
-    public static LinkedList<Review> getGlobalReviewFeed() {
-        return globalReviewFeed;
+
+    /**
+     * One page of the review feed, newest first, with product/buyer/seller names filled in
+     * by a single JOIN query (no per-row lookups while the table renders).
+     * Pages towards older reviews are served from the in-memory head when they lie inside it.
+     * @param cursor The first/last review already on screen, or null for the first page.
+     * @param backwards true to page towards newer reviews.
+     * @throws IllegalArgumentException if pageSize is less than 1.
+     */
+    public static List<ReviewDetail> getReviewFeedPage(ReviewDetail cursor, boolean backwards, int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("pageSize must be at least 1, was " + pageSize);
+        }
+        long opStart = begin(OP_GET_REVIEW_FEED_PAGE);
+        try {
+            if (!backwards) {
+                List<ReviewDetail> page = reviewPageFromHead(cursor, pageSize);
+                if (page != null) {
+                    return page;
+                }
+            }
+            return store.reviews().findDetailsPage(cursor, backwards, pageSize);
+        } finally {
+            OP_GET_REVIEW_FEED_PAGE.end(opStart);
+        }
+    }
+
+    /**
+     * The page after cursor from the in-memory head, or null if the store must answer.
+     * Reviews evicted from a full head are all as old as its oldest review or older, so a
+     * page is only served if its last review is strictly newer than that one. A head that
+     * is not full holds every review (loaded at startup, then every new one), so it answers
+     * any page.
+     */
+    private static List<ReviewDetail> reviewPageFromHead(ReviewDetail cursor, int pageSize) {
+        List<ReviewDetail> head = reviewFeedHead.newest(reviewFeedHead.capacity());
+        head.sort(REVIEW_FEED_ORDER); // several reviews can share a millisecond
+        boolean complete = head.size() < reviewFeedHead.capacity();
+        int start = 0;
+        if (cursor != null) {
+            while (start < head.size() && REVIEW_FEED_ORDER.compare(head.get(start), cursor) <= 0) {
+                start++;
+            }
+        }
+        int end = start + pageSize;
+        if (complete) {
+            return new ArrayList<>(head.subList(Math.min(start, head.size()), Math.min(end, head.size())));
+        }
+        if (end <= head.size() && head.get(end - 1).getTimestamp() > head.get(head.size() - 1).getTimestamp()) {
+            return new ArrayList<>(head.subList(start, end));
+        }
+        return null;
     }
-    
+
     // --- NEW DSA Feature: "Undo Remove from Cart" Stack ---
-    
+
     public static boolean removeItemFromCart(String productId) {
-        if (currentUser == null) return false;
+        long opStart = begin(OP_REMOVE_ITEM_FROM_CART);
+        try {
+            if (getCurrentUser() == null) return false;
 
-        Product productToRemove = findProductById(productId);
-        if (productToRemove == null) {
-            return false;
-        }
+            Product productToRemove = findProductById(productId, false);
+            if (productToRemove == null) {
+                return false;
+            }
 
-        String sql = "DELETE FROM cart WHERE buyer_id = ? AND product_id = ?";
-        try (Connection con = DBConnector.getConnection();
-             PreparedStatement pstmt = con.prepareStatement(sql)) {
-            
-            pstmt.setString(1, currentUser.getUserId());
-            pstmt.setString(2, productId);
-            
-            int rowsAffected = pstmt.executeUpdate();
-            if (rowsAffected > 0) {
+            if (store.cart().remove(getCurrentUser().getUserId(), productId)) {
                 removedCartItems.push(productToRemove);
                 return true;
             }
-
-        } catch (SQLException e) {
-            e.printStackTrace();
+            return false;
+        } finally {
+            OP_REMOVE_ITEM_FROM_CART.end(opStart);
         }
-        return false;
     }
 
     public static Product restoreLastRemovedItem() {
-        if (removedCartItems.isEmpty()) {
-            return null;
-        }
-        
-        Product productToRestore = removedCartItems.pop();
-        
-        String sql = "INSERT INTO cart (buyer_id, product_id) VALUES (?, ?)";
-        try (Connection con = DBConnector.getConnection();
-             PreparedStatement pstmt = con.prepareStatement(sql)) {
-            
-            pstmt.setString(1, currentUser.getUserId());
-            pstmt.setString(2, productToRestore.getProductId());
-            pstmt.executeUpdate();
-            return productToRestore;
-            
-        } catch (SQLException e) {
-            e.printStackTrace();
+        long opStart = begin(OP_RESTORE_LAST_REMOVED_ITEM);
+        try {
+            if (removedCartItems.isEmpty()) {
+                return null;
+            }
+
+            Product productToRestore = removedCartItems.pop();
+
+            if (store.cart().add(getCurrentUser().getUserId(), productToRestore.getProductId())) {
+                return productToRestore;
+            }
             removedCartItems.push(productToRestore);
             return null;
+        } finally {
+            OP_RESTORE_LAST_REMOVED_ITEM.end(opStart);
         }
     }
-    
+
     public static boolean canUndoRemove() {
         return !removedCartItems.isEmpty();
     }
-}
\ No newline at end of file
+}
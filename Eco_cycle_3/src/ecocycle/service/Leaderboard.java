@@ -0,0 +1,125 @@
+// In file: src/ecocycle/service/Leaderboard.java
+package ecocycle.service;
+
+import ecocycle.model.Role;
+import ecocycle.model.User;
+import ecocycle.util.RankedSkipList;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * All users of one role, ranked by one score (total sales or carbon credits).
+ * - Kept in a RankedSkipList, so the top N, a change of score and "what is my rank"
+ *   are all O(log n) instead of an ORDER BY over the users table.
+ * - Scores are changed with update() right after the database write commits (the
+ *   same points where DataService updates the UserDirectory).
+ * - Callers always get copies.
+ *
+ * Like UserDirectory, this assumes DataService in this process is the only writer
+ * to the users table.
+ */
+public class Leaderboard {
+
+    private record Entry(double score, String userId) {}
+
+    // Highest score first; ties by user id so every entry has its own position.
+    private static final Comparator<Entry> ORDER = Comparator.comparingDouble(Entry::score).reversed()
+                                                            .thenComparing(Entry::userId);
+
+    private final Role role;
+    private final ToDoubleFunction<User> score;
+    private final RankedSkipList<Entry> ranking = new RankedSkipList<>(ORDER);
+    private final Map<String, User> users = new HashMap<>();
+
+    /**
+     * @param role Only users of this role are ranked; everyone else is ignored.
+     * @param score The value users are ranked by, e.g. User::getTotalSales.
+     */
+    public Leaderboard(Role role, ToDoubleFunction<User> score) {
+        this.role = role;
+        this.score = score;
+    }
+
+    /**
+     * Replaces the whole board with these users.
+     */
+    public synchronized void load(Collection<User> all) {
+        ranking.clear();
+        users.clear();
+        for (User user : all) {
+            add(user);
+        }
+    }
+
+    /**
+     * Adds a user (e.g. one who just registered). Users of other roles are ignored.
+     */
+    public synchronized void add(User user) {
+        if (user.getRole() != role || users.containsKey(user.getUserId())) {
+            return;
+        }
+        User copy = user.copy();
+        users.put(copy.getUserId(), copy);
+        ranking.add(new Entry(score.applyAsDouble(copy), copy.getUserId()));
+    }
+
+    /**
+     * Re-ranks a user after a committed change to their sales or credits.
+     * Users not on this board are ignored.
+     * @param apply Applies the change, e.g. u -> u.setTotalSales(u.getTotalSales() + delta).
+     */
+    public synchronized void update(String userId, Consumer<User> apply) {
+        User user = users.get(userId);
+        if (user == null) {
+            return;
+        }
+        ranking.remove(new Entry(score.applyAsDouble(user), userId));
+        apply.accept(user);
+        ranking.add(new Entry(score.applyAsDouble(user), userId));
+    }
+
+    /**
+     * @return The first limit users, highest score first.
+     */
+    public synchronized List<User> top(int limit) {
+        List<User> top = new ArrayList<>();
+        for (Entry entry : ranking.first(limit)) {
+            top.add(users.get(entry.userId()).copy());
+        }
+        return top;
+    }
+
+    /**
+     * @return The user's rank, 1 for the highest score (users with equal scores share
+     *         a rank), or -1 if the user is not on this board.
+     */
+    public synchronized int rankOf(String userId) {
+        User user = users.get(userId);
+        if (user == null) {
+            return -1;
+        }
+        // "" sorts before every real id, so this counts only strictly higher scores.
+        return ranking.countBefore(new Entry(score.applyAsDouble(user), "")) + 1;
+    }
+
+    public synchronized int size() {
+        return ranking.size();
+    }
+
+    public synchronized void clear() {
+        ranking.clear();
+        users.clear();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "Leaderboard[" + role + ", size=" + ranking.size() + "]";
+    }
+}
@@ -0,0 +1,15 @@
+// In file: src/ecocycle/service/ProductChangeListener.java
+package ecocycle.service;
+
+import java.util.Collection;
+
+/**
+ * Told by DataService after a write that changed products (status, bids, deletion,
+ * re-insertion). Used to invalidate caches and keep in-memory indexes in step.
+ * Called on the thread that made the change, after the write has been committed.
+ */
+@FunctionalInterface
+public interface ProductChangeListener {
+
+    void productsChanged(Collection<String> productIds);
+}
@@ -0,0 +1,512 @@
+// In file: src/ecocycle/service/ProductSearchIndex.java
+package ecocycle.service;
+
+import ecocycle.model.Product;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Keyword search over the products that are for sale, without touching the database.
+ * - An inverted index from each word of name, description, type and category to the
+ *   products containing it (and how often). Terms are kept sorted, so the last word of
+ *   a query also matches as a prefix ("lap" finds "laptop").
+ * - Every query word must match; results are ranked by BM25 and can be narrowed by
+ *   the same category / price filters as the browse screen.
+ * - As a ProductChangeListener it re-reads every product that is written to and
+ *   indexes it again only while it is for sale.
+ *
+ * Products are numbered internally and postings are plain int arrays, so a query over
+ * a word found in a quarter of a million listings is a few array scans. A removed
+ * product leaves dead entries behind; a posting list is compacted once half of it is
+ * dead, and the numbering itself once there are more dead numbers than live ones.
+ *
+ * Like UserDirectory, this assumes DataService in this process is the only writer
+ * to the products table.
+ */
+public class ProductSearchIndex implements ProductChangeListener {
+
+    // BM25 parameters (the usual defaults)
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    // A short prefix can match thousands of terms; only this many are scored.
+    private static final int MAX_PREFIX_TERMS = 64;
+    private static final int MIN_RENUMBER = 1024;
+    // Scratch arrays kept for reuse; a search beyond this many at once scores into new ones.
+    private static final int MAX_POOLED_SCRATCH = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The documents containing one term, in the order they were indexed.
+     */
+    private static final class Posting {
+        int[] docs = new int[4];
+        int[] freqs = new int[4];
+        int size;
+        int dead;
+
+        void add(int doc, int freq) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = freq;
+            size++;
+        }
+
+        int live() {
+            return size - dead;
+        }
+    }
+
+    /**
+     * Scoring arrays, indexed by document number and reused across queries. Searches run
+     * on a new virtual thread each, so they are borrowed from a shared pool, not kept per thread.
+     * stamp[d] == base + i (i >= 1) means document d matched the first i words of the
+     * current query; every query gets a base above all stamps of the previous ones.
+     * matched[i & 1] lists the documents that matched word i (the two lists take turns).
+     */
+    private static final class Scratch {
+        int[] stamp = new int[0];
+        double[] total = new double[0];
+        double[] best = new double[0];
+        int[][] matched = {new int[16], new int[16]};
+        int base;
+
+        void ensure(int docCount) {
+            if (stamp.length < docCount) {
+                int length = Math.max(docCount, stamp.length * 3 / 2);
+                stamp = new int[length];
+                total = new double[length];
+                best = new double[length];
+                base = 0;
+            }
+        }
+
+        int nextBase(int words) {
+            if (base > Integer.MAX_VALUE - words - 2) {
+                Arrays.fill(stamp, 0);
+                base = 0;
+            }
+            int current = base;
+            base += words + 1;
+            return current;
+        }
+    }
+
+    private final Function<String, Product> findProduct;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Queue<Scratch> scratchPool = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooledScratch = new AtomicInteger();
+
+    // Guarded by lock. A document number whose productId is null has been removed.
+    private final Map<String, Integer> docOf = new HashMap<>();
+    private final NavigableMap<String, Posting> postings = new TreeMap<>();
+    private String[] productIds = new String[16];
+    private String[] categories = new String[16];
+    private double[] prices = new double[16];
+    private int[] lengths = new int[16];
+    private String[][] docTerms = new String[16][];
+    private int[][] docFreqs = new int[16][];
+    private int docCount; // numbers handed out so far
+    private long totalLength;
+
+    // --- Counters ---
+    private final AtomicLong searches = new AtomicLong();
+    private final AtomicLong totalSearchNanos = new AtomicLong();
+    private final AtomicLong renumbers = new AtomicLong();
+
+    /**
+     * @param findProduct Re-reads one product after it changed; null if it is gone.
+     */
+    public ProductSearchIndex(Function<String, Product> findProduct) {
+        this.findProduct = findProduct;
+    }
+
+    /**
+     * Replaces the whole index with these products (those not for sale are skipped).
+     */
+    public void load(Collection<Product> products) {
+        lock.writeLock().lock();
+        try {
+            docOf.clear();
+            postings.clear();
+            productIds = new String[Math.max(16, products.size())];
+            categories = new String[productIds.length];
+            prices = new double[productIds.length];
+            lengths = new int[productIds.length];
+            docTerms = new String[productIds.length][];
+            docFreqs = new int[productIds.length][];
+            docCount = 0;
+            totalLength = 0;
+            for (Product product : products) {
+                if (product.getStatus() != null && product.getStatus().isForSale()) {
+                    index(product);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexes a product, replacing any older version. Products not for sale are only removed.
+     */
+    public void put(Product product) {
+        lock.writeLock().lock();
+        try {
+            unindex(product.getProductId());
+            if (product.getStatus() != null && product.getStatus().isForSale()) {
+                index(product);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void productsChanged(Collection<String> productIds) {
+        for (String productId : productIds) {
+            Product product = findProduct.apply(productId);
+            if (product != null) {
+                put(product);
+            } else {
+                lock.writeLock().lock();
+                try {
+                    unindex(productId);
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * @param category null for every category.
+     * @param maxPrice 0 or Double.MAX_VALUE for no upper bound (as in the browse filters).
+     * @return The ids of the best matching products, best first; empty for a query without words.
+     */
+    public List<String> search(String query, String category, double minPrice, double maxPrice, int limit) {
+        long start = System.nanoTime();
+        List<String> words = tokenize(query);
+        List<String> ids = new ArrayList<>();
+        if (words.isEmpty() || limit < 1) {
+            return ids;
+        }
+        boolean hasMax = maxPrice > 0 && maxPrice != Double.MAX_VALUE;
+
+        Scratch s = null;
+        lock.readLock().lock();
+        try {
+            int live = docOf.size();
+            if (live == 0 || termsFor(words.get(0), words.size() == 1).isEmpty()) {
+                return ids; // nothing can match: no need for the scratch arrays
+            }
+            double averageLength = (double) totalLength / live;
+            s = borrowScratch();
+            s.ensure(docCount);
+            int base = s.nextBase(words.size());
+
+            int[] candidates = null;
+            int candidateCount = 0;
+            for (int i = 0; i < words.size(); i++) {
+                boolean prefix = i == words.size() - 1; // the user may still be typing the last word
+                // Documents that matched words 0..i-1 carry stamp base + i; those that also match word i get base + i + 1.
+                // (For the first word every document qualifies.)
+                int[] matched = s.matched[i & 1];
+                int matchedCount = 0;
+                int expanded = 0;
+                for (Posting posting : termsFor(words.get(i), prefix)) {
+                    if (expanded++ >= MAX_PREFIX_TERMS) {
+                        break;
+                    }
+                    double idf = Math.log(1 + (live - posting.live() + 0.5) / (posting.live() + 0.5));
+                    for (int p = 0; p < posting.size; p++) {
+                        int d = posting.docs[p];
+                        if (productIds[d] == null) {
+                            continue; // removed, not compacted yet
+                        }
+                        int stamp = s.stamp[d];
+                        if (i > 0 && stamp != base + i && stamp != base + i + 1) {
+                            continue; // missed an earlier word
+                        }
+                        double freq = posting.freqs[p];
+                        double score = idf * freq * (K1 + 1) / (freq + K1 * (1 - B + B * lengths[d] / averageLength));
+                        if (stamp == base + i + 1) {
+                            // Matched another expansion of the same prefix: keep the best one.
+                            s.best[d] = Math.max(s.best[d], score);
+                        } else {
+                            s.stamp[d] = base + i + 1;
+                            s.best[d] = score;
+                            if (matchedCount == matched.length) {
+                                matched = Arrays.copyOf(matched, matchedCount * 2);
+                                s.matched[i & 1] = matched;
+                            }
+                            matched[matchedCount++] = d;
+                        }
+                    }
+                }
+                for (int m = 0; m < matchedCount; m++) {
+                    int d = matched[m];
+                    s.total[d] = i == 0 ? s.best[d] : s.total[d] + s.best[d];
+                }
+                candidates = matched;
+                candidateCount = matchedCount;
+                if (candidateCount == 0) {
+                    return ids;
+                }
+            }
+
+            // Min-heap of the best limit hits; ties by product id so the order is stable.
+            double[] total = s.total;
+            PriorityQueue<Integer> best = new PriorityQueue<>(
+                (a, b) -> total[a] != total[b] ? Double.compare(total[a], total[b])
+                                               : productIds[b].compareTo(productIds[a]));
+            for (int c = 0; c < candidateCount; c++) {
+                int d = candidates[c];
+                if ((category != null && !category.equals(categories[d]))
+                        || prices[d] < minPrice || (hasMax && prices[d] > maxPrice)) {
+                    continue;
+                }
+                if (best.size() == limit) {
+                    int worst = best.peek();
+                    if (total[d] < total[worst] || (total[d] == total[worst] && productIds[d].compareTo(productIds[worst]) > 0)) {
+                        continue; // cannot make the top limit (most candidates stop here)
+                    }
+                    best.poll();
+                }
+                best.add(d);
+            }
+            while (!best.isEmpty()) {
+                ids.add(productIds[best.poll()]);
+            }
+        } finally {
+            lock.readLock().unlock();
+            if (s != null) {
+                returnScratch(s);
+            }
+            searches.incrementAndGet();
+            totalSearchNanos.addAndGet(System.nanoTime() - start);
+        }
+        Collections.reverse(ids);
+        return ids;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docOf.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getTermCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getSearchCount() {
+        return searches.get();
+    }
+
+    public double getAverageSearchMillis() {
+        long count = searches.get();
+        return count == 0 ? 0 : totalSearchNanos.get() / 1e6 / count;
+    }
+
+    public long getRenumberCount() {
+        return renumbers.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ProductSearchIndex[products=%d, terms=%d, searches=%d, avgSearch=%.3fms]",
+                             size(), getTermCount(), getSearchCount(), getAverageSearchMillis());
+    }
+
+    /**
+     * Lower-cased runs of letters and digits.
+     */
+    static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                words.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    // --- Internals (write lock held) ---
+
+    private void index(Product product) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        int length = 0;
+        for (String field : new String[] { product.getName(), product.getDescription(), product.getType(), product.getCategory() }) {
+            for (String word : tokenize(field)) {
+                counts.merge(word, 1, Integer::sum);
+                length++;
+            }
+        }
+        String[] terms = new String[counts.size()];
+        int[] freqs = new int[counts.size()];
+        int t = 0;
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            terms[t] = entry.getKey();
+            freqs[t] = entry.getValue();
+            t++;
+        }
+        add(product.getProductId(), product.getCategory(), product.getPrice(), length, terms, freqs);
+    }
+
+    private void add(String productId, String category, double price, int length, String[] terms, int[] freqs) {
+        if (docCount == productIds.length) {
+            int grown = docCount * 2;
+            productIds = Arrays.copyOf(productIds, grown);
+            categories = Arrays.copyOf(categories, grown);
+            prices = Arrays.copyOf(prices, grown);
+            lengths = Arrays.copyOf(lengths, grown);
+            docTerms = Arrays.copyOf(docTerms, grown);
+            docFreqs = Arrays.copyOf(docFreqs, grown);
+        }
+        int d = docCount++;
+        productIds[d] = productId;
+        categories[d] = category;
+        prices[d] = price;
+        lengths[d] = length;
+        docTerms[d] = terms;
+        docFreqs[d] = freqs;
+        docOf.put(productId, d);
+        totalLength += length;
+        for (int t = 0; t < terms.length; t++) {
+            postings.computeIfAbsent(terms[t], k -> new Posting()).add(d, freqs[t]);
+        }
+    }
+
+    private void unindex(String productId) {
+        Integer removed = docOf.remove(productId);
+        if (removed == null) {
+            return;
+        }
+        int d = removed;
+        totalLength -= lengths[d];
+        productIds[d] = null;
+        for (String term : docTerms[d]) {
+            Posting posting = postings.get(term);
+            posting.dead++;
+            if (posting.live() == 0) {
+                postings.remove(term);
+            } else if (posting.dead * 2 > posting.size) {
+                compact(posting);
+            }
+        }
+        categories[d] = null;
+        docTerms[d] = null;
+        docFreqs[d] = null;
+        if (docCount - docOf.size() > Math.max(MIN_RENUMBER, docOf.size())) {
+            renumber();
+        }
+    }
+
+    private void compact(Posting posting) {
+        int kept = 0;
+        for (int p = 0; p < posting.size; p++) {
+            if (productIds[posting.docs[p]] != null) {
+                posting.docs[kept] = posting.docs[p];
+                posting.freqs[kept] = posting.freqs[p];
+                kept++;
+            }
+        }
+        posting.size = kept;
+        posting.dead = 0;
+    }
+
+    // Every product is written once per status change, so removed numbers pile up; hand out fresh dense ones.
+    private void renumber() {
+        String[] oldIds = productIds;
+        String[] oldCategories = categories;
+        double[] oldPrices = prices;
+        int[] oldLengths = lengths;
+        String[][] oldTerms = docTerms;
+        int[][] oldFreqs = docFreqs;
+        int oldCount = docCount;
+
+        int capacity = Math.max(16, docOf.size() * 2);
+        productIds = new String[capacity];
+        categories = new String[capacity];
+        prices = new double[capacity];
+        lengths = new int[capacity];
+        docTerms = new String[capacity][];
+        docFreqs = new int[capacity][];
+        docCount = 0;
+        totalLength = 0;
+        docOf.clear();
+        postings.clear();
+        for (int d = 0; d < oldCount; d++) {
+            if (oldIds[d] != null) {
+                add(oldIds[d], oldCategories[d], oldPrices[d], oldLengths[d], oldTerms[d], oldFreqs[d]);
+            }
+        }
+        renumbers.incrementAndGet();
+    }
+
+    // --- Internals (read lock held) ---
+
+    /**
+     * The posting list of the word, or with prefix those of every term starting with it (exact match first).
+     */
+    private Scratch borrowScratch() {
+        Scratch s = scratchPool.poll();
+        if (s == null) {
+            return new Scratch();
+        }
+        pooledScratch.decrementAndGet();
+        return s;
+    }
+
+    private void returnScratch(Scratch s) {
+        if (pooledScratch.incrementAndGet() <= MAX_POOLED_SCRATCH) {
+            scratchPool.offer(s);
+        } else {
+            pooledScratch.decrementAndGet(); // enough kept already; let it go
+        }
+    }
+
+    private Collection<Posting> termsFor(String word, boolean prefix) {
+        if (prefix) {
+            return postings.subMap(word, true, word + Character.MAX_VALUE, false).values();
+        }
+        Posting exact = postings.get(word);
+        return exact == null ? List.of() : List.of(exact);
+    }
+}
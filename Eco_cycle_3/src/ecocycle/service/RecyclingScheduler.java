@@ -0,0 +1,197 @@
+// In file: src/ecocycle/service/RecyclingScheduler.java
+package ecocycle.service;
+
+import ecocycle.model.Product;
+import ecocycle.model.ProductStatus;
+
+import java.time.Clock;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * Decides when AVAILABLE products become eligible for recycling, so the approval
+ * screen never has to evaluate the thresholds itself.
+ * - Every AVAILABLE product is queued (DelayQueue) until uploadTimestamp + its
+ *   category's threshold has passed, then moved to its seller's eligible set.
+ * - A daemon thread takes products off the queue as they become due; runDue() does
+ *   the same synchronously (tests, or right before reading).
+ * - As a ProductChangeListener it forgets any product that is written to (sold,
+ *   approved, denied, deleted); callers schedule products again that come back AVAILABLE.
+ *
+ * Time comes from the injected Clock, so a fixed or offset clock makes the
+ * thresholds testable without waiting.
+ */
+public class RecyclingScheduler implements ProductChangeListener {
+
+    private final class Due implements Delayed {
+        final String productId;
+        final String sellerId;
+        final long eligibleAtMillis;
+
+        Due(String productId, String sellerId, long eligibleAtMillis) {
+            this.productId = productId;
+            this.sellerId = sellerId;
+            this.eligibleAtMillis = eligibleAtMillis;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(eligibleAtMillis - clock.millis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(eligibleAtMillis, ((Due) other).eligibleAtMillis);
+        }
+    }
+
+    private final Clock clock;
+    private final ToLongFunction<String> thresholdMsForCategory;
+    private final DelayQueue<Due> queue = new DelayQueue<>();
+
+    // Guarded by this. A queued entry only counts while it is still the one in "scheduled".
+    private final Map<String, Due> scheduled = new HashMap<>();
+    private final Map<String, Set<String>> eligibleBySeller = new HashMap<>();
+    private final Map<String, String> sellerOfEligible = new HashMap<>();
+
+    private Thread worker;
+
+    /**
+     * @param thresholdMsForCategory How long a product of a category must be listed before it is eligible.
+     */
+    public RecyclingScheduler(Clock clock, ToLongFunction<String> thresholdMsForCategory) {
+        this.clock = clock;
+        this.thresholdMsForCategory = thresholdMsForCategory;
+    }
+
+    /**
+     * Starts the background thread that moves products to the eligible sets as they fall due.
+     */
+    public synchronized void start() {
+        if (worker != null) {
+            return;
+        }
+        worker = new Thread(() -> {
+            try {
+                while (true) {
+                    becomeEligible(queue.take());
+                }
+            } catch (InterruptedException e) {
+                // stop() was called
+            }
+        }, "recycling-scheduler");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    public synchronized void stop() {
+        if (worker != null) {
+            worker.interrupt();
+            worker = null;
+        }
+    }
+
+    /**
+     * Queues an AVAILABLE product (anything else is ignored). Products already past
+     * their threshold become eligible on the next runDue() or worker wake-up.
+     */
+    public void schedule(Product product) {
+        if (product.getStatus() != ProductStatus.AVAILABLE) {
+            return;
+        }
+        // Eligible once MORE than the threshold has passed, hence the + 1.
+        long eligibleAt = product.getUploadTimestamp() + thresholdMsForCategory.applyAsLong(product.getCategory()) + 1;
+        Due due = new Due(product.getProductId(), product.getSellerId(), eligibleAt);
+        synchronized (this) {
+            forget(product.getProductId());
+            scheduled.put(product.getProductId(), due);
+        }
+        queue.add(due);
+    }
+
+    public void scheduleAll(Collection<Product> products) {
+        for (Product product : products) {
+            schedule(product);
+        }
+    }
+
+    /**
+     * Moves every product that is due by now to the eligible sets.
+     * @return How many became eligible.
+     */
+    public int runDue() {
+        int count = 0;
+        Due due;
+        while ((due = queue.poll()) != null) {
+            if (becomeEligible(due)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return The ids of the seller's products that are eligible for recycling (a copy).
+     */
+    public synchronized Set<String> eligibleFor(String sellerId) {
+        Set<String> ids = eligibleBySeller.get(sellerId);
+        return ids == null ? new HashSet<>() : new HashSet<>(ids);
+    }
+
+    public synchronized int getScheduledCount() {
+        return scheduled.size();
+    }
+
+    public synchronized int getEligibleCount() {
+        return sellerOfEligible.size();
+    }
+
+    public synchronized void clear() {
+        queue.clear();
+        scheduled.clear();
+        eligibleBySeller.clear();
+        sellerOfEligible.clear();
+    }
+
+    @Override
+    public synchronized void productsChanged(Collection<String> productIds) {
+        for (String productId : productIds) {
+            forget(productId);
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "RecyclingScheduler[scheduled=" + scheduled.size() + ", eligible=" + sellerOfEligible.size() + "]";
+    }
+
+    private synchronized boolean becomeEligible(Due due) {
+        // Rescheduled or forgotten since it was queued: the entry is stale.
+        if (!scheduled.remove(due.productId, due)) {
+            return false;
+        }
+        eligibleBySeller.computeIfAbsent(due.sellerId, k -> new HashSet<>()).add(due.productId);
+        sellerOfEligible.put(due.productId, due.sellerId);
+        return true;
+    }
+
+    // The product's queue entry stays in the DelayQueue (removing it is O(n)) and is skipped when it comes due.
+    private void forget(String productId) {
+        scheduled.remove(productId);
+        String sellerId = sellerOfEligible.remove(productId);
+        if (sellerId != null) {
+            Set<String> ids = eligibleBySeller.get(sellerId);
+            ids.remove(productId);
+            if (ids.isEmpty()) {
+                eligibleBySeller.remove(sellerId);
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+// In file: src/ecocycle/service/UserDirectory.java
+package ecocycle.service;
+
+import ecocycle.model.User;
+import ecocycle.repository.UserRepository;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * In-memory directory of users, indexed by user_id and by username.
+ * - Users are loaded from the repository the first time they are looked up.
+ * - Sales and carbon credit changes are applied here in place (applySalesDelta,
+ *   applyCreditsDelta) right after the database write commits, so the row never
+ *   has to be read again. The write is bracketed by beginWrite() / endWrite(): a user
+ *   loaded while one of their writes is in flight is not kept, since the row it read
+ *   may or may not have the change in it yet.
+ * - Callers always get copies.
+ *
+ * This assumes DataService in this process is the only writer to the users table.
+ */
+public class UserDirectory {
+
+    private final Supplier<UserRepository> users;
+    private final Map<String, User> byId = new ConcurrentHashMap<>();
+    private final Map<String, String> idByUsername = new ConcurrentHashMap<>();
+
+    // Bumped by every change; a load that overlapped a change is not stored.
+    private final AtomicLong version = new AtomicLong();
+    // user_id -> number of writes to that user between beginWrite() and endWrite().
+    private final Map<String, Integer> writing = new ConcurrentHashMap<>();
+
+    // --- Counters ---
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * @param users Where to load users from (a supplier, so a backend switch is picked up).
+     */
+    public UserDirectory(Supplier<UserRepository> users) {
+        this.users = users;
+    }
+
+    public User findById(String userId) {
+        if (userId == null) return null;
+        User cached = byId.get(userId);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached.copy();
+        }
+        misses.incrementAndGet();
+        long seen = version.get();
+        User loaded = users.get().findById(userId);
+        remember(loaded, seen);
+        return loaded;
+    }
+
+    public User findByUsername(String username) {
+        if (username == null) return null;
+        String userId = idByUsername.get(username);
+        if (userId != null) {
+            User cached = byId.get(userId);
+            if (cached != null) {
+                hits.incrementAndGet();
+                return cached.copy();
+            }
+        }
+        // Unknown names always go to the database: someone may have registered them since.
+        misses.incrementAndGet();
+        long seen = version.get();
+        User loaded = users.get().findByUsername(username);
+        remember(loaded, seen);
+        return loaded;
+    }
+
+    /**
+     * Adds a user that was just inserted.
+     */
+    public void add(User user) {
+        version.incrementAndGet();
+        byId.put(user.getUserId(), user.copy());
+        idByUsername.put(user.getUsername(), user.getUserId());
+    }
+
+    /**
+     * Call before writing a change to these users' sales or credits to the database, and
+     * endWrite() with the same ids once the deltas are applied (or the write failed).
+     */
+    public void beginWrite(Collection<String> userIds) {
+        for (String userId : userIds) {
+            writing.merge(userId, 1, Integer::sum);
+        }
+        // Loads already running may read the row after the write: they must not be stored either
+        version.incrementAndGet();
+    }
+
+    public void endWrite(Collection<String> userIds) {
+        // Bumped first, so a load that started inside the write is not stored once the mark is gone
+        version.incrementAndGet();
+        for (String userId : userIds) {
+            writing.computeIfPresent(userId, (id, count) -> count > 1 ? count - 1 : null);
+        }
+    }
+
+    /**
+     * Adds to a user's total_sales after the same change was committed to the database
+     * (between beginWrite() and endWrite()).
+     * A user that is not loaded yet is skipped; it will be read fresh when needed.
+     */
+    public void applySalesDelta(String userId, double delta) {
+        byId.computeIfPresent(userId, (id, user) -> {
+            User updated = user.copy();
+            updated.setTotalSales(user.getTotalSales() + delta);
+            return updated;
+        });
+    }
+
+    /**
+     * Adds to a user's carbon_credits after the same change was committed to the database
+     * (between beginWrite() and endWrite()).
+     */
+    public void applyCreditsDelta(String userId, double delta) {
+        byId.computeIfPresent(userId, (id, user) -> {
+            User updated = user.copy();
+            updated.setCarbonCredits(user.getCarbonCredits() + delta);
+            return updated;
+        });
+    }
+
+    public void clear() {
+        version.incrementAndGet();
+        byId.clear();
+        idByUsername.clear();
+    }
+
+    public int size() { return byId.size(); }
+    public long getHitCount() { return hits.get(); }
+    public long getMissCount() { return misses.get(); }
+
+    @Override
+    public String toString() {
+        return "UserDirectory[size=" + size() + ", hits=" + getHitCount() + ", misses=" + getMissCount() + "]";
+    }
+
+    private void remember(User loaded, long seenVersion) {
+        if (loaded == null) {
+            return;
+        }
+        // Checked inside compute(), which a delta on the same user cannot interleave with.
+        User stored = byId.compute(loaded.getUserId(), (id, existing) ->
+                existing != null ? existing
+                        : (version.get() == seenVersion && !writing.containsKey(id) ? loaded.copy() : null));
+        if (stored != null) {
+            idByUsername.putIfAbsent(loaded.getUsername(), loaded.getUserId());
+        }
+    }
+}
@@ -0,0 +1,534 @@
+// In file: src/ecocycle/util/ConnectionPool.java
+package ecocycle.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A small bounded JDBC connection pool.
+ * - Keeps between minIdle and maxSize physical connections open.
+ * - Validates an idle connection before handing it out.
+ * - Evicts connections that sat idle for too long (never below minIdle).
+ * - Waits at most borrowTimeoutMs for a free connection, then fails.
+ * - Reports connections that are held longer than leakThresholdMs.
+ * - Caches up to statementCacheSize prepared statements per connection (see StatementCache).
+ * - Times every prepared statement's executions and counts borrows per operation (see Metrics).
+ *
+ * Callers get a proxy whose close() returns the connection to the pool,
+ * so the usual try-with-resources code does not change.
+ */
+public final class ConnectionPool {
+
+    // Skip the isValid() ping if the connection was used this recently.
+    private static final long VALIDATION_BYPASS_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+    private static final long HOUSEKEEPING_PERIOD_MS = 30_000;
+
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int minIdle;
+    private final int maxSize;
+    private final long borrowTimeoutMs;
+    private final long idleTimeoutMs;
+    private final long leakThresholdMs;
+    private final int statementCacheSize;
+
+    // SQL prepared on every new connection before it is first handed out.
+    private final List<String> warmUpStatements = new CopyOnWriteArrayList<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final ArrayDeque<PooledConnection> idle = new ArrayDeque<>(); // guarded by lock
+    private int totalConnections = 0; // guarded by lock
+    private int waiters = 0; // guarded by lock
+    private boolean shutdown = false; // guarded by lock
+
+    private final Set<Lease> leased = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService housekeeper;
+
+    // --- Counters ---
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong destroyedCount = new AtomicLong();
+    private final AtomicLong leakCount = new AtomicLong();
+    private final AtomicLong statementCount = new AtomicLong();
+    private final AtomicLong statementCacheHits = new AtomicLong();
+    private final AtomicLong statementCacheMisses = new AtomicLong();
+    private final AtomicLong statementCacheEvictions = new AtomicLong();
+
+    public ConnectionPool(String url, String user, String password, int minIdle, int maxSize,
+                          long borrowTimeoutMs, long idleTimeoutMs, long leakThresholdMs, int statementCacheSize) {
+        if (maxSize < 1 || minIdle < 0 || minIdle > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minIdle + ", max=" + maxSize);
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.minIdle = minIdle;
+        this.maxSize = maxSize;
+        this.borrowTimeoutMs = borrowTimeoutMs;
+        this.idleTimeoutMs = idleTimeoutMs;
+        this.leakThresholdMs = leakThresholdMs;
+        this.statementCacheSize = Math.max(0, statementCacheSize);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "ecocycle-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        this.housekeeper.scheduleWithFixedDelay(this::housekeep,
+                HOUSEKEEPING_PERIOD_MS, HOUSEKEEPING_PERIOD_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows a connection. Closing the returned connection gives it back to the pool.
+     * @throws SQLTimeoutException if no connection frees up within the borrow timeout.
+     */
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(borrowTimeoutMs);
+
+        while (true) {
+            PooledConnection candidate;
+            boolean mustCreate = false;
+
+            lock.lock();
+            try {
+                while (idle.isEmpty() && totalConnections >= maxSize && !shutdown) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        timeoutCount.incrementAndGet();
+                        Metrics.connectionFailed();
+                        throw new SQLTimeoutException("Timed out after " + borrowTimeoutMs
+                                + " ms waiting for a database connection (" + describe() + ")");
+                    }
+                    waiters++;
+                    try {
+                        available.awaitNanos(remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new SQLException("Interrupted while waiting for a database connection", e);
+                    } finally {
+                        waiters--;
+                    }
+                }
+                if (shutdown) {
+                    throw new SQLException("Connection pool has been shut down");
+                }
+                candidate = idle.pollFirst();
+                if (candidate == null) {
+                    totalConnections++; // reserve the slot before opening outside the lock
+                    mustCreate = true;
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (mustCreate) {
+                try {
+                    candidate = openPooledConnection();
+                } catch (SQLException e) {
+                    releaseSlot();
+                    throw e;
+                }
+            } else if (!candidate.isUsable()) {
+                destroy(candidate);
+                continue;
+            }
+
+            long waited = System.nanoTime() - start;
+            borrowCount.incrementAndGet();
+            totalWaitNanos.addAndGet(waited);
+            maxWaitNanos.accumulateAndGet(waited, Math::max);
+            Metrics.connectionBorrowed();
+            return lease(candidate);
+        }
+    }
+
+    /**
+     * Opens connections until minIdle idle connections are available.
+     */
+    public void fillToMinimum() {
+        while (true) {
+            lock.lock();
+            try {
+                if (shutdown || idle.size() >= minIdle || totalConnections >= maxSize) {
+                    return;
+                }
+                totalConnections++;
+            } finally {
+                lock.unlock();
+            }
+            try {
+                PooledConnection pc = openPooledConnection();
+                lock.lock();
+                try {
+                    idle.addLast(pc);
+                    available.signal();
+                } finally {
+                    lock.unlock();
+                }
+            } catch (SQLException e) {
+                releaseSlot();
+                System.err.println("Connection pool: could not open a warm-up connection: " + e.getMessage());
+                return;
+            }
+        }
+    }
+
+    /**
+     * Registers SQL to prepare on every connection the pool opens from now on,
+     * so the first real call already finds it in the statement cache.
+     * Has no effect when the statement cache is disabled.
+     */
+    public void addWarmUpStatements(Collection<String> sqls) {
+        for (String sql : sqls) {
+            if (!warmUpStatements.contains(sql)) {
+                warmUpStatements.add(sql);
+            }
+        }
+    }
+
+    /**
+     * Closes every idle connection and stops the housekeeping thread.
+     * Borrowed connections are closed as they are returned.
+     */
+    public void shutdown() {
+        List<PooledConnection> toClose;
+        lock.lock();
+        try {
+            shutdown = true;
+            toClose = new ArrayList<>(idle);
+            idle.clear();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        housekeeper.shutdownNow();
+        for (PooledConnection pc : toClose) {
+            destroy(pc);
+        }
+    }
+
+    // --- Counters ---
+
+    public int getActiveCount() { return leased.size(); }
+
+    public int getIdleCount() {
+        lock.lock();
+        try { return idle.size(); } finally { lock.unlock(); }
+    }
+
+    public int getTotalCount() {
+        lock.lock();
+        try { return totalConnections; } finally { lock.unlock(); }
+    }
+
+    public int getWaiterCount() {
+        lock.lock();
+        try { return waiters; } finally { lock.unlock(); }
+    }
+
+    public long getBorrowCount() { return borrowCount.get(); }
+    public long getTotalWaitMillis() { return TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.get()); }
+    public long getMaxWaitMillis() { return TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()); }
+    public long getTimeoutCount() { return timeoutCount.get(); }
+    public long getCreatedCount() { return createdCount.get(); }
+    public long getDestroyedCount() { return destroyedCount.get(); }
+    public long getLeakCount() { return leakCount.get(); }
+
+    /**
+     * @return How many statements callers have asked for on pooled connections (a proxy for round trips).
+     */
+    public long getStatementCount() { return statementCount.get(); }
+
+    // --- Statement cache counters (use these to size ecocycle.pool.statementCacheSize) ---
+
+    public int getStatementCacheSize() { return statementCacheSize; }
+    public long getStatementCacheHits() { return statementCacheHits.get(); }
+    public long getStatementCacheMisses() { return statementCacheMisses.get(); }
+    public long getStatementCacheEvictions() { return statementCacheEvictions.get(); }
+
+    public double getStatementCacheHitRatio() {
+        long hits = statementCacheHits.get();
+        long lookups = hits + statementCacheMisses.get();
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    public double getAverageWaitMillis() {
+        long borrows = borrowCount.get();
+        return borrows == 0 ? 0.0 : (totalWaitNanos.get() / 1_000_000.0) / borrows;
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectionPool[" + describe() + ", borrows=" + getBorrowCount()
+                + String.format(", avgWait=%.3fms", getAverageWaitMillis())
+                + ", maxWait=" + getMaxWaitMillis() + "ms, timeouts=" + getTimeoutCount()
+                + ", created=" + getCreatedCount() + ", destroyed=" + getDestroyedCount()
+                + ", leaks=" + getLeakCount()
+                + ", stmtCache=" + getStatementCacheHits() + " hits/" + getStatementCacheMisses()
+                + " misses/" + getStatementCacheEvictions() + " evictions]";
+    }
+
+    private String describe() {
+        // Called with or without the lock held; the counts are only informational.
+        return "active=" + leased.size() + ", idle=" + idle.size() + ", total=" + totalConnections
+                + "/" + maxSize + ", waiters=" + waiters;
+    }
+
+    // --- Internals ---
+
+    private Connection openPhysicalConnection() throws SQLException {
+        return DriverManager.getConnection(url, user, password);
+    }
+
+    private PooledConnection openPooledConnection() throws SQLException {
+        Connection physical = openPhysicalConnection();
+        StatementCache cache = null;
+        if (statementCacheSize > 0) {
+            cache = new StatementCache(physical, statementCacheSize,
+                    statementCacheHits, statementCacheMisses, statementCacheEvictions);
+            for (String sql : warmUpStatements) {
+                if (cache.size() >= statementCacheSize) {
+                    break; // warming more would only evict what we just prepared
+                }
+                try {
+                    cache.warm(sql);
+                } catch (SQLException e) {
+                    // A bad warm-up statement must not make the connection unusable.
+                    System.err.println("Connection pool: could not prepare warm-up statement: " + e.getMessage());
+                }
+            }
+        }
+        createdCount.incrementAndGet();
+        return new PooledConnection(physical, cache);
+    }
+
+    private Connection lease(PooledConnection pc) {
+        Lease lease = new Lease(pc);
+        leased.add(lease);
+        return (Connection) Proxy.newProxyInstance(
+                ConnectionPool.class.getClassLoader(), new Class<?>[] { Connection.class }, lease);
+    }
+
+    private void giveBack(Lease lease) {
+        leased.remove(lease);
+        PooledConnection pc = lease.pooled;
+        try {
+            if (pc.physical.isClosed()) {
+                destroy(pc);
+                return;
+            }
+            // Never hand the next borrower a half-finished transaction.
+            if (!pc.physical.getAutoCommit()) {
+                pc.physical.rollback();
+                pc.physical.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            destroy(pc);
+            return;
+        }
+
+        pc.lastUsedNanos = System.nanoTime();
+        lock.lock();
+        try {
+            if (!shutdown) {
+                idle.addFirst(pc); // LIFO keeps the warmest connections in use
+                available.signal();
+                return;
+            }
+        } finally {
+            lock.unlock();
+        }
+        destroy(pc);
+    }
+
+    private void destroy(PooledConnection pc) {
+        if (pc.statements != null) {
+            pc.statements.closeAll();
+        }
+        try {
+            pc.physical.close();
+        } catch (SQLException ignored) {
+            // The connection is being thrown away anyway.
+        }
+        destroyedCount.incrementAndGet();
+        releaseSlot();
+    }
+
+    private void releaseSlot() {
+        lock.lock();
+        try {
+            totalConnections--;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void housekeep() {
+        try {
+            evictIdleConnections();
+            reportLeaks();
+            fillToMinimum();
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void evictIdleConnections() {
+        long cutoff = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(idleTimeoutMs);
+        List<PooledConnection> evicted = new ArrayList<>();
+        lock.lock();
+        try {
+            // Oldest connections sit at the tail of the deque.
+            Iterator<PooledConnection> it = idle.descendingIterator();
+            while (it.hasNext() && idle.size() > minIdle) {
+                PooledConnection pc = it.next();
+                if (pc.lastUsedNanos < cutoff) {
+                    it.remove();
+                    evicted.add(pc);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (PooledConnection pc : evicted) {
+            destroy(pc);
+        }
+    }
+
+    private void reportLeaks() {
+        if (leakThresholdMs <= 0) return;
+        long now = System.currentTimeMillis();
+        for (Lease lease : leased) {
+            if (!lease.leakReported && now - lease.borrowedAtMillis > leakThresholdMs) {
+                lease.leakReported = true;
+                leakCount.incrementAndGet();
+                System.err.println("Connection pool: connection held for " + (now - lease.borrowedAtMillis)
+                        + " ms (threshold " + leakThresholdMs + " ms). Possible leak, borrowed at:");
+                lease.borrowSite.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * One physical connection owned by the pool.
+     */
+    private static final class PooledConnection {
+        final Connection physical;
+        final StatementCache statements; // null when statement caching is off
+        volatile long lastUsedNanos;
+
+        PooledConnection(Connection physical, StatementCache statements) {
+            this.physical = physical;
+            this.statements = statements;
+            this.lastUsedNanos = System.nanoTime();
+        }
+
+        boolean isUsable() {
+            if (System.nanoTime() - lastUsedNanos < VALIDATION_BYPASS_NANOS) {
+                return true;
+            }
+            try {
+                return physical.isValid(VALIDATION_TIMEOUT_SECONDS);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * The handle given to one borrower. After close() it no longer touches the physical connection.
+     */
+    private final class Lease implements InvocationHandler {
+        final PooledConnection pooled;
+        final long borrowedAtMillis = System.currentTimeMillis();
+        final Throwable borrowSite;
+        volatile boolean closed = false;
+        volatile boolean leakReported = false;
+
+        Lease(PooledConnection pooled) {
+            this.pooled = pooled;
+            this.borrowSite = leakThresholdMs > 0 ? new Throwable("Connection borrowed here") : null;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        giveBack(this);
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || pooled.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pooled.physical + (closed ? ", returned" : "") + "]";
+                default:
+                    break;
+            }
+            if (closed) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+            switch (method.getName()) {
+                case "prepareStatement":
+                    statementCount.incrementAndGet();
+                    // Only the plain prepareStatement(sql) form is cached; the other overloads
+                    // change how the statement behaves and are rare here.
+                    String sql = (String) args[0];
+                    if (pooled.statements != null && args.length == 1) {
+                        return pooled.statements.prepare(sql, (Connection) proxy);
+                    }
+                    try {
+                        PreparedStatement statement = (PreparedStatement) method.invoke(pooled.physical, args);
+                        return new PooledStatement(sql, statement, null).checkOut((Connection) proxy);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                case "createStatement":
+                case "prepareCall":
+                    statementCount.incrementAndGet();
+                    break;
+                default:
+                    break;
+            }
+            try {
+                return method.invoke(pooled.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -2,7 +2,6 @@
 package ecocycle.util;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.SQLException;
 
 public class DBConnector {
@@ -12,33 +11,75 @@ public class DBConnector {
     // --- THIS IS THE FIX ---
     // We add "&allowPublicKeyRetrieval=true" to the end of the URL.
     // This tells the driver it's allowed to get the key from the server.
-    private static final String URL = "jdbc:mysql://localhost:3306/ecocycle_db?useSSL=false&allowPublicKeyRetrieval=true";
+    // "useServerPrepStmts=true" makes MySQL parse each statement once; the pool's
+    // statement cache then re-uses it instead of preparing it again on every call.
+    // "rewriteBatchedStatements=true" sends an executeBatch() in one round trip (used by checkout).
+    private static final String URL = System.getProperty("ecocycle.db.url",
+            "jdbc:mysql://localhost:3306/ecocycle_db?useSSL=false&allowPublicKeyRetrieval=true&useServerPrepStmts=true&rewriteBatchedStatements=true");
     
-    private static final String USER = "root";
-    private static final String PASSWORD = "Herondale@32"; // <-- Your Password
+    private static final String USER = System.getProperty("ecocycle.db.user", "root");
+    private static final String PASSWORD = System.getProperty("ecocycle.db.password", "Herondale@32"); // <-- Your Password
+
+    // --- Pool sizing (override with -Decocycle.pool.* system properties) ---
+    private static final int POOL_MIN_IDLE = Integer.getInteger("ecocycle.pool.minIdle", 2);
+    private static final int POOL_MAX_SIZE = Integer.getInteger("ecocycle.pool.maxSize", 10);
+    private static final long POOL_BORROW_TIMEOUT_MS = Long.getLong("ecocycle.pool.borrowTimeoutMs", 5_000);
+    private static final long POOL_IDLE_TIMEOUT_MS = Long.getLong("ecocycle.pool.idleTimeoutMs", 300_000);
+    private static final long POOL_LEAK_THRESHOLD_MS = Long.getLong("ecocycle.pool.leakThresholdMs", 30_000);
+    private static final int POOL_STATEMENT_CACHE_SIZE = Integer.getInteger("ecocycle.pool.statementCacheSize", 64); // 0 = off
 
     // Private constructor to prevent instantiation
     private DBConnector() {}
 
     /**
-     * Gets a NEW, fresh connection to the database every time.
-     * This prevents one method from closing another's connection.
-     * @return A new database connection.
-     * @throws SQLException if the connection fails.
+     * The pool is created the first time a connection is requested.
+     */
+    private static final class PoolHolder {
+        // Set if the JDBC driver could not be loaded; getConnection() rethrows it.
+        static final ClassNotFoundException DRIVER_ERROR = loadDriver();
+        static final ConnectionPool POOL = createPool();
+
+        private static ClassNotFoundException loadDriver() {
+            if (URL.startsWith("jdbc:mysql:")) {
+                try {
+                    // This line is not strictly needed for MySQL 8+ but is good practice
+                    Class.forName("com.mysql.cj.jdbc.Driver");
+                } catch (ClassNotFoundException e) {
+                    System.err.println("MySQL JDBC Driver not found!");
+                    e.printStackTrace();
+                    return e;
+                }
+            }
+            return null;
+        }
+
+        private static ConnectionPool createPool() {
+            ConnectionPool pool = new ConnectionPool(URL, USER, PASSWORD, POOL_MIN_IDLE, POOL_MAX_SIZE,
+                    POOL_BORROW_TIMEOUT_MS, POOL_IDLE_TIMEOUT_MS, POOL_LEAK_THRESHOLD_MS, POOL_STATEMENT_CACHE_SIZE);
+            Runtime.getRuntime().addShutdownHook(new Thread(pool::shutdown, "ecocycle-pool-shutdown"));
+            return pool;
+        }
+    }
+
+    /**
+     * Borrows a connection from the shared pool.
+     * Each caller still gets its own connection, so one method cannot close another's.
+     * Closing the connection (e.g. with try-with-resources) returns it to the pool.
+     * @return A pooled database connection.
+     * @throws SQLException if no connection could be opened or borrowed in time.
      */
     public static Connection getConnection() throws SQLException {
-        try {
-            // This line is not strictly needed for MySQL 8+ but is good practice
-            Class.forName("com.mysql.cj.jdbc.Driver");
-            
-            // This line is the fix: It *always* returns a new connection.
-            return DriverManager.getConnection(URL, USER, PASSWORD);
-            
-        } catch (ClassNotFoundException e) {
-            System.err.println("MySQL JDBC Driver not found!");
-            e.printStackTrace();
+        if (PoolHolder.DRIVER_ERROR != null) {
             // Re-throw as an SQLException so the calling method knows it failed
-            throw new SQLException("JDBC Driver not found", e);
+            throw new SQLException("JDBC Driver not found", PoolHolder.DRIVER_ERROR);
         }
+        return PoolHolder.POOL.getConnection();
+    }
+
+    /**
+     * @return The shared pool, for its counters (active, idle, waiters, wait time, statement cache).
+     */
+    public static ConnectionPool getPool() {
+        return PoolHolder.POOL;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,67 @@
+// In file: src/ecocycle/util/FxAsync.java
+package ecocycle.util;
+
+import javafx.application.Platform;
+
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Bridges background work (e.g. AsyncDataService futures) back to the JavaFX Application Thread.
+ * Every future passed to {@link #onFxThread} belongs to the current screen: when
+ * SceneNavigator leaves the screen it calls {@link #cancelPending()}, and the
+ * callbacks of loads still in flight are never run against the old controls.
+ */
+public class FxAsync {
+
+    private static final Set<CompletableFuture<?>> pending = ConcurrentHashMap.newKeySet();
+
+    private FxAsync() {}
+
+    /**
+     * Runs onSuccess (or onError) on the FX thread once the future completes,
+     * unless the screen was left in the meantime.
+     */
+    public static <T> void onFxThread(CompletableFuture<T> future, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        pending.add(future);
+        future.whenComplete((result, error) -> {
+            pending.remove(future);
+            if (future.isCancelled() || error instanceof CancellationException) {
+                return;
+            }
+            Platform.runLater(() -> {
+                if (error == null) {
+                    onSuccess.accept(result);
+                } else {
+                    Throwable cause = (error instanceof CompletionException && error.getCause() != null)
+                            ? error.getCause() : error;
+                    onError.accept(cause);
+                }
+            });
+        });
+    }
+
+    /**
+     * Same as above, but failures are only logged.
+     */
+    public static <T> void onFxThread(CompletableFuture<T> future, Consumer<T> onSuccess) {
+        onFxThread(future, onSuccess, error -> {
+            System.err.println("Background task failed.");
+            error.printStackTrace();
+        });
+    }
+
+    /**
+     * Cancels every load started for the current screen. Called on navigation.
+     */
+    public static void cancelPending() {
+        for (CompletableFuture<?> future : pending) {
+            future.cancel(true);
+        }
+        pending.clear();
+    }
+}
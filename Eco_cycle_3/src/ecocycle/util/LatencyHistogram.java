@@ -0,0 +1,122 @@
+// In file: src/ecocycle/util/LatencyHistogram.java
+package ecocycle.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A concurrent histogram of latencies in nanoseconds, for percentiles (p50, p99, p99.9).
+ * - Log-linear buckets: every power of two is split into SUB_BUCKETS equal parts, so any
+ *   recorded value is reported within 1/SUB_BUCKETS (about 6%) of itself, from 1 ns up
+ *   to hundreds of years, in a fixed 1024-slot array.
+ * - record() is a few atomic increments and never allocates or locks, so it can sit on
+ *   the request path of many threads at once.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BITS; // 16
+    private static final int SLOTS = 1024;
+
+    private final AtomicLongArray counts = new AtomicLongArray(SLOTS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        counts.incrementAndGet(slotOf(nanos));
+        count.incrementAndGet();
+        totalNanos.addAndGet(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Adds every value recorded in other (e.g. to combine per-thread histograms).
+     */
+    public void add(LatencyHistogram other) {
+        for (int slot = 0; slot < SLOTS; slot++) {
+            long n = other.counts.get(slot);
+            if (n != 0) {
+                counts.addAndGet(slot, n);
+            }
+        }
+        count.addAndGet(other.count.get());
+        totalNanos.addAndGet(other.totalNanos.get());
+        maxNanos.accumulateAndGet(other.maxNanos.get(), Math::max);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    public double getMeanNanos() {
+        long n = count.get();
+        return n == 0 ? 0 : (double) totalNanos.get() / n;
+    }
+
+    /**
+     * @param percentile e.g. 50, 99 or 99.9.
+     * @return The smallest recorded latency (bucket midpoint) that at least this share of values
+     *         does not exceed; 0 if nothing was recorded.
+     */
+    public long getPercentileNanos(double percentile) {
+        long n = count.get();
+        if (n == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * n));
+        long seen = 0;
+        for (int slot = 0; slot < SLOTS; slot++) {
+            seen += counts.get(slot);
+            if (seen >= rank) {
+                return Math.min(midpointOf(slot), maxNanos.get());
+            }
+        }
+        return maxNanos.get();
+    }
+
+    public double getPercentileMillis(double percentile) {
+        return getPercentileNanos(percentile) / 1e6;
+    }
+
+    public void reset() {
+        for (int slot = 0; slot < SLOTS; slot++) {
+            counts.set(slot, 0);
+        }
+        count.set(0);
+        totalNanos.set(0);
+        maxNanos.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d, mean=%.3fms, p50=%.3fms, p99=%.3fms, p99.9=%.3fms, max=%.3fms",
+                             getCount(), getMeanNanos() / 1e6, getPercentileMillis(50), getPercentileMillis(99),
+                             getPercentileMillis(99.9), getMaxNanos() / 1e6);
+    }
+
+    // Values below 2 * SUB_BUCKETS get a slot each; above that, slot = shift * SUB_BUCKETS + the top SUB_BITS + 1 bits.
+    private static int slotOf(long nanos) {
+        if (nanos < 2 * SUB_BUCKETS) {
+            return (int) nanos;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(nanos) - SUB_BITS;
+        return shift * SUB_BUCKETS + (int) (nanos >>> shift);
+    }
+
+    private static long midpointOf(int slot) {
+        if (slot < 2 * SUB_BUCKETS) {
+            return slot;
+        }
+        int shift = slot / SUB_BUCKETS - 1;
+        long low = (long) (slot % SUB_BUCKETS + SUB_BUCKETS) << shift;
+        return low + (1L << shift) / 2;
+    }
+}
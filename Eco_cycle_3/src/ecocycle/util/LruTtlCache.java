@@ -0,0 +1,202 @@
+// In file: src/ecocycle/util/LruTtlCache.java
+package ecocycle.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * A bounded, concurrent read-through cache.
+ * - Keys are spread over several segments, each an access-ordered LinkedHashMap
+ *   behind its own lock, so threads working on different keys rarely wait.
+ * - Each segment evicts its least recently used entry when it is full.
+ * - Entries older than the TTL are treated as missing and reloaded.
+ * - invalidate() removes an entry; a load that was running at the same time
+ *   is not stored, so a stale value can never come back after an invalidation.
+ * Null values are never cached.
+ */
+public class LruTtlCache<K, V> {
+
+    private final Segment<K, V>[] segments;
+    private final long ttlNanos;
+
+    // --- Counters ---
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong loads = new AtomicLong();
+    private final AtomicLong totalLoadNanos = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong expirations = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * @param maxSize Total number of entries (split evenly over the segments).
+     * @param ttlMillis How long an entry stays valid after it was loaded; 0 = forever.
+     * @param segmentCount Number of independently locked segments.
+     */
+    public LruTtlCache(int maxSize, long ttlMillis, int segmentCount) {
+        if (maxSize < 1 || segmentCount < 1) {
+            throw new IllegalArgumentException("maxSize and segmentCount must be positive");
+        }
+        segmentCount = Math.min(segmentCount, maxSize);
+        this.segments = newSegments(segmentCount);
+        int perSegment = (maxSize + segmentCount - 1) / segmentCount;
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(perSegment);
+        }
+        this.ttlNanos = ttlMillis <= 0 ? Long.MAX_VALUE : TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+    }
+
+    /**
+     * Returns the cached value, or loads it with loader (outside any lock) and caches it.
+     * @return The value, or null if the loader returned null.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        Segment<K, V> segment = segmentFor(key);
+        long epoch;
+
+        segment.lock.lock();
+        try {
+            Entry<V> entry = segment.map.get(key);
+            if (entry != null) {
+                if (System.nanoTime() - entry.loadedAtNanos < ttlNanos) {
+                    hits.incrementAndGet();
+                    return entry.value;
+                }
+                segment.map.remove(key);
+                expirations.incrementAndGet();
+            }
+            misses.incrementAndGet();
+            epoch = segment.invalidationEpoch;
+        } finally {
+            segment.lock.unlock();
+        }
+
+        long start = System.nanoTime();
+        V value = loader.apply(key);
+        long loadedAt = System.nanoTime();
+        loads.incrementAndGet();
+        totalLoadNanos.addAndGet(loadedAt - start);
+
+        if (value != null) {
+            segment.lock.lock();
+            try {
+                // Skip the store if anything in this segment was invalidated while we were loading.
+                if (segment.invalidationEpoch == epoch) {
+                    segment.map.put(key, new Entry<>(value, loadedAt));
+                    evictOverflow(segment);
+                }
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return value;
+    }
+
+    public void invalidate(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        segment.lock.lock();
+        try {
+            segment.invalidationEpoch++;
+            if (segment.map.remove(key) != null) {
+                invalidations.incrementAndGet();
+            }
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    public void invalidateAll() {
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                segment.invalidationEpoch++;
+                invalidations.addAndGet(segment.map.size());
+                segment.map.clear();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            segment.lock.lock();
+            try {
+                size += segment.map.size();
+            } finally {
+                segment.lock.unlock();
+            }
+        }
+        return size;
+    }
+
+    // --- Counters ---
+
+    public long getHitCount() { return hits.get(); }
+    public long getMissCount() { return misses.get(); }
+    public long getLoadCount() { return loads.get(); }
+    public long getEvictionCount() { return evictions.get(); }
+    public long getExpirationCount() { return expirations.get(); }
+    public long getInvalidationCount() { return invalidations.get(); }
+
+    public double getHitRatio() {
+        long h = hits.get();
+        long lookups = h + misses.get();
+        return lookups == 0 ? 0.0 : (double) h / lookups;
+    }
+
+    public double getAverageLoadMillis() {
+        long count = loads.get();
+        return count == 0 ? 0.0 : (totalLoadNanos.get() / 1_000_000.0) / count;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("size=%d, hits=%d, misses=%d, hitRatio=%.3f, avgLoad=%.3fms, evictions=%d, expirations=%d, invalidations=%d",
+                size(), getHitCount(), getMissCount(), getHitRatio(), getAverageLoadMillis(),
+                getEvictionCount(), getExpirationCount(), getInvalidationCount());
+    }
+
+    // --- Internals ---
+
+    // Java cannot create a Segment<K, V>[] directly; every element is a Segment<K, V>.
+    @SuppressWarnings("unchecked")
+    private static <K, V> Segment<K, V>[] newSegments(int length) {
+        return (Segment<K, V>[]) new Segment<?, ?>[length];
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return segments[Math.floorMod(h, segments.length)];
+    }
+
+    private void evictOverflow(Segment<K, V> segment) {
+        Iterator<Map.Entry<K, Entry<V>>> eldest = segment.map.entrySet().iterator();
+        while (segment.map.size() > segment.capacity && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            evictions.incrementAndGet();
+        }
+    }
+
+    private static final class Segment<K, V> {
+        final ReentrantLock lock = new ReentrantLock();
+        final int capacity;
+        // Access-ordered: the eldest entry is the least recently used one.
+        final LinkedHashMap<K, Entry<V>> map = new LinkedHashMap<>(16, 0.75f, true);
+        long invalidationEpoch = 0; // guarded by lock
+
+        Segment(int capacity) {
+            this.capacity = capacity;
+        }
+    }
+
+    private record Entry<V>(V value, long loadedAtNanos) {}
+}
@@ -0,0 +1,167 @@
+// In file: src/ecocycle/util/Metrics.java
+package ecocycle.util;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Process-wide latency histograms and counters, published as JMX MBeans:
+ * - ecocycle:type=Operation,name=DataService.xxx for every DataService operation.
+ * - ecocycle:type=Statement,name="<sql>" for every SQL text run through the pool
+ *   (timed around execute*; rows are counted as the ResultSet is read, or the update count).
+ *   The pool's statements do the timing themselves (PooledStatement, TimedResultSet): plain
+ *   delegating wrappers made once per cached statement, so an execution allocates nothing.
+ * While an operation runs, the rows, failed statements and borrowed connections of the
+ * statements it causes are charged to it too (a thread-local "current operation").
+ * An operation's errors are therefore the SQL failures and borrow timeouts behind it
+ * (DataService itself reports those as false / null / an empty list).
+ *
+ * Statements are also traced by SqlTrace: a slow-query log with bind parameters and the
+ * calling operation, and a detector for operations that run one statement over and over (N+1).
+ *
+ * -Decocycle.metrics.sql=false turns the statement timing and tracing off (DataService timing stays on).
+ */
+public final class Metrics {
+
+    static final boolean SQL_ENABLED = !"false".equalsIgnoreCase(System.getProperty("ecocycle.metrics.sql"));
+    // SQL texts are fixed shapes here, but don't let a caller building SQL by hand grow this without bound.
+    private static final int MAX_STATEMENTS = 512;
+    private static final String OTHER_STATEMENTS = "(other statements)";
+
+    private static final Map<String, OperationStats> operations = new ConcurrentHashMap<>();
+    private static final Map<String, OperationStats> statements = new ConcurrentHashMap<>();
+
+    // The outermost operation running on this thread, or null.
+    static final ThreadLocal<OperationStats> current = new ThreadLocal<>();
+
+    private Metrics() {}
+
+    /**
+     * @return The stats of an operation, created (and registered with JMX) on first use.
+     *         Keep the result in a static final field; looking it up is not free.
+     */
+    public static OperationStats operation(String name) {
+        return operations.computeIfAbsent(name, n -> register("Operation", n, new OperationStats(n)));
+    }
+
+    public static Collection<OperationStats> getOperations() {
+        return sorted(operations.values());
+    }
+
+    public static Collection<OperationStats> getStatements() {
+        return sorted(statements.values());
+    }
+
+    /**
+     * @return How many statements took longer than -Decocycle.sql.slowMs (each was logged).
+     */
+    public static long getSlowQueryCount() {
+        return SqlTrace.getSlowQueryCount();
+    }
+
+    /**
+     * @return How many times an operation ran one statement more than -Decocycle.sql.nPlusOneThreshold times.
+     */
+    public static long getNPlusOneCount() {
+        return SqlTrace.getNPlusOneCount();
+    }
+
+    /**
+     * Starts every operation and statement from zero again.
+     */
+    public static void resetAll() {
+        operations.values().forEach(OperationStats::reset);
+        statements.values().forEach(OperationStats::reset);
+    }
+
+    /**
+     * @return One line per operation / statement that has been called, busiest first.
+     */
+    public static String report() {
+        StringBuilder report = new StringBuilder();
+        for (OperationStats stats : getOperations()) {
+            if (stats.getCalls() > 0) {
+                report.append(stats).append(System.lineSeparator());
+            }
+        }
+        for (OperationStats stats : getStatements()) {
+            if (stats.getCalls() > 0) {
+                report.append("SQL ").append(stats).append(System.lineSeparator());
+            }
+        }
+        if (SQL_ENABLED) {
+            report.append("Slow statements: ").append(getSlowQueryCount())
+                  .append(", possible N+1: ").append(getNPlusOneCount()).append(System.lineSeparator());
+        }
+        return report.toString();
+    }
+
+    // --- Hooks for ConnectionPool / StatementCache ---
+
+    static void connectionBorrowed() {
+        OperationStats op = current.get();
+        if (op != null) {
+            op.addConnection();
+        }
+    }
+
+    static void connectionFailed() {
+        OperationStats op = current.get();
+        if (op != null) {
+            op.addError();
+        }
+    }
+
+    /**
+     * Adds rows to a statement and to the operation running on this thread.
+     */
+    static void addRows(OperationStats stats, long rows) {
+        stats.addRows(rows);
+        OperationStats op = current.get();
+        if (op != null) {
+            op.addRows(rows);
+        }
+    }
+
+    // --- Registry ---
+
+    /**
+     * @return The stats of a SQL text, created (and registered with JMX) on first use.
+     */
+    static OperationStats statement(String sql) {
+        OperationStats stats = statements.get(sql);
+        if (stats != null) {
+            return stats;
+        }
+        String key = statements.size() < MAX_STATEMENTS ? sql : OTHER_STATEMENTS;
+        return statements.computeIfAbsent(key, s -> register("Statement", s, new OperationStats(s)));
+    }
+
+    private static OperationStats register(String type, String name, OperationStats stats) {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName("ecocycle:type=" + type + ",name=" + ObjectName.quote(name));
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(stats, objectName);
+            }
+        } catch (JMException | RuntimeException e) {
+            e.printStackTrace(); // still count; it just isn't visible over JMX
+        }
+        return stats;
+    }
+
+    private static List<OperationStats> sorted(Collection<OperationStats> all) {
+        List<OperationStats> list = new ArrayList<>(all);
+        list.sort(Comparator.comparingLong(OperationStats::getCalls).reversed());
+        return list;
+    }
+}
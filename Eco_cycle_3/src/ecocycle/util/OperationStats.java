@@ -0,0 +1,132 @@
+// In file: src/ecocycle/util/OperationStats.java
+package ecocycle.util;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and counters of one operation (a DataService method or one SQL text).
+ * - begin()/end() time a call; the first operation begun on a thread becomes its current
+ *   operation, so the rows, SQL errors and connections of everything it calls are
+ *   charged to it as well (see Metrics).
+ * - Recording is a few atomic/LongAdder increments and never allocates, so it stays on
+ *   in production. Get instances from Metrics, which also publishes them over JMX.
+ */
+public final class OperationStats implements OperationStatsMXBean {
+
+    private final String name;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder connections = new LongAdder();
+
+    OperationStats(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return The start time, to hand to end() in a finally block.
+     */
+    public long begin() {
+        if (Metrics.current.get() == null) {
+            Metrics.current.set(this);
+        }
+        return System.nanoTime();
+    }
+
+    public void end(long startNanos) {
+        latency.record(System.nanoTime() - startNanos);
+        if (Metrics.current.get() == this) {
+            SqlTrace.operationEnded(this);
+            Metrics.current.set(null); // set, not remove: keeps the thread's entry, so the next begin() allocates nothing
+        }
+    }
+
+    /**
+     * Records one call timed by the caller, for work that does not begin and end on one
+     * thread (e.g. startup). Does not make this the thread's current operation.
+     */
+    public void record(long nanos) {
+        latency.record(nanos);
+    }
+
+    void addError() {
+        errors.increment();
+    }
+
+    void addRows(long n) {
+        rows.add(n);
+    }
+
+    void addConnection() {
+        connections.increment();
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getCalls() {
+        return latency.getCount();
+    }
+
+    @Override
+    public long getErrors() {
+        return errors.sum();
+    }
+
+    @Override
+    public long getRows() {
+        return rows.sum();
+    }
+
+    @Override
+    public long getConnections() {
+        return connections.sum();
+    }
+
+    @Override
+    public double getMeanMillis() {
+        return latency.getMeanNanos() / 1e6;
+    }
+
+    @Override
+    public double getP50Millis() {
+        return latency.getPercentileMillis(50);
+    }
+
+    @Override
+    public double getP90Millis() {
+        return latency.getPercentileMillis(90);
+    }
+
+    @Override
+    public double getP99Millis() {
+        return latency.getPercentileMillis(99);
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return latency.getMaxNanos() / 1e6;
+    }
+
+    @Override
+    public void reset() {
+        latency.reset();
+        errors.reset();
+        rows.reset();
+        connections.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: calls=%d, errors=%d, rows=%d, connections=%d, p50=%.3fms, p90=%.3fms, p99=%.3fms, max=%.3fms",
+                             name, getCalls(), getErrors(), getRows(), getConnections(), getP50Millis(), getP90Millis(),
+                             getP99Millis(), getMaxMillis());
+    }
+}
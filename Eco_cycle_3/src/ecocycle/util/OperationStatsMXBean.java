@@ -0,0 +1,34 @@
+// In file: src/ecocycle/util/OperationStatsMXBean.java
+package ecocycle.util;
+
+/**
+ * What JMX clients (jconsole, VisualVM, ...) see of one OperationStats, under
+ * ecocycle:type=Operation,name=... or ecocycle:type=Statement,name=....
+ */
+public interface OperationStatsMXBean {
+
+    String getName();
+
+    long getCalls();
+
+    long getErrors();
+
+    long getRows();
+
+    long getConnections();
+
+    double getMeanMillis();
+
+    double getP50Millis();
+
+    double getP90Millis();
+
+    double getP99Millis();
+
+    double getMaxMillis();
+
+    /**
+     * Starts counting from zero again (e.g. before a load test).
+     */
+    void reset();
+}
@@ -0,0 +1,205 @@
+// In file: src/ecocycle/util/PagedTableLoader.java
+package ecocycle.util;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.Node;
+import javafx.scene.control.IndexedCell;
+import javafx.scene.control.Label;
+import javafx.scene.control.TableView;
+import javafx.scene.control.skin.VirtualFlow;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Fills a TableView one page at a time while the user scrolls.
+ * - The next page is fetched when the table is scrolled near the bottom,
+ *   the previous one when it is scrolled back near the top.
+ * - At most windowSize rows are kept in the table; rows that scroll far out of
+ *   view are dropped and fetched again if the user scrolls back.
+ * - Pages come from a keyset query: the first/last row in the table is the cursor.
+ * The TableView itself only creates cells for the visible rows.
+ */
+public class PagedTableLoader<T> {
+
+    /**
+     * Loads one page off the FX thread (e.g. through AsyncDataService).
+     */
+    public interface PageSource<T> {
+        /**
+         * @param cursor The first or last row in the table, or null for the first page.
+         * @param backwards true for the rows before the cursor.
+         * @return At most limit rows, in display order.
+         */
+        CompletableFuture<List<T>> fetch(T cursor, boolean backwards, int limit);
+    }
+
+    // Fetch more when the scroll position is within this fraction of either end.
+    private static final double EDGE = 0.1;
+
+    private final TableView<T> table;
+    private final int pageSize;
+    private final int windowSize;
+    private final ObservableList<T> rows = FXCollections.observableArrayList();
+
+    private PageSource<T> source;
+    private Consumer<List<T>> onFirstPage;
+    private String emptyText = "Nothing to show.";
+    private boolean hasMoreAfter = false;
+    private boolean hasMoreBefore = false;
+    private CompletableFuture<List<T>> inFlight;
+    private int generation = 0; // bumped by reset() so stale pages are ignored
+
+    public PagedTableLoader(TableView<T> table, int pageSize, int windowSize) {
+        if (pageSize < 1 || windowSize < 2 * pageSize) {
+            throw new IllegalArgumentException("windowSize must hold at least two pages");
+        }
+        this.table = table;
+        this.pageSize = pageSize;
+        this.windowSize = windowSize;
+        table.setItems(rows);
+
+        // The VirtualFlow only exists once the table has a skin.
+        if (table.getSkin() != null) {
+            hookScrolling();
+        } else {
+            table.skinProperty().addListener((obs, oldSkin, newSkin) -> {
+                if (newSkin != null) {
+                    hookScrolling();
+                }
+            });
+        }
+    }
+
+    public void setEmptyText(String emptyText) {
+        this.emptyText = emptyText;
+    }
+
+    /**
+     * Drops every row and loads the first page from a new source (e.g. after a filter change).
+     * @param onFirstPage Called on the FX thread with the first page (may be empty).
+     */
+    public void reset(PageSource<T> source, Consumer<List<T>> onFirstPage) {
+        this.source = source;
+        this.onFirstPage = onFirstPage;
+        generation++;
+        if (inFlight != null) {
+            inFlight.cancel(true);
+            inFlight = null;
+        }
+        rows.clear();
+        hasMoreAfter = false;
+        hasMoreBefore = false;
+        table.setPlaceholder(new Label("Loading..."));
+        fetch(null, false);
+    }
+
+    /**
+     * @return The rows currently held (at most windowSize).
+     */
+    public List<T> getRows() {
+        return rows;
+    }
+
+    // --- Internals ---
+
+    private void hookScrolling() {
+        VirtualFlow<?> flow = findFlow();
+        if (flow == null) {
+            return;
+        }
+        flow.positionProperty().addListener((obs, oldPos, newPos) -> {
+            double position = newPos.doubleValue();
+            if (position >= 1.0 - EDGE && hasMoreAfter) {
+                fetch(rows.get(rows.size() - 1), false);
+            } else if (position <= EDGE && hasMoreBefore) {
+                fetch(rows.get(0), true);
+            }
+        });
+    }
+
+    private void fetch(T cursor, boolean backwards) {
+        if (inFlight != null || source == null) {
+            return; // one page at a time
+        }
+        int expected = generation;
+        CompletableFuture<List<T>> future = source.fetch(cursor, backwards, pageSize);
+        inFlight = future;
+        FxAsync.onFxThread(future, page -> {
+            if (expected != generation) {
+                return;
+            }
+            inFlight = null;
+            if (cursor == null) {
+                showFirstPage(page);
+            } else if (backwards) {
+                prepend(page);
+            } else {
+                append(page);
+            }
+        }, error -> {
+            if (expected == generation) {
+                inFlight = null;
+                table.setPlaceholder(new Label("Could not load data."));
+                error.printStackTrace();
+            }
+        });
+    }
+
+    private void showFirstPage(List<T> page) {
+        table.setPlaceholder(new Label(emptyText));
+        rows.setAll(page);
+        hasMoreAfter = page.size() == pageSize;
+        table.scrollTo(0);
+        if (onFirstPage != null) {
+            onFirstPage.accept(page);
+        }
+    }
+
+    private void append(List<T> page) {
+        hasMoreAfter = page.size() == pageSize;
+        if (page.isEmpty()) {
+            return;
+        }
+        rows.addAll(page);
+        int excess = rows.size() - windowSize;
+        if (excess > 0) {
+            // Drop rows from the top, then scroll so the same row stays in view.
+            int firstVisible = firstVisibleIndex();
+            rows.remove(0, excess);
+            hasMoreBefore = true;
+            table.scrollTo(Math.max(0, firstVisible - excess));
+        }
+    }
+
+    private void prepend(List<T> page) {
+        hasMoreBefore = page.size() == pageSize;
+        if (page.isEmpty()) {
+            return;
+        }
+        int firstVisible = firstVisibleIndex();
+        rows.addAll(0, page);
+        int excess = rows.size() - windowSize;
+        if (excess > 0) {
+            rows.remove(rows.size() - excess, rows.size());
+            hasMoreAfter = true;
+        }
+        table.scrollTo(firstVisible + page.size());
+    }
+
+    private int firstVisibleIndex() {
+        VirtualFlow<?> flow = findFlow();
+        if (flow == null) {
+            return 0;
+        }
+        IndexedCell<?> cell = flow.getFirstVisibleCell();
+        return cell == null ? 0 : cell.getIndex();
+    }
+
+    private VirtualFlow<?> findFlow() {
+        Node node = table.lookup(".virtual-flow");
+        return (node instanceof VirtualFlow<?> flow) ? flow : null;
+    }
+}
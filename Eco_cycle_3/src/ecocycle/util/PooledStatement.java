@@ -0,0 +1,757 @@
+// In file: src/ecocycle/util/PooledStatement.java
+package ecocycle.util;
+
+import java.io.InputStream;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.sql.Array;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.NClob;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.Ref;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.RowId;
+import java.sql.SQLException;
+import java.sql.SQLType;
+import java.sql.SQLWarning;
+import java.sql.SQLXML;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Arrays;
+import java.util.Calendar;
+
+/**
+ * The PreparedStatement the pool hands out: a plain delegating wrapper around the driver's statement.
+ * - With the statement cache on, one is created per cached statement and handed out again on every
+ *   checkout; close() checks it back in (StatementCache) instead of closing the driver's statement.
+ *   Like a pooled connection, it must not be used after close(): the next caller may have it.
+ * - While SQL timing is on (Metrics.SQL_ENABLED), execute* are timed and traced (SqlTrace), the bind
+ *   parameters are kept for the slow-query log (primitives unboxed), and a query's rows are counted
+ *   by one TimedResultSet that is reused for every execution.
+ * So timing a statement allocates nothing per execution, and nothing is called reflectively.
+ * Not thread safe: a statement belongs to the one borrower of its connection.
+ */
+final class PooledStatement implements PreparedStatement {
+
+    // How a bind parameter is kept: the object itself, or a primitive in bits[].
+    private static final byte OBJECT = 0;
+    private static final byte INTEGER = 1;
+    private static final byte DOUBLE = 2;
+    private static final byte BOOLEAN = 3;
+
+    private final String sql;
+    private final PreparedStatement statement;
+    private final StatementCache cache; // null: close() closes the driver's statement
+    private final OperationStats stats; // null while SQL timing is off
+    private final String shape;
+    private final TimedResultSet results;
+    private Connection owner;
+    private boolean closed = true;
+
+    private Object[] values;
+    private long[] bits;
+    private byte[] kinds;
+    private int paramCount;
+
+    /**
+     * @param cache The cache that close() returns the statement to, or null if it is not cached.
+     */
+    PooledStatement(String sql, PreparedStatement statement, StatementCache cache) {
+        this.sql = sql;
+        this.statement = statement;
+        this.cache = cache;
+        if (Metrics.SQL_ENABLED) {
+            this.stats = Metrics.statement(sql);
+            this.shape = SqlTrace.shape(sql);
+            this.results = new TimedResultSet(this);
+            this.values = new Object[8];
+            this.bits = new long[8];
+            this.kinds = new byte[8];
+        } else {
+            this.stats = null;
+            this.shape = null;
+            this.results = null;
+        }
+    }
+
+    /**
+     * Hands the statement to a caller.
+     * @param owner The connection the caller sees, returned by getConnection().
+     */
+    PooledStatement checkOut(Connection owner) {
+        this.owner = owner;
+        this.closed = false;
+        return this;
+    }
+
+    /**
+     * @return false if the driver has closed the statement (e.g. its connection broke).
+     */
+    boolean isUsable() throws SQLException {
+        return !statement.isClosed();
+    }
+
+    /**
+     * Clears the parameters, so a cached statement holds no values of its last caller.
+     */
+    void reset() throws SQLException {
+        statement.clearParameters();
+        clearBinds();
+    }
+
+    /**
+     * Closes the driver's statement (it is leaving the cache, or was never in it).
+     */
+    void discard() {
+        try {
+            statement.close();
+        } catch (SQLException ignored) {
+            // The statement is being thrown away anyway.
+        }
+    }
+
+    String getSql() {
+        return sql;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (results != null) {
+            results.finish(); // a ResultSet the caller left open is counted now
+        }
+        if (cache != null) {
+            cache.checkIn(sql, this);
+        } else {
+            statement.close();
+        }
+    }
+
+    @Override
+    public boolean isClosed() throws SQLException {
+        return closed || statement.isClosed();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        target();
+        return owner;
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? iface.cast(this) : target().unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || target().isWrapperFor(iface);
+    }
+
+    @Override
+    public String toString() {
+        return "PooledStatement[" + sql + (closed ? ", returned" : "") + "]";
+    }
+
+    // --- Timed executions ---
+
+    @Override
+    public ResultSet executeQuery() throws SQLException {
+        if (stats == null) {
+            return target().executeQuery();
+        }
+        OperationStats op = Metrics.current.get();
+        long start = starting();
+        try {
+            return results.open(statement.executeQuery(), op, start);
+        } catch (SQLException e) {
+            failed(op);
+            throw e;
+        } finally {
+            stats.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public int executeUpdate() throws SQLException {
+        if (stats == null) {
+            return target().executeUpdate();
+        }
+        OperationStats op = Metrics.current.get();
+        long start = starting();
+        try {
+            int updated = statement.executeUpdate();
+            finished(op, start, Math.max(0, updated));
+            return updated;
+        } catch (SQLException e) {
+            failed(op);
+            throw e;
+        } finally {
+            stats.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public long executeLargeUpdate() throws SQLException {
+        if (stats == null) {
+            return target().executeLargeUpdate();
+        }
+        OperationStats op = Metrics.current.get();
+        long start = starting();
+        try {
+            long updated = statement.executeLargeUpdate();
+            finished(op, start, Math.max(0, updated));
+            return updated;
+        } catch (SQLException e) {
+            failed(op);
+            throw e;
+        } finally {
+            stats.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public boolean execute() throws SQLException {
+        if (stats == null) {
+            return target().execute();
+        }
+        OperationStats op = Metrics.current.get();
+        long start = starting();
+        try {
+            boolean hasResults = statement.execute();
+            finished(op, start, hasResults ? 0 : Math.max(0, statement.getUpdateCount()));
+            return hasResults;
+        } catch (SQLException e) {
+            failed(op);
+            throw e;
+        } finally {
+            stats.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public int[] executeBatch() throws SQLException {
+        if (stats == null) {
+            return target().executeBatch();
+        }
+        OperationStats op = Metrics.current.get();
+        long start = starting();
+        try {
+            int[] batch = statement.executeBatch();
+            long rows = 0;
+            for (int n : batch) {
+                rows += Math.max(0, n); // SUCCESS_NO_INFO is negative
+            }
+            finished(op, start, rows);
+            return batch;
+        } catch (SQLException e) {
+            failed(op);
+            throw e;
+        } finally {
+            stats.record(System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public long[] executeLargeBatch() throws SQLException {
+        if (stats == null) {
+            return target().executeLargeBatch();
+        }
+        OperationStats op = Metrics.current.get();
+        long start = starting();
+        try {
+            long[] batch = statement.executeLargeBatch();
+            long rows = 0;
+            for (long n : batch) {
+                rows += Math.max(0, n);
+            }
+            finished(op, start, rows);
+            return batch;
+        } catch (SQLException e) {
+            failed(op);
+            throw e;
+        } finally {
+            stats.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Called when a query's ResultSet is closed: charges its rows and logs it if it was slow
+     * (the time runs from execute until now, so the fetch counts).
+     */
+    void queryFinished(OperationStats op, long startNanos, long rows) {
+        finished(op, startNanos, rows);
+    }
+
+    private long starting() throws SQLException {
+        target();
+        if (results != null) {
+            results.finish(); // executing again closes the previous ResultSet
+        }
+        SqlTrace.executed(shape);
+        return System.nanoTime();
+    }
+
+    private void finished(OperationStats op, long startNanos, long rows) {
+        Metrics.addRows(stats, rows);
+        long nanos = System.nanoTime() - startNanos;
+        if (SqlTrace.isSlow(nanos)) {
+            SqlTrace.slow(shape, op, nanos, rows, boundParams());
+        }
+    }
+
+    private void failed(OperationStats op) {
+        stats.addError();
+        if (op != null) {
+            op.addError();
+        }
+    }
+
+    private PreparedStatement target() throws SQLException {
+        if (closed) {
+            throw new SQLException("Statement has already been closed");
+        }
+        return statement;
+    }
+
+    // --- Bind parameters (kept only while SQL timing is on) ---
+
+    @Override
+    public void clearParameters() throws SQLException {
+        target().clearParameters();
+        clearBinds();
+    }
+
+    private void clearBinds() {
+        if (values != null) {
+            Arrays.fill(values, 0, paramCount, null);
+            paramCount = 0;
+        }
+    }
+
+    private void bindObject(int index, Object value) {
+        if (slot(index)) {
+            values[index - 1] = value;
+            kinds[index - 1] = OBJECT;
+        }
+    }
+
+    private void bindLong(int index, long value) {
+        if (slot(index)) {
+            values[index - 1] = null;
+            bits[index - 1] = value;
+            kinds[index - 1] = INTEGER;
+        }
+    }
+
+    private void bindDouble(int index, double value) {
+        if (slot(index)) {
+            values[index - 1] = null;
+            bits[index - 1] = Double.doubleToRawLongBits(value);
+            kinds[index - 1] = DOUBLE;
+        }
+    }
+
+    private void bindBoolean(int index, boolean value) {
+        if (slot(index)) {
+            values[index - 1] = null;
+            bits[index - 1] = value ? 1 : 0;
+            kinds[index - 1] = BOOLEAN;
+        }
+    }
+
+    // Makes room for parameter index; false if parameters are not kept.
+    private boolean slot(int index) {
+        if (values == null || index < 1) {
+            return false;
+        }
+        if (index > values.length) {
+            int length = Math.max(index, values.length * 2);
+            values = Arrays.copyOf(values, length);
+            bits = Arrays.copyOf(bits, length);
+            kinds = Arrays.copyOf(kinds, length);
+        }
+        paramCount = Math.max(paramCount, index);
+        return true;
+    }
+
+    // The parameters as objects (index 0 = parameter 1), for the slow-query log only.
+    private Object[] boundParams() {
+        Object[] params = new Object[paramCount];
+        for (int i = 0; i < paramCount; i++) {
+            params[i] = switch (kinds[i]) {
+                case INTEGER -> bits[i];
+                case DOUBLE -> Double.longBitsToDouble(bits[i]);
+                case BOOLEAN -> bits[i] != 0;
+                default -> values[i];
+            };
+        }
+        return params;
+    }
+
+    @Override
+    public void setNull(int parameterIndex, int sqlType) throws SQLException {
+        target().setNull(parameterIndex, sqlType);
+        bindObject(parameterIndex, null);
+    }
+
+    @Override
+    public void setBoolean(int parameterIndex, boolean x) throws SQLException {
+        target().setBoolean(parameterIndex, x);
+        bindBoolean(parameterIndex, x);
+    }
+
+    @Override
+    public void setByte(int parameterIndex, byte x) throws SQLException {
+        target().setByte(parameterIndex, x);
+        bindLong(parameterIndex, x);
+    }
+
+    @Override
+    public void setShort(int parameterIndex, short x) throws SQLException {
+        target().setShort(parameterIndex, x);
+        bindLong(parameterIndex, x);
+    }
+
+    @Override
+    public void setInt(int parameterIndex, int x) throws SQLException {
+        target().setInt(parameterIndex, x);
+        bindLong(parameterIndex, x);
+    }
+
+    @Override
+    public void setLong(int parameterIndex, long x) throws SQLException {
+        target().setLong(parameterIndex, x);
+        bindLong(parameterIndex, x);
+    }
+
+    @Override
+    public void setFloat(int parameterIndex, float x) throws SQLException {
+        target().setFloat(parameterIndex, x);
+        bindDouble(parameterIndex, x);
+    }
+
+    @Override
+    public void setDouble(int parameterIndex, double x) throws SQLException {
+        target().setDouble(parameterIndex, x);
+        bindDouble(parameterIndex, x);
+    }
+
+    @Override
+    public void setBigDecimal(int parameterIndex, BigDecimal x) throws SQLException {
+        target().setBigDecimal(parameterIndex, x);
+        bindObject(parameterIndex, x);
+    }
+
+    @Override
+    public void setString(int parameterIndex, String x) throws SQLException {
+        target().setString(parameterIndex, x);
+        bindObject(parameterIndex, x);
+    }
+
+    @Override
+    public void setBytes(int parameterIndex, byte[] x) throws SQLException {
+        target().setBytes(parameterIndex, x);
+        bindObject(parameterIndex, x);
+    }
+
+    @Override
+    public void setDate(int parameterIndex, Date x) throws SQLException {
+        target().setDate(parameterIndex, x);
+        bindObject(parameterIndex, x);
+    }
+
+    @Override
+    public void setTime(int parameterIndex, Time x) throws SQLException {
+        target().setTime(parameterIndex, x);
+        bindObject(parameterIndex, x);
+    }
+
+    @Override
+    public void setTimestamp(int parameterIndex, Timestamp x) throws SQLException {
+        target().setTimestamp(parameterIndex, x);
+        bindObject(parameterIndex, x);
+    }
+
+    @Override
+    public void setAsciiStream(int parameterIndex, InputStream x, int length) throws SQLException {
+        target().setAsciiStream(parameterIndex, x, length);
+        bindObject(parameterIndex, x);
+    }
+
+    @Override
+    @Deprecated
+    public void setUnicodeStream(int parameterIndex, InputStream x, int length) throws SQLException {
+        target().setUnicodeStream(parameterIndex, x, length);
+        bindObject(parameterIndex, x);
+    }
+
+    @Override
+    public void setBinaryStream(int parameterIndex, InputStream x, int length) throws SQLException {
+        target().setBinaryStream(parameterIndex, x, length);
+        bindObject(parameterIndex, x);
+    }
+
+    @Override
+    public void setObject(int parameterIndex, Object x, int targetSqlType) throws SQLException {
+        target().setObject(parameterIndex, x, targetSqlType);
+        bindObject(parameterIndex, x);
+    }
+
+    @Override
+    public void setObject(int parameterIndex, Object x) throws SQLException {
+        target().setObject(parameterIndex, x);
+        bindObject(parameterIndex, x);
+    }
+
+    @Override
+    public void setCharacterStream(int parameterIndex, Reader reader, int length) throws SQLException {
+        target().setCharacterStream(parameterIndex, reader, length);
+        bindObject(parameterIndex, reader);
+    }
+
+    @Override
+    public void setRef(int parameterIndex, Ref x) throws SQLException {
+        target().setRef(parameterIndex, x);
+        bindObject(parameterIndex, x);
+    }
+
+    @Override
+    public void setBlob(int parameterIndex, Blob x) throws SQLException {
+        target().setBlob(parameterIndex, x);
+        bindObject(parameterIndex, x);
+    }
+
+    @Override
+    public void setClob(int parameterIndex, Clob x) throws SQLException {
+        target().setClob(parameterIndex, x);
+        bindObject(parameterIndex, x);
+    }
+
+    @Override
+    public void setArray(int parameterIndex, Array x) throws SQLException {
+        target().setArray(parameterIndex, x);
+        bindObject(parameterIndex, x);
+    }
+
+    @Override
+    public void setDate(int parameterIndex, Date x, Calendar cal) throws SQLException {
+        target().setDate(parameterIndex, x, cal);
+        bindObject(parameterIndex, x);
+    }
+
+    @Override
+    public void setTime(int parameterIndex, Time x, Calendar cal) throws SQLException {
+        target().setTime(parameterIndex, x, cal);
+        bindObject(parameterIndex, x);
+    }
+
+    @Override
+    public void setTimestamp(int parameterIndex, Timestamp x, Calendar cal) throws SQLException {
+        target().setTimestamp(parameterIndex, x, cal);
+        bindObject(parameterIndex, x);
+    }
+
+    @Override
+    public void setNull(int parameterIndex, int sqlType, String typeName) throws SQLException {
+        target().setNull(parameterIndex, sqlType, typeName);
+        bindObject(parameterIndex, null);
+    }
+
+    @Override
+    public void setURL(int parameterIndex, URL x) throws SQLException {
+        target().setURL(parameterIndex, x);
+        bindObject(parameterIndex, x);
+    }
+
+    @Override
+    public void setRowId(int parameterIndex, RowId x) throws SQLException {
+        target().setRowId(parameterIndex, x);
+        bindObject(parameterIndex, x);
+    }
+
+    @Override
+    public void setNString(int parameterIndex, String value) throws SQLException {
+        target().setNString(parameterIndex, value);
+        bindObject(parameterIndex, value);
+    }
+
+    @Override
+    public void setNCharacterStream(int parameterIndex, Reader value, long length) throws SQLException {
+        target().setNCharacterStream(parameterIndex, value, length);
+        bindObject(parameterIndex, value);
+    }
+
+    @Override
+    public void setNClob(int parameterIndex, NClob value) throws SQLException {
+        target().setNClob(parameterIndex, value);
+        bindObject(parameterIndex, value);
+    }
+
+    @Override
+    public void setClob(int parameterIndex, Reader reader, long length) throws SQLException {
+        target().setClob(parameterIndex, reader, length);
+        bindObject(parameterIndex, reader);
+    }
+
+    @Override
+    public void setBlob(int parameterIndex, InputStream inputStream, long length) throws SQLException {
+        target().setBlob(parameterIndex, inputStream, length);
+        bindObject(parameterIndex, inputStream);
+    }
+
+    @Override
+    public void setNClob(int parameterIndex, Reader reader, long length) throws SQLException {
+        target().setNClob(parameterIndex, reader, length);
+        bindObject(parameterIndex, reader);
+    }
+
+    @Override
+    public void setSQLXML(int parameterIndex, SQLXML xmlObject) throws SQLException {
+        target().setSQLXML(parameterIndex, xmlObject);
+        bindObject(parameterIndex, xmlObject);
+    }
+
+    @Override
+    public void setObject(int parameterIndex, Object x, int targetSqlType, int scaleOrLength) throws SQLException {
+        target().setObject(parameterIndex, x, targetSqlType, scaleOrLength);
+        bindObject(parameterIndex, x);
+    }
+
+    @Override
+    public void setAsciiStream(int parameterIndex, InputStream x, long length) throws SQLException {
+        target().setAsciiStream(parameterIndex, x, length);
+        bindObject(parameterIndex, x);
+    }
+
+    @Override
+    public void setBinaryStream(int parameterIndex, InputStream x, long length) throws SQLException {
+        target().setBinaryStream(parameterIndex, x, length);
+        bindObject(parameterIndex, x);
+    }
+
+    @Override
+    public void setCharacterStream(int parameterIndex, Reader reader, long length) throws SQLException {
+        target().setCharacterStream(parameterIndex, reader, length);
+        bindObject(parameterIndex, reader);
+    }
+
+    @Override
+    public void setAsciiStream(int parameterIndex, InputStream x) throws SQLException {
+        target().setAsciiStream(parameterIndex, x);
+        bindObject(parameterIndex, x);
+    }
+
+    @Override
+    public void setBinaryStream(int parameterIndex, InputStream x) throws SQLException {
+        target().setBinaryStream(parameterIndex, x);
+        bindObject(parameterIndex, x);
+    }
+
+    @Override
+    public void setCharacterStream(int parameterIndex, Reader reader) throws SQLException {
+        target().setCharacterStream(parameterIndex, reader);
+        bindObject(parameterIndex, reader);
+    }
+
+    @Override
+    public void setNCharacterStream(int parameterIndex, Reader value) throws SQLException {
+        target().setNCharacterStream(parameterIndex, value);
+        bindObject(parameterIndex, value);
+    }
+
+    @Override
+    public void setClob(int parameterIndex, Reader reader) throws SQLException {
+        target().setClob(parameterIndex, reader);
+        bindObject(parameterIndex, reader);
+    }
+
+    @Override
+    public void setBlob(int parameterIndex, InputStream inputStream) throws SQLException {
+        target().setBlob(parameterIndex, inputStream);
+        bindObject(parameterIndex, inputStream);
+    }
+
+    @Override
+    public void setNClob(int parameterIndex, Reader reader) throws SQLException {
+        target().setNClob(parameterIndex, reader);
+        bindObject(parameterIndex, reader);
+    }
+
+    @Override
+    public void setObject(int parameterIndex, Object x, SQLType targetSqlType, int scaleOrLength) throws SQLException {
+        target().setObject(parameterIndex, x, targetSqlType, scaleOrLength);
+        bindObject(parameterIndex, x);
+    }
+
+    @Override
+    public void setObject(int parameterIndex, Object x, SQLType targetSqlType) throws SQLException {
+        target().setObject(parameterIndex, x, targetSqlType);
+        bindObject(parameterIndex, x);
+    }
+
+
+    // --- Plain delegation ---
+
+    @Override public ResultSet executeQuery(String sql) throws SQLException { return target().executeQuery(sql); }
+    @Override public int executeUpdate(String sql) throws SQLException { return target().executeUpdate(sql); }
+    @Override public int getMaxFieldSize() throws SQLException { return target().getMaxFieldSize(); }
+    @Override public void setMaxFieldSize(int max) throws SQLException { target().setMaxFieldSize(max); }
+    @Override public int getMaxRows() throws SQLException { return target().getMaxRows(); }
+    @Override public void setMaxRows(int max) throws SQLException { target().setMaxRows(max); }
+    @Override public void setEscapeProcessing(boolean enable) throws SQLException { target().setEscapeProcessing(enable); }
+    @Override public int getQueryTimeout() throws SQLException { return target().getQueryTimeout(); }
+    @Override public void setQueryTimeout(int seconds) throws SQLException { target().setQueryTimeout(seconds); }
+    @Override public void cancel() throws SQLException { target().cancel(); }
+    @Override public SQLWarning getWarnings() throws SQLException { return target().getWarnings(); }
+    @Override public void clearWarnings() throws SQLException { target().clearWarnings(); }
+    @Override public void setCursorName(String name) throws SQLException { target().setCursorName(name); }
+    @Override public boolean execute(String sql) throws SQLException { return target().execute(sql); }
+    @Override public ResultSet getResultSet() throws SQLException { return target().getResultSet(); }
+    @Override public int getUpdateCount() throws SQLException { return target().getUpdateCount(); }
+    @Override public boolean getMoreResults() throws SQLException { return target().getMoreResults(); }
+    @Override public void setFetchDirection(int direction) throws SQLException { target().setFetchDirection(direction); }
+    @Override public int getFetchDirection() throws SQLException { return target().getFetchDirection(); }
+    @Override public void setFetchSize(int rows) throws SQLException { target().setFetchSize(rows); }
+    @Override public int getFetchSize() throws SQLException { return target().getFetchSize(); }
+    @Override public int getResultSetConcurrency() throws SQLException { return target().getResultSetConcurrency(); }
+    @Override public int getResultSetType() throws SQLException { return target().getResultSetType(); }
+    @Override public void addBatch(String sql) throws SQLException { target().addBatch(sql); }
+    @Override public void clearBatch() throws SQLException { target().clearBatch(); }
+    @Override public boolean getMoreResults(int current) throws SQLException { return target().getMoreResults(current); }
+    @Override public ResultSet getGeneratedKeys() throws SQLException { return target().getGeneratedKeys(); }
+    @Override public int executeUpdate(String sql, int autoGeneratedKeys) throws SQLException { return target().executeUpdate(sql, autoGeneratedKeys); }
+    @Override public int executeUpdate(String sql, int[] columnIndexes) throws SQLException { return target().executeUpdate(sql, columnIndexes); }
+    @Override public int executeUpdate(String sql, String[] columnNames) throws SQLException { return target().executeUpdate(sql, columnNames); }
+    @Override public boolean execute(String sql, int autoGeneratedKeys) throws SQLException { return target().execute(sql, autoGeneratedKeys); }
+    @Override public boolean execute(String sql, int[] columnIndexes) throws SQLException { return target().execute(sql, columnIndexes); }
+    @Override public boolean execute(String sql, String[] columnNames) throws SQLException { return target().execute(sql, columnNames); }
+    @Override public int getResultSetHoldability() throws SQLException { return target().getResultSetHoldability(); }
+    @Override public void setPoolable(boolean poolable) throws SQLException { target().setPoolable(poolable); }
+    @Override public boolean isPoolable() throws SQLException { return target().isPoolable(); }
+    @Override public void closeOnCompletion() throws SQLException { target().closeOnCompletion(); }
+    @Override public boolean isCloseOnCompletion() throws SQLException { return target().isCloseOnCompletion(); }
+    @Override public long getLargeUpdateCount() throws SQLException { return target().getLargeUpdateCount(); }
+    @Override public void setLargeMaxRows(long max) throws SQLException { target().setLargeMaxRows(max); }
+    @Override public long getLargeMaxRows() throws SQLException { return target().getLargeMaxRows(); }
+    @Override public long executeLargeUpdate(String sql) throws SQLException { return target().executeLargeUpdate(sql); }
+    @Override public long executeLargeUpdate(String sql, int autoGeneratedKeys) throws SQLException { return target().executeLargeUpdate(sql, autoGeneratedKeys); }
+    @Override public long executeLargeUpdate(String sql, int[] columnIndexes) throws SQLException { return target().executeLargeUpdate(sql, columnIndexes); }
+    @Override public long executeLargeUpdate(String sql, String[] columnNames) throws SQLException { return target().executeLargeUpdate(sql, columnNames); }
+    @Override public String enquoteLiteral(String val) throws SQLException { return target().enquoteLiteral(val); }
+    @Override public String enquoteIdentifier(String identifier, boolean alwaysQuote) throws SQLException { return target().enquoteIdentifier(identifier, alwaysQuote); }
+    @Override public boolean isSimpleIdentifier(String identifier) throws SQLException { return target().isSimpleIdentifier(identifier); }
+    @Override public String enquoteNCharLiteral(String val) throws SQLException { return target().enquoteNCharLiteral(val); }
+    @Override public void addBatch() throws SQLException { target().addBatch(); }
+    @Override public ResultSetMetaData getMetaData() throws SQLException { return target().getMetaData(); }
+    @Override public ParameterMetaData getParameterMetaData() throws SQLException { return target().getParameterMetaData(); }
+}
@@ -0,0 +1,191 @@
+// In file: src/ecocycle/util/RankedSkipList.java
+package ecocycle.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A sorted list with O(log n) expected add, remove, get(index) and rank lookup.
+ * - A skip list whose forward links also store their span (how many elements they
+ *   jump over), so the position of an element is the sum of the spans on its search path.
+ * - Elements are ordered by the comparator, which must be consistent with equals
+ *   and never report two different elements as equal.
+ * Not thread-safe; callers lock around it.
+ */
+public class RankedSkipList<T> {
+
+    private static final int MAX_LEVEL = 32;
+
+    private static final class Node<T> {
+        final T value;
+        final Node<T>[] next;
+        final int[] span;
+
+        Node(T value, int levels) {
+            this.value = value;
+            this.next = newNodes(levels);
+            this.span = new int[levels];
+        }
+    }
+
+    private final Comparator<? super T> comparator;
+    private final Node<T> head = new Node<>(null, MAX_LEVEL);
+    private int levels = 1;
+    private int size;
+
+    public RankedSkipList(Comparator<? super T> comparator) {
+        this.comparator = comparator;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return false if an equal element is already in the list.
+     */
+    public boolean add(T value) {
+        Node<T>[] update = newNodes(MAX_LEVEL);
+        int[] position = new int[MAX_LEVEL];
+        Node<T> node = head;
+        for (int level = levels - 1; level >= 0; level--) {
+            position[level] = level == levels - 1 ? 0 : position[level + 1];
+            while (node.next[level] != null && comparator.compare(node.next[level].value, value) < 0) {
+                position[level] += node.span[level];
+                node = node.next[level];
+            }
+            update[level] = node;
+        }
+        if (node.next[0] != null && comparator.compare(node.next[0].value, value) == 0) {
+            return false;
+        }
+
+        int newLevels = randomLevels();
+        if (newLevels > levels) {
+            for (int level = levels; level < newLevels; level++) {
+                position[level] = 0;
+                update[level] = head;
+                head.span[level] = size;
+            }
+            levels = newLevels;
+        }
+
+        Node<T> created = new Node<>(value, newLevels);
+        for (int level = 0; level < newLevels; level++) {
+            created.next[level] = update[level].next[level];
+            update[level].next[level] = created;
+            // The old link is split in two at the new node.
+            created.span[level] = update[level].span[level] - (position[0] - position[level]);
+            update[level].span[level] = position[0] - position[level] + 1;
+        }
+        for (int level = newLevels; level < levels; level++) {
+            update[level].span[level]++;
+        }
+        size++;
+        return true;
+    }
+
+    /**
+     * @return false if the element was not in the list.
+     */
+    public boolean remove(T value) {
+        Node<T>[] update = newNodes(MAX_LEVEL);
+        Node<T> node = head;
+        for (int level = levels - 1; level >= 0; level--) {
+            while (node.next[level] != null && comparator.compare(node.next[level].value, value) < 0) {
+                node = node.next[level];
+            }
+            update[level] = node;
+        }
+        Node<T> target = node.next[0];
+        if (target == null || comparator.compare(target.value, value) != 0) {
+            return false;
+        }
+
+        for (int level = 0; level < levels; level++) {
+            if (update[level].next[level] == target) {
+                update[level].span[level] += target.span[level] - 1;
+                update[level].next[level] = target.next[level];
+            } else {
+                update[level].span[level]--;
+            }
+        }
+        while (levels > 1 && head.next[levels - 1] == null) {
+            levels--;
+        }
+        size--;
+        return true;
+    }
+
+    /**
+     * @return How many elements sort before value (value itself need not be in the list).
+     */
+    public int countBefore(T value) {
+        int count = 0;
+        Node<T> node = head;
+        for (int level = levels - 1; level >= 0; level--) {
+            while (node.next[level] != null && comparator.compare(node.next[level].value, value) < 0) {
+                count += node.span[level];
+                node = node.next[level];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return The element at a 0-based position.
+     */
+    public T get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of " + size);
+        }
+        int traversed = -1; // the head sits before position 0
+        Node<T> node = head;
+        for (int level = levels - 1; level >= 0; level--) {
+            while (node.next[level] != null && traversed + node.span[level] <= index) {
+                traversed += node.span[level];
+                node = node.next[level];
+            }
+        }
+        return node.value;
+    }
+
+    /**
+     * @return The first limit elements in order.
+     */
+    public List<T> first(int limit) {
+        List<T> result = new ArrayList<>(Math.min(limit, size));
+        Node<T> node = head.next[0];
+        while (node != null && result.size() < limit) {
+            result.add(node.value);
+            node = node.next[0];
+        }
+        return result;
+    }
+
+    public void clear() {
+        for (int level = 0; level < MAX_LEVEL; level++) {
+            head.next[level] = null;
+            head.span[level] = 0;
+        }
+        levels = 1;
+        size = 0;
+    }
+
+    // A generic array cannot be created directly; only Node<T> are ever stored in it.
+    @SuppressWarnings("unchecked")
+    private static <T> Node<T>[] newNodes(int length) {
+        return (Node<T>[]) new Node<?>[length];
+    }
+
+    // Each extra level with probability 1/4.
+    private static int randomLevels() {
+        int level = 1;
+        while (level < MAX_LEVEL && ThreadLocalRandom.current().nextInt(4) == 0) {
+            level++;
+        }
+        return level;
+    }
+}
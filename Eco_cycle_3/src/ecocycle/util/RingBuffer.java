@@ -0,0 +1,91 @@
+// In file: src/ecocycle/util/RingBuffer.java
+package ecocycle.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A fixed-capacity, thread-safe buffer of the most recently added elements.
+ * - Backed by one array used as a ring: adding to a full buffer overwrites the
+ *   oldest element, so memory never grows past the capacity.
+ * - Readers share a read lock and always get a copy (newest first).
+ */
+public class RingBuffer<T> {
+
+    private final Object[] slots;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private int newest = -1; // slot of the most recent element
+    private int size;
+
+    public RingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.slots = new Object[capacity];
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * Adds an element as the newest one, dropping the oldest if the buffer is full.
+     */
+    public void add(T value) {
+        lock.writeLock().lock();
+        try {
+            newest = (newest + 1) % slots.length;
+            slots[newest] = value;
+            if (size < slots.length) {
+                size++;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return Up to limit elements, newest first.
+     */
+    public List<T> newest(int limit) {
+        lock.readLock().lock();
+        try {
+            int count = Math.min(limit, size);
+            List<T> result = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                result.add(at(i));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            Arrays.fill(slots, null);
+            newest = -1;
+            size = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Lock held. age 0 = newest.
+    @SuppressWarnings("unchecked")
+    private T at(int age) {
+        return (T) slots[(newest - age + slots.length) % slots.length];
+    }
+}
@@ -1,6 +1,7 @@
 // In file: src/ecocycle/util/SceneNavigator.java
 package ecocycle.util;
 
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Node;
@@ -10,58 +11,250 @@ import javafx.stage.Stage;
 
 import java.io.IOException;
 import java.net.URL;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Utility class for navigating between scenes (screens) in the application.
  * This helper class makes it easy to switch from one FXML file to another.
+ * - Screens whose controller implements {@link Refreshable} are loaded once and kept:
+ *   the parsed node graph, its controller and its Scene are shown again on the next
+ *   visit, and only onShow() runs. preload() loads them on a background thread at startup;
+ *   a screen visited while it is still being preloaded is shown once it is ready (the FX
+ *   thread never waits for it).
+ * - Other screens (the login / register / add product forms) are loaded fresh every time,
+ *   so what was typed into them (passwords too) never outlives the visit.
+ * - style.css is resolved once and every Scene uses that one URL, so JavaFX parses it once.
+ * - Every navigation is timed from the click until the new screen has been laid out
+ *   (operation "SceneNavigator.<screen>" in Metrics / JMX).
+ *   -Decocycle.scenes.cache=false loads every screen fresh, to compare against.
  */
 public class SceneNavigator {
 
+    /**
+     * Implemented by controllers whose screen may be kept and shown again.
+     * initialize() only wires up the controls (it may run on the preload thread);
+     * onShow() runs on the FX thread every time the screen is shown, the first time
+     * included. It loads the screen's data and clears what the last visit left behind.
+     */
+    public interface Refreshable {
+        void onShow();
+    }
+
+    private static final boolean CACHE_ENABLED = !"false".equalsIgnoreCase(System.getProperty("ecocycle.scenes.cache"));
+
+    // Kept screens, most visited first.
+    private static final List<String> PRELOAD = List.of(
+            "/ecocycle/view/Dashboard.fxml",
+            "/ecocycle/view/ProductBrowse.fxml",
+            "/ecocycle/view/Cart.fxml",
+            "/ecocycle/view/TransactionList.fxml",
+            "/ecocycle/view/ProductList.fxml",
+            "/ecocycle/view/ManageRecycling.fxml",
+            "/ecocycle/view/ViewBids.fxml",
+            "/ecocycle/view/RecyclingMarket.fxml",
+            "/ecocycle/view/SubmitProof.fxml",
+            "/ecocycle/view/ReviewFeed.fxml",
+            "/ecocycle/view/Leaderboard.fxml");
+
+    private static final String STYLESHEET = findStylesheet();
+
+    // FXML path -> the kept screen (a future while it is still being preloaded).
+    private static final Map<String, CompletableFuture<View>> views = new ConcurrentHashMap<>();
+
+    // Counts navigations (FX thread only), so a screen shown late is dropped if another was asked for since.
+    private static long navigations;
+
+    private SceneNavigator() {}
+
+    /**
+     * A loaded screen. The Scene is created on the FX thread when it is first shown.
+     */
+    private static final class View {
+        final Parent root;
+        final Object controller;
+        Scene scene;
+
+        View(Parent root, Object controller) {
+            this.root = root;
+            this.controller = controller;
+        }
+    }
+
     /**
      * Navigates to a new FXML view.
      * @param event The ActionEvent from the control (e.g., button) that triggered the navigation.
      * @param fxmlFile The path to the new FXML file (e.g., "/ecocycle/view/Dashboard.fxml").
      */
     public static void navigateTo(ActionEvent event, String fxmlFile) {
-        try {
-            // Get the stage (the main window) from the button that was clicked
-            Node source = (Node) event.getSource();
-            Stage stage = (Stage) source.getScene().getWindow();
-
-            // Load the new FXML file from the /ecocycle/view/ folder
-            URL fxmlUrl = SceneNavigator.class.getResource(fxmlFile);
-            if (fxmlUrl == null) {
-                System.err.println("Cannot find FXML file: " + fxmlFile);
-                return;
+        long start = System.nanoTime();
+
+        // Results of loads started by the screen we are leaving are no longer wanted
+        FxAsync.cancelPending();
+
+        // Get the stage (the main window) from the button that was clicked
+        Node source = (Node) event.getSource();
+        Stage stage = (Stage) source.getScene().getWindow();
+
+        long navigation = ++navigations;
+        CompletableFuture<View> preloading = views.get(fxmlFile);
+        if (preloading != null && !preloading.isDone()) {
+            // Still being preloaded: show it when it is ready rather than block the FX thread on it
+            preloading.whenComplete((loaded, error) -> Platform.runLater(() -> {
+                if (navigation == navigations) {
+                    show(stage, fxmlFile, getView(fxmlFile), start);
+                }
+            }));
+            return;
+        }
+        show(stage, fxmlFile, getView(fxmlFile), start);
+    }
+
+    private static void show(Stage stage, String fxmlFile, View view, long start) {
+        if (view == null) {
+            return;
+        }
+        if (view.scene == null) {
+            view.scene = new Scene(view.root);
+            applyStylesheet(view.scene);
+        }
+
+        // Set the new scene on the stage
+        stage.setScene(view.scene);
+
+        // Set a title based on the FXML file name
+        String title = fxmlFile.substring(fxmlFile.lastIndexOf('/') + 1, fxmlFile.lastIndexOf('.'));
+        stage.setTitle("EcoCycle - " + title);
+
+        // Show the new scene
+        stage.show();
+
+        if (view.controller instanceof Refreshable refreshable) {
+            refreshable.onShow();
+        }
+        OperationStats stats = Metrics.operation("SceneNavigator." + title);
+        whenLaidOut(view.scene, () -> stats.record(System.nanoTime() - start));
+    }
+
+    /**
+     * Records the time from JVM start until the first screen has been laid out and can be
+     * used ("Startup.firstFrame" in Metrics / JMX), and prints it once.
+     */
+    public static void recordFirstFrame(Scene scene) {
+        Instant jvmStart = ProcessHandle.current().info().startInstant().orElse(null);
+        if (jvmStart == null) {
+            return; // not known on this platform
+        }
+        whenLaidOut(scene, () -> {
+            long nanos = Duration.between(jvmStart, Instant.now()).toNanos();
+            // Registering the metric can wait for JMX to start up; the frame must not
+            CompletableFuture.runAsync(() -> {
+                Metrics.operation("Startup.firstFrame").record(nanos);
+                System.out.printf("Startup: first frame after %.0f ms.%n", nanos / 1e6);
+            });
+        });
+    }
+
+    /**
+     * Loads the kept screens on a background thread, so the first visit to each is
+     * as fast as the later ones. Call once the first window is showing.
+     */
+    public static void preload() {
+        if (!CACHE_ENABLED) {
+            return;
+        }
+        Thread.ofPlatform().daemon().name("ecocycle-scene-preload").priority(Thread.MIN_PRIORITY).start(() -> {
+            for (String fxmlFile : PRELOAD) {
+                CompletableFuture<View> loading = new CompletableFuture<>();
+                if (views.putIfAbsent(fxmlFile, loading) != null) {
+                    continue; // already visited
+                }
+                try {
+                    View view = load(fxmlFile);
+                    if (!(view.controller instanceof Refreshable)) {
+                        views.remove(fxmlFile, loading); // not one to keep; load it when visited
+                    }
+                    loading.complete(view);
+                } catch (IOException | RuntimeException e) {
+                    System.err.println("Failed to preload FXML file: " + fxmlFile);
+                    views.remove(fxmlFile, loading);
+                    loading.completeExceptionally(e);
+                }
             }
-            Parent root = FXMLLoader.load(fxmlUrl);
-
-            // Create a new scene with the loaded FXML
-            Scene scene = new Scene(root);
-            
-            // --- THIS IS THE FIX ---
-            // We must apply the stylesheet to every new scene we create.
-            URL cssUrl = SceneNavigator.class.getResource("/ecocycle/view/style.css");
-            if (cssUrl != null) {
-                scene.getStylesheets().add(cssUrl.toExternalForm());
-            } else {
-                System.err.println("Error: Could not find style.css file.");
+        });
+    }
+
+    /**
+     * Adds the shared stylesheet to a scene (for scenes not created here, e.g. the first one).
+     */
+    public static void applyStylesheet(Scene scene) {
+        if (STYLESHEET != null) {
+            scene.getStylesheets().add(STYLESHEET);
+        }
+    }
+
+    // --- Internals ---
+
+    // The kept screen, or a freshly loaded one. Never waits: a preload still in progress
+    // (only possible if it started after navigateTo() looked) is overtaken by loading here.
+    private static View getView(String fxmlFile) {
+        CompletableFuture<View> kept = views.get(fxmlFile);
+        if (kept != null && kept.isDone() && !kept.isCompletedExceptionally()) {
+            return kept.join();
+        }
+        // A failed preload was reported by preload(); load again so the error shows up here too
+        try {
+            View view = load(fxmlFile);
+            if (CACHE_ENABLED && view.controller instanceof Refreshable) {
+                views.put(fxmlFile, CompletableFuture.completedFuture(view));
             }
-            // --- END OF FIX ---
-            
-            // Set the new scene on the stage
-            stage.setScene(scene);
-            
-            // Set a title based on the FXML file name
-            String title = fxmlFile.substring(fxmlFile.lastIndexOf('/') + 1, fxmlFile.lastIndexOf('.'));
-            stage.setTitle("EcoCycle - " + title);
-            
-            // Show the new scene
-            stage.show();
-
-        } catch (IOException e) {
+            return view;
+        } catch (IOException | RuntimeException e) {
             System.err.println("Failed to load FXML file: " + fxmlFile);
             e.printStackTrace();
+            return null;
+        }
+    }
+
+    private static View load(String fxmlFile) throws IOException {
+        // Load the new FXML file from the /ecocycle/view/ folder
+        URL fxmlUrl = SceneNavigator.class.getResource(fxmlFile);
+        if (fxmlUrl == null) {
+            throw new IOException("Cannot find FXML file: " + fxmlFile);
         }
+        FXMLLoader loader = new FXMLLoader(fxmlUrl);
+        Parent root = loader.load();
+        return new View(root, loader.getController());
+    }
+
+    private static String findStylesheet() {
+        URL cssUrl = SceneNavigator.class.getResource("/ecocycle/view/style.css");
+        if (cssUrl == null) {
+            System.err.println("Error: Could not find style.css file.");
+            return null;
+        }
+        return cssUrl.toExternalForm();
+    }
+
+    // Runs action once, after the next layout pass (CSS applied, controls sized) of scene.
+    private static void whenLaidOut(Scene scene, Runnable action) {
+        Runnable listener = new Runnable() {
+            boolean done;
+
+            @Override
+            public void run() {
+                if (!done) {
+                    done = true;
+                    action.run();
+                    // Not removed while the scene is still running its listeners
+                    Platform.runLater(() -> scene.removePostLayoutPulseListener(this));
+                }
+            }
+        };
+        scene.addPostLayoutPulseListener(listener);
     }
-}
\ No newline at end of file
+}
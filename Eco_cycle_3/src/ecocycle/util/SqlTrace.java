@@ -0,0 +1,195 @@
+// In file: src/ecocycle/util/SqlTrace.java
+package ecocycle.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Slow-query log and N+1 detector for the statements the pool times (PooledStatement).
+ * - Executions are keyed by their normalized SQL: whitespace collapsed, literals replaced
+ *   by ? and IN lists folded, so "id IN (?, ?)" and "id IN (?, ?, ?)" are one shape.
+ * - Slow query: an execution taking -Decocycle.sql.slowMs or longer (default 250; 0 = off)
+ *   is printed to System.err with its bind parameters, rows and the DataService operation
+ *   that ran it. For a query the time runs until its ResultSet is closed, so the fetch counts.
+ * - N+1: an operation that runs one shape more than -Decocycle.sql.nPlusOneThreshold times
+ *   (default 10; 0 = off), nested operations included, is reported when the outermost
+ *   operation ends. Each operation / shape pair is printed once; repeats are only counted.
+ */
+final class SqlTrace {
+
+    static final long SLOW_NANOS = Long.getLong("ecocycle.sql.slowMs", 250) * 1_000_000L;
+    static final int N_PLUS_ONE_THRESHOLD = Integer.getInteger("ecocycle.sql.nPlusOneThreshold", 10);
+    private static final int MAX_SHAPES = 512;
+    private static final int MAX_PARAM_LENGTH = 40;
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\b(IN) \\(\\?(?: ?, ?\\?)*\\)");
+
+    private static final Map<String, String> shapes = new ConcurrentHashMap<>();
+    private static final Set<String> reportedNPlusOne = ConcurrentHashMap.newKeySet();
+    private static final LongAdder slowQueries = new LongAdder();
+    private static final LongAdder nPlusOnes = new LongAdder();
+
+    // Executions per shape of the current operation on this thread; emptied when it ends.
+    private static final ThreadLocal<Map<String, int[]>> executions = new ThreadLocal<>();
+
+    private SqlTrace() {}
+
+    /**
+     * @return The normalized form of sql (cached per SQL text).
+     */
+    static String shape(String sql) {
+        String shape = shapes.get(sql);
+        if (shape != null) {
+            return shape;
+        }
+        shape = normalize(sql);
+        if (shapes.size() < MAX_SHAPES) {
+            shapes.put(sql, shape);
+        }
+        return shape;
+    }
+
+    /**
+     * Counts one execution of shape against the thread's current operation.
+     */
+    static void executed(String shape) {
+        if (N_PLUS_ONE_THRESHOLD <= 0 || Metrics.current.get() == null) {
+            return;
+        }
+        Map<String, int[]> counts = executions.get();
+        if (counts == null) {
+            counts = new HashMap<>();
+            executions.set(counts);
+        }
+        counts.computeIfAbsent(shape, s -> new int[1])[0]++;
+    }
+
+    /**
+     * @return true if an execution taking nanos is logged by slow().
+     */
+    static boolean isSlow(long nanos) {
+        return SLOW_NANOS > 0 && nanos >= SLOW_NANOS;
+    }
+
+    /**
+     * Logs a slow execution.
+     * @param op The operation that ran it, or null.
+     * @param params The bind parameters (index 0 = parameter 1).
+     */
+    static void slow(String shape, OperationStats op, long nanos, long rows, Object[] params) {
+        slowQueries.increment();
+        System.err.println(String.format("Slow SQL (%.1f ms, %d rows) in %s: %s [%s]", nanos / 1e6, rows,
+                op != null ? op.getName() : "(no operation)", shape, formatParams(shape, params)));
+    }
+
+    /**
+     * Called when the outermost operation on this thread ends: reports its N+1 shapes and starts over.
+     */
+    static void operationEnded(OperationStats op) {
+        Map<String, int[]> counts = executions.get();
+        if (counts == null || counts.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<String, int[]> entry : counts.entrySet()) {
+            int times = entry.getValue()[0];
+            if (times > N_PLUS_ONE_THRESHOLD) {
+                nPlusOnes.increment();
+                if (reportedNPlusOne.add(op.getName() + '\n' + entry.getKey())) {
+                    System.err.println("Possible N+1: " + op.getName() + " ran the same statement " + times
+                            + " times (threshold " + N_PLUS_ONE_THRESHOLD + "): " + entry.getKey());
+                }
+            }
+        }
+        counts.clear();
+    }
+
+    static long getSlowQueryCount() {
+        return slowQueries.sum();
+    }
+
+    static long getNPlusOneCount() {
+        return nPlusOnes.sum();
+    }
+
+    // --- Formatting ---
+
+    static String normalize(String sql) {
+        StringBuilder out = new StringBuilder(sql.length());
+        int n = sql.length();
+        int i = 0;
+        while (i < n) {
+            char c = sql.charAt(i);
+            if (Character.isWhitespace(c)) {
+                while (i < n && Character.isWhitespace(sql.charAt(i))) {
+                    i++;
+                }
+                if (out.length() > 0) {
+                    out.append(' ');
+                }
+            } else if (c == '\'') {
+                i++;
+                while (i < n) {
+                    if (sql.charAt(i++) == '\'') {
+                        if (i < n && sql.charAt(i) == '\'') {
+                            i++; // '' is an escaped quote
+                        } else {
+                            break;
+                        }
+                    }
+                }
+                out.append('?');
+            } else if (Character.isDigit(c)) {
+                while (i < n && (Character.isDigit(sql.charAt(i)) || sql.charAt(i) == '.')) {
+                    i++;
+                }
+                out.append('?');
+            } else if (Character.isLetter(c) || c == '_' || c == '`') {
+                // Copied whole, so the digits in a name like "t1" are not taken for a literal.
+                while (i < n && (Character.isLetterOrDigit(sql.charAt(i)) || sql.charAt(i) == '_'
+                        || sql.charAt(i) == '`' || sql.charAt(i) == '.')) {
+                    out.append(sql.charAt(i++));
+                }
+            } else {
+                out.append(c);
+                i++;
+            }
+        }
+        int end = out.length();
+        if (end > 0 && out.charAt(end - 1) == ' ') {
+            out.setLength(end - 1);
+        }
+        return IN_LIST.matcher(out).replaceAll("$1 (?...)");
+    }
+
+    private static String formatParams(String shape, Object[] params) {
+        // Never write credentials to the log.
+        boolean secret = shape.toLowerCase().contains("password");
+        StringBuilder out = new StringBuilder();
+        for (int i = 0; i < params.length; i++) {
+            if (i > 0) {
+                out.append(", ");
+            }
+            Object value = params[i];
+            if (secret) {
+                out.append("***");
+            } else if (value == null) {
+                out.append("null");
+            } else if (value instanceof byte[] bytes) {
+                out.append('<').append(bytes.length).append(" bytes>");
+            } else if (value instanceof CharSequence || value instanceof java.util.Date
+                    || value instanceof java.time.temporal.Temporal) {
+                String text = value.toString();
+                if (text.length() > MAX_PARAM_LENGTH) {
+                    text = text.substring(0, MAX_PARAM_LENGTH) + "...";
+                }
+                out.append('\'').append(text).append('\'');
+            } else {
+                out.append(value);
+            }
+        }
+        return out.toString();
+    }
+}
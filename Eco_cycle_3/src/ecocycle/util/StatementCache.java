@@ -0,0 +1,112 @@
+// In file: src/ecocycle/util/StatementCache.java
+package ecocycle.util;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LRU cache of prepared statements for ONE physical connection, keyed by SQL text.
+ * - prepareStatement(sql) checks a statement out of the cache (or prepares a new one).
+ *   The cache keeps the PooledStatement itself, so it is made once and handed out again.
+ * - close() on the returned statement clears its parameters and checks it back in.
+ * - When more than capacity statements are cached, the least recently used one is closed.
+ *
+ * A pooled connection is only ever used by one borrower at a time, so this class is not
+ * thread safe. Callers must not change per-statement settings (fetch size, max rows, ...)
+ * because the statement will be handed to the next caller with the same SQL.
+ */
+final class StatementCache {
+
+    private final Connection physical;
+    private final int capacity;
+    private final AtomicLong hits;
+    private final AtomicLong misses;
+    private final AtomicLong evictions;
+
+    // Access-ordered: the eldest entry is the least recently checked in.
+    private final LinkedHashMap<String, PooledStatement> cached = new LinkedHashMap<>(32, 0.75f, true);
+
+    StatementCache(Connection physical, int capacity, AtomicLong hits, AtomicLong misses, AtomicLong evictions) {
+        this.physical = physical;
+        this.capacity = capacity;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+    }
+
+    /**
+     * Returns a statement for this SQL. The statement handed out is removed from the
+     * cache while in use, so preparing the same SQL twice before closing the first
+     * one simply gives a second, uncached statement.
+     * @param owner The connection proxy the caller sees (returned by getConnection()).
+     */
+    PreparedStatement prepare(String sql, Connection owner) throws SQLException {
+        PooledStatement statement = cached.remove(sql);
+        if (statement != null && statement.isUsable()) {
+            hits.incrementAndGet();
+        } else {
+            if (statement != null) {
+                statement.discard();
+            }
+            misses.incrementAndGet();
+            statement = new PooledStatement(sql, physical.prepareStatement(sql), this);
+        }
+        return statement.checkOut(owner);
+    }
+
+    /**
+     * Prepares a statement ahead of time (e.g. right after the connection is opened).
+     * Does not count as a hit or a miss.
+     */
+    void warm(String sql) throws SQLException {
+        if (!cached.containsKey(sql)) {
+            checkIn(sql, new PooledStatement(sql, physical.prepareStatement(sql), this));
+        }
+    }
+
+    int size() {
+        return cached.size();
+    }
+
+    /**
+     * Closes every cached statement. Used when the physical connection is destroyed.
+     */
+    void closeAll() {
+        List<PooledStatement> all = new ArrayList<>(cached.values());
+        cached.clear();
+        for (PooledStatement statement : all) {
+            statement.discard();
+        }
+    }
+
+    /**
+     * Takes back a statement its caller has closed.
+     */
+    void checkIn(String sql, PooledStatement statement) {
+        try {
+            statement.reset();
+        } catch (SQLException e) {
+            statement.discard();
+            return;
+        }
+        PooledStatement previous = cached.put(sql, statement);
+        if (previous != null && previous != statement) {
+            // The same SQL was open twice; keep only the statement checked in last.
+            previous.discard();
+        }
+        Iterator<Map.Entry<String, PooledStatement>> eldest = cached.entrySet().iterator();
+        while (cached.size() > capacity && eldest.hasNext()) {
+            PooledStatement evicted = eldest.next().getValue();
+            eldest.remove();
+            evictions.incrementAndGet();
+            evicted.discard();
+        }
+    }
+}
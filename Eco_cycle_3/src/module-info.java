@@ -8,6 +8,8 @@ module Eco_cycle_3 { // Your module name is correct
     requires javafx.controls;
     requires javafx.fxml;
     requires java.sql;
+    requires jdk.httpserver; // headless API server (ecocycle.server)
+    requires jdk.management; // per-thread allocation counters (bench/DataServiceBenchmark)
     // --- 'opens' statements ---
     
     // Opens controllers to FXML loader
@@ -18,6 +20,8 @@ module Eco_cycle_3 { // Your module name is correct
     
     // Opens util package to FXML loader
     opens ecocycle.util to javafx.fxml;
+    // Lets JMX read the metrics MXBeans (OperationStatsMXBean)
+    exports ecocycle.util to java.management;
     
     // Opens service package to FXML loader
     opens ecocycle.service to javafx.fxml;